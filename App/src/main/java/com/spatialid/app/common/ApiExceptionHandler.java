@@ -11,7 +11,9 @@ import java.util.Map.Entry;
 import org.springframework.context.MessageSource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -21,6 +23,7 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 import com.spatialid.app.common.constant.ExceptionConstant;
 import com.spatialid.app.common.constant.RestApiConstants;
+import com.spatialid.app.common.convert.SpatialIdViolationException;
 import com.spatialid.app.common.exception.subexception.AccessDeniedException;
 import com.spatialid.app.common.exception.subexception.DataRangeException;
 import com.spatialid.app.common.exception.subexception.DataUpdateFailureException;
@@ -179,6 +182,35 @@ public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
         
     }
 
+    /**
+     * {@link HttpMessageNotReadableException}のハンドリングを行う．
+     * <p>
+     * 空間IDリストのデシリアライズ中に検出されたバリデーション違反は、{@link ParamErrorException}と同様に扱う．<br>
+     * それ以外は既定の処理に委譲する．
+     * </p>
+     * 
+     * @param ex 補足した例外
+     * @param headers レスポンスヘッダ
+     * @param status HTTPステータス
+     * @param request リクエスト情報
+     * @return エラーレスポンス
+     */
+    @Override
+    protected ResponseEntity<Object> handleHttpMessageNotReadable(HttpMessageNotReadableException ex,
+            HttpHeaders headers, HttpStatusCode status, WebRequest request) {
+        
+        if (ex.getCause() instanceof SpatialIdViolationException violation) {
+            
+            final Map<String, String> embeddingMap = Map.of(violation.getFieldName(), String.valueOf(violation.getRejectedValue()));
+            
+            return handleParamErrorException(new ParamErrorException(embeddingMap), request);
+            
+        }
+        
+        return super.handleHttpMessageNotReadable(ex, headers, status, request);
+        
+    }
+
     /**
      * {@link DuplicateKeyWrapException}のハンドリングを行う．
      * 
@@ -0,0 +1,40 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spatialid.app.common.convert.SpatialIdJsonHttpMessageConverter;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * JSONメッセージコンバータを設定するクラス．
+ * <p>
+ * Spring Bootが生成する{@link MappingJackson2HttpMessageConverter}を{@link SpatialIdJsonHttpMessageConverter}に置き換え、
+ * Acceptヘッダによる空間IDリストの出力形式の切り替えを有効にする．
+ * </p>
+ *
+ * @version 1.1 2026/10/18
+ */
+@Configuration
+@NoArgsConstructor
+public class SpatialIdJsonConfig {
+
+    /**
+     * Spring Bootが設定したObjectMapperを使用するJSONメッセージコンバータを生成する．
+     *
+     * @param objectMapper Spring Bootが設定したObjectMapper
+     * @return {@link SpatialIdJsonHttpMessageConverter}
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+
+        return new SpatialIdJsonHttpMessageConverter(objectMapper);
+
+    }
+
+}
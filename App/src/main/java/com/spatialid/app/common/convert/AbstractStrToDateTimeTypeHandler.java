@@ -0,0 +1,245 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+import com.spatialid.app.common.util.DateTimeFormats;
+
+/**
+ * MyBatisにおけるTypeHandlerの基底クラス．<br>
+ * 日時を表すString型を、{@link java.sql.Timestamp}を介さずにjava.timeの型でDB側の日時と変換する．
+ * <p>
+ * タイムゾーンなしのカラム(timestamp)は{@link LocalDateTime}、タイムゾーン付きのカラム(timestamptz)は
+ * システムのデフォルトタイムゾーンの{@link OffsetDateTime}として、{@link PreparedStatement#setObject(int, Object)}、
+ * {@link ResultSet#getObject(int, Class)}で読み書きする．
+ * 変換結果は{@link StrToTimestampTypeHandler}等と同じとなる．<br>
+ * 文字列への変換は{@link DateTimeFormats#formatTo(StringBuilder, LocalDateTime, String)}で行う．
+ * </p>
+ *
+ * @version 1.1 2026/10/18
+ */
+public abstract class AbstractStrToDateTimeTypeHandler extends BaseTypeHandler<String> {
+
+    /**
+     * 日時のパターン．
+     */
+    private final String pattern;
+
+    /**
+     * タイムゾーン付きのカラムを対象とするか．
+     */
+    private final boolean withTimeZone;
+
+    /**
+     * 解析できない文字列の例外の送出に使用するフォーマッタ．
+     */
+    private final DateTimeFormatter formatter;
+
+    /**
+     * 生成する．
+     *
+     * @param pattern 日時のパターン
+     * @param withTimeZone タイムゾーン付きのカラムを対象とする場合はtrue
+     */
+    protected AbstractStrToDateTimeTypeHandler(String pattern, boolean withTimeZone) {
+
+        this.pattern = pattern;
+
+        this.withTimeZone = withTimeZone;
+
+        this.formatter = DateTimeFormats.formatter(pattern);
+
+    }
+
+    /**
+     * Javaから渡されたString型を、DB側の日時にマッピングする．
+     * <p>
+     * String型がnullでなかった場合に、実行される．
+     * </p>
+     *
+     * @param ps MyBatisから提供された{@link PreparedStatement}オブジェクト
+     * @param i MyBatisから提供された引数のインデックス
+     * @param parameter Java側から渡されたString型
+     * @param jdbcType MyBatisから提供された{@link JdbcType}
+     * @exception SQLException DB側で異常が起こった場合
+     * @exception java.time.format.DateTimeParseException 文字列がパターンに合致しない場合
+     */
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, String parameter, JdbcType jdbcType) throws SQLException {
+
+        final LocalDateTime parsed = DateTimeFormats.parseLocalDateTime(parameter, pattern);
+
+        // 解析できない場合は、従来と同じ例外を送出する
+        final LocalDateTime localDateTime = (parsed != null) ? parsed : LocalDateTime.parse(parameter, formatter);
+
+        if (withTimeZone) {
+
+            ps.setObject(i, localDateTime.atZone(ZoneId.systemDefault()).toOffsetDateTime());
+
+        } else {
+
+            ps.setObject(i, localDateTime);
+
+        }
+
+    }
+
+    /**
+     * DBから渡された日時を、Java側のString型に変換する．
+     * <p>
+     * 指定されたカラム名を元に、データを取得する．
+     * </p>
+     *
+     * @param rs MyBatisから提供された{@link ResultSet}オブジェクト
+     * @param columnName MyBatisから提供されたデータを取得する対象カラム名
+     * @return javaにおけるString型
+     * @exception SQLException DB側で異常が起こった場合
+     */
+    @Override
+    public String getNullableResult(ResultSet rs, String columnName) throws SQLException {
+
+        return getNullableResult(rs, rs.findColumn(columnName));
+
+    }
+
+    /**
+     * DBから渡された日時を、Java側のString型に変換する．
+     * <p>
+     * 指定されたカラムのインデックスを元に、データを取得する．
+     * </p>
+     *
+     * @param rs MyBatisから提供された{@link ResultSet}オブジェクト
+     * @param columnIndex MyBatisから提供されたデータを取得する対象カラムインデックス
+     * @return javaにおけるString型
+     * @exception SQLException DB側で異常が起こった場合
+     */
+    @Override
+    public String getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+
+        final LocalDateTime localDateTime = getLocalDateTime(rs, columnIndex);
+
+        return (localDateTime == null) ? null : format(new StringBuilder(), localDateTime).toString();
+
+    }
+
+    /**
+     * DBから渡された日時を、Java側のString型に変換する．
+     * <p>
+     * ストアドプロシージャからカラムのインデックスを指定してデータを取得する．
+     * </p>
+     *
+     * @param cs MyBatisから提供された{@link CallableStatement}オブジェクト
+     * @param columnIndex MyBatisから提供されたデータを取得する対象カラムインデックス
+     * @return javaにおけるString型
+     * @exception SQLException DB側で異常が起こった場合
+     */
+    @Override
+    public String getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+
+        final LocalDateTime localDateTime = withTimeZone ? toLocalDateTime(cs.getObject(columnIndex, OffsetDateTime.class))
+                : cs.getObject(columnIndex, LocalDateTime.class);
+
+        return (localDateTime == null) ? null : format(new StringBuilder(), localDateTime).toString();
+
+    }
+
+    /**
+     * DBから渡された日時を文字列に変換し、追記する．
+     * <p>
+     * CSV出力等で大量の行を変換する際に、出力先を使い回して文字列の生成を省くために使用する．
+     * </p>
+     *
+     * @param rs 読み取り元の{@link ResultSet}オブジェクト
+     * @param columnIndex 対象カラムインデックス
+     * @param out 追記先
+     * @return 値が存在し追記した場合はtrue．DB側がnullの場合は追記せずにfalse
+     * @exception SQLException DB側で異常が起こった場合
+     */
+    public boolean appendResult(ResultSet rs, int columnIndex, StringBuilder out) throws SQLException {
+
+        final LocalDateTime localDateTime = getLocalDateTime(rs, columnIndex);
+
+        if (localDateTime == null) {
+
+            return false;
+
+        }
+
+        format(out, localDateTime);
+
+        return true;
+
+    }
+
+    /**
+     * DBから日時を取得する．
+     *
+     * @param rs 読み取り元
+     * @param columnIndex カラムインデックス
+     * @return システムのデフォルトタイムゾーンでの日時．DB側がnullの場合はnull
+     * @throws SQLException DB側で異常が起こった場合
+     */
+    private LocalDateTime getLocalDateTime(ResultSet rs, int columnIndex) throws SQLException {
+
+        if (withTimeZone) {
+
+            return toLocalDateTime(rs.getObject(columnIndex, OffsetDateTime.class));
+
+        }
+
+        return rs.getObject(columnIndex, LocalDateTime.class);
+
+    }
+
+    /**
+     * タイムゾーン付きの日時を、システムのデフォルトタイムゾーンでの日時に変換する．
+     *
+     * @param offsetDateTime タイムゾーン付きの日時
+     * @return 日時．引数がnullの場合はnull
+     */
+    private static LocalDateTime toLocalDateTime(OffsetDateTime offsetDateTime) {
+
+        if (offsetDateTime == null) {
+
+            return null;
+
+        }
+
+        return offsetDateTime.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+
+    }
+
+    /**
+     * 日時を文字列に変換して追記する．
+     *
+     * @param out 追記先
+     * @param localDateTime 日時
+     * @return 追記先
+     * @throws SQLException 変換に失敗した場合
+     */
+    private StringBuilder format(StringBuilder out, LocalDateTime localDateTime) throws SQLException {
+
+        try {
+
+            return DateTimeFormats.formatTo(out, localDateTime, pattern);
+
+        } catch (Exception e) {
+
+            throw new SQLException(e);
+
+        }
+
+    }
+
+}
@@ -0,0 +1,129 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+/**
+ * ジオメトリの座標を、点ごとのオブジェクトを生成せずにプリミティブ配列で保持するクラス．
+ * <p>
+ * 座標は全ての点をx、y(、z)の順に1つの配列へ連結して保持する．<br>
+ * パートは線または多角形の環を表し、{@link #partOffsets()}に各パートの先頭の点の位置を保持する．
+ * 点、マルチポイントは全ての点を1つのパートとする．<br>
+ * グループは多角形を表し、{@link #groupOffsets()}に各多角形の先頭のパートの位置を保持する．
+ * 多角形以外は全てのパートを1つのグループとする．<br>
+ * オフセットの配列は末尾に総数を持つため、i番目の要素は[offsets[i], offsets[i + 1])の範囲となる．
+ * </p>
+ * <p>
+ * 大量のジオメトリを処理する際の生成コストを抑えるため、配列は複製せずに保持、返却する．返却した配列は変更しないこと．
+ * </p>
+ *
+ * @param type ジオメトリの種類．{@link #POINT}～{@link #MULTI_POLYGON}
+ * @param srid 空間参照系ID．指定されていない場合は0
+ * @param dimension 座標の次元．2または3
+ * @param coordinates 連結した座標
+ * @param partOffsets 各パートの先頭の点の位置と、末尾に点の総数
+ * @param groupOffsets 各グループの先頭のパートの位置と、末尾にパートの総数
+ * @version 1.1 2026/10/18
+ */
+public record FlatGeometry(int type, int srid, int dimension, double[] coordinates, int[] partOffsets, int[] groupOffsets) {
+
+    /**
+     * 点．
+     */
+    public static final int POINT = 1;
+
+    /**
+     * 線．
+     */
+    public static final int LINE_STRING = 2;
+
+    /**
+     * 多角形．
+     */
+    public static final int POLYGON = 3;
+
+    /**
+     * マルチポイント．
+     */
+    public static final int MULTI_POINT = 4;
+
+    /**
+     * マルチライン．
+     */
+    public static final int MULTI_LINE_STRING = 5;
+
+    /**
+     * マルチポリゴン．
+     */
+    public static final int MULTI_POLYGON = 6;
+
+    /**
+     * 値を検査する．
+     *
+     * @throws IllegalArgumentException 種類、次元が不正な場合、または座標とオフセットの長さが整合しない場合
+     */
+    public FlatGeometry {
+
+        if (type < POINT || MULTI_POLYGON < type || (dimension != 2 && dimension != 3)) {
+
+            throw new IllegalArgumentException("Invalid geometry type or dimension: " + type + ", " + dimension);
+
+        }
+
+        if (coordinates.length % dimension != 0 || partOffsets.length == 0 || groupOffsets.length == 0
+                || partOffsets[partOffsets.length - 1] != coordinates.length / dimension
+                || groupOffsets[groupOffsets.length - 1] != partOffsets.length - 1) {
+
+            throw new IllegalArgumentException("Inconsistent coordinates and offsets");
+
+        }
+
+    }
+
+    /**
+     * 点の数を返却する．
+     *
+     * @return 点の数
+     */
+    public int pointCount() {
+
+        return coordinates.length / dimension;
+
+    }
+
+    /**
+     * 点のx座標(経度)を返却する．
+     *
+     * @param point 点の位置
+     * @return x座標
+     */
+    public double x(int point) {
+
+        return coordinates[point * dimension];
+
+    }
+
+    /**
+     * 点のy座標(緯度)を返却する．
+     *
+     * @param point 点の位置
+     * @return y座標
+     */
+    public double y(int point) {
+
+        return coordinates[point * dimension + 1];
+
+    }
+
+    /**
+     * 点のz座標(高さ)を返却する．
+     *
+     * @param point 点の位置
+     * @return z座標．2次元の場合はNaN
+     */
+    public double z(int point) {
+
+        return dimension == 3 ? coordinates[point * dimension + 2] : Double.NaN;
+
+    }
+
+}
@@ -0,0 +1,139 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+/**
+ * MyBatisにおけるTypeHandlerを定義するクラス．<br>
+ * PostGISのgeometryを、WKB/EWKBのバイト列を介して{@link FlatGeometry}に変換する．
+ * <p>
+ * geometry型のカラムはPostGISのテキスト出力(16進数表記のEWKB)、ST_AsBinary等のbytea型のカラムはWKBとして読み取る．<br>
+ * 書き込みはEWKBをbytea型のパラメータとして設定し、PostGISのbyteaからgeometryへの暗黙のキャストで変換する．
+ * 書き込み時の空間参照系IDは{@link FlatGeometry#srid()}とする．大量のジオメトリを座標の配列のまま処理する場合に使用する．
+ * </p>
+ *
+ * @version 1.1 2026/10/18
+ * @see WkbGeometryCodec
+ */
+public class FlatGeometryTypeHandler extends BaseTypeHandler<FlatGeometry> {
+
+    /**
+     * Javaから渡されたジオメトリを、DB側のgeometryにマッピングする．
+     *
+     * @param ps MyBatisから提供された{@link PreparedStatement}オブジェクト
+     * @param i MyBatisから提供された引数のインデックス
+     * @param parameter Java側から渡されたジオメトリ
+     * @param jdbcType MyBatisから提供された{@link JdbcType}
+     * @exception SQLException DB側で異常が起こった場合、または変換できないジオメトリの場合
+     */
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, FlatGeometry parameter, JdbcType jdbcType) throws SQLException {
+
+        final byte[] ewkb;
+
+        try {
+
+            ewkb = WkbGeometryCodec.encode(parameter);
+
+        } catch (IllegalArgumentException e) {
+
+            throw new SQLException(e);
+
+        }
+
+        ps.setBytes(i, ewkb);
+
+    }
+
+    /**
+     * DBから渡されたgeometryを、Java側のジオメトリに変換する．
+     * <p>
+     * 指定されたカラム名を元に、データを取得する．
+     * </p>
+     *
+     * @param rs MyBatisから提供された{@link ResultSet}オブジェクト
+     * @param columnName MyBatisから提供されたデータを取得する対象カラム名
+     * @return ジオメトリ．DB側がnullの場合はnull
+     * @exception SQLException DB側で異常が起こった場合、または形式が不正な場合
+     */
+    @Override
+    public FlatGeometry getNullableResult(ResultSet rs, String columnName) throws SQLException {
+
+        return decode(rs.getBytes(columnName));
+
+    }
+
+    /**
+     * DBから渡されたgeometryを、Java側のジオメトリに変換する．
+     * <p>
+     * 指定されたカラムのインデックスを元に、データを取得する．
+     * </p>
+     *
+     * @param rs MyBatisから提供された{@link ResultSet}オブジェクト
+     * @param columnIndex MyBatisから提供されたデータを取得する対象カラムインデックス
+     * @return ジオメトリ．DB側がnullの場合はnull
+     * @exception SQLException DB側で異常が起こった場合、または形式が不正な場合
+     */
+    @Override
+    public FlatGeometry getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+
+        return decode(rs.getBytes(columnIndex));
+
+    }
+
+    /**
+     * DBから渡されたgeometryを、Java側のジオメトリに変換する．
+     * <p>
+     * ストアドプロシージャからカラムのインデックスを指定してデータを取得する．
+     * </p>
+     *
+     * @param cs MyBatisから提供された{@link CallableStatement}オブジェクト
+     * @param columnIndex MyBatisから提供されたデータを取得する対象カラムインデックス
+     * @return ジオメトリ．DB側がnullの場合はnull
+     * @exception SQLException DB側で異常が起こった場合、または形式が不正な場合
+     */
+    @Override
+    public FlatGeometry getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+
+        final String hex = cs.getString(columnIndex);
+
+        return decode(hex == null ? null : hex.getBytes(StandardCharsets.US_ASCII));
+
+    }
+
+    /**
+     * WKB/EWKBのバイト列をジオメトリに変換する．
+     *
+     * @param wkb WKB、EWKB、またはその16進数表記のASCIIバイト列
+     * @return ジオメトリ．引数がnullの場合はnull
+     * @throws SQLException 形式が不正な場合
+     */
+    private FlatGeometry decode(byte[] wkb) throws SQLException {
+
+        if (wkb == null) {
+
+            return null;
+
+        }
+
+        try {
+
+            return WkbGeometryCodec.decodeFlat(wkb);
+
+        } catch (IllegalArgumentException e) {
+
+            throw new SQLException(e);
+
+        }
+
+    }
+
+}
@@ -0,0 +1,170 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.geojson.GeoJsonObject;
+
+/**
+ * MyBatisにおけるTypeHandlerを定義するクラス．<br>
+ * PostGISのgeometryを、WKB/EWKBのバイト列を介してgeojson-jacksonのオブジェクトに変換する．
+ * <p>
+ * geometry型のカラムはPostGISのテキスト出力(16進数表記のEWKB)、ST_AsBinary等のbytea型のカラムはWKBとして読み取る．<br>
+ * 書き込みはEWKBをbytea型のパラメータとして設定し、PostGISのbyteaからgeometryへの暗黙のキャストで変換する．
+ * </p>
+ * <p>
+ * GeoJSONは空間参照系IDを保持しないため、タイプハンドラーごとに空間参照系IDを1つ定める．
+ * 既定はGeoJSONの座標参照系である{@link WkbGeometryCodec#DEFAULT_SRID}とし、他の座標参照系のカラムには
+ * {@link #GeoJsonGeometryTypeHandler(int)}で生成したインスタンスを登録するか、サブクラスを使用する．<br>
+ * 書き込み時はこの空間参照系IDを付与し、読み取り時は異なる空間参照系IDを持つジオメトリを変換せずに例外とする．
+ * </p>
+ *
+ * @version 1.1 2026/10/18
+ * @see WkbGeometryCodec
+ */
+public class GeoJsonGeometryTypeHandler extends BaseTypeHandler<GeoJsonObject> {
+
+    /**
+     * 空間参照系ID．
+     */
+    private final int srid;
+
+    /**
+     * 空間参照系IDを{@link WkbGeometryCodec#DEFAULT_SRID}としてインスタンスを生成する．
+     */
+    public GeoJsonGeometryTypeHandler() {
+
+        this(WkbGeometryCodec.DEFAULT_SRID);
+
+    }
+
+    /**
+     * 空間参照系IDを指定してインスタンスを生成する．
+     *
+     * @param srid 書き込み時に付与し、読み取り時に検査する空間参照系ID．0以下の場合は付与、検査ともに行わない
+     */
+    public GeoJsonGeometryTypeHandler(int srid) {
+
+        this.srid = srid;
+
+    }
+
+    /**
+     * Javaから渡されたジオメトリを、DB側のgeometryにマッピングする．
+     *
+     * @param ps MyBatisから提供された{@link PreparedStatement}オブジェクト
+     * @param i MyBatisから提供された引数のインデックス
+     * @param parameter Java側から渡されたジオメトリ
+     * @param jdbcType MyBatisから提供された{@link JdbcType}
+     * @exception SQLException DB側で異常が起こった場合、または変換できないジオメトリの場合
+     */
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, GeoJsonObject parameter, JdbcType jdbcType) throws SQLException {
+
+        final byte[] ewkb;
+
+        try {
+
+            ewkb = WkbGeometryCodec.encode(parameter, srid);
+
+        } catch (IllegalArgumentException e) {
+
+            throw new SQLException(e);
+
+        }
+
+        ps.setBytes(i, ewkb);
+
+    }
+
+    /**
+     * DBから渡されたgeometryを、Java側のジオメトリに変換する．
+     * <p>
+     * 指定されたカラム名を元に、データを取得する．
+     * </p>
+     *
+     * @param rs MyBatisから提供された{@link ResultSet}オブジェクト
+     * @param columnName MyBatisから提供されたデータを取得する対象カラム名
+     * @return ジオメトリ．DB側がnullの場合はnull
+     * @exception SQLException DB側で異常が起こった場合、形式が不正な場合、または空間参照系IDが異なる場合
+     */
+    @Override
+    public GeoJsonObject getNullableResult(ResultSet rs, String columnName) throws SQLException {
+
+        return decode(rs.getBytes(columnName));
+
+    }
+
+    /**
+     * DBから渡されたgeometryを、Java側のジオメトリに変換する．
+     * <p>
+     * 指定されたカラムのインデックスを元に、データを取得する．
+     * </p>
+     *
+     * @param rs MyBatisから提供された{@link ResultSet}オブジェクト
+     * @param columnIndex MyBatisから提供されたデータを取得する対象カラムインデックス
+     * @return ジオメトリ．DB側がnullの場合はnull
+     * @exception SQLException DB側で異常が起こった場合、形式が不正な場合、または空間参照系IDが異なる場合
+     */
+    @Override
+    public GeoJsonObject getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+
+        return decode(rs.getBytes(columnIndex));
+
+    }
+
+    /**
+     * DBから渡されたgeometryを、Java側のジオメトリに変換する．
+     * <p>
+     * ストアドプロシージャからカラムのインデックスを指定してデータを取得する．
+     * </p>
+     *
+     * @param cs MyBatisから提供された{@link CallableStatement}オブジェクト
+     * @param columnIndex MyBatisから提供されたデータを取得する対象カラムインデックス
+     * @return ジオメトリ．DB側がnullの場合はnull
+     * @exception SQLException DB側で異常が起こった場合、形式が不正な場合、または空間参照系IDが異なる場合
+     */
+    @Override
+    public GeoJsonObject getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+
+        final String hex = cs.getString(columnIndex);
+
+        return decode(hex == null ? null : hex.getBytes(StandardCharsets.US_ASCII));
+
+    }
+
+    /**
+     * WKB/EWKBのバイト列をジオメトリに変換する．
+     *
+     * @param wkb WKB、EWKB、またはその16進数表記のASCIIバイト列
+     * @return ジオメトリ．引数がnullの場合はnull
+     * @throws SQLException 形式が不正な場合、または空間参照系IDが異なる場合
+     */
+    private GeoJsonObject decode(byte[] wkb) throws SQLException {
+
+        if (wkb == null) {
+
+            return null;
+
+        }
+
+        try {
+
+            return WkbGeometryCodec.decode(wkb, srid);
+
+        } catch (IllegalArgumentException e) {
+
+            throw new SQLException(e);
+
+        }
+
+    }
+
+}
@@ -0,0 +1,140 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+/**
+ * MyBatisにおけるTypeHandlerを定義するクラス．<br>
+ * int型の配列を、DB側のint4配列に変換する．
+ * <p>
+ * 要素数によらず1つのパラメータとして設定するため、"IN (#{a}, #{b}, ...)"と異なりSQL文が要素数ごとに変化せず、
+ * バインド変数の上限にも影響しない．"= ANY(?)"やunnest(?)と組み合わせて使用する．
+ * </p>
+ * <pre>
+ * WHERE column = ANY(#{values, typeHandler=com.spatialid.app.common.convert.IntArrayTypeHandler})
+ * </pre>
+ *
+ * @version 1.1 2026/10/18
+ */
+public class IntArrayTypeHandler extends BaseTypeHandler<int[]> {
+
+    /**
+     * 要素のDB側の型名．
+     */
+    private static final String TYPE_NAME = "int4";
+
+    /**
+     * Javaから渡されたint型の配列を、DB側の配列にマッピングする．
+     *
+     * @param ps MyBatisから提供された{@link PreparedStatement}オブジェクト
+     * @param i MyBatisから提供された引数のインデックス
+     * @param parameter Java側から渡されたint型の配列
+     * @param jdbcType MyBatisから提供された{@link JdbcType}
+     * @exception SQLException DB側で異常が起こった場合
+     */
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, int[] parameter, JdbcType jdbcType) throws SQLException {
+
+        final Integer[] elements = new Integer[parameter.length];
+
+        for (int index = 0; index < parameter.length; index++) {
+
+            elements[index] = parameter[index];
+
+        }
+
+        SqlArraySupport.bind(ps, i, TYPE_NAME, elements);
+
+    }
+
+    /**
+     * DBから渡された配列を、Java側のint型の配列に変換する．
+     * <p>
+     * 指定されたカラム名を元に、データを取得する．
+     * </p>
+     *
+     * @param rs MyBatisから提供された{@link ResultSet}オブジェクト
+     * @param columnName MyBatisから提供されたデータを取得する対象カラム名
+     * @return javaにおけるint型の配列．DB側がnullの場合はnull
+     * @exception SQLException DB側で異常が起こった場合
+     */
+    @Override
+    public int[] getNullableResult(ResultSet rs, String columnName) throws SQLException {
+
+        return convert(SqlArraySupport.elements(rs.getArray(columnName)));
+
+    }
+
+    /**
+     * DBから渡された配列を、Java側のint型の配列に変換する．
+     * <p>
+     * 指定されたカラムのインデックスを元に、データを取得する．
+     * </p>
+     *
+     * @param rs MyBatisから提供された{@link ResultSet}オブジェクト
+     * @param columnIndex MyBatisから提供されたデータを取得する対象カラムインデックス
+     * @return javaにおけるint型の配列．DB側がnullの場合はnull
+     * @exception SQLException DB側で異常が起こった場合
+     */
+    @Override
+    public int[] getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+
+        return convert(SqlArraySupport.elements(rs.getArray(columnIndex)));
+
+    }
+
+    /**
+     * DBから渡された配列を、Java側のint型の配列に変換する．
+     * <p>
+     * ストアドプロシージャからカラムのインデックスを指定してデータを取得する．
+     * </p>
+     *
+     * @param cs MyBatisから提供された{@link CallableStatement}オブジェクト
+     * @param columnIndex MyBatisから提供されたデータを取得する対象カラムインデックス
+     * @return javaにおけるint型の配列．DB側がnullの場合はnull
+     * @exception SQLException DB側で異常が起こった場合
+     */
+    @Override
+    public int[] getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+
+        return convert(SqlArraySupport.elements(cs.getArray(columnIndex)));
+
+    }
+
+    /**
+     * 配列の要素をint型の配列に変換する．
+     *
+     * @param elements DBから取得した配列の要素
+     * @return int型の配列．引数がnullの場合はnull
+     * @throws SQLException 要素にnullまたは数値以外が含まれる場合
+     */
+    private int[] convert(Object elements) throws SQLException {
+
+        if (elements == null || elements instanceof int[]) {
+
+            return (int[]) elements;
+
+        }
+
+        final Object[] values = (Object[]) elements;
+
+        final int[] result = new int[values.length];
+
+        for (int index = 0; index < values.length; index++) {
+
+            result[index] = SqlArraySupport.number(values, index).intValue();
+
+        }
+
+        return result;
+
+    }
+
+}
@@ -2,6 +2,7 @@
 
 package com.spatialid.app.common.convert;
 
+import java.io.IOException;
 import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -12,7 +13,9 @@ import org.apache.ibatis.type.BaseTypeHandler;
 import org.apache.ibatis.type.JdbcType;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.MissingNode;
 
 /**
  * jsonbをJsonNodeに変換するカスタムタイプハンドラー.
@@ -23,9 +26,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 public class JsonNodeTypeHandler extends BaseTypeHandler<JsonNode> {
 
     /**
-     * オブジェクトマッパー.
+     * JsonNodeを読み取るリーダー.全てのインスタンスで共有する.
      */
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectReader READER = JsonbSupport.NODE_READER;
+
+    /**
+     * JsonNodeを書き込むライター.全てのインスタンスで共有する.
+     */
+    private static final ObjectWriter WRITER = JsonbSupport.NODE_WRITER;
 
     /**
      * PreparedStatementに非nullのパラメータを設定するメソッド.
@@ -42,7 +50,11 @@ public class JsonNodeTypeHandler extends BaseTypeHandler<JsonNode> {
         if (parameter == null) {
             ps.setNull(i, Types.OTHER);
         } else {
-            ps.setString(i, parameter.toString());
+            try {
+                JsonbSupport.write(ps, i, parameter, WRITER);
+            } catch (IOException e) {
+                throw new SQLException("JSONの変換に失敗しました", e);
+            }
         }
     }
 
@@ -51,13 +63,16 @@ public class JsonNodeTypeHandler extends BaseTypeHandler<JsonNode> {
      *
      * @param rs         結果を取得するResultSet.
      * @param columnName カラム名.
-     * @return ResultSetから取得したJsonNode.
+     * @return ResultSetから取得したJsonNode.内容が空の場合は{@link MissingNode}.
      * @throws SQLException データベースアクセスエラーが発生した場合.
      */
     @Override
     public JsonNode getNullableResult(ResultSet rs, String columnName) throws SQLException {
-        String json = rs.getString(columnName);
-        return convertToJsonNode(json);
+        try {
+            return JsonbSupport.read(rs, columnName, READER, MissingNode.getInstance());
+        } catch (IOException e) {
+            throw new SQLException("JSONのパースに失敗しました", e);
+        }
     }
 
     /**
@@ -65,13 +80,16 @@ public class JsonNodeTypeHandler extends BaseTypeHandler<JsonNode> {
      *
      * @param rs          結果を取得するResultSet.
      * @param columnIndex カラムインデックス.
-     * @return ResultSetから取得したJsonNode.
+     * @return ResultSetから取得したJsonNode.内容が空の場合は{@link MissingNode}.
      * @throws SQLException データベースアクセスエラーが発生した場合.
      */
     @Override
     public JsonNode getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
-        String json = rs.getString(columnIndex);
-        return convertToJsonNode(json);
+        try {
+            return JsonbSupport.read(rs, columnIndex, READER, MissingNode.getInstance());
+        } catch (IOException e) {
+            throw new SQLException("JSONのパースに失敗しました", e);
+        }
     }
 
     /**
@@ -79,30 +97,15 @@ public class JsonNodeTypeHandler extends BaseTypeHandler<JsonNode> {
      *
      * @param cs          結果を取得するCallableStatement.
      * @param columnIndex カラムインデックス.
-     * @return CallableStatementから取得したJsonNode.
+     * @return CallableStatementから取得したJsonNode.内容が空の場合は{@link MissingNode}.
      * @throws SQLException データベースアクセスエラーが発生した場合.
      */
     @Override
     public JsonNode getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
-        String json = cs.getString(columnIndex);
-        return convertToJsonNode(json);
-    }
-
-    /**
-     * JSON文字列をJsonNodeに変換するメソッド.
-     *
-     * @param json JSON文字列.
-     * @return JSON文字列のJsonNode表現.
-     * @throws SQLException JSON変換中にエラーが発生した場合.
-     */
-    private JsonNode convertToJsonNode(String json) throws SQLException {
-        if (json != null) {
-            try {
-                return objectMapper.readTree(json);
-            } catch (Exception e) {
-                throw new SQLException("JSONのパースに失敗しました", e);
-            }
+        try {
+            return JsonbSupport.read(cs, columnIndex, READER, MissingNode.getInstance());
+        } catch (IOException e) {
+            throw new SQLException("JSONのパースに失敗しました", e);
         }
-        return null;
     }
 }
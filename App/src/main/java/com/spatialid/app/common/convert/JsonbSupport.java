@@ -0,0 +1,410 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Types;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * jsonb型のカラムを読み書きするためのユーティリティクラス．
+ * <p>
+ * 読み取りは中間の文字列を生成せず、ドライバのバイトストリームから直接パースする．カラムの型がバイナリ型でない場合、
+ * またはドライバがバイトストリームに対応していない場合は文字ストリームから読み取る．<br>
+ * 書き込みはスレッドごとに再利用するバッファへシリアライズし、型を{@link Types#OTHER}として設定する．
+ * PostgreSQLのドライバは型を指定せずに値を送信するため、SQL側でキャストしなくてもjsonbとして解釈される．<br>
+ * ドライバは{@link Types#OTHER}の値を文字列としてのみ受け付けるため、書き込み時はバッファから文字列を1回生成する．
+ * 文字ストリームで設定すると型がvarcharとなり、jsonbのカラムに設定できない．
+ * </p>
+ *
+ * @version 1.1 2026/10/18
+ */
+final class JsonbSupport {
+
+    /**
+     * 全てのタイプハンドラーで共有するオブジェクトマッパー．
+     * 設定を変更されないよう公開せず、不変のリーダーとライターのみを公開する．
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * JsonNodeを読み取るリーダー．
+     */
+    static final ObjectReader NODE_READER = MAPPER.readerFor(JsonNode.class);
+
+    /**
+     * JsonNodeを書き込むライター．
+     */
+    static final ObjectWriter NODE_WRITER = MAPPER.writerFor(JsonNode.class);
+
+    /**
+     * 再利用するバッファとして保持する最大文字数．これを超えたバッファは使用後に破棄する．
+     */
+    private static final int RETAINED_BUFFER_LIMIT = 64 * 1024;
+
+    /**
+     * jsonbのバイナリ形式の先頭に付与されるバージョン番号．
+     */
+    private static final int JSONB_BINARY_VERSION = 1;
+
+    /**
+     * スレッドごとの書き込みバッファ．
+     */
+    private static final ThreadLocal<StringWriter> BUFFER = ThreadLocal.withInitial(StringWriter::new);
+
+    /**
+     * プライベートコンストラクタ<br>
+     * ユーティリティクラスのため、インスタンス化を禁じる．
+     */
+    private JsonbSupport() {
+
+    }
+
+    /**
+     * 共有するオブジェクトマッパーの設定で、指定した型を読み取るリーダーを生成する．
+     *
+     * @param type 読み取る型
+     * @return リーダー
+     */
+    static ObjectReader readerFor(TypeReference<?> type) {
+
+        return MAPPER.readerFor(type);
+
+    }
+
+    /**
+     * 共有するオブジェクトマッパーの設定で、指定した型を書き込むライターを生成する．
+     *
+     * @param type 書き込む型
+     * @return ライター
+     */
+    static ObjectWriter writerFor(TypeReference<?> type) {
+
+        return MAPPER.writerFor(type);
+
+    }
+
+    /**
+     * 指定したカラム名のjsonbを読み取る．
+     *
+     * @param <T> 読み取り結果の型
+     * @param rs 読み取り元
+     * @param columnName カラム名
+     * @param reader 読み取りに使用するリーダー
+     * @param empty 内容が空の場合に返却する値
+     * @return 読み取り結果．値がnullの場合はnull
+     * @throws SQLException DB側で異常が起こった場合
+     * @throws IOException JSONのパースに失敗した場合
+     */
+    static <T> T read(ResultSet rs, String columnName, ObjectReader reader, T empty) throws SQLException, IOException {
+
+        return read(rs, rs.findColumn(columnName), reader, empty);
+
+    }
+
+    /**
+     * 指定したカラムインデックスのjsonbを読み取る．
+     *
+     * @param <T> 読み取り結果の型
+     * @param rs 読み取り元
+     * @param columnIndex カラムインデックス
+     * @param reader 読み取りに使用するリーダー
+     * @param empty 内容が空の場合に返却する値
+     * @return 読み取り結果．値がnullの場合はnull
+     * @throws SQLException DB側で異常が起こった場合
+     * @throws IOException JSONのパースに失敗した場合
+     */
+    static <T> T read(ResultSet rs, int columnIndex, ObjectReader reader, T empty) throws SQLException, IOException {
+
+        if (!isBinary(rs, columnIndex)) {
+
+            return read(rs.getCharacterStream(columnIndex), reader, empty);
+
+        }
+
+        final InputStream stream;
+
+        try {
+
+            stream = rs.getBinaryStream(columnIndex);
+
+        } catch (SQLFeatureNotSupportedException e) {
+
+            return read(rs.getCharacterStream(columnIndex), reader, empty);
+
+        }
+
+        if (stream == null) {
+
+            return null;
+
+        }
+
+        try (InputStream in = skipBinaryVersion(stream)) {
+
+            return parse(reader.createParser(in), reader, empty);
+
+        }
+
+    }
+
+    /**
+     * ストアドプロシージャの出力パラメータのjsonbを読み取る．
+     *
+     * @param <T> 読み取り結果の型
+     * @param cs 読み取り元
+     * @param columnIndex パラメータのインデックス
+     * @param reader 読み取りに使用するリーダー
+     * @param empty 内容が空の場合に返却する値
+     * @return 読み取り結果．値がnullの場合はnull
+     * @throws SQLException DB側で異常が起こった場合
+     * @throws IOException JSONのパースに失敗した場合
+     */
+    static <T> T read(CallableStatement cs, int columnIndex, ObjectReader reader, T empty) throws SQLException, IOException {
+
+        return read(cs.getCharacterStream(columnIndex), reader, empty);
+
+    }
+
+    /**
+     * 指定したカラムインデックスのjsonbを、パースせずにJSONテキストのバイト列として読み取る．
+     *
+     * @param rs 読み取り元
+     * @param columnIndex カラムインデックス
+     * @return UTF-8のJSONテキスト．値がnullの場合はnull
+     * @throws SQLException DB側で異常が起こった場合
+     */
+    static byte[] readBytes(ResultSet rs, int columnIndex) throws SQLException {
+
+        if (!isBinary(rs, columnIndex)) {
+
+            return toBytes(rs.getString(columnIndex));
+
+        }
+
+        final byte[] bytes;
+
+        try {
+
+            bytes = rs.getBytes(columnIndex);
+
+        } catch (SQLFeatureNotSupportedException e) {
+
+            return toBytes(rs.getString(columnIndex));
+
+        }
+
+        if (bytes == null || bytes.length == 0 || bytes[0] != JSONB_BINARY_VERSION) {
+
+            return bytes;
+
+        }
+
+        return Arrays.copyOfRange(bytes, 1, bytes.length);
+
+    }
+
+    /**
+     * ストアドプロシージャの出力パラメータのjsonbを、パースせずにJSONテキストのバイト列として読み取る．
+     *
+     * @param cs 読み取り元
+     * @param columnIndex パラメータのインデックス
+     * @return UTF-8のJSONテキスト．値がnullの場合はnull
+     * @throws SQLException DB側で異常が起こった場合
+     */
+    static byte[] readBytes(CallableStatement cs, int columnIndex) throws SQLException {
+
+        return toBytes(cs.getString(columnIndex));
+
+    }
+
+    /**
+     * JSONテキストのバイト列を、jsonbのパラメータとして設定する．
+     *
+     * @param ps 設定先
+     * @param i パラメータのインデックス
+     * @param json UTF-8のJSONテキスト
+     * @throws SQLException DB側で異常が起こった場合
+     */
+    static void writeBytes(PreparedStatement ps, int i, byte[] json) throws SQLException {
+
+        ps.setObject(i, new String(json, StandardCharsets.UTF_8), Types.OTHER);
+
+    }
+
+    /**
+     * 値をJSONにシリアライズし、jsonbのパラメータとして設定する．
+     *
+     * @param ps 設定先
+     * @param i パラメータのインデックス
+     * @param value 設定する値
+     * @param writer シリアライズに使用するライター
+     * @throws SQLException DB側で異常が起こった場合
+     * @throws IOException シリアライズに失敗した場合
+     */
+    static void write(PreparedStatement ps, int i, Object value, ObjectWriter writer) throws SQLException, IOException {
+
+        final StringWriter buffer = BUFFER.get();
+
+        try {
+
+            writer.writeValue(buffer, value);
+
+            ps.setObject(i, buffer.toString(), Types.OTHER);
+
+        } finally {
+
+            if (RETAINED_BUFFER_LIMIT < buffer.getBuffer().capacity()) {
+
+                BUFFER.remove();
+
+            } else {
+
+                buffer.getBuffer().setLength(0);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * 文字ストリームからjsonbを読み取る．
+     *
+     * @param <T> 読み取り結果の型
+     * @param stream 文字ストリーム
+     * @param reader 読み取りに使用するリーダー
+     * @param empty 内容が空の場合に返却する値
+     * @return 読み取り結果．値がnullの場合はnull
+     * @throws IOException JSONのパースに失敗した場合
+     */
+    private static <T> T read(Reader stream, ObjectReader reader, T empty) throws IOException {
+
+        if (stream == null) {
+
+            return null;
+
+        }
+
+        try (Reader in = stream) {
+
+            return parse(reader.createParser(in), reader, empty);
+
+        }
+
+    }
+
+    /**
+     * カラムの型がバイナリ型か判定する．
+     * <p>
+     * jsonbは{@link Types#OTHER}として報告されるため、バイナリ型として扱う．
+     * 文字列型のカラムをバイトストリームで読み取るとドライバにより文字コードが保証されないため、文字ストリームで読み取る．
+     * </p>
+     *
+     * @param rs 読み取り元
+     * @param columnIndex カラムインデックス
+     * @return バイナリ型の場合はtrue
+     * @throws SQLException DB側で異常が起こった場合
+     */
+    private static boolean isBinary(ResultSet rs, int columnIndex) throws SQLException {
+
+        switch (rs.getMetaData().getColumnType(columnIndex)) {
+
+        case Types.BINARY:
+        case Types.VARBINARY:
+        case Types.LONGVARBINARY:
+        case Types.BLOB:
+        case Types.OTHER:
+
+            return true;
+
+        default:
+
+            return false;
+
+        }
+
+    }
+
+    /**
+     * 文字列をUTF-8のバイト列に変換する．
+     *
+     * @param json JSONテキスト
+     * @return UTF-8のバイト列．引数がnullの場合はnull
+     */
+    private static byte[] toBytes(String json) {
+
+        return json == null ? null : json.getBytes(StandardCharsets.UTF_8);
+
+    }
+
+    /**
+     * パーサーから値を読み取る．
+     *
+     * @param <T> 読み取り結果の型
+     * @param parser パーサー
+     * @param reader 読み取りに使用するリーダー
+     * @param empty 内容が空の場合に返却する値
+     * @return 読み取り結果
+     * @throws IOException JSONのパースに失敗した場合
+     */
+    private static <T> T parse(JsonParser parser, ObjectReader reader, T empty) throws IOException {
+
+        try (JsonParser p = parser) {
+
+            if (p.nextToken() == null) {
+
+                return empty;
+
+            }
+
+            return reader.readValue(p);
+
+        }
+
+    }
+
+    /**
+     * バイナリ形式で転送されたjsonbの場合、先頭のバージョン番号を読み飛ばす．
+     * <p>
+     * JSONのテキストは制御文字で始まらないため、先頭が{@link #JSONB_BINARY_VERSION}の場合のみバイナリ形式と判断する．
+     * </p>
+     *
+     * @param stream バイトストリーム
+     * @return JSONのテキストから始まるバイトストリーム
+     * @throws IOException 読み取りに失敗した場合
+     */
+    private static InputStream skipBinaryVersion(InputStream stream) throws IOException {
+
+        final InputStream in = stream.markSupported() ? stream : new BufferedInputStream(stream);
+
+        in.mark(1);
+
+        if (in.read() != JSONB_BINARY_VERSION) {
+
+            in.reset();
+
+        }
+
+        return in;
+
+    }
+
+}
@@ -0,0 +1,238 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * パースを初回参照時まで遅延するJSONの値．
+ * <p>
+ * DBから読み取ったjsonbのバイト列(UTF-8のJSONテキスト)をそのまま保持し、{@link #getNode()}等で内容を参照した時点で初めてパースする．<br>
+ * 一度も参照されずにJacksonでシリアライズされた場合は、{@link LazyJsonNodeSerializer}により保持したバイト列をそのまま出力する．
+ * 参照後は取得した{@link JsonNode}が変更されている可能性があるため、{@link JsonNode}をシリアライズする．
+ * </p>
+ * <p>
+ * バイト列はDBから取得したjsonbであることを前提に、保持時には検証しない．スレッドセーフである．
+ * </p>
+ *
+ * @version 1.1 2026/10/18
+ */
+@JsonSerialize(using = LazyJsonNodeSerializer.class)
+public final class LazyJsonNode {
+
+    /**
+     * JSONテキストのバイト列．パース済みの値から生成した場合はnull．
+     */
+    private final byte[] raw;
+
+    /**
+     * パース済みの値．未パースの場合はnull．
+     */
+    private volatile JsonNode node;
+
+    private LazyJsonNode(byte[] raw, JsonNode node) {
+
+        this.raw = raw;
+
+        this.node = node;
+
+    }
+
+    /**
+     * JSONテキストのバイト列から生成する．配列は複製せずに保持する．
+     *
+     * @param raw UTF-8のJSONテキスト
+     * @return 未パースの値
+     */
+    public static LazyJsonNode ofRaw(byte[] raw) {
+
+        return new LazyJsonNode(Objects.requireNonNull(raw, "raw"), null);
+
+    }
+
+    /**
+     * パース済みの値から生成する．
+     *
+     * @param node 値
+     * @return パース済みの値
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static LazyJsonNode of(JsonNode node) {
+
+        return new LazyJsonNode(null, Objects.requireNonNull(node, "node"));
+
+    }
+
+    /**
+     * 値を取得する．初回の呼び出し時にパースする．
+     *
+     * @return 値
+     * @throws UncheckedIOException パースに失敗した場合
+     */
+    public JsonNode getNode() {
+
+        JsonNode result = node;
+
+        if (result == null) {
+
+            synchronized (this) {
+
+                result = node;
+
+                if (result == null) {
+
+                    try {
+
+                        result = JsonbSupport.NODE_READER.readTree(raw);
+
+                    } catch (IOException e) {
+
+                        throw new UncheckedIOException(e);
+
+                    }
+
+                    node = result;
+
+                }
+
+            }
+
+        }
+
+        return result;
+
+    }
+
+    /**
+     * オブジェクトのフィールドを取得する．
+     *
+     * @param fieldName フィールド名
+     * @return フィールドの値．存在しない場合はnull
+     * @see JsonNode#get(String)
+     */
+    public JsonNode get(String fieldName) {
+
+        return getNode().get(fieldName);
+
+    }
+
+    /**
+     * 配列の要素を取得する．
+     *
+     * @param index 位置
+     * @return 要素．存在しない場合はnull
+     * @see JsonNode#get(int)
+     */
+    public JsonNode get(int index) {
+
+        return getNode().get(index);
+
+    }
+
+    /**
+     * オブジェクトのフィールドを取得する．
+     *
+     * @param fieldName フィールド名
+     * @return フィールドの値．存在しない場合は{@link com.fasterxml.jackson.databind.node.MissingNode}
+     * @see JsonNode#path(String)
+     */
+    public JsonNode path(String fieldName) {
+
+        return getNode().path(fieldName);
+
+    }
+
+    /**
+     * パース済みか判定する．
+     *
+     * @return パース済みの場合はtrue
+     */
+    public boolean isParsed() {
+
+        return node != null;
+
+    }
+
+    /**
+     * 保持しているJSONテキストのバイト列を返却する．
+     * <p>
+     * 返却した配列は変更しないこと．
+     * </p>
+     *
+     * @return UTF-8のJSONテキスト．パース済みの値から生成した場合はnull
+     */
+    byte[] raw() {
+
+        return raw;
+
+    }
+
+    /**
+     * JSONテキストを返却する．未パースの場合はパースせずに生成する．
+     *
+     * @return JSONテキスト
+     */
+    @Override
+    public String toString() {
+
+        return isParsed() ? node.toString() : new String(raw, StandardCharsets.UTF_8);
+
+    }
+
+    /**
+     * 値が等しいか判定する．
+     * <p>
+     * 両方が未パースでバイト列が一致する場合はパースせずにtrueとし、それ以外は{@link JsonNode}で比較する．
+     * </p>
+     *
+     * @param obj 比較対象
+     * @return 値が等しい場合はtrue
+     */
+    @Override
+    public boolean equals(Object obj) {
+
+        if (this == obj) {
+
+            return true;
+
+        }
+
+        if (!(obj instanceof LazyJsonNode)) {
+
+            return false;
+
+        }
+
+        final LazyJsonNode other = (LazyJsonNode) obj;
+
+        if (!isParsed() && !other.isParsed() && Arrays.equals(raw, other.raw)) {
+
+            return true;
+
+        }
+
+        return getNode().equals(other.getNode());
+
+    }
+
+    /**
+     * ハッシュ値を返却する．{@link JsonNode}のハッシュ値を使用するため、パースする．
+     *
+     * @return ハッシュ値
+     */
+    @Override
+    public int hashCode() {
+
+        return getNode().hashCode();
+
+    }
+
+}
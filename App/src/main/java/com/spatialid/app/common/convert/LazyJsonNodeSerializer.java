@@ -0,0 +1,200 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * {@link LazyJsonNode}をシリアライズするクラス．
+ * <p>
+ * 未パースの場合は保持しているJSONテキストのバイト列を、パースや文字列への変換をせずにそのまま出力する．<br>
+ * パース済みの場合、またはJSON以外の出力先(TokenBuffer等)の場合は{@link com.fasterxml.jackson.databind.JsonNode}として出力する．
+ * </p>
+ *
+ * @version 1.1 2026/10/18
+ */
+public class LazyJsonNodeSerializer extends StdSerializer<LazyJsonNode> {
+
+    private static final long serialVersionUID = 1L;
+
+    public LazyJsonNodeSerializer() {
+
+        super(LazyJsonNode.class);
+
+    }
+
+    /**
+     * 値を出力する．
+     *
+     * @param value 値
+     * @param gen JSONジェネレータ
+     * @param provider シリアライザプロバイダ
+     * @throws IOException 出力に失敗した場合
+     */
+    @Override
+    public void serialize(LazyJsonNode value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+
+        if (value.isParsed() || !(gen instanceof JsonGeneratorImpl)) {
+
+            provider.defaultSerializeValue(value.getNode(), gen);
+
+            return;
+
+        }
+
+        gen.writeRawValue(new RawJson(value.raw()));
+
+    }
+
+    /**
+     * JSONテキストのバイト列をそのまま出力するための{@link SerializableString}．
+     * <p>
+     * 引用符なしのUTF-8としての出力のみをバイト列から直接行い、それ以外は文字列に変換して扱う．
+     * </p>
+     */
+    private static final class RawJson implements SerializableString {
+
+        private final byte[] utf8;
+
+        private SerializedString decoded;
+
+        RawJson(byte[] utf8) {
+
+            this.utf8 = utf8;
+
+        }
+
+        private SerializedString decoded() {
+
+            if (decoded == null) {
+
+                decoded = new SerializedString(new String(utf8, StandardCharsets.UTF_8));
+
+            }
+
+            return decoded;
+
+        }
+
+        @Override
+        public String getValue() {
+
+            return decoded().getValue();
+
+        }
+
+        @Override
+        public int charLength() {
+
+            return decoded().charLength();
+
+        }
+
+        @Override
+        public char[] asQuotedChars() {
+
+            return decoded().asQuotedChars();
+
+        }
+
+        @Override
+        public byte[] asUnquotedUTF8() {
+
+            return utf8;
+
+        }
+
+        @Override
+        public byte[] asQuotedUTF8() {
+
+            return decoded().asQuotedUTF8();
+
+        }
+
+        @Override
+        public int appendQuotedUTF8(byte[] buffer, int offset) {
+
+            return decoded().appendQuotedUTF8(buffer, offset);
+
+        }
+
+        @Override
+        public int appendQuoted(char[] buffer, int offset) {
+
+            return decoded().appendQuoted(buffer, offset);
+
+        }
+
+        @Override
+        public int appendUnquotedUTF8(byte[] buffer, int offset) {
+
+            if (buffer.length - offset < utf8.length) {
+
+                return -1;
+
+            }
+
+            System.arraycopy(utf8, 0, buffer, offset, utf8.length);
+
+            return utf8.length;
+
+        }
+
+        @Override
+        public int appendUnquoted(char[] buffer, int offset) {
+
+            return decoded().appendUnquoted(buffer, offset);
+
+        }
+
+        @Override
+        public int writeQuotedUTF8(OutputStream out) throws IOException {
+
+            return decoded().writeQuotedUTF8(out);
+
+        }
+
+        @Override
+        public int writeUnquotedUTF8(OutputStream out) throws IOException {
+
+            out.write(utf8);
+
+            return utf8.length;
+
+        }
+
+        @Override
+        public int putQuotedUTF8(ByteBuffer buffer) throws IOException {
+
+            return decoded().putQuotedUTF8(buffer);
+
+        }
+
+        @Override
+        public int putUnquotedUTF8(ByteBuffer buffer) throws IOException {
+
+            if (buffer.remaining() < utf8.length) {
+
+                return -1;
+
+            }
+
+            buffer.put(utf8);
+
+            return utf8.length;
+
+        }
+
+    }
+
+}
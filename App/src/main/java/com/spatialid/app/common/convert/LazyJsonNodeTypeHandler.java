@@ -0,0 +1,140 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import java.io.IOException;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * MyBatisにおけるTypeHandlerを定義するクラス．<br>
+ * jsonbを{@link LazyJsonNode}に変換する．
+ * <p>
+ * 読み取り時はjsonbのバイト列を保持するのみで、パースは行わない．
+ * 参照されずにレスポンスとしてシリアライズされる列では、{@link JsonNodeTypeHandler}と比べてパースと再シリアライズが不要となる．
+ * </p>
+ *
+ * @version 1.1 2026/10/18
+ */
+public class LazyJsonNodeTypeHandler extends BaseTypeHandler<LazyJsonNode> {
+
+    /**
+     * パース済みの値を書き込むライター．
+     */
+    private static final ObjectWriter WRITER = JsonbSupport.NODE_WRITER;
+
+    /**
+     * Javaから渡された{@link LazyJsonNode}を、DB側のjsonbにマッピングする．
+     * <p>
+     * 未パースの場合は保持しているバイト列をそのまま設定する．
+     * </p>
+     *
+     * @param ps MyBatisから提供された{@link PreparedStatement}オブジェクト
+     * @param i MyBatisから提供された引数のインデックス
+     * @param parameter Java側から渡された値
+     * @param jdbcType MyBatisから提供された{@link JdbcType}
+     * @exception SQLException DB側で異常が起こった場合
+     */
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, LazyJsonNode parameter, JdbcType jdbcType) throws SQLException {
+
+        if (!parameter.isParsed()) {
+
+            JsonbSupport.writeBytes(ps, i, parameter.raw());
+
+            return;
+
+        }
+
+        try {
+
+            JsonbSupport.write(ps, i, parameter.getNode(), WRITER);
+
+        } catch (IOException e) {
+
+            throw new SQLException(e);
+
+        }
+
+    }
+
+    /**
+     * DBから渡されたjsonbを、パースせずに{@link LazyJsonNode}に変換する．
+     * <p>
+     * 指定されたカラム名を元に、データを取得する．
+     * </p>
+     *
+     * @param rs MyBatisから提供された{@link ResultSet}オブジェクト
+     * @param columnName MyBatisから提供されたデータを取得する対象カラム名
+     * @return 未パースの値．DB側がnullの場合はnull
+     * @exception SQLException DB側で異常が起こった場合
+     */
+    @Override
+    public LazyJsonNode getNullableResult(ResultSet rs, String columnName) throws SQLException {
+
+        return toLazyJsonNode(JsonbSupport.readBytes(rs, rs.findColumn(columnName)));
+
+    }
+
+    /**
+     * DBから渡されたjsonbを、パースせずに{@link LazyJsonNode}に変換する．
+     * <p>
+     * 指定されたカラムのインデックスを元に、データを取得する．
+     * </p>
+     *
+     * @param rs MyBatisから提供された{@link ResultSet}オブジェクト
+     * @param columnIndex MyBatisから提供されたデータを取得する対象カラムインデックス
+     * @return 未パースの値．DB側がnullの場合はnull
+     * @exception SQLException DB側で異常が起こった場合
+     */
+    @Override
+    public LazyJsonNode getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+
+        return toLazyJsonNode(JsonbSupport.readBytes(rs, columnIndex));
+
+    }
+
+    /**
+     * DBから渡されたjsonbを、パースせずに{@link LazyJsonNode}に変換する．
+     * <p>
+     * ストアドプロシージャからカラムのインデックスを指定してデータを取得する．
+     * </p>
+     *
+     * @param cs MyBatisから提供された{@link CallableStatement}オブジェクト
+     * @param columnIndex MyBatisから提供されたデータを取得する対象カラムインデックス
+     * @return 未パースの値．DB側がnullの場合はnull
+     * @exception SQLException DB側で異常が起こった場合
+     */
+    @Override
+    public LazyJsonNode getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+
+        return toLazyJsonNode(JsonbSupport.readBytes(cs, columnIndex));
+
+    }
+
+    /**
+     * バイト列を{@link LazyJsonNode}に変換する．
+     *
+     * @param json UTF-8のJSONテキスト
+     * @return 未パースの値．引数がnullまたは空の場合はnull
+     */
+    private LazyJsonNode toLazyJsonNode(byte[] json) {
+
+        if (json == null || json.length == 0) {
+
+            return null;
+
+        }
+
+        return LazyJsonNode.ofRaw(json);
+
+    }
+
+}
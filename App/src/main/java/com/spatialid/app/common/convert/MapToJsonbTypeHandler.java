@@ -2,6 +2,7 @@
 
 package com.spatialid.app.common.convert;
 
+import java.io.IOException;
 import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -11,9 +12,9 @@ import java.util.Map;
 import org.apache.ibatis.type.BaseTypeHandler;
 import org.apache.ibatis.type.JdbcType;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 /**
  * MyBatisにおけるTypeHandlerを定義するクラス．<br>
@@ -25,9 +26,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 public class MapToJsonbTypeHandler extends BaseTypeHandler<Map<String, String>> {
     
     /**
-     * Jsonオブジェクトマッパー．
+     * Map型を読み取るリーダー．型情報を解決済みのものを共有する．
      */
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectReader READER = JsonbSupport.readerFor(new TypeReference<Map<String, String>>(){});
+    
+    /**
+     * Map型を書き込むライター．
+     */
+    private static final ObjectWriter WRITER = JsonbSupport.writerFor(new TypeReference<Map<String, String>>(){});
         
     /**
      * Javaから渡されたMap型を、DB側のJsonbにマッピングする．
@@ -46,11 +52,9 @@ public class MapToJsonbTypeHandler extends BaseTypeHandler<Map<String, String>>
         
         try {
             
-            final String json = objectMapper.writeValueAsString(parameter);
-            
-            ps.setString(i, json);
+            JsonbSupport.write(ps, i, parameter, WRITER);
             
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             
             throw new SQLException(e);
             
@@ -72,9 +76,15 @@ public class MapToJsonbTypeHandler extends BaseTypeHandler<Map<String, String>>
     @Override
     public Map<String, String> getNullableResult(ResultSet rs, String columnName) throws SQLException {
             
-        final String json = rs.getString(columnName);
-        
-        return getMapFromJson(json);
+        try {
+            
+            return JsonbSupport.read(rs, columnName, READER, null);
+            
+        } catch (IOException e) {
+            
+            throw new SQLException(e);
+            
+        }
         
     }
     
@@ -92,9 +102,15 @@ public class MapToJsonbTypeHandler extends BaseTypeHandler<Map<String, String>>
     @Override
     public Map<String, String> getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
         
-        final String json = rs.getString(columnIndex);
-        
-        return getMapFromJson(json);
+        try {
+            
+            return JsonbSupport.read(rs, columnIndex, READER, null);
+            
+        } catch (IOException e) {
+            
+            throw new SQLException(e);
+            
+        }
         
     }
     
@@ -112,32 +128,11 @@ public class MapToJsonbTypeHandler extends BaseTypeHandler<Map<String, String>>
     @Override
     public Map<String, String> getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
         
-        final String json = cs.getString(columnIndex);
-        
-        return getMapFromJson(json);
-        
-    }
-    
-    /**
-     * 引数として受け取ったjson文字列をMap型に変換して返却する．
-     * 
-     * @param json json文字列
-     * @return Map型に変換されたJson文字列
-     * @throws SQLException DB側で異常が起こった場合
-     */
-    private Map<String, String> getMapFromJson(String json) throws SQLException {
-        
-        if (json == null || json.isEmpty()) {
-            
-            return null;
-            
-        }
-        
         try {
             
-            return objectMapper.readValue(json, new TypeReference<Map<String, String>>(){});
+            return JsonbSupport.read(cs, columnIndex, READER, null);
             
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             
             throw new SQLException(e);
             
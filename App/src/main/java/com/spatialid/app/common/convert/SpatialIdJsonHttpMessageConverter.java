@@ -0,0 +1,67 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * 空間IDリストの出力形式をAcceptヘッダで切り替えるJSONメッセージコンバータ．
+ * <p>
+ * 出力するContent-Typeが{@link #COMPACT_MEDIA_TYPE}の場合、{@link SpatialIdListSerializer#COMPACT_ATTRIBUTE}を設定して出力する．<br>
+ * "application/*+json"に含まれるため対応メディアタイプの追加は不要で、Acceptヘッダが"application/json"や"*&#47;*"の場合は従来通り文字列配列を出力する．
+ * </p>
+ *
+ * @version 1.1 2026/10/18
+ */
+public class SpatialIdJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    /**
+     * 空間IDリストを圧縮形式で出力するメディアタイプの文字列表現．
+     */
+    public static final String COMPACT_MEDIA_TYPE_VALUE = "application/vnd.spatialid.compact+json";
+
+    /**
+     * 空間IDリストを圧縮形式で出力するメディアタイプ．
+     */
+    public static final MediaType COMPACT_MEDIA_TYPE = MediaType.valueOf(COMPACT_MEDIA_TYPE_VALUE);
+
+    /**
+     * ObjectMapperを指定して生成する．
+     *
+     * @param objectMapper ObjectMapper
+     */
+    public SpatialIdJsonHttpMessageConverter(ObjectMapper objectMapper) {
+
+        super(objectMapper);
+
+    }
+
+    /**
+     * 出力するContent-Typeに応じて、空間IDリストの出力形式を設定する．
+     *
+     * @param writer ObjectWriter
+     * @param javaType 出力する型
+     * @param contentType 出力するContent-Type
+     * @return 設定したObjectWriter
+     */
+    @Override
+    protected ObjectWriter customizeWriter(ObjectWriter writer, JavaType javaType, MediaType contentType) {
+
+        final ObjectWriter customized = super.customizeWriter(writer, javaType, contentType);
+
+        if (contentType != null && COMPACT_MEDIA_TYPE.equalsTypeAndSubtype(contentType)) {
+
+            return customized.withAttribute(SpatialIdListSerializer.COMPACT_ATTRIBUTE, Boolean.TRUE);
+
+        }
+
+        return customized;
+
+    }
+
+}
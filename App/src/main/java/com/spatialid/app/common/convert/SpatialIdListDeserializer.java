@@ -0,0 +1,451 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedParameter;
+import com.spatialid.app.common.spatialid.PackedSpatialId;
+import com.spatialid.app.common.spatialid.PackedSpatialIdList;
+import com.spatialid.app.common.spatialid.SpatialId;
+import com.spatialid.app.common.spatialid.SpatialIdAreaCounter;
+import com.spatialid.app.common.spatialid.SpatialIdCodec;
+import com.spatialid.app.common.validation.CheckSidArea;
+import com.spatialid.app.common.validation.CheckSidZoomLevel;
+
+/**
+ * 空間IDの配列をトークン単位で読み込み、{@link PackedSpatialIdList}に直接変換するデシリアライザクラス．
+ * <p>
+ * 読み込みと同時に以下の検査を行い、最初の違反を検出した時点で{@link SpatialIdViolationException}を送出する．<br>
+ * ・空間IDの書式(文字列であること、"z/f/x/y"形式であること)<br>
+ * ・要素に付与された{@link CheckSidZoomLevel}のズームレベル範囲<br>
+ * ・フィールドに付与された{@link CheckSidArea}の累積面積(excludeOverlapがfalseの場合のみ)<br>
+ * リクエストボディ全体を文字列のリストとして展開する前に不正なリクエストを棄却できる．<br>
+ * 書式の判定は{@link com.spatialid.app.common.validation.CheckSid}と同一とする．
+ * 重なりを除外する面積の判定は全要素が揃うまで行えないため、{@link com.spatialid.app.common.validation.CheckSidAreaValidator}に委ねる．
+ * </p>
+ * <p>
+ * 返却するリストは変更可能であり、要素は送信された文字列のまま取得できる．
+ * nullの要素、および標高が大きい等の理由で{@link PackedSpatialId}形式で表現できない要素も違反とせずに保持する．
+ * nullの要素は検査せず、後続のバリデータで判定する．
+ * </p>
+ * <p>
+ * 配列の代わりに{@link SpatialIdCodec}形式をBase64で表した文字列も受け付ける．この場合も同じ検査を行う．
+ * </p>
+ * <p>
+ * 以下のようにフィールドに付与して使用する．
+ * </p>
+ * <pre>
+ * &#064;JsonDeserialize(using = SpatialIdListDeserializer.class)
+ * &#064;CheckSidArea(lowerLimit = 16, upperLimit = 26)
+ * private List&lt;&#064;CheckSid &#064;CheckSidZoomLevel(lowerLimit = 16, upperLimit = 26) String&gt; sids;
+ * </pre>
+ *
+ * @version 1.1 2026/10/17
+ */
+public class SpatialIdListDeserializer extends StdDeserializer<List<String>> implements ContextualDeserializer {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 書式不正の理由．{@link com.spatialid.app.common.validation.CheckSid}のメッセージと同一とする．
+     */
+    private static final String MALFORMED = "Invalid sid list";
+
+    /**
+     * 対象プロパティ名．
+     */
+    private final String fieldName;
+
+    /**
+     * ズームレベル範囲の検査設定．未設定の場合はnull．
+     */
+    private final transient CheckSidZoomLevel zoomLevel;
+
+    /**
+     * 累積面積の検査設定．未設定の場合はnull．
+     */
+    private final transient CheckSidArea area;
+
+    public SpatialIdListDeserializer() {
+
+        this(null, null, null);
+
+    }
+
+    private SpatialIdListDeserializer(String fieldName, CheckSidZoomLevel zoomLevel, CheckSidArea area) {
+
+        super(List.class);
+
+        this.fieldName = fieldName;
+
+        this.zoomLevel = zoomLevel;
+
+        this.area = area;
+
+    }
+
+    /**
+     * 対象プロパティに付与されたバリデーションアノテーションから、検査設定を読み込む．
+     *
+     * @param ctxt デシリアライズコンテキスト
+     * @param property 対象プロパティ
+     * @return 検査設定を反映したデシリアライザ
+     */
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) {
+
+        if (property == null) {
+
+            return this;
+
+        }
+
+        CheckSidZoomLevel zoomLevelAnnotation = property.getAnnotation(CheckSidZoomLevel.class);
+
+        if (zoomLevelAnnotation == null) {
+
+            zoomLevelAnnotation = findElementAnnotation(property, CheckSidZoomLevel.class);
+
+        }
+
+        return new SpatialIdListDeserializer(property.getName(), zoomLevelAnnotation, property.getAnnotation(CheckSidArea.class));
+
+    }
+
+    /**
+     * 空間IDの配列を読み込み、検査を行いながら{@link PackedSpatialIdList}に変換する．
+     *
+     * @param p JSONパーサ
+     * @param ctxt デシリアライズコンテキスト
+     * @return 空間IDリスト
+     * @throws IOException 読み込みに失敗した場合、またはバリデーション違反を検出した場合
+     */
+    @Override
+    public List<String> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+
+        // 重なりを除外する場合、要素ごとの面積の累積は上限を超えうるため検査しない
+        final SpatialIdAreaCounter counter = (area == null || area.excludeOverlap()) ? null
+                : new SpatialIdAreaCounter(area.lowerLimit(), area.upperLimit());
+
+        if (p.currentToken() == JsonToken.VALUE_STRING) {
+
+            return deserializeCompact(p, counter);
+
+        }
+
+        if (!p.isExpectedStartArrayToken()) {
+
+            throw new SpatialIdViolationException(p, fieldName, p.getText(), "array expected");
+
+        }
+
+        final PackedSpatialIdList list = new PackedSpatialIdList();
+
+        final CharArrayView view = new CharArrayView();
+
+        final long[] elements = new long[4];
+
+        JsonToken token;
+
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+
+            if (token == JsonToken.VALUE_NULL) {
+
+                // nullの要素は@CheckSid等のバリデータに判定を委ねる
+                list.add(null);
+
+                continue;
+
+            }
+
+            if (token != JsonToken.VALUE_STRING) {
+
+                throw new SpatialIdViolationException(p, fieldName, String.valueOf(p.getText()), "string expected");
+
+            }
+
+            // 文字列を生成せず、パーサのバッファを直接解析する
+            view.reset(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+
+            if (SpatialId.scan(view, elements) != SpatialId.VALID) {
+
+                throw new SpatialIdViolationException(p, fieldName, p.getText(), MALFORMED);
+
+            }
+
+            final int z = (int) elements[0];
+
+            if (zoomLevel != null && (z < zoomLevel.lowerLimit() || zoomLevel.upperLimit() < z)) {
+
+                throw new SpatialIdViolationException(p, fieldName, p.getText(), "zoom level out of range");
+
+            }
+
+            if (counter != null && !counter.add(z)) {
+
+                throw new SpatialIdViolationException(p, fieldName, p.getText(), "area limit exceeded");
+
+            }
+
+            final long packed = PackedSpatialId.encode(z, elements[1], elements[2], elements[3]);
+
+            if (packed != PackedSpatialId.INVALID && view.length() == PackedSpatialId.textLength(packed)) {
+
+                list.addPacked(packed);
+
+                continue;
+
+            }
+
+            // 正規形でない文字列、または変換済み形式で表現できない要素は文字列のまま保持する
+            list.add(p.getText());
+
+        }
+
+        return list;
+
+    }
+
+    /**
+     * {@link SpatialIdCodec}形式をBase64で表した文字列を読み込み、検査を行いながら{@link PackedSpatialIdList}に変換する．
+     *
+     * @param p JSONパーサ
+     * @param counter 累積面積の計数器．検査しない場合はnull
+     * @return 空間IDリスト
+     * @throws IOException 読み込みに失敗した場合、またはバリデーション違反を検出した場合
+     */
+    private List<String> deserializeCompact(JsonParser p, SpatialIdAreaCounter counter) throws IOException {
+
+        final int length = p.getTextLength();
+
+        final long[] packedIds;
+
+        try {
+
+            packedIds = SpatialIdCodec.decode(p.getBinaryValue());
+
+        } catch (IllegalArgumentException | JsonParseException e) {
+
+            throw new SpatialIdViolationException(p, fieldName, "compact value of " + length + " characters", "malformed compact spatial id list");
+
+        }
+
+        final PackedSpatialIdList list = new PackedSpatialIdList(packedIds.length);
+
+        for (long packed : packedIds) {
+
+            final int z = PackedSpatialId.zoomLevel(packed);
+
+            if (zoomLevel != null && (z < zoomLevel.lowerLimit() || zoomLevel.upperLimit() < z)) {
+
+                throw new SpatialIdViolationException(p, fieldName, PackedSpatialId.toString(packed), "zoom level out of range");
+
+            }
+
+            if (counter != null && !counter.add(z)) {
+
+                throw new SpatialIdViolationException(p, fieldName, PackedSpatialId.toString(packed), "area limit exceeded");
+
+            }
+
+            list.addPacked(packed);
+
+        }
+
+        return list;
+
+    }
+
+    /**
+     * List&lt;String&gt;型プロパティの要素型に付与されたアノテーションを取得する．
+     *
+     * @param <A> アノテーションの型
+     * @param property 対象プロパティ
+     * @param annotationClass アノテーションのクラス
+     * @return アノテーション．存在しない場合はnull
+     */
+    private static <A extends Annotation> A findElementAnnotation(BeanProperty property, Class<A> annotationClass) {
+
+        A annotation = getElementAnnotation(getAnnotatedType(property.getMember()), annotationClass);
+
+        if (annotation == null && property.getMember() != null) {
+
+            // Setter経由の場合は型注釈が引き継がれないため、同名のフィールドを参照する
+            final Field field = findField(property.getMember().getDeclaringClass(), property.getName());
+
+            annotation = (field == null) ? null : getElementAnnotation(field.getAnnotatedType(), annotationClass);
+
+        }
+
+        return annotation;
+
+    }
+
+    /**
+     * プロパティの注釈付き型を取得する．
+     *
+     * @param member プロパティのメンバー
+     * @return 注釈付き型．取得できない場合はnull
+     */
+    private static AnnotatedType getAnnotatedType(AnnotatedMember member) {
+
+        if (member == null) {
+
+            return null;
+
+        }
+
+        final Member rawMember = member.getMember();
+
+        if (member instanceof AnnotatedParameter parameter) {
+
+            if (rawMember instanceof Constructor<?> constructor) {
+
+                return constructor.getAnnotatedParameterTypes()[parameter.getIndex()];
+
+            }
+
+            if (rawMember instanceof Method method) {
+
+                return method.getAnnotatedParameterTypes()[parameter.getIndex()];
+
+            }
+
+            return null;
+
+        }
+
+        if (rawMember instanceof Field field) {
+
+            return field.getAnnotatedType();
+
+        }
+
+        if (rawMember instanceof Method method && method.getParameterCount() == 1) {
+
+            return method.getAnnotatedParameterTypes()[0];
+
+        }
+
+        return null;
+
+    }
+
+    /**
+     * 総称型の第1型引数に付与されたアノテーションを取得する．
+     *
+     * @param <A> アノテーションの型
+     * @param type 注釈付き型
+     * @param annotationClass アノテーションのクラス
+     * @return アノテーション．存在しない場合はnull
+     */
+    private static <A extends Annotation> A getElementAnnotation(AnnotatedType type, Class<A> annotationClass) {
+
+        if (type instanceof AnnotatedParameterizedType parameterizedType
+                && 0 < parameterizedType.getAnnotatedActualTypeArguments().length) {
+
+            return parameterizedType.getAnnotatedActualTypeArguments()[0].getAnnotation(annotationClass);
+
+        }
+
+        return null;
+
+    }
+
+    /**
+     * クラス階層からフィールドを探索する．
+     *
+     * @param type 探索を開始するクラス
+     * @param name フィールド名
+     * @return フィールド．存在しない場合はnull
+     */
+    private static Field findField(Class<?> type, String name) {
+
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+
+            for (Field field : current.getDeclaredFields()) {
+
+                if (field.getName().equals(name)) {
+
+                    return field;
+
+                }
+
+            }
+
+        }
+
+        return null;
+
+    }
+
+    /**
+     * 文字配列の一部を再割り当てなしで{@link CharSequence}として参照するクラス．
+     */
+    private static final class CharArrayView implements CharSequence {
+
+        private char[] buffer;
+
+        private int offset;
+
+        private int length;
+
+        void reset(char[] buffer, int offset, int length) {
+
+            this.buffer = buffer;
+
+            this.offset = offset;
+
+            this.length = length;
+
+        }
+
+        @Override
+        public int length() {
+
+            return length;
+
+        }
+
+        @Override
+        public char charAt(int index) {
+
+            return buffer[offset + index];
+
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+
+            return new String(buffer, offset + start, end - start);
+
+        }
+
+        @Override
+        public String toString() {
+
+            return new String(buffer, offset, length);
+
+        }
+
+    }
+
+}
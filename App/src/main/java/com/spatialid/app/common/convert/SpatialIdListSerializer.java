@@ -0,0 +1,124 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.spatialid.app.common.spatialid.PackedSpatialId;
+import com.spatialid.app.common.spatialid.PackedSpatialIdList;
+import com.spatialid.app.common.spatialid.SpatialIdCodec;
+
+/**
+ * 空間IDのリストをシリアライズするクラス．
+ * <p>
+ * 通常は"z/f/x/y"形式の文字列配列を出力する．<br>
+ * シリアライズ時の属性{@link #COMPACT_ATTRIBUTE}がtrueの場合は、{@link SpatialIdCodec}形式をBase64で表した文字列を出力する．
+ * 出力した文字列は{@link SpatialIdListDeserializer}で読み込むことができる．<br>
+ * nullや書式不正の要素、{@link PackedSpatialId}形式で表現できない要素を含む場合は、属性に関わらず文字列配列を出力する．
+ * </p>
+ * <p>
+ * APIのレスポンスでは、Acceptヘッダに{@link SpatialIdJsonHttpMessageConverter#COMPACT_MEDIA_TYPE}が指定された場合に属性が設定される．
+ * </p>
+ * <pre>
+ * &#064;JsonSerialize(using = SpatialIdListSerializer.class)
+ * private List&lt;String&gt; sids;
+ *
+ * objectMapper.writer().withAttribute(SpatialIdListSerializer.COMPACT_ATTRIBUTE, Boolean.TRUE).writeValueAsString(response);
+ * </pre>
+ *
+ * @version 1.1 2026/10/17
+ */
+public class SpatialIdListSerializer extends StdSerializer<List<String>> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 圧縮形式での出力を指定するシリアライズ時の属性名．
+     */
+    public static final String COMPACT_ATTRIBUTE = "spatialIdCompact";
+
+    @SuppressWarnings("unchecked")
+    public SpatialIdListSerializer() {
+
+        super((Class<List<String>>) (Class<?>) List.class);
+
+    }
+
+    /**
+     * 空間IDのリストを出力する．
+     *
+     * @param value 空間IDのリスト
+     * @param gen JSONジェネレータ
+     * @param provider シリアライザプロバイダ
+     * @throws IOException 出力に失敗した場合
+     */
+    @Override
+    public void serialize(List<String> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+
+        if (Boolean.TRUE.equals(provider.getAttribute(COMPACT_ATTRIBUTE))) {
+
+            final long[] packedIds = pack(value);
+
+            if (packedIds != null) {
+
+                gen.writeBinary(SpatialIdCodec.encode(packedIds));
+
+                return;
+
+            }
+
+        }
+
+        gen.writeStartArray(value, value.size());
+
+        for (String sid : value) {
+
+            gen.writeString(sid);
+
+        }
+
+        gen.writeEndArray();
+
+    }
+
+    /**
+     * 全要素を{@link PackedSpatialId}形式に変換する．
+     *
+     * @param value 空間IDのリスト
+     * @return 変換済みの空間IDの配列．変換できない要素を含む場合はnull
+     */
+    private static long[] pack(List<String> value) {
+
+        if (value instanceof PackedSpatialIdList packedList) {
+
+            return packedList.isFullyPacked() ? packedList.toPackedArray() : null;
+
+        }
+
+        final long[] packedIds = new long[value.size()];
+
+        final long[] elements = new long[4];
+
+        int i = 0;
+
+        for (String sid : value) {
+
+            packedIds[i] = PackedSpatialId.parse(sid, elements);
+
+            if (packedIds[i++] == PackedSpatialId.INVALID) {
+
+                return null;
+
+            }
+
+        }
+
+        return packedIds;
+
+    }
+
+}
@@ -0,0 +1,66 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+import lombok.Getter;
+
+/**
+ * 空間IDリストのデシリアライズ中にバリデーション違反を検出した場合に送出される例外クラス．<br>
+ * {@link com.spatialid.app.common.ApiExceptionHandler}で
+ * {@link com.spatialid.app.common.exception.subexception.ParamErrorException}と同様の400エラーに変換される．
+ *
+ * @version 1.1 2026/10/17
+ */
+@Getter
+public class SpatialIdViolationException extends JsonMappingException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * バリデーション違反となったプロパティ名．
+     */
+    private final String fieldName;
+
+    /**
+     * 保持する違反値の最大文字数．
+     */
+    static final int MAX_REJECTED_VALUE_LENGTH = 64;
+
+    /**
+     * バリデーション違反となった値．<br>
+     * エラーレスポンスに出力されるため、{@link #MAX_REJECTED_VALUE_LENGTH}文字を超える部分は切り詰める．
+     */
+    private final String rejectedValue;
+
+    public SpatialIdViolationException(JsonParser parser, String fieldName, String rejectedValue, String reason) {
+
+        super(parser, "Invalid spatial id list '" + fieldName + "': " + reason);
+
+        this.fieldName = fieldName;
+
+        this.rejectedValue = truncate(rejectedValue);
+
+    }
+
+    /**
+     * 違反値を{@link #MAX_REJECTED_VALUE_LENGTH}文字に切り詰める．
+     *
+     * @param value 違反値
+     * @return 切り詰めた違反値．切り詰めた場合は元の文字数を付加する
+     */
+    private static String truncate(String value) {
+
+        if (value == null || value.length() <= MAX_REJECTED_VALUE_LENGTH) {
+
+            return value;
+
+        }
+
+        return value.substring(0, MAX_REJECTED_VALUE_LENGTH) + "...(" + value.length() + " characters)";
+
+    }
+
+}
@@ -0,0 +1,90 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * 配列型のタイプハンドラーで共通する、JDBCの{@link Array}の生成と読み取りを行うユーティリティクラス．
+ *
+ * @version 1.1 2026/10/18
+ */
+final class SqlArraySupport {
+
+    /**
+     * プライベートコンストラクタ<br>
+     * ユーティリティクラスのため、インスタンス化を禁じる．
+     */
+    private SqlArraySupport() {
+
+    }
+
+    /**
+     * 要素を1つの配列型のパラメータとして設定する．
+     * <p>
+     * 設定した{@link Array}はSQLの実行時にドライバが参照するため、ここでは解放しない．
+     * 実行後はドライバにより、または参照がなくなった時点で破棄される．
+     * </p>
+     *
+     * @param ps 設定先
+     * @param i パラメータのインデックス
+     * @param typeName 要素のDB側の型名
+     * @param elements 要素
+     * @throws SQLException DB側で異常が起こった場合
+     */
+    static void bind(PreparedStatement ps, int i, String typeName, Object[] elements) throws SQLException {
+
+        ps.setArray(i, ps.getConnection().createArrayOf(typeName, elements));
+
+    }
+
+    /**
+     * 配列の要素を取得し、配列を解放する．
+     *
+     * @param array DBから取得した配列
+     * @return 要素の配列．ドライバにより、ラッパー型の配列またはプリミティブ型の配列となる．引数がnullの場合はnull
+     * @throws SQLException DB側で異常が起こった場合
+     */
+    static Object elements(Array array) throws SQLException {
+
+        if (array == null) {
+
+            return null;
+
+        }
+
+        try {
+
+            return array.getArray();
+
+        } finally {
+
+            array.free();
+
+        }
+
+    }
+
+    /**
+     * 数値の要素を取得する．
+     *
+     * @param elements 要素の配列
+     * @param index 位置
+     * @return 要素
+     * @throws SQLException 要素がnullまたは数値でない場合
+     */
+    static Number number(Object[] elements, int index) throws SQLException {
+
+        if (elements[index] instanceof Number number) {
+
+            return number;
+
+        }
+
+        throw new SQLException("Array element " + index + " is not a number: " + elements[index]);
+
+    }
+
+}
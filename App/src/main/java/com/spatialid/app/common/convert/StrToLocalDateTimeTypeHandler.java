@@ -0,0 +1,22 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import com.spatialid.app.common.constant.RestApiConstants;
+
+/**
+ * MyBatisにおけるTypeHandlerを定義するクラス．<br>
+ * {@link RestApiConstants#DATE_FORMAT}形式のString型を、タイムゾーンなしの日時(timestamp)に変換する．
+ *
+ * @version 1.1 2026/10/18
+ * @see AbstractStrToDateTimeTypeHandler
+ */
+public class StrToLocalDateTimeTypeHandler extends AbstractStrToDateTimeTypeHandler {
+
+    public StrToLocalDateTimeTypeHandler() {
+
+        super(RestApiConstants.DATE_FORMAT, false);
+
+    }
+
+}
@@ -0,0 +1,22 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import com.spatialid.app.common.constant.RestApiConstants;
+
+/**
+ * MyBatisにおけるTypeHandlerを定義するクラス．<br>
+ * {@link RestApiConstants#DATE_FORMAT}形式のString型を、タイムゾーン付きの日時(timestamptz)に変換する．
+ *
+ * @version 1.1 2026/10/18
+ * @see AbstractStrToDateTimeTypeHandler
+ */
+public class StrToOffsetDateTimeTypeHandler extends AbstractStrToDateTimeTypeHandler {
+
+    public StrToOffsetDateTimeTypeHandler() {
+
+        super(RestApiConstants.DATE_FORMAT, true);
+
+    }
+
+}
@@ -0,0 +1,22 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import com.spatialid.app.common.constant.RestApiConstants;
+
+/**
+ * MyBatisにおけるTypeHandlerを定義するクラス．<br>
+ * {@link RestApiConstants#HIGH_ACCURACY_DATE_FORMAT}形式のString型を、ミリ秒まで表記するタイムゾーン付きの日時(timestamptz)に変換する．
+ *
+ * @version 1.1 2026/10/18
+ * @see AbstractStrToDateTimeTypeHandler
+ */
+public class StrToOffsetDateTimeWithMiliTypeHandler extends AbstractStrToDateTimeTypeHandler {
+
+    public StrToOffsetDateTimeWithMiliTypeHandler() {
+
+        super(RestApiConstants.HIGH_ACCURACY_DATE_FORMAT, true);
+
+    }
+
+}
@@ -14,6 +14,7 @@ import org.apache.ibatis.type.BaseTypeHandler;
 import org.apache.ibatis.type.JdbcType;
 
 import com.spatialid.app.common.constant.RestApiConstants;
+import com.spatialid.app.common.util.DateTimeFormats;
 
 /**
  * MyBatisにおけるTypeHandlerを定義するクラス．<br>
@@ -24,7 +25,7 @@ import com.spatialid.app.common.constant.RestApiConstants;
  */
 public class StrToTimestampWithMiliTypeHandler extends BaseTypeHandler<String> {
     
-    private final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(RestApiConstants.HIGH_ACCURACY_DATE_FORMAT);
+    private final DateTimeFormatter FORMATTER = DateTimeFormats.formatter(RestApiConstants.HIGH_ACCURACY_DATE_FORMAT);
     
     /**
      * Javaから渡されたString型を、DB側のTimestampにマッピングする．
@@ -41,7 +42,10 @@ public class StrToTimestampWithMiliTypeHandler extends BaseTypeHandler<String> {
     @Override
     public void setNonNullParameter(PreparedStatement ps, int i, String parameter, JdbcType jdbcType) throws SQLException {
     
-        final LocalDateTime localDateTime =LocalDateTime.parse(parameter, FORMATTER);
+        final LocalDateTime parsed = DateTimeFormats.parseLocalDateTime(parameter, RestApiConstants.HIGH_ACCURACY_DATE_FORMAT);
+        
+        // 解析できない場合は、従来と同じ例外を送出する
+        final LocalDateTime localDateTime = (parsed != null) ? parsed : LocalDateTime.parse(parameter, FORMATTER);
         
         ps.setTimestamp(i, Timestamp.valueOf(localDateTime));
         
@@ -118,7 +122,7 @@ public class StrToTimestampWithMiliTypeHandler extends BaseTypeHandler<String> {
         
         try {
             
-            final String timestamp = rawTimestamp.toLocalDateTime().format(FORMATTER);
+            final String timestamp = DateTimeFormats.format(rawTimestamp.toLocalDateTime(), RestApiConstants.HIGH_ACCURACY_DATE_FORMAT);
             
             return timestamp;
             
@@ -0,0 +1,133 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+/**
+ * MyBatisにおけるTypeHandlerを定義するクラス．<br>
+ * 文字列のリストを、DB側のtext配列に変換する．
+ * <p>
+ * 要素数によらず1つのパラメータとして設定するため、"IN (#{a}, #{b}, ...)"と異なりSQL文が要素数ごとに変化せず、
+ * バインド変数の上限にも影響しない．"= ANY(?)"やunnest(?)と組み合わせて使用する．
+ * </p>
+ * <pre>
+ * WHERE column = ANY(#{values, typeHandler=com.spatialid.app.common.convert.StringListArrayTypeHandler})
+ * </pre>
+ *
+ * @version 1.1 2026/10/18
+ */
+public class StringListArrayTypeHandler extends BaseTypeHandler<List<String>> {
+
+    /**
+     * 要素のDB側の型名．
+     */
+    private static final String TYPE_NAME = "text";
+
+    /**
+     * Javaから渡された文字列のリストを、DB側の配列にマッピングする．
+     *
+     * @param ps MyBatisから提供された{@link PreparedStatement}オブジェクト
+     * @param i MyBatisから提供された引数のインデックス
+     * @param parameter Java側から渡された文字列のリスト
+     * @param jdbcType MyBatisから提供された{@link JdbcType}
+     * @exception SQLException DB側で異常が起こった場合
+     */
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, List<String> parameter, JdbcType jdbcType) throws SQLException {
+
+        SqlArraySupport.bind(ps, i, TYPE_NAME, parameter.toArray(new String[0]));
+
+    }
+
+    /**
+     * DBから渡された配列を、Java側の文字列のリストに変換する．
+     * <p>
+     * 指定されたカラム名を元に、データを取得する．
+     * </p>
+     *
+     * @param rs MyBatisから提供された{@link ResultSet}オブジェクト
+     * @param columnName MyBatisから提供されたデータを取得する対象カラム名
+     * @return javaにおける文字列のリスト．DB側がnullの場合はnull
+     * @exception SQLException DB側で異常が起こった場合
+     */
+    @Override
+    public List<String> getNullableResult(ResultSet rs, String columnName) throws SQLException {
+
+        return convert(SqlArraySupport.elements(rs.getArray(columnName)));
+
+    }
+
+    /**
+     * DBから渡された配列を、Java側の文字列のリストに変換する．
+     * <p>
+     * 指定されたカラムのインデックスを元に、データを取得する．
+     * </p>
+     *
+     * @param rs MyBatisから提供された{@link ResultSet}オブジェクト
+     * @param columnIndex MyBatisから提供されたデータを取得する対象カラムインデックス
+     * @return javaにおける文字列のリスト．DB側がnullの場合はnull
+     * @exception SQLException DB側で異常が起こった場合
+     */
+    @Override
+    public List<String> getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+
+        return convert(SqlArraySupport.elements(rs.getArray(columnIndex)));
+
+    }
+
+    /**
+     * DBから渡された配列を、Java側の文字列のリストに変換する．
+     * <p>
+     * ストアドプロシージャからカラムのインデックスを指定してデータを取得する．
+     * </p>
+     *
+     * @param cs MyBatisから提供された{@link CallableStatement}オブジェクト
+     * @param columnIndex MyBatisから提供されたデータを取得する対象カラムインデックス
+     * @return javaにおける文字列のリスト．DB側がnullの場合はnull
+     * @exception SQLException DB側で異常が起こった場合
+     */
+    @Override
+    public List<String> getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+
+        return convert(SqlArraySupport.elements(cs.getArray(columnIndex)));
+
+    }
+
+    /**
+     * 配列の要素を文字列のリストに変換する．
+     *
+     * @param elements DBから取得した配列の要素
+     * @return 文字列のリスト．引数がnullの場合はnull
+     */
+    private List<String> convert(Object elements) {
+
+        if (elements == null) {
+
+            return null;
+
+        }
+
+        final Object[] values = (Object[]) elements;
+
+        final List<String> result = new ArrayList<String>(values.length);
+
+        for (Object value : values) {
+
+            result.add(value == null ? null : value.toString());
+
+        }
+
+        return result;
+
+    }
+
+}
@@ -0,0 +1,1300 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.geojson.GeoJsonObject;
+import org.geojson.GeometryCollection;
+import org.geojson.LineString;
+import org.geojson.LngLatAlt;
+import org.geojson.MultiLineString;
+import org.geojson.MultiPoint;
+import org.geojson.MultiPolygon;
+import org.geojson.Point;
+import org.geojson.Polygon;
+
+/**
+ * ジオメトリのWKB(Well-Known Binary)、EWKB(PostGISの拡張形式)と、geojson-jacksonのオブジェクトまたは
+ * {@link FlatGeometry}を相互に変換するユーティリティクラス．
+ * <p>
+ * 読み取りはビッグエンディアン、リトルエンディアンの双方と、EWKBのZ、M、SRIDのフラグおよびISO形式のZ、Mの型番号に対応する．
+ * M値はGeoJSONで表現できないため読み捨てる．<br>
+ * PostGISのテキスト出力である16進数表記のEWKBも、ASCIIのバイト列のまま受け付ける．<br>
+ * 書き込みはリトルエンディアンのEWKBとし、高さを持つ点が1つでも存在する場合はZ付きとする．
+ * </p>
+ *
+ * @version 1.1 2026/10/18
+ */
+public final class WkbGeometryCodec {
+
+    /**
+     * GeoJSON(RFC 7946)の座標参照系であるWGS84の空間参照系ID．
+     */
+    public static final int DEFAULT_SRID = 4326;
+
+    /**
+     * ジオメトリコレクションの型番号．
+     */
+    private static final int GEOMETRY_COLLECTION = 7;
+
+    /**
+     * EWKBのZ付きフラグ．
+     */
+    private static final int EWKB_Z = 0x80000000;
+
+    /**
+     * EWKBのM付きフラグ．
+     */
+    private static final int EWKB_M = 0x40000000;
+
+    /**
+     * EWKBのSRID付きフラグ．
+     */
+    private static final int EWKB_SRID = 0x20000000;
+
+    /**
+     * リトルエンディアンのint値の読み書き．
+     */
+    private static final VarHandle INT_LE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * ビッグエンディアンのint値の読み取り．
+     */
+    private static final VarHandle INT_BE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    /**
+     * リトルエンディアンのdouble値の読み書き．
+     */
+    private static final VarHandle DOUBLE_LE = MethodHandles.byteArrayViewVarHandle(double[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * ビッグエンディアンのdouble値の読み取り．
+     */
+    private static final VarHandle DOUBLE_BE = MethodHandles.byteArrayViewVarHandle(double[].class, ByteOrder.BIG_ENDIAN);
+
+    /**
+     * 要素数の読み取り時に想定する、ジオメトリのヘッダの最小バイト数．
+     */
+    private static final int HEADER_BYTES = 5;
+
+    /**
+     * ジオメトリコレクションの入れ子の最大の深さ．再帰によるスタックの枯渇を防ぐ．
+     */
+    static final int MAX_COLLECTION_DEPTH = 32;
+
+    /**
+     * プライベートコンストラクタ<br>
+     * ユーティリティクラスのため、インスタンス化を禁じる．
+     */
+    private WkbGeometryCodec() {
+
+    }
+
+    /**
+     * WKBまたはEWKBをgeojson-jacksonのオブジェクトに変換する．
+     *
+     * @param wkb WKB、EWKB、またはその16進数表記のASCIIバイト列
+     * @return {@link Point}、{@link LineString}、{@link Polygon}、{@link MultiPoint}、{@link MultiLineString}、
+     *         {@link MultiPolygon}、{@link GeometryCollection}のいずれか．空の点は座標がnullの{@link Point}
+     * @throws IllegalArgumentException 形式が不正な場合、またはジオメトリコレクションの入れ子が{@value #MAX_COLLECTION_DEPTH}を超える場合
+     */
+    public static GeoJsonObject decode(byte[] wkb) {
+
+        return decode(wkb, 0);
+
+    }
+
+    /**
+     * WKBまたはEWKBを、空間参照系IDを検査してgeojson-jacksonのオブジェクトに変換する．
+     * <p>
+     * 空間参照系IDを持たないWKBは検査せずに変換する．
+     * </p>
+     *
+     * @param wkb WKB、EWKB、またはその16進数表記のASCIIバイト列
+     * @param srid 想定する空間参照系ID．0以下の場合は検査しない
+     * @return {@link #decode(byte[])}と同じ
+     * @throws IllegalArgumentException {@link #decode(byte[])}と同じ場合、または空間参照系IDが異なる場合
+     */
+    public static GeoJsonObject decode(byte[] wkb, int srid) {
+
+        final Reader reader = new Reader(unhex(wkb));
+
+        final int type = reader.readHeader();
+
+        if (0 < srid && reader.srid != 0 && reader.srid != srid) {
+
+            throw new IllegalArgumentException("Unexpected SRID: " + reader.srid + " (expected " + srid + ")");
+
+        }
+
+        final GeoJsonObject geometry = readBody(reader, type, 0);
+
+        reader.requireEnd();
+
+        return geometry;
+
+    }
+
+    /**
+     * WKBまたはEWKBを{@link FlatGeometry}に変換する．
+     *
+     * @param wkb WKB、EWKB、またはその16進数表記のASCIIバイト列
+     * @return 座標を連結したジオメトリ．空の点は点の数を0とする
+     * @throws IllegalArgumentException 形式が不正な場合、またはジオメトリコレクションの場合
+     */
+    public static FlatGeometry decodeFlat(byte[] wkb) {
+
+        final Reader reader = new Reader(unhex(wkb));
+
+        final FlatGeometry geometry = new FlatBuilder().read(reader);
+
+        reader.requireEnd();
+
+        return geometry;
+
+    }
+
+    /**
+     * geojson-jacksonのオブジェクトをEWKBに変換する．
+     *
+     * @param geometry {@link #decode(byte[])}が返却する種類のジオメトリ
+     * @param srid 空間参照系ID．0以下の場合は付与しない
+     * @return リトルエンディアンのEWKB
+     * @throws IllegalArgumentException 対応しない種類の場合
+     */
+    public static byte[] encode(GeoJsonObject geometry, int srid) {
+
+        final Writer writer = new Writer();
+
+        writeGeoJson(writer, geometry, hasAltitude(geometry), srid);
+
+        return writer.toByteArray();
+
+    }
+
+    /**
+     * {@link FlatGeometry}をEWKBに変換する．
+     *
+     * @param geometry ジオメトリ
+     * @return リトルエンディアンのEWKB．空間参照系IDが0より大きい場合は付与する
+     */
+    public static byte[] encode(FlatGeometry geometry) {
+
+        final Writer writer = new Writer();
+
+        final boolean hasZ = geometry.dimension() == 3;
+
+        final int[] parts = geometry.partOffsets();
+
+        final int[] groups = geometry.groupOffsets();
+
+        writer.header(geometry.type(), hasZ, geometry.srid());
+
+        switch (geometry.type()) {
+
+        case FlatGeometry.POINT:
+
+            writeFlatPoint(writer, geometry, geometry.pointCount() == 0 ? -1 : 0);
+
+            break;
+
+        case FlatGeometry.LINE_STRING:
+
+            writeFlatPoints(writer, geometry, parts[0], parts[parts.length - 1]);
+
+            break;
+
+        case FlatGeometry.POLYGON:
+
+            writeFlatRings(writer, geometry, 0, parts.length - 1);
+
+            break;
+
+        case FlatGeometry.MULTI_POINT:
+
+            writer.writeInt(geometry.pointCount());
+
+            for (int point = 0; point < geometry.pointCount(); point++) {
+
+                writer.header(FlatGeometry.POINT, hasZ, 0);
+
+                writeFlatPoint(writer, geometry, point);
+
+            }
+
+            break;
+
+        case FlatGeometry.MULTI_LINE_STRING:
+
+            writer.writeInt(parts.length - 1);
+
+            for (int part = 0; part < parts.length - 1; part++) {
+
+                writer.header(FlatGeometry.LINE_STRING, hasZ, 0);
+
+                writeFlatPoints(writer, geometry, parts[part], parts[part + 1]);
+
+            }
+
+            break;
+
+        default:
+
+            writer.writeInt(groups.length - 1);
+
+            for (int group = 0; group < groups.length - 1; group++) {
+
+                writer.header(FlatGeometry.POLYGON, hasZ, 0);
+
+                writeFlatRings(writer, geometry, groups[group], groups[group + 1]);
+
+            }
+
+            break;
+
+        }
+
+        return writer.toByteArray();
+
+    }
+
+    /**
+     * ジオメトリを1つ読み取る．
+     *
+     * @param reader 読み取り元
+     * @param depth ジオメトリコレクションの入れ子の深さ
+     * @return ジオメトリ
+     */
+    private static GeoJsonObject readGeoJson(Reader reader, int depth) {
+
+        return readBody(reader, reader.readHeader(), depth);
+
+    }
+
+    /**
+     * ヘッダに続くジオメトリの本体を読み取る．
+     *
+     * @param reader ヘッダを読み取った直後の読み取り元
+     * @param type ヘッダの型番号
+     * @param depth ジオメトリコレクションの入れ子の深さ
+     * @return ジオメトリ
+     */
+    private static GeoJsonObject readBody(Reader reader, int type, int depth) {
+
+        final boolean hasZ = reader.hasZ;
+
+        final boolean hasM = reader.hasM;
+
+        switch (type) {
+
+        case FlatGeometry.POINT: {
+
+            final LngLatAlt point = readPoint(reader, hasZ, hasM);
+
+            return (point == null) ? new Point() : new Point(point);
+
+        }
+
+        case FlatGeometry.LINE_STRING: {
+
+            final LineString lineString = new LineString();
+
+            lineString.setCoordinates(readPoints(reader, hasZ, hasM));
+
+            return lineString;
+
+        }
+
+        case FlatGeometry.POLYGON: {
+
+            final Polygon polygon = new Polygon();
+
+            polygon.setCoordinates(readRings(reader, hasZ, hasM));
+
+            return polygon;
+
+        }
+
+        case FlatGeometry.MULTI_POINT: {
+
+            final MultiPoint multiPoint = new MultiPoint();
+
+            final int count = reader.readCount(HEADER_BYTES);
+
+            for (int i = 0; i < count; i++) {
+
+                final LngLatAlt point = ((Point) readMember(reader, FlatGeometry.POINT)).getCoordinates();
+
+                if (point != null) {
+
+                    multiPoint.add(point);
+
+                }
+
+            }
+
+            return multiPoint;
+
+        }
+
+        case FlatGeometry.MULTI_LINE_STRING: {
+
+            final MultiLineString multiLineString = new MultiLineString();
+
+            final int count = reader.readCount(HEADER_BYTES);
+
+            for (int i = 0; i < count; i++) {
+
+                multiLineString.add(((LineString) readMember(reader, FlatGeometry.LINE_STRING)).getCoordinates());
+
+            }
+
+            return multiLineString;
+
+        }
+
+        case FlatGeometry.MULTI_POLYGON: {
+
+            final MultiPolygon multiPolygon = new MultiPolygon();
+
+            final int count = reader.readCount(HEADER_BYTES);
+
+            for (int i = 0; i < count; i++) {
+
+                multiPolygon.add((Polygon) readMember(reader, FlatGeometry.POLYGON));
+
+            }
+
+            return multiPolygon;
+
+        }
+
+        default: {
+
+            if (MAX_COLLECTION_DEPTH <= depth) {
+
+                throw new IllegalArgumentException("Geometry collection nested too deeply at " + reader.position);
+
+            }
+
+            final GeometryCollection collection = new GeometryCollection();
+
+            final int count = reader.readCount(HEADER_BYTES);
+
+            for (int i = 0; i < count; i++) {
+
+                collection.add(readGeoJson(reader, depth + 1));
+
+            }
+
+            return collection;
+
+        }
+
+        }
+
+    }
+
+    /**
+     * マルチジオメトリの要素を読み取る．
+     * <p>
+     * 要素の本体を読み取る前にヘッダの型番号を検査する．
+     * 本体を読み取った後では、入れ子の要素のヘッダにより型番号が上書きされているため検査できない．
+     * </p>
+     *
+     * @param reader 読み取り元
+     * @param expectedType 要素の型番号
+     * @return 要素．型は型番号に対応する
+     */
+    private static GeoJsonObject readMember(Reader reader, int expectedType) {
+
+        final int position = reader.position;
+
+        final int type = reader.readHeader();
+
+        if (type != expectedType) {
+
+            throw new IllegalArgumentException("Unexpected member type at " + position + ": " + type);
+
+        }
+
+        // 要素の型はジオメトリコレクションではないため、入れ子の深さは変わらない
+        return readBody(reader, type, 0);
+
+    }
+
+    /**
+     * 点を読み取る．
+     *
+     * @param reader 読み取り元
+     * @param hasZ Z値を持つか
+     * @param hasM M値を持つか
+     * @return 点．空の点(座標がNaN)の場合はnull
+     */
+    private static LngLatAlt readPoint(Reader reader, boolean hasZ, boolean hasM) {
+
+        final double x = reader.readDouble();
+
+        final double y = reader.readDouble();
+
+        final double z = hasZ ? reader.readDouble() : Double.NaN;
+
+        if (hasM) {
+
+            reader.readDouble();
+
+        }
+
+        if (Double.isNaN(x) && Double.isNaN(y)) {
+
+            return null;
+
+        }
+
+        return hasZ ? new LngLatAlt(x, y, z) : new LngLatAlt(x, y);
+
+    }
+
+    /**
+     * 点の列を読み取る．
+     *
+     * @param reader 読み取り元
+     * @param hasZ Z値を持つか
+     * @param hasM M値を持つか
+     * @return 点の列
+     */
+    private static List<LngLatAlt> readPoints(Reader reader, boolean hasZ, boolean hasM) {
+
+        final int count = reader.readCount(Double.BYTES * dimension(hasZ, hasM));
+
+        final List<LngLatAlt> points = new ArrayList<LngLatAlt>(count);
+
+        for (int i = 0; i < count; i++) {
+
+            final double x = reader.readDouble();
+
+            final double y = reader.readDouble();
+
+            points.add(hasZ ? new LngLatAlt(x, y, reader.readDouble()) : new LngLatAlt(x, y));
+
+            if (hasM) {
+
+                reader.readDouble();
+
+            }
+
+        }
+
+        return points;
+
+    }
+
+    /**
+     * 多角形の環の列を読み取る．
+     *
+     * @param reader 読み取り元
+     * @param hasZ Z値を持つか
+     * @param hasM M値を持つか
+     * @return 環の列．先頭が外周
+     */
+    private static List<List<LngLatAlt>> readRings(Reader reader, boolean hasZ, boolean hasM) {
+
+        final int count = reader.readCount(Integer.BYTES);
+
+        final List<List<LngLatAlt>> rings = new ArrayList<List<LngLatAlt>>(count);
+
+        for (int i = 0; i < count; i++) {
+
+            rings.add(readPoints(reader, hasZ, hasM));
+
+        }
+
+        return rings;
+
+    }
+
+    /**
+     * ジオメトリを書き込む．
+     *
+     * @param writer 書き込み先
+     * @param geometry ジオメトリ
+     * @param hasZ Z値を書き込むか
+     * @param srid 空間参照系ID．0以下の場合は付与しない
+     */
+    private static void writeGeoJson(Writer writer, GeoJsonObject geometry, boolean hasZ, int srid) {
+
+        if (geometry instanceof Point point) {
+
+            writer.header(FlatGeometry.POINT, hasZ, srid);
+
+            writePoint(writer, point.getCoordinates(), hasZ);
+
+        } else if (geometry instanceof LineString lineString) {
+
+            writer.header(FlatGeometry.LINE_STRING, hasZ, srid);
+
+            writePoints(writer, lineString.getCoordinates(), hasZ);
+
+        } else if (geometry instanceof Polygon polygon) {
+
+            writer.header(FlatGeometry.POLYGON, hasZ, srid);
+
+            writeRings(writer, polygon.getCoordinates(), hasZ);
+
+        } else if (geometry instanceof MultiPoint multiPoint) {
+
+            writer.header(FlatGeometry.MULTI_POINT, hasZ, srid);
+
+            writer.writeInt(multiPoint.getCoordinates().size());
+
+            for (LngLatAlt point : multiPoint.getCoordinates()) {
+
+                writer.header(FlatGeometry.POINT, hasZ, 0);
+
+                writePoint(writer, point, hasZ);
+
+            }
+
+        } else if (geometry instanceof MultiLineString multiLineString) {
+
+            writer.header(FlatGeometry.MULTI_LINE_STRING, hasZ, srid);
+
+            writer.writeInt(multiLineString.getCoordinates().size());
+
+            for (List<LngLatAlt> lineString : multiLineString.getCoordinates()) {
+
+                writer.header(FlatGeometry.LINE_STRING, hasZ, 0);
+
+                writePoints(writer, lineString, hasZ);
+
+            }
+
+        } else if (geometry instanceof MultiPolygon multiPolygon) {
+
+            writer.header(FlatGeometry.MULTI_POLYGON, hasZ, srid);
+
+            writer.writeInt(multiPolygon.getCoordinates().size());
+
+            for (List<List<LngLatAlt>> polygon : multiPolygon.getCoordinates()) {
+
+                writer.header(FlatGeometry.POLYGON, hasZ, 0);
+
+                writeRings(writer, polygon, hasZ);
+
+            }
+
+        } else if (geometry instanceof GeometryCollection collection) {
+
+            writer.header(GEOMETRY_COLLECTION, hasZ, srid);
+
+            writer.writeInt(collection.getGeometries().size());
+
+            for (GeoJsonObject member : collection.getGeometries()) {
+
+                writeGeoJson(writer, member, hasZ, 0);
+
+            }
+
+        } else {
+
+            throw new IllegalArgumentException("Unsupported geometry: " + (geometry == null ? null : geometry.getClass().getName()));
+
+        }
+
+    }
+
+    /**
+     * 点を書き込む．
+     *
+     * @param writer 書き込み先
+     * @param point 点．nullの場合は空の点とする
+     * @param hasZ Z値を書き込むか．高さを持たない点はNaNとする
+     */
+    private static void writePoint(Writer writer, LngLatAlt point, boolean hasZ) {
+
+        writer.writeDouble(point == null ? Double.NaN : point.getLongitude());
+
+        writer.writeDouble(point == null ? Double.NaN : point.getLatitude());
+
+        if (hasZ) {
+
+            writer.writeDouble(point == null ? Double.NaN : point.getAltitude());
+
+        }
+
+    }
+
+    /**
+     * 要素数に続けて点の列を書き込む．
+     *
+     * @param writer 書き込み先
+     * @param points 点の列
+     * @param hasZ Z値を書き込むか
+     */
+    private static void writePoints(Writer writer, List<LngLatAlt> points, boolean hasZ) {
+
+        writer.writeInt(points.size());
+
+        for (LngLatAlt point : points) {
+
+            writePoint(writer, point, hasZ);
+
+        }
+
+    }
+
+    /**
+     * 要素数に続けて環の列を書き込む．
+     *
+     * @param writer 書き込み先
+     * @param rings 環の列
+     * @param hasZ Z値を書き込むか
+     */
+    private static void writeRings(Writer writer, List<List<LngLatAlt>> rings, boolean hasZ) {
+
+        writer.writeInt(rings.size());
+
+        for (List<LngLatAlt> ring : rings) {
+
+            writePoints(writer, ring, hasZ);
+
+        }
+
+    }
+
+    /**
+     * {@link FlatGeometry}の点を書き込む．
+     *
+     * @param writer 書き込み先
+     * @param geometry ジオメトリ
+     * @param point 点の位置．負の場合は空の点とする
+     */
+    private static void writeFlatPoint(Writer writer, FlatGeometry geometry, int point) {
+
+        for (int axis = 0; axis < geometry.dimension(); axis++) {
+
+            writer.writeDouble(point < 0 ? Double.NaN : geometry.coordinates()[point * geometry.dimension() + axis]);
+
+        }
+
+    }
+
+    /**
+     * 要素数に続けて{@link FlatGeometry}の点の列を書き込む．
+     *
+     * @param writer 書き込み先
+     * @param geometry ジオメトリ
+     * @param from 先頭の点の位置
+     * @param to 末尾の点の位置(この位置を含まない)
+     */
+    private static void writeFlatPoints(Writer writer, FlatGeometry geometry, int from, int to) {
+
+        writer.writeInt(to - from);
+
+        for (int point = from; point < to; point++) {
+
+            writeFlatPoint(writer, geometry, point);
+
+        }
+
+    }
+
+    /**
+     * 要素数に続けて{@link FlatGeometry}の環の列を書き込む．
+     *
+     * @param writer 書き込み先
+     * @param geometry ジオメトリ
+     * @param from 先頭のパートの位置
+     * @param to 末尾のパートの位置(この位置を含まない)
+     */
+    private static void writeFlatRings(Writer writer, FlatGeometry geometry, int from, int to) {
+
+        writer.writeInt(to - from);
+
+        for (int part = from; part < to; part++) {
+
+            writeFlatPoints(writer, geometry, geometry.partOffsets()[part], geometry.partOffsets()[part + 1]);
+
+        }
+
+    }
+
+    /**
+     * 高さを持つ点が存在するか判定する．
+     *
+     * @param geometry ジオメトリ
+     * @return 存在する場合はtrue
+     */
+    private static boolean hasAltitude(GeoJsonObject geometry) {
+
+        if (geometry instanceof Point point) {
+
+            return point.getCoordinates() != null && point.getCoordinates().hasAltitude();
+
+        }
+
+        if (geometry instanceof GeometryCollection collection) {
+
+            return collection.getGeometries().stream().anyMatch(WkbGeometryCodec::hasAltitude);
+
+        }
+
+        if (geometry instanceof org.geojson.Geometry<?> multi) {
+
+            return hasAltitude(multi.getCoordinates());
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * 入れ子の座標のリストに高さを持つ点が存在するか判定する．
+     *
+     * @param coordinates 点または点のリスト
+     * @return 存在する場合はtrue
+     */
+    private static boolean hasAltitude(List<?> coordinates) {
+
+        for (Object element : coordinates) {
+
+            if (element instanceof LngLatAlt point ? point.hasAltitude() : hasAltitude((List<?>) element)) {
+
+                return true;
+
+            }
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * 座標の次元を返却する．
+     *
+     * @param hasZ Z値を持つか
+     * @param hasM M値を持つか
+     * @return 1点あたりの値の数
+     */
+    private static int dimension(boolean hasZ, boolean hasM) {
+
+        return 2 + (hasZ ? 1 : 0) + (hasM ? 1 : 0);
+
+    }
+
+    /**
+     * 16進数表記のASCIIバイト列の場合、バイナリに変換する．
+     * <p>
+     * WKBの先頭はバイトオーダーを表す0または1のため、先頭が文字'0'の場合に16進数表記と判断する．
+     * </p>
+     *
+     * @param wkb WKBまたはその16進数表記
+     * @return WKB
+     */
+    private static byte[] unhex(byte[] wkb) {
+
+        if (wkb.length == 0 || wkb[0] != '0') {
+
+            return wkb;
+
+        }
+
+        if (wkb.length % 2 != 0) {
+
+            throw new IllegalArgumentException("Odd length of hex WKB: " + wkb.length);
+
+        }
+
+        final byte[] binary = new byte[wkb.length / 2];
+
+        for (int i = 0; i < binary.length; i++) {
+
+            binary[i] = (byte) ((hexDigit(wkb[2 * i]) << 4) | hexDigit(wkb[2 * i + 1]));
+
+        }
+
+        return binary;
+
+    }
+
+    /**
+     * 16進数の1文字を値に変換する．
+     *
+     * @param c 文字
+     * @return 値
+     */
+    private static int hexDigit(byte c) {
+
+        final int value = Character.digit(c, 16);
+
+        if (value < 0) {
+
+            throw new IllegalArgumentException("Invalid hex WKB character: " + (char) c);
+
+        }
+
+        return value;
+
+    }
+
+    /**
+     * WKBの読み取り位置と、直前に読み取ったヘッダを保持するクラス．
+     */
+    private static final class Reader {
+
+        private final byte[] data;
+
+        private int position;
+
+        private boolean littleEndian;
+
+        private boolean hasZ;
+
+        private boolean hasM;
+
+        private int srid;
+
+        Reader(byte[] data) {
+
+            this.data = data;
+
+        }
+
+        /**
+         * バイトオーダーと型を読み取る．
+         *
+         * @return 型番号
+         */
+        int readHeader() {
+
+            require(HEADER_BYTES);
+
+            final byte order = data[position++];
+
+            if (order != 0 && order != 1) {
+
+                throw new IllegalArgumentException("Invalid byte order at " + (position - 1) + ": " + order);
+
+            }
+
+            littleEndian = (order == 1);
+
+            final int code = readInt();
+
+            hasZ = (code & EWKB_Z) != 0;
+
+            hasM = (code & EWKB_M) != 0;
+
+            srid = ((code & EWKB_SRID) != 0) ? readInt() : 0;
+
+            // ISO形式はZ、M、ZMを型番号の1000、2000、3000の位で表す
+            final int isoCode = code & 0x0FFFFFFF;
+
+            final int dimensionCode = isoCode / 1000;
+
+            final int type = isoCode % 1000;
+
+            hasZ |= (dimensionCode == 1 || dimensionCode == 3);
+
+            hasM |= (dimensionCode == 2 || dimensionCode == 3);
+
+            if (type < FlatGeometry.POINT || GEOMETRY_COLLECTION < type || 3 < dimensionCode) {
+
+                throw new IllegalArgumentException("Unsupported geometry type: " + code);
+
+            }
+
+            return type;
+
+        }
+
+        /**
+         * 要素数を読み取る．
+         *
+         * @param minimumElementBytes 要素1つあたりの最小バイト数
+         * @return 要素数
+         */
+        int readCount(int minimumElementBytes) {
+
+            final int count = readInt();
+
+            if (count < 0 || (data.length - position) / minimumElementBytes < count) {
+
+                throw new IllegalArgumentException("Invalid element count at " + (position - Integer.BYTES) + ": " + count);
+
+            }
+
+            return count;
+
+        }
+
+        int readInt() {
+
+            require(Integer.BYTES);
+
+            final int value = littleEndian ? (int) INT_LE.get(data, position) : (int) INT_BE.get(data, position);
+
+            position += Integer.BYTES;
+
+            return value;
+
+        }
+
+        double readDouble() {
+
+            require(Double.BYTES);
+
+            final double value = littleEndian ? (double) DOUBLE_LE.get(data, position) : (double) DOUBLE_BE.get(data, position);
+
+            position += Double.BYTES;
+
+            return value;
+
+        }
+
+        void requireEnd() {
+
+            if (position != data.length) {
+
+                throw new IllegalArgumentException("Trailing bytes after geometry at " + position);
+
+            }
+
+        }
+
+        private void require(int bytes) {
+
+            if (data.length - position < bytes) {
+
+                throw new IllegalArgumentException("Truncated WKB at " + position);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * WKBを書き込むクラス．リトルエンディアンで書き込む．
+     */
+    private static final class Writer {
+
+        private byte[] buffer = new byte[64];
+
+        private int length;
+
+        /**
+         * バイトオーダーと型を書き込む．
+         *
+         * @param type 型番号
+         * @param hasZ Z値を持つか
+         * @param srid 空間参照系ID．0以下の場合は付与しない
+         */
+        void header(int type, boolean hasZ, int srid) {
+
+            ensure(1);
+
+            buffer[length++] = 1;
+
+            writeInt(type | (hasZ ? EWKB_Z : 0) | (0 < srid ? EWKB_SRID : 0));
+
+            if (0 < srid) {
+
+                writeInt(srid);
+
+            }
+
+        }
+
+        void writeInt(int value) {
+
+            ensure(Integer.BYTES);
+
+            INT_LE.set(buffer, length, value);
+
+            length += Integer.BYTES;
+
+        }
+
+        void writeDouble(double value) {
+
+            ensure(Double.BYTES);
+
+            DOUBLE_LE.set(buffer, length, value);
+
+            length += Double.BYTES;
+
+        }
+
+        byte[] toByteArray() {
+
+            return Arrays.copyOf(buffer, length);
+
+        }
+
+        private void ensure(int bytes) {
+
+            if (buffer.length - length < bytes) {
+
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + bytes));
+
+            }
+
+        }
+
+    }
+
+    /**
+     * WKBを読み取りながら{@link FlatGeometry}の配列を構築するクラス．
+     */
+    private static final class FlatBuilder {
+
+        private double[] coordinates = new double[32];
+
+        private int coordinateLength;
+
+        private int[] parts = new int[8];
+
+        private int partLength;
+
+        private int[] groups = new int[4];
+
+        private int groupLength;
+
+        private int dimension;
+
+        private boolean hasM;
+
+        FlatGeometry read(Reader reader) {
+
+            final int type = reader.readHeader();
+
+            final int srid = reader.srid;
+
+            dimension = reader.hasZ ? 3 : 2;
+
+            hasM = reader.hasM;
+
+            addGroup();
+
+            switch (type) {
+
+            case FlatGeometry.POINT:
+
+                addPart();
+
+                readPoint(reader);
+
+                break;
+
+            case FlatGeometry.LINE_STRING:
+
+                addPart();
+
+                readPoints(reader);
+
+                break;
+
+            case FlatGeometry.POLYGON:
+
+                readRings(reader);
+
+                break;
+
+            case FlatGeometry.MULTI_POINT:
+
+                addPart();
+
+                for (int i = reader.readCount(HEADER_BYTES); 0 < i; i--) {
+
+                    readMemberHeader(reader, FlatGeometry.POINT);
+
+                    readPoint(reader);
+
+                }
+
+                break;
+
+            case FlatGeometry.MULTI_LINE_STRING:
+
+                for (int i = reader.readCount(HEADER_BYTES); 0 < i; i--) {
+
+                    readMemberHeader(reader, FlatGeometry.LINE_STRING);
+
+                    addPart();
+
+                    readPoints(reader);
+
+                }
+
+                break;
+
+            case FlatGeometry.MULTI_POLYGON:
+
+                groupLength = 0;
+
+                for (int i = reader.readCount(HEADER_BYTES); 0 < i; i--) {
+
+                    readMemberHeader(reader, FlatGeometry.POLYGON);
+
+                    addGroup();
+
+                    readRings(reader);
+
+                }
+
+                break;
+
+            default:
+
+                throw new IllegalArgumentException("Geometry collection cannot be flattened");
+
+            }
+
+            // 末尾に総数を付与する
+            final int[] partOffsets = Arrays.copyOf(parts, partLength + 1);
+
+            partOffsets[partLength] = coordinateLength / dimension;
+
+            final int[] groupOffsets = Arrays.copyOf(groups, groupLength + 1);
+
+            groupOffsets[groupLength] = partLength;
+
+            return new FlatGeometry(type, srid, dimension, Arrays.copyOf(coordinates, coordinateLength), partOffsets, groupOffsets);
+
+        }
+
+        private void readMemberHeader(Reader reader, int expectedType) {
+
+            final int type = reader.readHeader();
+
+            if (type != expectedType || (reader.hasZ ? 3 : 2) != dimension || reader.hasM != hasM) {
+
+                throw new IllegalArgumentException("Unexpected member type: " + type);
+
+            }
+
+        }
+
+        private void readPoint(Reader reader) {
+
+            final int start = coordinateLength;
+
+            readCoordinate(reader);
+
+            // 空の点は座標を持たないものとする
+            if (Double.isNaN(coordinates[start]) && Double.isNaN(coordinates[start + 1])) {
+
+                coordinateLength = start;
+
+            }
+
+        }
+
+        private void readPoints(Reader reader) {
+
+            final int count = reader.readCount(Double.BYTES * dimension(dimension == 3, hasM));
+
+            if (coordinates.length - coordinateLength < count * dimension) {
+
+                coordinates = Arrays.copyOf(coordinates, Math.max(coordinates.length * 2, coordinateLength + count * dimension));
+
+            }
+
+            final double[] target = coordinates;
+
+            int length = coordinateLength;
+
+            for (int i = 0; i < count; i++) {
+
+                target[length++] = reader.readDouble();
+
+                target[length++] = reader.readDouble();
+
+                if (dimension == 3) {
+
+                    target[length++] = reader.readDouble();
+
+                }
+
+                if (hasM) {
+
+                    reader.readDouble();
+
+                }
+
+            }
+
+            coordinateLength = length;
+
+        }
+
+        private void readRings(Reader reader) {
+
+            for (int i = reader.readCount(Integer.BYTES); 0 < i; i--) {
+
+                addPart();
+
+                readPoints(reader);
+
+            }
+
+        }
+
+        private void readCoordinate(Reader reader) {
+
+            if (coordinates.length - coordinateLength < dimension) {
+
+                coordinates = Arrays.copyOf(coordinates, Math.max(coordinates.length * 2, coordinateLength + dimension));
+
+            }
+
+            for (int axis = 0; axis < dimension; axis++) {
+
+                coordinates[coordinateLength++] = reader.readDouble();
+
+            }
+
+            if (hasM) {
+
+                reader.readDouble();
+
+            }
+
+        }
+
+        private void addPart() {
+
+            if (parts.length == partLength) {
+
+                parts = Arrays.copyOf(parts, partLength * 2);
+
+            }
+
+            parts[partLength++] = coordinateLength / dimension;
+
+        }
+
+        private void addGroup() {
+
+            if (groups.length == groupLength) {
+
+                groups = Arrays.copyOf(groups, groupLength * 2);
+
+            }
+
+            groups[groupLength++] = partLength;
+
+        }
+
+    }
+
+}
@@ -0,0 +1,300 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.spatialid.app.common.exception.subexception.DataRangeException;
+
+/**
+ * データ整備範囲をメモリ上に保持し、リクエストされた空間IDが整備範囲内かをDBに問い合わせずに判定するクラス．
+ * <p>
+ * 整備範囲は{@link SpatialIdRangeSet}(Z-order曲線上のキー区間で表した線形八分木)として保持し、
+ * 空間ID1件あたり二分探索1回で判定する．<br>
+ * 基準ズームレベルより細かい空間IDも、祖先ボクセルと{@link SpatialIdRangeSet}の詳細要素で厳密に判定される．<br>
+ * 整備範囲にはズームレベル26までの空間IDを指定できる．
+ * </p>
+ * <p>
+ * 整備範囲の更新は、現在の整備範囲から新しい整備範囲を生成して参照を差し替える方式で行う．<br>
+ * 判定処理はロックを取得せず、更新中も直前の整備範囲で判定を継続する．
+ * </p>
+ * <p>
+ * 以下のように、DB検索の前に使用する想定．
+ * </p>
+ * <pre>
+ * dataCoverageIndex.requireCovered(request.getSids());
+ * </pre>
+ *
+ * @version 1.1 2026/10/17
+ */
+public class DataCoverageIndex {
+
+    /**
+     * 整備範囲に対するリクエストの包含状態．
+     */
+    public enum Coverage {
+
+        /**
+         * 全ての空間IDが整備範囲に含まれる．
+         */
+        FULL,
+
+        /**
+         * 一部の空間IDのみが整備範囲と重なる．
+         */
+        PARTIAL,
+
+        /**
+         * いずれの空間IDも整備範囲と重ならない．
+         */
+        NONE
+
+    }
+
+    /**
+     * 現在の整備範囲．
+     */
+    private final AtomicReference<SpatialIdRangeSet> coverage;
+
+    public DataCoverageIndex() {
+
+        this.coverage = new AtomicReference<SpatialIdRangeSet>(SpatialIdRangeSet.empty());
+
+    }
+
+    /**
+     * 整備範囲の空間IDのリストから生成する．
+     *
+     * @param coverage 整備範囲の空間IDのリスト
+     * @throws IllegalArgumentException 変換できない要素が存在した場合
+     */
+    public DataCoverageIndex(List<String> coverage) {
+
+        this(new SpatialIdRangeSet(coverage));
+
+    }
+
+    /**
+     * 整備範囲の集合から生成する．{@link SpatialIdSnapshot#readRangeSet}で読み込んだ整備範囲からの起動に使用する．
+     *
+     * @param coverage 整備範囲
+     */
+    public DataCoverageIndex(SpatialIdRangeSet coverage) {
+
+        this.coverage = new AtomicReference<SpatialIdRangeSet>(coverage);
+
+    }
+
+    /**
+     * 空間IDのリストが整備範囲にどの程度含まれるかを判定する．
+     * <p>
+     * 空のリストは{@link Coverage#FULL}とし、書式不正の要素は整備範囲と重ならないものとして扱う．<br>
+     * ズームレベル26超や標高が大きい等、{@link PackedSpatialId}形式で表現できない有効な空間IDは、
+     * {@link #coverageOfUnpacked(SpatialIdRangeSet, long[])}で判定する．
+     * </p>
+     *
+     * @param sids 空間IDのリスト
+     * @return 包含状態
+     */
+    public Coverage coverageOf(List<String> sids) {
+
+        final SpatialIdRangeSet current = coverage.get();
+
+        final long[] elements = new long[4];
+
+        boolean anyCovered = false;
+
+        boolean anyUncovered = false;
+
+        for (String sid : sids) {
+
+            final long packed = PackedSpatialId.parse(sid, elements);
+
+            if (packed == PackedSpatialId.INVALID) {
+
+                if (SpatialId.scan(sid, elements) == SpatialId.VALID && coverageOfUnpacked(current, elements)) {
+
+                    anyCovered = true;
+
+                } else {
+
+                    anyUncovered = true;
+
+                }
+
+            } else if (current.contains(packed)) {
+
+                anyCovered = true;
+
+            } else if (current.intersects(packed)) {
+
+                // 一部が重なる場合は、以降の要素によらず部分的な包含となる
+                return Coverage.PARTIAL;
+
+            } else {
+
+                anyUncovered = true;
+
+            }
+
+            if (anyCovered && anyUncovered) {
+
+                return Coverage.PARTIAL;
+
+            }
+
+        }
+
+        return anyUncovered ? Coverage.NONE : Coverage.FULL;
+
+    }
+
+    /**
+     * 空間IDが整備範囲にどの程度含まれるかを判定する．
+     *
+     * @param packed 変換済みの空間ID
+     * @return 包含状態
+     */
+    public Coverage coverageOf(long packed) {
+
+        final SpatialIdRangeSet current = coverage.get();
+
+        if (current.contains(packed)) {
+
+            return Coverage.FULL;
+
+        }
+
+        return current.intersects(packed) ? Coverage.PARTIAL : Coverage.NONE;
+
+    }
+
+    /**
+     * {@link PackedSpatialId}形式で表現できない有効な空間IDが整備範囲に含まれるかを判定する．
+     * <p>
+     * 整備範囲の要素は{@link PackedSpatialId}形式で表現できるため、空間IDと重なる要素は、
+     * 表現できる最も深い祖先ボクセル、またはその祖先に限られる．<br>
+     * そのため、空間IDは祖先ボクセルが整備範囲に含まれる場合は全体が含まれ、それ以外の場合は整備範囲と重ならない．
+     * </p>
+     *
+     * @param current 整備範囲
+     * @param elements {@link SpatialId#scan}で解析したz、f、x、y
+     * @return 整備範囲に含まれる場合はtrue、重ならない場合はfalse
+     */
+    private static boolean coverageOfUnpacked(SpatialIdRangeSet current, long[] elements) {
+
+        final long z = elements[0];
+
+        int ancestorZ = (int) Math.min(z, PackedSpatialId.MAX_ZOOM_LEVEL);
+
+        long ancestor;
+
+        do {
+
+            // 64ビット以上のシフトは剰余となるため63で打ち切る(fは符号、x、yは0が残る)
+            final int shift = (int) Math.min(z - ancestorZ, 63);
+
+            ancestor = PackedSpatialId.encode(ancestorZ, elements[1] >> shift, elements[2] >> shift, elements[3] >> shift);
+
+        } while (ancestor == PackedSpatialId.INVALID && 0 < ancestorZ--);
+
+        return ancestor != PackedSpatialId.INVALID && current.contains(ancestor);
+
+    }
+
+    /**
+     * 全ての空間IDが整備範囲に含まれることを検査する．
+     *
+     * @param sids 空間IDのリスト
+     * @throws DataRangeException 整備範囲に含まれない空間IDが存在した場合
+     */
+    public void requireCovered(List<String> sids) {
+
+        if (coverageOf(sids) != Coverage.FULL) {
+
+            throw new DataRangeException();
+
+        }
+
+    }
+
+    /**
+     * いずれかの空間IDが整備範囲と重なることを検査する．
+     *
+     * @param sids 空間IDのリスト
+     * @throws DataRangeException いずれの空間IDも整備範囲と重ならない場合
+     */
+    public void requireAnyCovered(List<String> sids) {
+
+        if (!sids.isEmpty() && coverageOf(sids) == Coverage.NONE) {
+
+            throw new DataRangeException();
+
+        }
+
+    }
+
+    /**
+     * 整備範囲を追加する．
+     *
+     * @param sids 追加する空間IDのリスト
+     * @throws IllegalArgumentException 変換できない要素が存在した場合
+     */
+    public void add(List<String> sids) {
+
+        final SpatialIdRangeSet added = new SpatialIdRangeSet(sids);
+
+        coverage.updateAndGet(current -> current.union(added));
+
+    }
+
+    /**
+     * 整備範囲を削除する．
+     *
+     * @param sids 削除する空間IDのリスト
+     * @throws IllegalArgumentException 変換できない要素が存在した場合
+     */
+    public void remove(List<String> sids) {
+
+        final SpatialIdRangeSet removed = new SpatialIdRangeSet(sids);
+
+        coverage.updateAndGet(current -> current.difference(removed));
+
+    }
+
+    /**
+     * 整備範囲を置き換える．
+     *
+     * @param sids 新しい整備範囲の空間IDのリスト
+     * @throws IllegalArgumentException 変換できない要素が存在した場合
+     */
+    public void replace(List<String> sids) {
+
+        replace(new SpatialIdRangeSet(sids));
+
+    }
+
+    /**
+     * 整備範囲を置き換える．バックグラウンドで再構築した整備範囲の反映に使用する．
+     *
+     * @param rangeSet 新しい整備範囲
+     */
+    public void replace(SpatialIdRangeSet rangeSet) {
+
+        coverage.set(rangeSet);
+
+    }
+
+    /**
+     * 現在の整備範囲を返却する．
+     *
+     * @return 整備範囲
+     */
+    public SpatialIdRangeSet getCoverage() {
+
+        return coverage.get();
+
+    }
+
+}
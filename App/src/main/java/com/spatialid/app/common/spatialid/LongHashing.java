@@ -0,0 +1,64 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+/**
+ * long値をキーとするオープンアドレス法のハッシュ表で共通して使用する計算を定義したクラス．
+ *
+ * @version 1.1 2026/10/17
+ */
+final class LongHashing {
+
+    /**
+     * ハッシュ表の最大サイズ．
+     */
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+
+    /**
+     * プライベートコンストラクタ<br>
+     * ユーティリティクラスのため、インスタンス化を禁じる．
+     */
+    private LongHashing() {
+
+    }
+
+    /**
+     * キーに対応する初期スロットを返却する．
+     * <p>
+     * 変換済み空間IDは下位ビットに座標が偏るため、乗算によって全ビットを攪拌する．
+     * </p>
+     *
+     * @param key キー
+     * @param mask ハッシュ表のサイズ - 1
+     * @return 初期スロット
+     */
+    static int slot(long key, int mask) {
+
+        final long h = key * 0x9E3779B97F4A7C15L;
+
+        return (int) (h ^ (h >>> 32)) & mask;
+
+    }
+
+    /**
+     * 想定要素数と負荷率から、2の累乗となるハッシュ表のサイズを求める．
+     *
+     * @param expectedSize 想定要素数
+     * @param loadFactor 負荷率
+     * @return ハッシュ表のサイズ
+     */
+    static int tableSize(int expectedSize, float loadFactor) {
+
+        final long required = Math.max(4L, (long) Math.ceil(Math.max(expectedSize, 1) / (double) loadFactor) + 1);
+
+        if (MAX_TABLE_SIZE < required) {
+
+            throw new IllegalArgumentException("Too many elements: " + expectedSize);
+
+        }
+
+        return Integer.highestOneBit((int) required - 1) << 1;
+
+    }
+
+}
@@ -0,0 +1,417 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.Arrays;
+
+/**
+ * {@link PackedSpatialId}形式の空間IDをキーとするマップクラス．<br>
+ * オープンアドレス法(線形探索)によるハッシュ表で、キーのボクシングを行わずに値を保持する．
+ * <p>
+ * 値にnullは指定できない．スレッドセーフではない．
+ * </p>
+ *
+ * @param <V> 値の型
+ * @version 1.1 2026/10/17
+ */
+public class LongSpatialIdMap<V> {
+
+    /**
+     * 空きスロットを示す値．
+     */
+    private static final long EMPTY = PackedSpatialId.INVALID;
+
+    /**
+     * 最大負荷率．
+     */
+    private static final float LOAD_FACTOR = 0.5f;
+
+    /**
+     * キーのハッシュ表．
+     */
+    private long[] keys;
+
+    /**
+     * 値のハッシュ表．キーと同じスロットに格納する．
+     */
+    private Object[] values;
+
+    /**
+     * 要素数．
+     */
+    private int size;
+
+    /**
+     * 再ハッシュを行う要素数の閾値．
+     */
+    private int threshold;
+
+    public LongSpatialIdMap() {
+
+        this(16);
+
+    }
+
+    /**
+     * 想定要素数を指定して生成する．
+     *
+     * @param expectedSize 想定要素数
+     */
+    public LongSpatialIdMap(int expectedSize) {
+
+        allocate(LongHashing.tableSize(expectedSize, LOAD_FACTOR));
+
+    }
+
+    /**
+     * キーと値の組を格納する．
+     *
+     * @param packed 変換済みの空間ID
+     * @param value 値
+     * @return 以前に格納されていた値．存在しない場合はnull
+     * @throws IllegalArgumentException {@link PackedSpatialId#INVALID}、またはnullの値が指定された場合
+     */
+    public V put(long packed, V value) {
+
+        if (packed == EMPTY || value == null) {
+
+            throw new IllegalArgumentException("Invalid key or value");
+
+        }
+
+        final int mask = keys.length - 1;
+
+        int slot = LongHashing.slot(packed, mask);
+
+        while (keys[slot] != EMPTY) {
+
+            if (keys[slot] == packed) {
+
+                final V previous = valueAt(slot);
+
+                values[slot] = value;
+
+                return previous;
+
+            }
+
+            slot = (slot + 1) & mask;
+
+        }
+
+        keys[slot] = packed;
+
+        values[slot] = value;
+
+        if (threshold < ++size) {
+
+            rehash(keys.length << 1);
+
+        }
+
+        return null;
+
+    }
+
+    /**
+     * キーに対応する値を取得する．
+     *
+     * @param packed 変換済みの空間ID
+     * @return 値．存在しない場合はnull
+     */
+    public V get(long packed) {
+
+        final int slot = find(packed);
+
+        return (slot < 0) ? null : valueAt(slot);
+
+    }
+
+    /**
+     * キーに対応する値を取得する．
+     *
+     * @param packed 変換済みの空間ID
+     * @param defaultValue キーが存在しない場合に返却する値
+     * @return 値
+     */
+    public V getOrDefault(long packed, V defaultValue) {
+
+        final int slot = find(packed);
+
+        return (slot < 0) ? defaultValue : valueAt(slot);
+
+    }
+
+    /**
+     * キーが含まれているかを判定する．
+     *
+     * @param packed 変換済みの空間ID
+     * @return 含まれている場合、true
+     */
+    public boolean containsKey(long packed) {
+
+        return 0 <= find(packed);
+
+    }
+
+    /**
+     * キーに対応する組を削除する．
+     *
+     * @param packed 変換済みの空間ID
+     * @return 削除された値．存在しない場合はnull
+     */
+    public V remove(long packed) {
+
+        final int slot = find(packed);
+
+        if (slot < 0) {
+
+            return null;
+
+        }
+
+        final V removed = valueAt(slot);
+
+        shiftBack(slot);
+
+        size--;
+
+        return removed;
+
+    }
+
+    /**
+     * 要素数を返却する．
+     *
+     * @return 要素数
+     */
+    public int size() {
+
+        return size;
+
+    }
+
+    /**
+     * 要素が存在しないかを判定する．
+     *
+     * @return 要素が存在しない場合、true
+     */
+    public boolean isEmpty() {
+
+        return size == 0;
+
+    }
+
+    /**
+     * 全要素を削除する．
+     */
+    public void clear() {
+
+        Arrays.fill(keys, EMPTY);
+
+        Arrays.fill(values, null);
+
+        size = 0;
+
+    }
+
+    /**
+     * 全キーを{@link LongSpatialIdSet}として返却する．
+     *
+     * @return キーの集合
+     */
+    public LongSpatialIdSet keySet() {
+
+        final LongSpatialIdSet keySet = new LongSpatialIdSet(size);
+
+        for (long key : keys) {
+
+            if (key != EMPTY) {
+
+                keySet.add(key);
+
+            }
+
+        }
+
+        return keySet;
+
+    }
+
+    /**
+     * 全要素に対して処理を行う．
+     *
+     * @param action キーと値に対する処理
+     */
+    public void forEach(EntryConsumer<? super V> action) {
+
+        for (int i = 0; i < keys.length; i++) {
+
+            if (keys[i] != EMPTY) {
+
+                action.accept(keys[i], valueAt(i));
+
+            }
+
+        }
+
+    }
+
+    /**
+     * キーと値の組を受け取る処理を表すインターフェース．
+     *
+     * @param <V> 値の型
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        /**
+         * キーと値の組に対して処理を行う．
+         *
+         * @param packed 変換済みの空間ID
+         * @param value 値
+         */
+        void accept(long packed, V value);
+
+    }
+
+    /**
+     * キーが格納されているスロットを探索する．
+     *
+     * @param packed 変換済みの空間ID
+     * @return スロット．存在しない場合は-1
+     */
+    private int find(long packed) {
+
+        if (packed == EMPTY) {
+
+            return -1;
+
+        }
+
+        final int mask = keys.length - 1;
+
+        int slot = LongHashing.slot(packed, mask);
+
+        while (keys[slot] != EMPTY) {
+
+            if (keys[slot] == packed) {
+
+                return slot;
+
+            }
+
+            slot = (slot + 1) & mask;
+
+        }
+
+        return -1;
+
+    }
+
+    /**
+     * スロットに格納された値を取得する．
+     *
+     * @param slot スロット
+     * @return 値
+     */
+    @SuppressWarnings("unchecked")
+    private V valueAt(int slot) {
+
+        return (V) values[slot];
+
+    }
+
+    /**
+     * 削除したスロット以降の要素を詰め直し、探索列が途切れないようにする．
+     *
+     * @param removed 削除したスロット
+     */
+    private void shiftBack(int removed) {
+
+        final int mask = keys.length - 1;
+
+        int gap = removed;
+
+        int slot = (gap + 1) & mask;
+
+        while (keys[slot] != EMPTY) {
+
+            final int home = LongHashing.slot(keys[slot], mask);
+
+            // homeからslotまでの探索列にgapが含まれる場合、gapへ移動できる
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+
+                keys[gap] = keys[slot];
+
+                values[gap] = values[slot];
+
+                gap = slot;
+
+            }
+
+            slot = (slot + 1) & mask;
+
+        }
+
+        keys[gap] = EMPTY;
+
+        values[gap] = null;
+
+    }
+
+    /**
+     * ハッシュ表を指定サイズで再構築する．
+     *
+     * @param tableSize 新しいハッシュ表のサイズ
+     */
+    private void rehash(int tableSize) {
+
+        final long[] oldKeys = keys;
+
+        final Object[] oldValues = values;
+
+        allocate(tableSize);
+
+        final int mask = tableSize - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+
+            if (oldKeys[i] != EMPTY) {
+
+                int slot = LongHashing.slot(oldKeys[i], mask);
+
+                while (keys[slot] != EMPTY) {
+
+                    slot = (slot + 1) & mask;
+
+                }
+
+                keys[slot] = oldKeys[i];
+
+                values[slot] = oldValues[i];
+
+            }
+
+        }
+
+    }
+
+    /**
+     * ハッシュ表を確保する．
+     *
+     * @param tableSize ハッシュ表のサイズ
+     */
+    private void allocate(int tableSize) {
+
+        keys = new long[tableSize];
+
+        values = new Object[tableSize];
+
+        Arrays.fill(keys, EMPTY);
+
+        threshold = (int) (tableSize * LOAD_FACTOR);
+
+    }
+
+}
@@ -0,0 +1,550 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+/**
+ * {@link PackedSpatialId}形式の空間IDを保持する集合クラス．<br>
+ * オープンアドレス法(線形探索)によるハッシュ表で、ボクシングを行わずに要素を保持する．
+ * <p>
+ * スレッドセーフではない．
+ * </p>
+ *
+ * @version 1.1 2026/10/17
+ */
+public class LongSpatialIdSet implements Iterable<Long> {
+
+    /**
+     * 空きスロットを示す値．
+     */
+    private static final long EMPTY = PackedSpatialId.INVALID;
+
+    /**
+     * 最大負荷率．
+     */
+    private static final float LOAD_FACTOR = 0.5f;
+
+    /**
+     * ハッシュ表．
+     */
+    private long[] keys;
+
+    /**
+     * 要素数．
+     */
+    private int size;
+
+    /**
+     * 再ハッシュを行う要素数の閾値．
+     */
+    private int threshold;
+
+    /**
+     * 想定要素数16で生成する．
+     */
+    public LongSpatialIdSet() {
+
+        this(16);
+
+    }
+
+    /**
+     * 想定要素数を指定して生成する．
+     *
+     * @param expectedSize 想定要素数
+     */
+    public LongSpatialIdSet(int expectedSize) {
+
+        allocate(LongHashing.tableSize(expectedSize, LOAD_FACTOR));
+
+    }
+
+    /**
+     * 空間IDのリストから集合を生成する．
+     *
+     * @param list 空間IDのリスト
+     * @return 空間IDの集合
+     * @throws IllegalArgumentException 変換できない要素が存在した場合
+     */
+    public static LongSpatialIdSet of(List<String> list) {
+
+        final LongSpatialIdSet set = new LongSpatialIdSet(list.size());
+
+        set.addAll(list);
+
+        return set;
+
+    }
+
+    /**
+     * 変換済みの空間IDの配列から集合を生成する．
+     *
+     * @param packedIds 変換済みの空間IDの配列
+     * @return 空間IDの集合
+     */
+    public static LongSpatialIdSet of(long[] packedIds) {
+
+        final LongSpatialIdSet set = new LongSpatialIdSet(packedIds.length);
+
+        for (long packed : packedIds) {
+
+            set.add(packed);
+
+        }
+
+        return set;
+
+    }
+
+    /**
+     * 要素を追加する．
+     *
+     * @param packed 変換済みの空間ID
+     * @return 新たに追加された場合、true
+     * @throws IllegalArgumentException {@link PackedSpatialId#INVALID}が指定された場合
+     */
+    public boolean add(long packed) {
+
+        if (packed == EMPTY) {
+
+            throw new IllegalArgumentException("Invalid packed spatial id");
+
+        }
+
+        final int mask = keys.length - 1;
+
+        int slot = LongHashing.slot(packed, mask);
+
+        while (keys[slot] != EMPTY) {
+
+            if (keys[slot] == packed) {
+
+                return false;
+
+            }
+
+            slot = (slot + 1) & mask;
+
+        }
+
+        keys[slot] = packed;
+
+        if (threshold < ++size) {
+
+            rehash(keys.length << 1);
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * 空間ID文字列を追加する．
+     *
+     * @param value 空間ID文字列
+     * @return 新たに追加された場合、true
+     * @throws IllegalArgumentException 変換できない文字列が指定された場合
+     */
+    public boolean add(CharSequence value) {
+
+        final long packed = PackedSpatialId.parse(value);
+
+        if (packed == PackedSpatialId.INVALID) {
+
+            throw new IllegalArgumentException("Invalid spatial id: " + value);
+
+        }
+
+        return add(packed);
+
+    }
+
+    /**
+     * 空間IDのリストを一括で追加する．
+     *
+     * @param list 空間IDのリスト
+     * @return 新たに追加された要素数
+     * @throws IllegalArgumentException 変換できない要素が存在した場合
+     */
+    public int addAll(List<String> list) {
+
+        ensureCapacity(size + list.size());
+
+        final long[] elements = new long[4];
+
+        int added = 0;
+
+        for (String element : list) {
+
+            final long packed = PackedSpatialId.parse(element, elements);
+
+            if (packed == PackedSpatialId.INVALID) {
+
+                throw new IllegalArgumentException("Invalid spatial id: " + element);
+
+            }
+
+            if (add(packed)) {
+
+                added++;
+
+            }
+
+        }
+
+        return added;
+
+    }
+
+    /**
+     * 要素が含まれているかを判定する．
+     *
+     * @param packed 変換済みの空間ID
+     * @return 含まれている場合、true
+     */
+    public boolean contains(long packed) {
+
+        if (packed == EMPTY) {
+
+            return false;
+
+        }
+
+        final int mask = keys.length - 1;
+
+        int slot = LongHashing.slot(packed, mask);
+
+        while (keys[slot] != EMPTY) {
+
+            if (keys[slot] == packed) {
+
+                return true;
+
+            }
+
+            slot = (slot + 1) & mask;
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * 要素を削除する．
+     *
+     * @param packed 変換済みの空間ID
+     * @return 削除された場合、true
+     */
+    public boolean remove(long packed) {
+
+        if (packed == EMPTY) {
+
+            return false;
+
+        }
+
+        final int mask = keys.length - 1;
+
+        int slot = LongHashing.slot(packed, mask);
+
+        while (keys[slot] != EMPTY) {
+
+            if (keys[slot] == packed) {
+
+                shiftBack(slot);
+
+                size--;
+
+                return true;
+
+            }
+
+            slot = (slot + 1) & mask;
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * 要素数を返却する．
+     *
+     * @return 要素数
+     */
+    public int size() {
+
+        return size;
+
+    }
+
+    /**
+     * 要素が存在しないかを判定する．
+     *
+     * @return 要素が存在しない場合、true
+     */
+    public boolean isEmpty() {
+
+        return size == 0;
+
+    }
+
+    /**
+     * 全要素を削除する．
+     */
+    public void clear() {
+
+        Arrays.fill(keys, EMPTY);
+
+        size = 0;
+
+    }
+
+    /**
+     * 全要素に対して処理を行う．
+     *
+     * @param action 要素に対する処理
+     */
+    public void forEachLong(LongConsumer action) {
+
+        for (long key : keys) {
+
+            if (key != EMPTY) {
+
+                action.accept(key);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * 全要素を配列として返却する．順序は不定．
+     *
+     * @return 変換済みの空間IDの配列
+     */
+    public long[] toArray() {
+
+        final long[] array = new long[size];
+
+        int i = 0;
+
+        for (long key : keys) {
+
+            if (key != EMPTY) {
+
+                array[i++] = key;
+
+            }
+
+        }
+
+        return array;
+
+    }
+
+    /**
+     * 全要素を昇順に並べた配列として返却する．
+     *
+     * @return 昇順の変換済み空間IDの配列
+     */
+    public long[] toSortedArray() {
+
+        final long[] array = toArray();
+
+        Arrays.sort(array);
+
+        return array;
+
+    }
+
+    /**
+     * 全要素を"z/f/x/y"形式の文字列リストとして返却する．順序は不定．
+     *
+     * @return 空間IDのリスト
+     */
+    public List<String> toStringList() {
+
+        final List<String> list = new ArrayList<String>(size);
+
+        final StringBuilder builder = new StringBuilder(32);
+
+        for (long key : keys) {
+
+            if (key != EMPTY) {
+
+                builder.setLength(0);
+
+                list.add(PackedSpatialId.appendTo(builder, key).toString());
+
+            }
+
+        }
+
+        return list;
+
+    }
+
+    /**
+     * ボクシングを伴わない反復子を返却する．
+     *
+     * @return 反復子
+     */
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+
+        return new PrimitiveIterator.OfLong() {
+
+            private int next = advance(0);
+
+            @Override
+            public boolean hasNext() {
+
+                return next < keys.length;
+
+            }
+
+            @Override
+            public long nextLong() {
+
+                if (keys.length <= next) {
+
+                    throw new NoSuchElementException();
+
+                }
+
+                final long key = keys[next];
+
+                next = advance(next + 1);
+
+                return key;
+
+            }
+
+            private int advance(int from) {
+
+                int i = from;
+
+                while (i < keys.length && keys[i] == EMPTY) {
+
+                    i++;
+
+                }
+
+                return i;
+
+            }
+
+        };
+
+    }
+
+    /**
+     * 指定した要素数を再ハッシュなしで保持できるよう、ハッシュ表を拡張する．
+     *
+     * @param expectedSize 想定要素数
+     */
+    public void ensureCapacity(int expectedSize) {
+
+        final int tableSize = LongHashing.tableSize(expectedSize, LOAD_FACTOR);
+
+        if (keys.length < tableSize) {
+
+            rehash(tableSize);
+
+        }
+
+    }
+
+    /**
+     * 削除したスロット以降の要素を詰め直し、探索列が途切れないようにする．
+     *
+     * @param removed 削除したスロット
+     */
+    private void shiftBack(int removed) {
+
+        final int mask = keys.length - 1;
+
+        int gap = removed;
+
+        int slot = (gap + 1) & mask;
+
+        while (keys[slot] != EMPTY) {
+
+            final int home = LongHashing.slot(keys[slot], mask);
+
+            // homeからslotまでの探索列にgapが含まれる場合、gapへ移動できる
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+
+                keys[gap] = keys[slot];
+
+                gap = slot;
+
+            }
+
+            slot = (slot + 1) & mask;
+
+        }
+
+        keys[gap] = EMPTY;
+
+    }
+
+    /**
+     * ハッシュ表を指定サイズで再構築する．
+     *
+     * @param tableSize 新しいハッシュ表のサイズ
+     */
+    private void rehash(int tableSize) {
+
+        final long[] oldKeys = keys;
+
+        allocate(tableSize);
+
+        final int mask = tableSize - 1;
+
+        for (long key : oldKeys) {
+
+            if (key != EMPTY) {
+
+                int slot = LongHashing.slot(key, mask);
+
+                while (keys[slot] != EMPTY) {
+
+                    slot = (slot + 1) & mask;
+
+                }
+
+                keys[slot] = key;
+
+            }
+
+        }
+
+    }
+
+    /**
+     * ハッシュ表を確保する．
+     *
+     * @param tableSize ハッシュ表のサイズ
+     */
+    private void allocate(int tableSize) {
+
+        keys = new long[tableSize];
+
+        Arrays.fill(keys, EMPTY);
+
+        threshold = (int) (tableSize * LOAD_FACTOR);
+
+    }
+
+}
@@ -0,0 +1,120 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.nio.LongBuffer;
+
+/**
+ * メモリにマップしたスナップショットファイルを直接参照する、変換済み空間IDの読み取り専用集合クラス．<br>
+ * {@link SpatialIdSnapshot#mapIdSet}で生成する．
+ * <p>
+ * 要素は昇順に整列しているため、二分探索で判定する．ヒープへの複製を行わないため、読み込み直後から参照できる．<br>
+ * インスタンスは不変であり、スレッドセーフである．
+ * </p>
+ *
+ * @version 1.1 2026/10/17
+ */
+public final class MappedSpatialIdSet {
+
+    /**
+     * 昇順に整列した変換済みの空間ID．
+     */
+    private final LongBuffer elements;
+
+    MappedSpatialIdSet(LongBuffer elements) {
+
+        this.elements = elements;
+
+    }
+
+    /**
+     * 空間IDが含まれるかを判定する．
+     *
+     * @param packed 変換済みの空間ID
+     * @return 含まれる場合はtrue
+     */
+    public boolean contains(long packed) {
+
+        int low = 0;
+
+        int high = elements.limit() - 1;
+
+        while (low <= high) {
+
+            final int mid = (low + high) >>> 1;
+
+            final long value = elements.get(mid);
+
+            if (value < packed) {
+
+                low = mid + 1;
+
+            } else if (packed < value) {
+
+                high = mid - 1;
+
+            } else {
+
+                return true;
+
+            }
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * 空間ID文字列が含まれるかを判定する．
+     *
+     * @param value 空間ID文字列
+     * @return 含まれる場合はtrue．変換できない場合はfalse
+     */
+    public boolean contains(CharSequence value) {
+
+        final long packed = PackedSpatialId.parse(value);
+
+        return packed != PackedSpatialId.INVALID && contains(packed);
+
+    }
+
+    /**
+     * 指定位置の変換済み空間IDを返却する．
+     *
+     * @param index 位置
+     * @return 変換済みの空間ID
+     */
+    public long get(int index) {
+
+        return elements.get(index);
+
+    }
+
+    /**
+     * 要素数を返却する．
+     *
+     * @return 要素数
+     */
+    public int size() {
+
+        return elements.limit();
+
+    }
+
+    /**
+     * 全要素をヒープ上の配列に複製する．索引を再構築する場合に使用する．
+     *
+     * @return 昇順に整列した変換済みの空間IDの配列
+     */
+    public long[] toSortedArray() {
+
+        final long[] result = new long[elements.limit()];
+
+        elements.duplicate().get(result);
+
+        return result;
+
+    }
+
+}
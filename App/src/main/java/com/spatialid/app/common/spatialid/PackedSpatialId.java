@@ -0,0 +1,345 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.List;
+
+/**
+ * 空間IDを64bitのlong値に詰めて扱うためのユーティリティクラス．
+ * <p>
+ * ビット配置は上位から以下の通り．<br>
+ * ・ズームレベル：5bit<br>
+ * ・標高(f)：59 - 2z bit(符号付きの値にバイアスを加えて格納)<br>
+ * ・経度(x)：z bit<br>
+ * ・緯度(y)：z bit<br>
+ * 同一ズームレベル内ではf、x、yの順に大小関係が保存されるため、ソート済み配列をそのまま範囲探索に使用できる．
+ * </p>
+ * <p>
+ * 64bitの制約上、ズームレベル20以上では標高の表現範囲が±2^(58 - 2z)に制限される．<br>
+ * 表現できない値は{@link #INVALID}として扱う．
+ * </p>
+ *
+ * @version 1.1 2026/10/17
+ */
+public final class PackedSpatialId {
+
+    /**
+     * 扱うことのできる最大ズームレベル．
+     */
+    public static final int MAX_ZOOM_LEVEL = 26;
+
+    /**
+     * 変換に失敗したことを示す値．<br>
+     * ズームレベル部が31となるため、有効な空間IDと衝突しない．
+     */
+    public static final long INVALID = -1L;
+
+    /**
+     * ズームレベル部のシフト量．
+     */
+    private static final int ZOOM_SHIFT = 59;
+
+    /**
+     * プライベートコンストラクタ<br>
+     * ユーティリティクラスのため、インスタンス化を禁じる．
+     */
+    private PackedSpatialId() {
+
+    }
+
+    /**
+     * 空間IDの各要素をlong値に変換する．
+     *
+     * @param z ズームレベル
+     * @param f 標高（鉛直方向）インデックス
+     * @param x 経度（東西方向）インデックス
+     * @param y 緯度（南北方向）インデックス
+     * @return 変換後の値．表現できない場合は{@link #INVALID}
+     */
+    public static long encode(int z, long f, long x, long y) {
+
+        if (z < 0 || MAX_ZOOM_LEVEL < z) {
+
+            return INVALID;
+
+        }
+
+        final long limit = 1L << z;
+
+        if (x < 0 || limit <= x || y < 0 || limit <= y) {
+
+            return INVALID;
+
+        }
+
+        final long fBias = 1L << (fBits(z) - 1);
+
+        if (f < -fBias || fBias <= f) {
+
+            return INVALID;
+
+        }
+
+        return ((long) z << ZOOM_SHIFT) | ((f + fBias) << (2 * z)) | (x << z) | y;
+
+    }
+
+    /**
+     * {@link SpatialId}をlong値に変換する．
+     *
+     * @param spatialId 空間ID
+     * @return 変換後の値．表現できない場合は{@link #INVALID}
+     */
+    public static long encode(SpatialId spatialId) {
+
+        return encode(spatialId.z(), spatialId.f(), spatialId.x(), spatialId.y());
+
+    }
+
+    /**
+     * 空間ID文字列をlong値に変換する．
+     *
+     * @param value 空間ID文字列
+     * @return 変換後の値．書式不正または表現できない場合は{@link #INVALID}
+     */
+    public static long parse(CharSequence value) {
+
+        return parse(value, new long[4]);
+
+    }
+
+    /**
+     * 作業領域を再利用して、空間ID文字列をlong値に変換する．
+     * <p>
+     * 大量の空間IDを連続して変換する場合に、作業領域の生成を1回に抑えるために使用する．
+     * </p>
+     *
+     * @param value 空間ID文字列
+     * @param elements 要素数4以上の作業領域
+     * @return 変換後の値．書式不正または表現できない場合は{@link #INVALID}
+     */
+    public static long parse(CharSequence value, long[] elements) {
+
+        if (SpatialId.scan(value, elements) != SpatialId.VALID || MAX_ZOOM_LEVEL < elements[0]) {
+
+            return INVALID;
+
+        }
+
+        return encode((int) elements[0], elements[1], elements[2], elements[3]);
+
+    }
+
+    /**
+     * 空間ID文字列を、標高を0に揃えた水平方向の範囲(フットプリント)としてlong値に変換する．
+     * <p>
+     * 標高は変換結果に含まれないため、{@link #parse(CharSequence, long[])}では表現できない標高を持つ空間IDも変換できる．
+     * </p>
+     *
+     * @param value 空間ID文字列
+     * @param elements 要素数4以上の作業領域
+     * @return 変換後の値．書式不正、またはズームレベル・経度・緯度が表現できない場合は{@link #INVALID}
+     */
+    public static long parseFootprint(CharSequence value, long[] elements) {
+
+        if (SpatialId.scan(value, elements) != SpatialId.VALID || MAX_ZOOM_LEVEL < elements[0]) {
+
+            return INVALID;
+
+        }
+
+        return encode((int) elements[0], 0, elements[2], elements[3]);
+
+    }
+
+    /**
+     * 空間IDのリストをlong値の配列に変換する．
+     *
+     * @param list 空間IDのリスト
+     * @return 変換後の配列．要素の順序はリストと同一
+     * @throws IllegalArgumentException 変換できない要素が存在した場合
+     */
+    public static long[] parseAll(List<String> list) {
+
+        final long[] packed = new long[list.size()];
+
+        final long[] elements = new long[4];
+
+        int i = 0;
+
+        for (String element : list) {
+
+            packed[i] = parse(element, elements);
+
+            if (packed[i] == INVALID) {
+
+                throw new IllegalArgumentException("Invalid spatial id: " + element);
+
+            }
+
+            i++;
+
+        }
+
+        return packed;
+
+    }
+
+    /**
+     * ズームレベルを取得する．
+     *
+     * @param packed 変換済みの空間ID
+     * @return ズームレベル
+     */
+    public static int zoomLevel(long packed) {
+
+        return (int) (packed >>> ZOOM_SHIFT);
+
+    }
+
+    /**
+     * 標高（鉛直方向）インデックスを取得する．
+     *
+     * @param packed 変換済みの空間ID
+     * @return 標高（鉛直方向）インデックス
+     */
+    public static long f(long packed) {
+
+        final int z = zoomLevel(packed);
+
+        final int bits = fBits(z);
+
+        return ((packed >>> (2 * z)) & ((1L << bits) - 1)) - (1L << (bits - 1));
+
+    }
+
+    /**
+     * 経度（東西方向）インデックスを取得する．
+     *
+     * @param packed 変換済みの空間ID
+     * @return 経度（東西方向）インデックス
+     */
+    public static long x(long packed) {
+
+        final int z = zoomLevel(packed);
+
+        return (packed >>> z) & ((1L << z) - 1);
+
+    }
+
+    /**
+     * 緯度（南北方向）インデックスを取得する．
+     *
+     * @param packed 変換済みの空間ID
+     * @return 緯度（南北方向）インデックス
+     */
+    public static long y(long packed) {
+
+        return packed & ((1L << zoomLevel(packed)) - 1);
+
+    }
+
+    /**
+     * 指定したズームレベルで表現可能な標高インデックスの上限(この値を含まない)を返却する．<br>
+     * 下限はこの値の符号を反転したものとなる．
+     *
+     * @param z ズームレベル
+     * @return 標高インデックスの上限
+     */
+    public static long fLimit(int z) {
+
+        return 1L << (fBits(z) - 1);
+
+    }
+
+    /**
+     * {@link SpatialId}に変換する．
+     *
+     * @param packed 変換済みの空間ID
+     * @return 空間ID
+     */
+    public static SpatialId toSpatialId(long packed) {
+
+        return new SpatialId(zoomLevel(packed), f(packed), x(packed), y(packed));
+
+    }
+
+    /**
+     * "z/f/x/y"形式の文字列に変換する．
+     *
+     * @param packed 変換済みの空間ID
+     * @return 空間ID文字列
+     */
+    public static String toString(long packed) {
+
+        return appendTo(new StringBuilder(32), packed).toString();
+
+    }
+
+    /**
+     * "z/f/x/y"形式の文字列を{@link StringBuilder}に追記する．
+     *
+     * @param builder 追記先
+     * @param packed 変換済みの空間ID
+     * @return 追記先
+     */
+    public static StringBuilder appendTo(StringBuilder builder, long packed) {
+
+        return builder.append(zoomLevel(packed)).append(SpatialId.DELIMITER)
+                .append(f(packed)).append(SpatialId.DELIMITER)
+                .append(x(packed)).append(SpatialId.DELIMITER)
+                .append(y(packed));
+
+    }
+
+    /**
+     * "z/f/x/y"形式の文字列の長さを、文字列を生成せずに返却する．
+     * <p>
+     * {@link SpatialId#scan(CharSequence, long[])}が受け付ける文字列のうち、先頭の0や"-0"を含むものはこの長さより長くなる．
+     * そのため、解析済みの文字列の長さと比較することで正規形かを判定できる．
+     * </p>
+     *
+     * @param packed 変換済みの空間ID
+     * @return 文字列の長さ
+     */
+    public static int textLength(long packed) {
+
+        final long f = f(packed);
+
+        return 3 + digits(zoomLevel(packed)) + (f < 0 ? 1 + digits(-f) : digits(f)) + digits(x(packed)) + digits(y(packed));
+
+    }
+
+    /**
+     * 0以上の値の10進数の桁数を返却する．
+     *
+     * @param value 0以上の値
+     * @return 桁数
+     */
+    private static int digits(long value) {
+
+        int digits = 1;
+
+        for (long rest = value / 10; 0 < rest; rest /= 10) {
+
+            digits++;
+
+        }
+
+        return digits;
+
+    }
+
+    /**
+     * 標高部のビット数を返却する．
+     *
+     * @param z ズームレベル
+     * @return 標高部のビット数
+     */
+    private static int fBits(int z) {
+
+        return ZOOM_SHIFT - 2 * z;
+
+    }
+
+}
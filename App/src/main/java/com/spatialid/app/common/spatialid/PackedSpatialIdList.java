@@ -0,0 +1,426 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * {@link PackedSpatialId}形式の空間IDをlong配列で保持する、順序付きの空間IDリスト．<br>
+ * List&lt;String&gt;として扱えるため、既存のバリデーションやシリアライズをそのまま適用できる．
+ * <p>
+ * {@link java.util.ArrayList}と同様に、追加・置換・削除を含む全ての操作に対応し、nullを含む任意の文字列を保持できる．<br>
+ * 正規形の"z/f/x/y"形式で表現できる要素はlong値のみを保持し、{@link #get(int)}の呼び出しごとに文字列を生成する．
+ * 先頭の0や"-0"を含む等、正規形と異なる文字列は元の文字列も保持し、{@link #get(int)}は元の文字列を返却する．
+ * {@link PackedSpatialId}形式で表現できない要素(null、書式不正、標高が大きい等)は元の文字列のみを保持する．
+ * </p>
+ * <p>
+ * 大量の要素を処理する場合は、{@link #isFullyPacked()}を確認した上で{@link #getPacked(int)}を使用すること．<br>
+ * スレッドセーフではない．
+ * </p>
+ *
+ * @version 1.1 2026/10/17
+ */
+public class PackedSpatialIdList extends AbstractList<String> implements RandomAccess {
+
+    /**
+     * 要素を格納する配列．表現できない要素は{@link PackedSpatialId#INVALID}とする．
+     */
+    private long[] elements;
+
+    /**
+     * 元の文字列を保持する配列．全要素が正規形の間はnullとし、正規形の要素の位置はnullとする．
+     */
+    private String[] texts;
+
+    /**
+     * 要素数．
+     */
+    private int size;
+
+    /**
+     * {@link PackedSpatialId}形式で表現できない要素の数．
+     */
+    private int unpacked;
+
+    /**
+     * 初期容量16で生成する．
+     */
+    public PackedSpatialIdList() {
+
+        this(16);
+
+    }
+
+    /**
+     * 初期容量を指定して生成する．
+     *
+     * @param initialCapacity 初期容量
+     */
+    public PackedSpatialIdList(int initialCapacity) {
+
+        this.elements = new long[Math.max(initialCapacity, 1)];
+
+    }
+
+    /**
+     * 空間IDのリストから生成する．
+     *
+     * @param list 空間IDのリスト
+     * @return 空間IDリスト
+     * @throws IllegalArgumentException 変換できない要素が存在した場合
+     */
+    public static PackedSpatialIdList of(List<String> list) {
+
+        final long[] packedIds = PackedSpatialId.parseAll(list);
+
+        final PackedSpatialIdList packedList = new PackedSpatialIdList(0);
+
+        packedList.elements = packedIds;
+
+        packedList.size = packedIds.length;
+
+        for (int i = 0; i < packedIds.length; i++) {
+
+            final String value = list.get(i);
+
+            if (value.length() != PackedSpatialId.textLength(packedIds[i])) {
+
+                packedList.text(i, value);
+
+            }
+
+        }
+
+        return packedList;
+
+    }
+
+    /**
+     * 変換済みの空間IDを末尾に追加する．
+     *
+     * @param packed 変換済みの空間ID
+     * @throws IllegalArgumentException {@link PackedSpatialId#INVALID}が指定された場合
+     */
+    public void addPacked(long packed) {
+
+        if (packed == PackedSpatialId.INVALID) {
+
+            throw new IllegalArgumentException("Invalid packed spatial id");
+
+        }
+
+        ensureCapacity(size + 1);
+
+        elements[size++] = packed;
+
+        modCount++;
+
+    }
+
+    /**
+     * 他のリストの全要素を、文字列に変換せずに末尾に追加する．
+     *
+     * @param other 追加するリスト
+     */
+    public void addAllPacked(PackedSpatialIdList other) {
+
+        ensureCapacity(size + other.size);
+
+        System.arraycopy(other.elements, 0, elements, size, other.size);
+
+        if (other.texts != null) {
+
+            for (int i = 0; i < other.size; i++) {
+
+                if (other.texts[i] != null) {
+
+                    text(size + i, other.texts[i]);
+
+                }
+
+            }
+
+        }
+
+        size += other.size;
+
+        unpacked += other.unpacked;
+
+        modCount++;
+
+    }
+
+    /**
+     * 空間ID文字列を指定位置に挿入する．
+     *
+     * @param index 位置
+     * @param value 空間ID文字列．nullや書式不正の文字列も保持する
+     */
+    @Override
+    public void add(int index, String value) {
+
+        if (index < 0 || size < index) {
+
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+        }
+
+        ensureCapacity(size + 1);
+
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+
+        if (texts != null) {
+
+            System.arraycopy(texts, index, texts, index + 1, size - index);
+
+            texts[index] = null;
+
+        }
+
+        size++;
+
+        store(index, value);
+
+        modCount++;
+
+    }
+
+    /**
+     * 指定位置の要素を置き換える．
+     *
+     * @param index 位置
+     * @param value 空間ID文字列．nullや書式不正の文字列も保持する
+     * @return 置き換え前の要素
+     */
+    @Override
+    public String set(int index, String value) {
+
+        final String previous = get(index);
+
+        if (elements[index] == PackedSpatialId.INVALID) {
+
+            unpacked--;
+
+        }
+
+        text(index, null);
+
+        store(index, value);
+
+        return previous;
+
+    }
+
+    /**
+     * 指定位置の要素を削除する．
+     *
+     * @param index 位置
+     * @return 削除した要素
+     */
+    @Override
+    public String remove(int index) {
+
+        final String previous = get(index);
+
+        removeRange(index, index + 1);
+
+        return previous;
+
+    }
+
+    @Override
+    public void clear() {
+
+        removeRange(0, size);
+
+    }
+
+    /**
+     * 指定範囲の要素を削除する．
+     *
+     * @param fromIndex 開始位置
+     * @param toIndex 終了位置(この位置を含まない)
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+
+        for (int i = fromIndex; i < toIndex; i++) {
+
+            if (elements[i] == PackedSpatialId.INVALID) {
+
+                unpacked--;
+
+            }
+
+        }
+
+        System.arraycopy(elements, toIndex, elements, fromIndex, size - toIndex);
+
+        if (texts != null) {
+
+            System.arraycopy(texts, toIndex, texts, fromIndex, size - toIndex);
+
+            Arrays.fill(texts, size - (toIndex - fromIndex), size, null);
+
+        }
+
+        size -= toIndex - fromIndex;
+
+        modCount++;
+
+    }
+
+    /**
+     * 指定位置の変換済み空間IDを返却する．
+     *
+     * @param index 位置
+     * @return 変換済みの空間ID．{@link PackedSpatialId}形式で表現できない要素の場合は{@link PackedSpatialId#INVALID}
+     */
+    public long getPacked(int index) {
+
+        if (index < 0 || size <= index) {
+
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+        }
+
+        return elements[index];
+
+    }
+
+    /**
+     * 指定位置の空間IDを返却する．
+     *
+     * @param index 位置
+     * @return 追加時の文字列．正規形の要素は"z/f/x/y"形式で生成した文字列
+     */
+    @Override
+    public String get(int index) {
+
+        final long packed = getPacked(index);
+
+        final String text = (texts == null) ? null : texts[index];
+
+        if (text != null || packed == PackedSpatialId.INVALID) {
+
+            return text;
+
+        }
+
+        return PackedSpatialId.toString(packed);
+
+    }
+
+    @Override
+    public int size() {
+
+        return size;
+
+    }
+
+    /**
+     * 全要素が{@link PackedSpatialId}形式で表現できるか判定する．
+     *
+     * @return 表現できない要素(null、書式不正等)を含まない場合はtrue
+     */
+    public boolean isFullyPacked() {
+
+        return unpacked == 0;
+
+    }
+
+    /**
+     * 全要素を変換済み空間IDの配列として返却する．
+     *
+     * @return 変換済みの空間IDの配列
+     * @throws IllegalStateException {@link PackedSpatialId}形式で表現できない要素を含む場合
+     */
+    public long[] toPackedArray() {
+
+        if (!isFullyPacked()) {
+
+            throw new IllegalStateException("List contains elements that cannot be packed");
+
+        }
+
+        return Arrays.copyOf(elements, size);
+
+    }
+
+    /**
+     * 空いている位置に要素を格納する．
+     *
+     * @param index 位置
+     * @param value 空間ID文字列
+     */
+    private void store(int index, String value) {
+
+        final long packed = PackedSpatialId.parse(value);
+
+        elements[index] = packed;
+
+        if (packed == PackedSpatialId.INVALID) {
+
+            unpacked++;
+
+            text(index, value);
+
+        } else if (value.length() != PackedSpatialId.textLength(packed)) {
+
+            text(index, value);
+
+        }
+
+    }
+
+    /**
+     * 元の文字列を設定する．
+     *
+     * @param index 位置
+     * @param value 元の文字列．正規形の場合はnull
+     */
+    private void text(int index, String value) {
+
+        if (texts == null) {
+
+            if (value == null) {
+
+                return;
+
+            }
+
+            texts = new String[elements.length];
+
+        }
+
+        texts[index] = value;
+
+    }
+
+    /**
+     * 容量を確保する．
+     *
+     * @param capacity 必要な容量
+     */
+    private void ensureCapacity(int capacity) {
+
+        if (elements.length < capacity) {
+
+            final int newCapacity = Math.max(elements.length + (elements.length >> 1), capacity);
+
+            elements = Arrays.copyOf(elements, newCapacity);
+
+            if (texts != null) {
+
+                texts = Arrays.copyOf(texts, newCapacity);
+
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,293 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+/**
+ * "z/f/x/y"形式の空間IDを表す不変の値クラス．<br>
+ * 正規表現・部分文字列を使用せず、1回の文字走査で解析を行う．
+ * <p>
+ * 各要素の書式は以下の通り．<br>
+ * ・ズームレベル(z)：1以上の正の整数(先頭0不可)<br>
+ * ・標高(f)：整数(負号可)<br>
+ * ・経度(x)、緯度(y)：0以上の整数
+ * </p>
+ *
+ * @param z ズームレベル
+ * @param f 標高（鉛直方向）インデックス
+ * @param x 経度（東西方向）インデックス
+ * @param y 緯度（南北方向）インデックス
+ * @version 1.1 2026/10/17
+ */
+public record SpatialId(int z, long f, long x, long y) {
+
+    /**
+     * 解析結果：正常．
+     */
+    public static final int VALID = 0;
+
+    /**
+     * 解析結果：nullまたは区切り文字の数が不正．
+     */
+    public static final int INVALID_FORMAT = 1;
+
+    /**
+     * 解析結果：ズームレベルが1以上の正の整数ではない．
+     */
+    public static final int INVALID_ZOOM_LEVEL = 2;
+
+    /**
+     * 解析結果：標高（鉛直方向）が整数ではない．
+     */
+    public static final int INVALID_F = 3;
+
+    /**
+     * 解析結果：経度（東西方向）が0以上の整数ではない．
+     */
+    public static final int INVALID_X = 4;
+
+    /**
+     * 解析結果：緯度（南北方向）が0以上の整数ではない．
+     */
+    public static final int INVALID_Y = 5;
+
+    /**
+     * 空間IDの区切り文字．
+     */
+    public static final char DELIMITER = '/';
+
+    /**
+     * 文字列が空間IDの書式に合致するかを検査する．
+     * <p>
+     * 解析結果の保持を行わないため、オブジェクトの生成は発生しない．
+     * </p>
+     *
+     * @param value 検査文字列
+     * @return 解析結果コード．正常の場合は{@link #VALID}
+     */
+    public static int check(CharSequence value) {
+
+        return scan(value, null);
+
+    }
+
+    /**
+     * 文字列を空間IDに変換する．
+     *
+     * @param value 空間ID文字列
+     * @return 空間ID
+     * @throws IllegalArgumentException 空間IDの書式に合致しない場合
+     */
+    public static SpatialId parse(CharSequence value) {
+
+        final SpatialId spatialId = parseOrNull(value);
+
+        if (spatialId == null) {
+
+            throw new IllegalArgumentException("Invalid spatial id: " + value);
+
+        }
+
+        return spatialId;
+
+    }
+
+    /**
+     * 文字列を空間IDに変換する．
+     *
+     * @param value 空間ID文字列
+     * @return 空間ID．空間IDの書式に合致しない場合はnull
+     */
+    public static SpatialId parseOrNull(CharSequence value) {
+
+        final long[] elements = new long[4];
+
+        if (scan(value, elements) != VALID) {
+
+            return null;
+
+        }
+
+        return new SpatialId((int) elements[0], elements[1], elements[2], elements[3]);
+
+    }
+
+    /**
+     * 空間ID文字列の先頭要素からズームレベルのみを読み取る．
+     * <p>
+     * ズームレベル以降の要素は検査しない．
+     * </p>
+     *
+     * @param value 空間ID文字列
+     * @return ズームレベル．1以上の正の整数として読み取れない場合は-1
+     */
+    public static int parseZoomLevel(CharSequence value) {
+
+        if (value == null) {
+
+            return -1;
+
+        }
+
+        final int length = value.length();
+
+        if (length == 0 || value.charAt(0) < '1' || '9' < value.charAt(0)) {
+
+            return -1;
+
+        }
+
+        long zoomLevel = 0;
+
+        for (int i = 0; i < length; i++) {
+
+            final char c = value.charAt(i);
+
+            if (c == DELIMITER) {
+
+                break;
+
+            }
+
+            if (c < '0' || '9' < c) {
+
+                return -1;
+
+            }
+
+            zoomLevel = zoomLevel * 10 + (c - '0');
+
+            if (Integer.MAX_VALUE < zoomLevel) {
+
+                return -1;
+
+            }
+
+        }
+
+        return (int) zoomLevel;
+
+    }
+
+    /**
+     * 空間ID文字列を1回の走査で解析する．
+     * <p>
+     * elementsがnullでない場合、z、f、x、yの順に解析結果を格納する．<br>
+     * 作業領域を再利用することで、大量の空間IDをオブジェクトの生成なしに解析できる．
+     * </p>
+     *
+     * @param value 空間ID文字列
+     * @param elements 要素数4以上の解析結果の格納先．不要な場合はnull
+     * @return 解析結果コード．正常の場合は{@link #VALID}
+     */
+    public static int scan(CharSequence value, long[] elements) {
+
+        if (value == null) {
+
+            return INVALID_FORMAT;
+
+        }
+
+        final int length = value.length();
+
+        int index = 0;
+
+        for (int element = 0; element < 4; element++) {
+
+            if (0 < element) {
+
+                if (length <= index || value.charAt(index) != DELIMITER) {
+
+                    return INVALID_FORMAT;
+
+                }
+
+                index++;
+
+            }
+
+            final int errorCode = INVALID_ZOOM_LEVEL + element;
+
+            boolean negative = false;
+
+            if (element == 1 && index < length && value.charAt(index) == '-') {
+
+                negative = true;
+
+                index++;
+
+            }
+
+            final int start = index;
+
+            long number = 0;
+
+            while (index < length) {
+
+                final char c = value.charAt(index);
+
+                if (c == DELIMITER) {
+
+                    break;
+
+                }
+
+                if (c < '0' || '9' < c) {
+
+                    return errorCode;
+
+                }
+
+                if ((Long.MAX_VALUE - (c - '0')) / 10 < number) {
+
+                    return errorCode;
+
+                }
+
+                number = number * 10 + (c - '0');
+
+                index++;
+
+            }
+
+            if (index == start) {
+
+                return errorCode;
+
+            }
+
+            if (element == 0 && (value.charAt(start) == '0' || Integer.MAX_VALUE < number)) {
+
+                return INVALID_ZOOM_LEVEL;
+
+            }
+
+            if (elements != null) {
+
+                elements[element] = negative ? -number : number;
+
+            }
+
+        }
+
+        return (index == length) ? VALID : INVALID_FORMAT;
+
+    }
+
+    /**
+     * "z/f/x/y"形式の文字列表現を返却する．
+     *
+     * @return 空間ID文字列
+     */
+    @Override
+    public String toString() {
+
+        return new StringBuilder(32)
+                .append(z).append(DELIMITER)
+                .append(f).append(DELIMITER)
+                .append(x).append(DELIMITER)
+                .append(y)
+                .toString();
+
+    }
+
+}
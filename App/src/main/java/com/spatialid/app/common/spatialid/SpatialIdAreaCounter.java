@@ -0,0 +1,132 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+/**
+ * 空間IDの水平面積を積算し、許容面積を超過したかを判定するクラス．
+ * <p>
+ * 面積は上限ズームレベル(upperLimit)のボクセル1個分を単位とし、ズームレベルzの空間ID1個は
+ * 4^(upperLimit - z)として数える．許容面積は4^(upperLimit - lowerLimit)とする．<br>
+ * 上限ズームレベルより細かい空間IDは1として数える．<br>
+ * 重みはシフト演算で事前に計算し、積算は{@link Long#MAX_VALUE}で飽和させるため桁あふれしない．
+ * </p>
+ * <p>
+ * スレッドセーフではない．
+ * </p>
+ *
+ * @version 1.1 2026/10/17
+ */
+public class SpatialIdAreaCounter {
+
+    /**
+     * ズームレベルをインデックスとした面積の重み．
+     */
+    private final long[] weights;
+
+    /**
+     * 許容面積．
+     */
+    private final long limit;
+
+    /**
+     * 積算面積．
+     */
+    private long total;
+
+    /**
+     * 許容ズームレベルの範囲を指定して生成する．
+     *
+     * @param lowerLimit ズームレベルの下限
+     * @param upperLimit ズームレベルの上限
+     */
+    public SpatialIdAreaCounter(int lowerLimit, int upperLimit) {
+
+        this.weights = new long[Math.max(upperLimit, 0) + 1];
+
+        for (int z = 0; z < weights.length; z++) {
+
+            weights[z] = pow4(upperLimit - z);
+
+        }
+
+        this.limit = pow4(upperLimit - lowerLimit);
+
+    }
+
+    /**
+     * 空間ID1個分の面積を加算する．
+     *
+     * @param zoomLevel 空間IDのズームレベル
+     * @return 加算後の面積が許容面積以内の場合、true
+     */
+    public boolean add(int zoomLevel) {
+
+        final long weight = (zoomLevel < 0) ? Long.MAX_VALUE : (zoomLevel < weights.length) ? weights[zoomLevel] : 1L;
+
+        total = (Long.MAX_VALUE - weight < total) ? Long.MAX_VALUE : total + weight;
+
+        return total <= limit;
+
+    }
+
+    /**
+     * 積算面積が許容面積を超過しているかを判定する．
+     *
+     * @return 超過している場合、true
+     */
+    public boolean isExceeded() {
+
+        return limit < total;
+
+    }
+
+    /**
+     * 積算面積を返却する．
+     *
+     * @return 積算面積
+     */
+    public long getTotal() {
+
+        return total;
+
+    }
+
+    /**
+     * 許容面積を返却する．
+     *
+     * @return 許容面積
+     */
+    public long getLimit() {
+
+        return limit;
+
+    }
+
+    /**
+     * 積算面積を0に戻す．
+     */
+    public void reset() {
+
+        total = 0;
+
+    }
+
+    /**
+     * 4のべき乗を求める．
+     *
+     * @param exponent 指数
+     * @return 4^exponent．指数が負の場合は1、longで表現できない場合は{@link Long#MAX_VALUE}
+     */
+    private static long pow4(int exponent) {
+
+        if (exponent <= 0) {
+
+            return 1L;
+
+        }
+
+        return (31 < exponent) ? Long.MAX_VALUE : 1L << (2 * exponent);
+
+    }
+
+}
@@ -0,0 +1,155 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+/**
+ * 要素ごとのプリミティブ配列に展開した空間IDを一括で検査するユーティリティクラス．
+ * <p>
+ * 以下のいずれかに該当する要素を不正とし、要素の位置をビットとしたビットマップ(long配列)で返却する．<br>
+ * ・ズームレベルが指定範囲外<br>
+ * ・経度インデックスまたは緯度インデックスが0未満、または2^z以上<br>
+ * 判定は分岐を含まない整数演算で行うため、要素数に比例した一定の速度で処理される．
+ * </p>
+ *
+ * @version 1.1 2026/10/17
+ */
+public final class SpatialIdBatchValidator {
+
+    /**
+     * 範囲判定に用いるズームレベルの上限．これを超えるズームレベルはズームレベルの範囲判定で不正となる．
+     */
+    private static final int MAX_SHIFT = 62;
+
+    /**
+     * プライベートコンストラクタ<br>
+     * ユーティリティクラスのため、インスタンス化を禁じる．
+     */
+    private SpatialIdBatchValidator() {
+
+    }
+
+    /**
+     * 解析済みの空間IDを一括で検査する．書式不正の要素も不正として扱う．
+     *
+     * @param columns 解析済みの空間ID
+     * @param lowerLimit ズームレベルの下限
+     * @param upperLimit ズームレベルの上限
+     * @return 不正な要素のビットマップ．{@link java.util.BitSet#valueOf(long[])}で変換できる
+     */
+    public static long[] validate(SpatialIdColumns columns, int lowerLimit, int upperLimit) {
+
+        final long[] invalid = validate(columns.getZ(), columns.getX(), columns.getY(), columns.size(), lowerLimit, upperLimit);
+
+        final long[] malformed = columns.getMalformed();
+
+        for (int w = 0; w < invalid.length; w++) {
+
+            invalid[w] |= malformed[w];
+
+        }
+
+        return invalid;
+
+    }
+
+    /**
+     * 要素ごとの配列に展開した空間IDを一括で検査する．
+     *
+     * @param z ズームレベルの配列
+     * @param x 経度インデックスの配列
+     * @param y 緯度インデックスの配列
+     * @param size 検査する要素数
+     * @param lowerLimit ズームレベルの下限
+     * @param upperLimit ズームレベルの上限
+     * @return 不正な要素のビットマップ．{@link java.util.BitSet#valueOf(long[])}で変換できる
+     */
+    public static long[] validate(int[] z, long[] x, long[] y, int size, int lowerLimit, int upperLimit) {
+
+        final long[] invalid = new long[bitmapLength(size)];
+
+        for (int base = 0; base < size; base += Long.SIZE) {
+
+            final int end = Math.min(base + Long.SIZE, size);
+
+            long word = 0;
+
+            for (int i = base; i < end; i++) {
+
+                final int zoom = z[i];
+
+                // 範囲外の場合に符号ビットが立つ値を作り、論理和で集約する
+                final long zoomFlag = (long) ((zoom - lowerLimit) | (upperLimit - zoom));
+
+                final long limit = 1L << Math.min(Math.max(zoom, 0), MAX_SHIFT);
+
+                final long xFlag = x[i] | (limit - 1 - x[i]);
+
+                final long yFlag = y[i] | (limit - 1 - y[i]);
+
+                word |= ((zoomFlag | xFlag | yFlag) >>> 63) << (i - base);
+
+            }
+
+            invalid[base >>> 6] = word;
+
+        }
+
+        return invalid;
+
+    }
+
+    /**
+     * ビットマップに不正な要素が含まれるかを判定する．
+     *
+     * @param bitmap ビットマップ
+     * @return 含まれる場合はtrue
+     */
+    public static boolean hasInvalid(long[] bitmap) {
+
+        long any = 0;
+
+        for (long word : bitmap) {
+
+            any |= word;
+
+        }
+
+        return any != 0;
+
+    }
+
+    /**
+     * ビットマップ中の最初の不正な要素の位置を返却する．
+     *
+     * @param bitmap ビットマップ
+     * @return 最初の不正な要素の位置．存在しない場合は-1
+     */
+    public static int firstInvalid(long[] bitmap) {
+
+        for (int w = 0; w < bitmap.length; w++) {
+
+            if (bitmap[w] != 0) {
+
+                return (w << 6) + Long.numberOfTrailingZeros(bitmap[w]);
+
+            }
+
+        }
+
+        return -1;
+
+    }
+
+    /**
+     * 要素数に対するビットマップの配列長を返却する．
+     *
+     * @param size 要素数
+     * @return 配列長
+     */
+    static int bitmapLength(int size) {
+
+        return (size + Long.SIZE - 1) >>> 6;
+
+    }
+
+}
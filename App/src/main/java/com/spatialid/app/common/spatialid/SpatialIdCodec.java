@@ -0,0 +1,267 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 空間IDのリストを圧縮したバイナリ形式に変換するユーティリティクラス．
+ * <p>
+ * 形式は以下の通り．整数は全て符号なしLEB128形式の可変長整数で表す．<br>
+ * ・先頭1byte：版数({@link #VERSION})<br>
+ * ・以降、ズームレベルごとのグループの繰り返し：ズームレベル、件数、先頭要素、2件目以降の直前要素との差分<br>
+ * 要素は{@link PackedSpatialId}からズームレベル部を除いた値とし、グループ内で昇順に整列する．<br>
+ * 隣接する空間IDは差分が小さくなるため、"z/f/x/y"形式の文字列配列に比べて大幅に小さくなる．
+ * </p>
+ * <p>
+ * 変換時にズームレベル順・昇順に並べ替えるため、リストの順序は保存されない．重複する要素は保存される．
+ * </p>
+ *
+ * @version 1.1 2026/10/17
+ */
+public final class SpatialIdCodec {
+
+    /**
+     * 形式の版数．
+     */
+    public static final byte VERSION = 1;
+
+    /**
+     * ズームレベル部を除いた値のマスク．
+     */
+    private static final long BITS_MASK = (1L << 59) - 1;
+
+    /**
+     * プライベートコンストラクタ<br>
+     * ユーティリティクラスのため、インスタンス化を禁じる．
+     */
+    private SpatialIdCodec() {
+
+    }
+
+    /**
+     * 変換済みの空間IDの配列をバイナリ形式に変換する．
+     *
+     * @param packedIds 変換済みの空間IDの配列
+     * @return バイナリ形式
+     */
+    public static byte[] encode(long[] packedIds) {
+
+        final long[] sorted = packedIds.clone();
+
+        // ズームレベル部が上位にあるため、符号なしで整列するとズームレベルごとにまとまる
+        for (int i = 0; i < sorted.length; i++) {
+
+            sorted[i] ^= Long.MIN_VALUE;
+
+        }
+
+        Arrays.sort(sorted);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(sorted.length * 2 + 16);
+
+        out.write(VERSION);
+
+        int start = 0;
+
+        while (start < sorted.length) {
+
+            final int zoomLevel = PackedSpatialId.zoomLevel(sorted[start] ^ Long.MIN_VALUE);
+
+            int end = start + 1;
+
+            while (end < sorted.length && PackedSpatialId.zoomLevel(sorted[end] ^ Long.MIN_VALUE) == zoomLevel) {
+
+                end++;
+
+            }
+
+            writeVarint(out, zoomLevel);
+
+            writeVarint(out, end - start);
+
+            long previous = 0;
+
+            for (int i = start; i < end; i++) {
+
+                final long bits = (sorted[i] ^ Long.MIN_VALUE) & BITS_MASK;
+
+                writeVarint(out, bits - previous);
+
+                previous = bits;
+
+            }
+
+            start = end;
+
+        }
+
+        return out.toByteArray();
+
+    }
+
+    /**
+     * 空間IDのリストをバイナリ形式に変換する．
+     *
+     * @param list 空間IDのリスト
+     * @return バイナリ形式
+     * @throws IllegalArgumentException 変換できない要素が存在した場合
+     */
+    public static byte[] encode(List<String> list) {
+
+        if (list instanceof PackedSpatialIdList packedList && packedList.isFullyPacked()) {
+
+            return encode(packedList.toPackedArray());
+
+        }
+
+        return encode(PackedSpatialId.parseAll(list));
+
+    }
+
+    /**
+     * バイナリ形式を変換済みの空間IDの配列に戻す．
+     *
+     * @param data バイナリ形式
+     * @return 変換済みの空間IDの配列．ズームレベル順・昇順に整列している
+     * @throws IllegalArgumentException 形式が不正な場合
+     */
+    public static long[] decode(byte[] data) {
+
+        if (data.length == 0 || data[0] != VERSION) {
+
+            throw new IllegalArgumentException("Unsupported spatial id encoding");
+
+        }
+
+        final int[] position = { 1 };
+
+        long[] result = new long[Math.max(16, data.length / 2)];
+
+        int size = 0;
+
+        while (position[0] < data.length) {
+
+            final long zoomLevel = readVarint(data, position);
+
+            final long count = readVarint(data, position);
+
+            // 1要素は最低1byteのため、残りのバイト数を超える件数は不正
+            if (zoomLevel < 1 || PackedSpatialId.MAX_ZOOM_LEVEL < zoomLevel || data.length - position[0] < count) {
+
+                throw new IllegalArgumentException("Malformed spatial id encoding at " + position[0]);
+
+            }
+
+            if (result.length < size + count) {
+
+                result = Arrays.copyOf(result, (int) Math.max(result.length * 2L, size + count));
+
+            }
+
+            long bits = 0;
+
+            for (long i = 0; i < count; i++) {
+
+                bits += readVarint(data, position);
+
+                if ((bits & ~BITS_MASK) != 0) {
+
+                    throw new IllegalArgumentException("Malformed spatial id encoding at " + position[0]);
+
+                }
+
+                result[size++] = (zoomLevel << 59) | bits;
+
+            }
+
+        }
+
+        return Arrays.copyOf(result, size);
+
+    }
+
+    /**
+     * バイナリ形式を空間IDのリストに戻す．
+     *
+     * @param data バイナリ形式
+     * @return 空間IDのリスト
+     * @throws IllegalArgumentException 形式が不正な場合
+     */
+    public static PackedSpatialIdList decodeToList(byte[] data) {
+
+        final long[] packedIds = decode(data);
+
+        final PackedSpatialIdList list = new PackedSpatialIdList(packedIds.length);
+
+        for (long packed : packedIds) {
+
+            list.addPacked(packed);
+
+        }
+
+        return list;
+
+    }
+
+    /**
+     * 符号なしの可変長整数を書き込む．
+     *
+     * @param out 書き込み先
+     * @param value 値
+     */
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+
+        long v = value;
+
+        while ((v & ~0x7FL) != 0) {
+
+            out.write((int) ((v & 0x7F) | 0x80));
+
+            v >>>= 7;
+
+        }
+
+        out.write((int) v);
+
+    }
+
+    /**
+     * 符号なしの可変長整数を読み込む．
+     *
+     * @param data 読み込み元
+     * @param position 読み込み位置．読み込んだバイト数だけ進める
+     * @return 値
+     * @throws IllegalArgumentException 形式が不正な場合
+     */
+    private static long readVarint(byte[] data, int[] position) {
+
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+
+            if (data.length <= position[0]) {
+
+                throw new IllegalArgumentException("Truncated spatial id encoding");
+
+            }
+
+            final byte b = data[position[0]++];
+
+            value |= (long) (b & 0x7F) << shift;
+
+            if (b >= 0) {
+
+                return value;
+
+            }
+
+        }
+
+        throw new IllegalArgumentException("Malformed varint at " + position[0]);
+
+    }
+
+}
@@ -0,0 +1,222 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.List;
+
+/**
+ * 空間IDの各要素を要素ごとのプリミティブ配列(Structure of Arrays)で保持するクラス．<br>
+ * {@link SpatialIdBatchValidator}の入力として使用する．
+ * <p>
+ * 書式不正の要素は各配列に0を格納し、{@link #getMalformed()}のビットマップに記録する．
+ * nullの要素は書式不正として扱い、{@link #getNulls()}のビットマップにも記録する．<br>
+ * スレッドセーフではない．
+ * </p>
+ *
+ * @version 1.1 2026/10/17
+ */
+public class SpatialIdColumns {
+
+    /**
+     * ズームレベル．
+     */
+    private final int[] z;
+
+    /**
+     * 標高（鉛直方向）インデックス．
+     */
+    private final long[] f;
+
+    /**
+     * 経度（東西方向）インデックス．
+     */
+    private final long[] x;
+
+    /**
+     * 緯度（南北方向）インデックス．
+     */
+    private final long[] y;
+
+    /**
+     * 書式不正の要素のビットマップ．
+     */
+    private final long[] malformed;
+
+    /**
+     * nullの要素のビットマップ．
+     */
+    private final long[] nulls;
+
+    /**
+     * 要素数．
+     */
+    private final int size;
+
+    private SpatialIdColumns(int size) {
+
+        this.z = new int[size];
+
+        this.f = new long[size];
+
+        this.x = new long[size];
+
+        this.y = new long[size];
+
+        this.malformed = new long[SpatialIdBatchValidator.bitmapLength(size)];
+
+        this.nulls = new long[malformed.length];
+
+        this.size = size;
+
+    }
+
+    /**
+     * 空間IDのリストを解析して生成する．
+     *
+     * @param list 空間IDのリスト
+     * @return 解析結果
+     */
+    public static SpatialIdColumns parse(List<String> list) {
+
+        final SpatialIdColumns columns = new SpatialIdColumns(list.size());
+
+        final long[] elements = new long[4];
+
+        int i = 0;
+
+        for (String value : list) {
+
+            if (SpatialId.scan(value, elements) == SpatialId.VALID) {
+
+                columns.z[i] = (int) elements[0];
+
+                columns.f[i] = elements[1];
+
+                columns.x[i] = elements[2];
+
+                columns.y[i] = elements[3];
+
+            } else {
+
+                columns.malformed[i >>> 6] |= 1L << i;
+
+                if (value == null) {
+
+                    columns.nulls[i >>> 6] |= 1L << i;
+
+                }
+
+            }
+
+            i++;
+
+        }
+
+        return columns;
+
+    }
+
+    /**
+     * 変換済みの空間IDの配列から生成する．
+     *
+     * @param packedIds 変換済みの空間IDの配列
+     * @return 生成結果
+     */
+    public static SpatialIdColumns of(long[] packedIds) {
+
+        final SpatialIdColumns columns = new SpatialIdColumns(packedIds.length);
+
+        for (int i = 0; i < packedIds.length; i++) {
+
+            columns.z[i] = PackedSpatialId.zoomLevel(packedIds[i]);
+
+            columns.f[i] = PackedSpatialId.f(packedIds[i]);
+
+            columns.x[i] = PackedSpatialId.x(packedIds[i]);
+
+            columns.y[i] = PackedSpatialId.y(packedIds[i]);
+
+        }
+
+        return columns;
+
+    }
+
+    /**
+     * ズームレベルの配列を返却する．
+     *
+     * @return ズームレベルの配列
+     */
+    public int[] getZ() {
+
+        return z;
+
+    }
+
+    /**
+     * 標高（鉛直方向）インデックスの配列を返却する．
+     *
+     * @return 標高（鉛直方向）インデックスの配列
+     */
+    public long[] getF() {
+
+        return f;
+
+    }
+
+    /**
+     * 経度（東西方向）インデックスの配列を返却する．
+     *
+     * @return 経度（東西方向）インデックスの配列
+     */
+    public long[] getX() {
+
+        return x;
+
+    }
+
+    /**
+     * 緯度（南北方向）インデックスの配列を返却する．
+     *
+     * @return 緯度（南北方向）インデックスの配列
+     */
+    public long[] getY() {
+
+        return y;
+
+    }
+
+    /**
+     * 書式不正の要素のビットマップを返却する．
+     *
+     * @return ビットマップ．{@link java.util.BitSet#valueOf(long[])}で変換できる
+     */
+    public long[] getMalformed() {
+
+        return malformed;
+
+    }
+
+    /**
+     * nullの要素のビットマップを返却する．
+     *
+     * @return ビットマップ．{@link java.util.BitSet#valueOf(long[])}で変換できる
+     */
+    public long[] getNulls() {
+
+        return nulls;
+
+    }
+
+    /**
+     * 要素数を返却する．
+     *
+     * @return 要素数
+     */
+    public int size() {
+
+        return size;
+
+    }
+
+}
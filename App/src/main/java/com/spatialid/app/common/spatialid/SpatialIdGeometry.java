@@ -0,0 +1,392 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 空間IDと地理座標(経度・緯度・高度)の相互変換を行うユーティリティクラス．
+ * <p>
+ * 経度・緯度はWebメルカトルのタイル座標(x、y)、高度は2^25mをズームレベルzで2^z分割した鉛直座標(f)に対応する．<br>
+ * 一括変換APIは配列を入出力とし、空間IDごとのオブジェクト生成を行わない．
+ * </p>
+ * <p>
+ * 範囲の境界は以下の通りとし、{@link #bounds}と{@link #toPackedId}は同一の境界値を用いるため矛盾しない．<br>
+ * ・経度：西端を含み東端を含まない<br>
+ * ・緯度：北端を含み南端を含まない<br>
+ * ・高度：下端を含み上端を含まない
+ * </p>
+ *
+ * @version 1.1 2026/10/17
+ */
+public final class SpatialIdGeometry {
+
+    /**
+     * 範囲1件あたりの出力要素数．[西端経度, 南端緯度, 下端高度, 東端経度, 北端緯度, 上端高度]の順に格納する．
+     */
+    public static final int BOUNDS_STRIDE = 6;
+
+    /**
+     * 座標1件あたりの入力要素数．[経度, 緯度, 高度]の順に格納する．
+     */
+    public static final int POINT_STRIDE = 3;
+
+    /**
+     * ズームレベル0における鉛直方向の範囲(m)．
+     */
+    public static final double ALTITUDE_EXTENT = 33554432.0;
+
+    /**
+     * Webメルカトルで表現可能な最大緯度．
+     */
+    public static final double MAX_LATITUDE = 85.0511287798066;
+
+    /**
+     * 緯度境界の事前計算を行う最大ズームレベル．<br>
+     * ズームレベル16で約512KBとなる．
+     */
+    private static final int TABLE_MAX_ZOOM_LEVEL = 16;
+
+    /**
+     * ズームレベルをインデックスとしたボクセルの高さ(m)．
+     */
+    private static final double[] VOXEL_HEIGHTS = new double[PackedSpatialId.MAX_ZOOM_LEVEL + 1];
+
+    /**
+     * ズームレベルをインデックスとしたボクセルの経度幅(度)．
+     */
+    private static final double[] VOXEL_WIDTHS = new double[PackedSpatialId.MAX_ZOOM_LEVEL + 1];
+
+    /**
+     * ズームレベルごとの緯度境界．要素yは行yの北端緯度．初回参照時に生成する．
+     */
+    private static final AtomicReferenceArray<double[]> LATITUDE_EDGES = new AtomicReferenceArray<double[]>(TABLE_MAX_ZOOM_LEVEL + 1);
+
+    static {
+
+        for (int z = 0; z <= PackedSpatialId.MAX_ZOOM_LEVEL; z++) {
+
+            VOXEL_HEIGHTS[z] = ALTITUDE_EXTENT / (1L << z);
+
+            VOXEL_WIDTHS[z] = 360.0 / (1L << z);
+
+        }
+
+    }
+
+    /**
+     * プライベートコンストラクタ<br>
+     * ユーティリティクラスのため、インスタンス化を禁じる．
+     */
+    private SpatialIdGeometry() {
+
+    }
+
+    /**
+     * 空間IDの範囲を出力配列に格納する．
+     *
+     * @param packed 変換済みの空間ID
+     * @param out 出力配列
+     * @param offset 格納を開始する位置
+     */
+    public static void bounds(long packed, double[] out, int offset) {
+
+        final int z = PackedSpatialId.zoomLevel(packed);
+
+        final long f = PackedSpatialId.f(packed);
+
+        final long x = PackedSpatialId.x(packed);
+
+        final long y = PackedSpatialId.y(packed);
+
+        final double width = VOXEL_WIDTHS[z];
+
+        final double height = VOXEL_HEIGHTS[z];
+
+        out[offset] = x * width - 180.0;
+
+        out[offset + 1] = latitudeEdge(z, y + 1);
+
+        out[offset + 2] = f * height;
+
+        out[offset + 3] = (x + 1) * width - 180.0;
+
+        out[offset + 4] = latitudeEdge(z, y);
+
+        out[offset + 5] = (f + 1) * height;
+
+    }
+
+    /**
+     * 空間IDの範囲を一括で出力配列に格納する．
+     *
+     * @param packedIds 変換済みの空間IDの配列
+     * @param from 変換を開始する位置
+     * @param count 変換する件数
+     * @param out 出力配列．count × {@link #BOUNDS_STRIDE}以上の長さが必要
+     */
+    public static void bounds(long[] packedIds, int from, int count, double[] out) {
+
+        for (int i = 0; i < count; i++) {
+
+            bounds(packedIds[from + i], out, i * BOUNDS_STRIDE);
+
+        }
+
+    }
+
+    /**
+     * 空間IDのリストの範囲を配列として返却する．
+     *
+     * @param list 空間IDのリスト
+     * @return 範囲の配列．要素数はリストの要素数 × {@link #BOUNDS_STRIDE}
+     * @throws IllegalArgumentException 変換できない要素が存在した場合
+     */
+    public static double[] bounds(List<String> list) {
+
+        final long[] packedIds = PackedSpatialId.parseAll(list);
+
+        final double[] out = new double[packedIds.length * BOUNDS_STRIDE];
+
+        bounds(packedIds, 0, packedIds.length, out);
+
+        return out;
+
+    }
+
+    /**
+     * 空間IDの中心座標を一括で出力配列に格納する．
+     * <p>
+     * 緯度の中心はWebメルカトル上の中心とする．
+     * </p>
+     *
+     * @param packedIds 変換済みの空間IDの配列
+     * @param from 変換を開始する位置
+     * @param count 変換する件数
+     * @param out 出力配列．count × {@link #POINT_STRIDE}以上の長さが必要
+     */
+    public static void centers(long[] packedIds, int from, int count, double[] out) {
+
+        for (int i = 0; i < count; i++) {
+
+            final long packed = packedIds[from + i];
+
+            final int z = PackedSpatialId.zoomLevel(packed);
+
+            final int offset = i * POINT_STRIDE;
+
+            out[offset] = (PackedSpatialId.x(packed) + 0.5) * VOXEL_WIDTHS[z] - 180.0;
+
+            out[offset + 1] = mercatorToLatitude((PackedSpatialId.y(packed) + 0.5) / (1L << z));
+
+            out[offset + 2] = (PackedSpatialId.f(packed) + 0.5) * VOXEL_HEIGHTS[z];
+
+        }
+
+    }
+
+    /**
+     * 座標を含む空間IDを求める．
+     * <p>
+     * 経度は[-180, 180)に正規化し、緯度は±{@link #MAX_LATITUDE}に丸める．
+     * </p>
+     *
+     * @param longitude 経度
+     * @param latitude 緯度
+     * @param altitude 高度(m)
+     * @param zoomLevel ズームレベル
+     * @return 変換済みの空間ID．標高が表現範囲外の場合は{@link PackedSpatialId#INVALID}
+     */
+    public static long toPackedId(double longitude, double latitude, double altitude, int zoomLevel) {
+
+        return PackedSpatialId.encode(zoomLevel,
+                altitudeToF(altitude, zoomLevel),
+                longitudeToX(longitude, zoomLevel),
+                latitudeToY(latitude, zoomLevel));
+
+    }
+
+    /**
+     * 座標を含む空間IDを一括で求める．
+     *
+     * @param points 座標の配列．[経度, 緯度, 高度]の繰り返し
+     * @param from 変換を開始する座標の位置
+     * @param count 変換する件数
+     * @param zoomLevel ズームレベル
+     * @param out 出力配列．表現範囲外の座標には{@link PackedSpatialId#INVALID}を格納する
+     */
+    public static void toPackedIds(double[] points, int from, int count, int zoomLevel, long[] out) {
+
+        for (int i = 0; i < count; i++) {
+
+            final int offset = (from + i) * POINT_STRIDE;
+
+            out[i] = toPackedId(points[offset], points[offset + 1], points[offset + 2], zoomLevel);
+
+        }
+
+    }
+
+    /**
+     * 経度を含む経度インデックスを求める．
+     *
+     * @param longitude 経度
+     * @param zoomLevel ズームレベル
+     * @return 経度インデックス
+     */
+    public static long longitudeToX(double longitude, int zoomLevel) {
+
+        final long n = 1L << zoomLevel;
+
+        double normalized = (longitude + 180.0) % 360.0;
+
+        if (normalized < 0) {
+
+            normalized += 360.0;
+
+        }
+
+        long x = (long) Math.floor(normalized / VOXEL_WIDTHS[zoomLevel]);
+
+        // 浮動小数点誤差を範囲計算と同じ境界値で補正する
+        if (0 < x && normalized < x * VOXEL_WIDTHS[zoomLevel]) {
+
+            x--;
+
+        } else if (x + 1 < n && (x + 1) * VOXEL_WIDTHS[zoomLevel] <= normalized) {
+
+            x++;
+
+        }
+
+        return Math.min(Math.max(x, 0), n - 1);
+
+    }
+
+    /**
+     * 緯度を含む緯度インデックスを求める．
+     *
+     * @param latitude 緯度
+     * @param zoomLevel ズームレベル
+     * @return 緯度インデックス
+     */
+    public static long latitudeToY(double latitude, int zoomLevel) {
+
+        final long n = 1L << zoomLevel;
+
+        final double clamped = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude));
+
+        long y = Math.min(Math.max((long) Math.floor(latitudeToMercator(clamped) * n), 0), n - 1);
+
+        // 浮動小数点誤差を範囲計算と同じ境界値で補正する
+        if (0 < y && latitudeEdge(zoomLevel, y) < clamped) {
+
+            y--;
+
+        } else if (y + 1 < n && clamped <= latitudeEdge(zoomLevel, y + 1)) {
+
+            y++;
+
+        }
+
+        return y;
+
+    }
+
+    /**
+     * 高度を含む標高インデックスを求める．
+     *
+     * @param altitude 高度(m)
+     * @param zoomLevel ズームレベル
+     * @return 標高インデックス
+     */
+    public static long altitudeToF(double altitude, int zoomLevel) {
+
+        final double height = VOXEL_HEIGHTS[zoomLevel];
+
+        long f = (long) Math.floor(altitude / height);
+
+        if (altitude < f * height) {
+
+            f--;
+
+        } else if ((f + 1) * height <= altitude) {
+
+            f++;
+
+        }
+
+        return f;
+
+    }
+
+    /**
+     * 行yの北端緯度を返却する．
+     *
+     * @param zoomLevel ズームレベル
+     * @param y 緯度インデックス(0以上2^z以下)
+     * @return 北端緯度
+     */
+    public static double latitudeEdge(int zoomLevel, long y) {
+
+        if (TABLE_MAX_ZOOM_LEVEL < zoomLevel) {
+
+            return mercatorToLatitude((double) y / (1L << zoomLevel));
+
+        }
+
+        double[] edges = LATITUDE_EDGES.get(zoomLevel);
+
+        if (edges == null) {
+
+            final int n = 1 << zoomLevel;
+
+            edges = new double[n + 1];
+
+            for (int i = 0; i <= n; i++) {
+
+                edges[i] = mercatorToLatitude((double) i / n);
+
+            }
+
+            // 同時に生成された場合も内容は同一のため、先に格納された方を使用する
+            if (!LATITUDE_EDGES.compareAndSet(zoomLevel, null, edges)) {
+
+                edges = LATITUDE_EDGES.get(zoomLevel);
+
+            }
+
+        }
+
+        return edges[(int) y];
+
+    }
+
+    /**
+     * 緯度を正規化されたWebメルカトルのy座標(北端0、南端1)に変換する．
+     *
+     * @param latitude 緯度
+     * @return 正規化されたy座標．±{@link #MAX_LATITUDE}を超える緯度では0未満または1超となる
+     */
+    public static double latitudeToMercator(double latitude) {
+
+        final double radian = Math.toRadians(latitude);
+
+        return (1.0 - Math.log(Math.tan(radian) + 1.0 / Math.cos(radian)) / Math.PI) / 2.0;
+
+    }
+
+    /**
+     * 正規化されたWebメルカトルのy座標(北端0、南端1)を緯度に変換する．
+     *
+     * @param mercator 正規化されたy座標
+     * @return 緯度
+     */
+    private static double mercatorToLatitude(double mercator) {
+
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1.0 - 2.0 * mercator))));
+
+    }
+
+}
@@ -0,0 +1,486 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link PackedSpatialId}形式の空間IDに対して、階層(親子関係)に関する操作を提供するユーティリティクラス．
+ * <p>
+ * ズームレベルが1つ上がるごとに、f、x、yの各軸が2分割されるため、1つのボクセルは8個の子ボクセルを持つ．
+ * </p>
+ *
+ * @version 1.1 2026/10/17
+ */
+public final class SpatialIdHierarchy {
+
+    /**
+     * 1つのボクセルが持つ子ボクセルの数．
+     */
+    public static final int CHILDREN_COUNT = 8;
+
+    /**
+     * 配下のボクセルを列挙する際に許容する最大要素数．
+     */
+    private static final long MAX_DESCENDANTS = 1L << 24;
+
+    /**
+     * プライベートコンストラクタ<br>
+     * ユーティリティクラスのため、インスタンス化を禁じる．
+     */
+    private SpatialIdHierarchy() {
+
+    }
+
+    /**
+     * 指定したズームレベルにおける祖先ボクセルを返却する．
+     *
+     * @param packed 変換済みの空間ID
+     * @param zoomLevel 祖先のズームレベル
+     * @return 祖先ボクセル．ズームレベルが0未満または空間IDより細かい場合は{@link PackedSpatialId#INVALID}
+     */
+    public static long parent(long packed, int zoomLevel) {
+
+        final int z = PackedSpatialId.zoomLevel(packed);
+
+        if (zoomLevel < 0 || z < zoomLevel) {
+
+            return PackedSpatialId.INVALID;
+
+        }
+
+        final int shift = z - zoomLevel;
+
+        // 標高は負の値を取るため、算術シフトで切り捨てる
+        return PackedSpatialId.encode(zoomLevel,
+                PackedSpatialId.f(packed) >> shift,
+                PackedSpatialId.x(packed) >> shift,
+                PackedSpatialId.y(packed) >> shift);
+
+    }
+
+    /**
+     * 1つ粗いズームレベルの親ボクセルを返却する．
+     *
+     * @param packed 変換済みの空間ID
+     * @return 親ボクセル．ズームレベル0の場合は{@link PackedSpatialId#INVALID}
+     */
+    public static long parent(long packed) {
+
+        return parent(packed, PackedSpatialId.zoomLevel(packed) - 1);
+
+    }
+
+    /**
+     * 8個の子ボクセルを列挙する．
+     *
+     * @param packed 変換済みの空間ID
+     * @return 子ボクセルの配列
+     * @throws IllegalArgumentException 子ボクセルが表現範囲外となる場合
+     */
+    public static long[] children(long packed) {
+
+        final long[] children = new long[CHILDREN_COUNT];
+
+        children(packed, children, 0);
+
+        return children;
+
+    }
+
+    /**
+     * 8個の子ボクセルを配列に格納する．
+     *
+     * @param packed 変換済みの空間ID
+     * @param dest 格納先
+     * @param offset 格納を開始する位置
+     * @throws IllegalArgumentException 子ボクセルが表現範囲外となる場合
+     */
+    public static void children(long packed, long[] dest, int offset) {
+
+        final int z = PackedSpatialId.zoomLevel(packed) + 1;
+
+        final long f = PackedSpatialId.f(packed) << 1;
+
+        final long x = PackedSpatialId.x(packed) << 1;
+
+        final long y = PackedSpatialId.y(packed) << 1;
+
+        int i = offset;
+
+        for (int df = 0; df < 2; df++) {
+
+            for (int dx = 0; dx < 2; dx++) {
+
+                for (int dy = 0; dy < 2; dy++) {
+
+                    final long child = PackedSpatialId.encode(z, f + df, x + dx, y + dy);
+
+                    if (child == PackedSpatialId.INVALID) {
+
+                        throw new IllegalArgumentException("Children not representable: " + PackedSpatialId.toString(packed));
+
+                    }
+
+                    dest[i++] = child;
+
+                }
+
+            }
+
+        }
+
+    }
+
+    /**
+     * 指定したズームレベルにおける配下のボクセルを全て列挙する．
+     *
+     * @param packed 変換済みの空間ID
+     * @param zoomLevel 列挙するズームレベル
+     * @return 配下のボクセルの配列
+     * @throws IllegalArgumentException ズームレベルが空間IDより粗い場合、または列挙数が上限を超える場合
+     */
+    public static long[] descendants(long packed, int zoomLevel) {
+
+        final int z = PackedSpatialId.zoomLevel(packed);
+
+        final int depth = zoomLevel - z;
+
+        if (depth < 0 || PackedSpatialId.MAX_ZOOM_LEVEL < zoomLevel || MAX_DESCENDANTS < (1L << (3 * depth))) {
+
+            throw new IllegalArgumentException("Invalid zoom level for descendants: " + zoomLevel);
+
+        }
+
+        final int side = 1 << depth;
+
+        final long f = PackedSpatialId.f(packed) << depth;
+
+        final long x = PackedSpatialId.x(packed) << depth;
+
+        final long y = PackedSpatialId.y(packed) << depth;
+
+        final long[] descendants = new long[side * side * side];
+
+        int i = 0;
+
+        for (int df = 0; df < side; df++) {
+
+            for (int dx = 0; dx < side; dx++) {
+
+                for (int dy = 0; dy < side; dy++) {
+
+                    final long descendant = PackedSpatialId.encode(zoomLevel, f + df, x + dx, y + dy);
+
+                    if (descendant == PackedSpatialId.INVALID) {
+
+                        throw new IllegalArgumentException("Descendants not representable: " + PackedSpatialId.toString(packed));
+
+                    }
+
+                    descendants[i++] = descendant;
+
+                }
+
+            }
+
+        }
+
+        return descendants;
+
+    }
+
+    /**
+     * ボクセルが別のボクセルを包含するかを判定する．<br>
+     * 同一のボクセルの場合も包含するとみなす．
+     *
+     * @param ancestor 包含する側の空間ID
+     * @param descendant 包含される側の空間ID
+     * @return 包含する場合、true
+     */
+    public static boolean contains(long ancestor, long descendant) {
+
+        return parent(descendant, PackedSpatialId.zoomLevel(ancestor)) == ancestor;
+
+    }
+
+    /**
+     * 空間IDの集合を、指定したズームレベルに揃える．
+     * <p>
+     * 指定したズームレベルより細かい空間IDは祖先ボクセルに、粗い空間IDは配下のボクセルに置き換える．<br>
+     * 結果は重複を除いた昇順の配列となる．
+     * </p>
+     *
+     * @param packedIds 変換済みの空間IDの配列
+     * @param zoomLevel 揃えるズームレベル
+     * @return 変換後の空間IDの配列
+     * @throws IllegalArgumentException 配下のボクセルの列挙数が上限を超える場合
+     */
+    public static long[] rebase(long[] packedIds, int zoomLevel) {
+
+        final LongSpatialIdSet rebased = new LongSpatialIdSet(packedIds.length);
+
+        for (long packed : packedIds) {
+
+            if (zoomLevel <= PackedSpatialId.zoomLevel(packed)) {
+
+                rebased.add(parent(packed, zoomLevel));
+
+            } else {
+
+                for (long descendant : descendants(packed, zoomLevel)) {
+
+                    rebased.add(descendant);
+
+                }
+
+                if (MAX_DESCENDANTS < rebased.size()) {
+
+                    throw new IllegalArgumentException("Too many descendants at zoom level " + zoomLevel);
+
+                }
+
+            }
+
+        }
+
+        return rebased.toSortedArray();
+
+    }
+
+    /**
+     * 空間IDの集合を、表す空間が等しい最小の集合に圧縮する．
+     * <p>
+     * 以下の手順で処理を行う．<br>
+     * ・重複および他の要素に包含される要素を除去<br>
+     * ・8個の子ボクセルが全て揃った兄弟を親ボクセルに置き換える操作を、細かいズームレベルから順に繰り返す<br>
+     * 親ボクセルへの置き換えは、minZoomLevelより粗いズームレベルには行わない．<br>
+     * 結果は昇順の配列となる．
+     * </p>
+     *
+     * @param packedIds 変換済みの空間IDの配列
+     * @param minZoomLevel 置き換え後に許容する最小のズームレベル
+     * @return 圧縮後の空間IDの配列
+     */
+    public static long[] compact(long[] packedIds, int minZoomLevel) {
+
+        final long[][] levels = groupUncovered(packedIds);
+
+        for (int z = PackedSpatialId.MAX_ZOOM_LEVEL; Math.max(minZoomLevel, 0) < z; z--) {
+
+            final long[] level = levels[z];
+
+            if (level.length < CHILDREN_COUNT) {
+
+                continue;
+
+            }
+
+            // 親ボクセルを整列し、8回出現した親ボクセルを完全な兄弟として抽出する
+            final long[] parents = new long[level.length];
+
+            for (int i = 0; i < level.length; i++) {
+
+                parents[i] = parent(level[i]);
+
+            }
+
+            Arrays.sort(parents);
+
+            final LongSpatialIdSet completeParents = new LongSpatialIdSet();
+
+            for (int i = 0; i + CHILDREN_COUNT <= parents.length; i++) {
+
+                if (parents[i] == parents[i + CHILDREN_COUNT - 1]) {
+
+                    completeParents.add(parents[i]);
+
+                    i += CHILDREN_COUNT - 1;
+
+                }
+
+            }
+
+            if (completeParents.isEmpty()) {
+
+                continue;
+
+            }
+
+            int remaining = 0;
+
+            for (long packed : level) {
+
+                if (!completeParents.contains(parent(packed))) {
+
+                    level[remaining++] = packed;
+
+                }
+
+            }
+
+            levels[z] = Arrays.copyOf(level, remaining);
+
+            final long[] coarser = levels[z - 1];
+
+            final long[] merged = Arrays.copyOf(coarser, coarser.length + completeParents.size());
+
+            System.arraycopy(completeParents.toArray(), 0, merged, coarser.length, completeParents.size());
+
+            levels[z - 1] = merged;
+
+        }
+
+        return flatten(levels);
+
+    }
+
+    /**
+     * 空間IDのリストを、表す空間が等しい最小の集合に圧縮する．
+     *
+     * @param list 空間IDのリスト
+     * @param minZoomLevel 置き換え後に許容する最小のズームレベル
+     * @return 圧縮後の空間IDのリスト
+     * @throws IllegalArgumentException 変換できない要素が存在した場合
+     */
+    public static List<String> compact(List<String> list, int minZoomLevel) {
+
+        final long[] compacted = compact(PackedSpatialId.parseAll(list), minZoomLevel);
+
+        final List<String> compactedList = new ArrayList<String>(compacted.length);
+
+        final StringBuilder builder = new StringBuilder(32);
+
+        for (long packed : compacted) {
+
+            builder.setLength(0);
+
+            compactedList.add(PackedSpatialId.appendTo(builder, packed).toString());
+
+        }
+
+        return compactedList;
+
+    }
+
+    /**
+     * 空間IDの集合から、重複および他の要素に包含される要素を除去する．
+     * <p>
+     * 結果の各要素は互いに重なりを持たない．結果は昇順の配列となる．
+     * </p>
+     *
+     * @param packedIds 変換済みの空間IDの配列
+     * @return 除去後の空間IDの配列
+     */
+    public static long[] removeCovered(long[] packedIds) {
+
+        return flatten(groupUncovered(packedIds));
+
+    }
+
+    /**
+     * ズームレベルごとに分類された空間IDを1つの昇順の配列にまとめる．
+     *
+     * @param levels ズームレベルをインデックスとした空間IDの配列
+     * @return 昇順の空間IDの配列
+     */
+    private static long[] flatten(long[][] levels) {
+
+        int total = 0;
+
+        for (long[] level : levels) {
+
+            total += level.length;
+
+        }
+
+        final long[] flattened = new long[total];
+
+        int offset = 0;
+
+        for (long[] level : levels) {
+
+            System.arraycopy(level, 0, flattened, offset, level.length);
+
+            offset += level.length;
+
+        }
+
+        Arrays.sort(flattened);
+
+        return flattened;
+
+    }
+
+    /**
+     * 重複および他の要素に包含される要素を除去し、ズームレベルごとに分類する．
+     *
+     * @param packedIds 変換済みの空間IDの配列
+     * @return ズームレベルをインデックスとした空間IDの配列
+     */
+    private static long[][] groupUncovered(long[] packedIds) {
+
+        final LongSpatialIdSet unique = LongSpatialIdSet.of(packedIds);
+
+        // 存在するズームレベルをビットで保持し、祖先の探索対象を絞り込む
+        int zoomMask = 0;
+
+        final int[] counts = new int[PackedSpatialId.MAX_ZOOM_LEVEL + 1];
+
+        final long[] ids = unique.toArray();
+
+        for (long packed : ids) {
+
+            zoomMask |= 1 << PackedSpatialId.zoomLevel(packed);
+
+        }
+
+        int kept = 0;
+
+        for (long packed : ids) {
+
+            final int z = PackedSpatialId.zoomLevel(packed);
+
+            boolean covered = false;
+
+            for (int mask = zoomMask & ((1 << z) - 1); mask != 0 && !covered; mask &= mask - 1) {
+
+                covered = unique.contains(parent(packed, Integer.numberOfTrailingZeros(mask)));
+
+            }
+
+            if (!covered) {
+
+                ids[kept++] = packed;
+
+                counts[z]++;
+
+            }
+
+        }
+
+        final long[][] levels = new long[PackedSpatialId.MAX_ZOOM_LEVEL + 1][];
+
+        for (int z = 0; z < levels.length; z++) {
+
+            levels[z] = new long[counts[z]];
+
+            counts[z] = 0;
+
+        }
+
+        for (int i = 0; i < kept; i++) {
+
+            final int z = PackedSpatialId.zoomLevel(ids[i]);
+
+            levels[z][counts[z]++] = ids[i];
+
+        }
+
+        return levels;
+
+    }
+
+}
@@ -0,0 +1,626 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.geojson.LineString;
+import org.geojson.LngLatAlt;
+
+/**
+ * 3次元の折れ線(管路、ケーブル等)が通過する空間IDを求めるクラス．
+ * <p>
+ * 経度・緯度をWebメルカトル上のタイル座標、高度を標高インデックスに換算した空間で、
+ * 線分が通過するボクセルをAmanatides-Wooの方式で順に辿る．<br>
+ * 線分は換算後の空間で直線として扱う．<br>
+ * 経度の差は(-180, 180]に正規化するため、日付変更線をまたぐ線分は地球を逆回りせず、短い側を辿る．
+ * </p>
+ * <p>
+ * 緩衝半径を指定した場合は、線分からの距離が緩衝半径以内となり得るボクセルも含める．<br>
+ * 距離はボクセルの中心と線分の距離からボクセルの対角線の半分を差し引いて判定するため、結果は緩衝領域を覆う側に寄る．
+ * </p>
+ * <p>
+ * インスタンスは不変であり、スレッドセーフである．
+ * </p>
+ *
+ * @version 1.1 2026/10/17
+ */
+public class SpatialIdLineVoxelizer {
+
+    /**
+     * 赤道の全周(m)．
+     */
+    private static final double EQUATORIAL_CIRCUMFERENCE = 40075016.68557849;
+
+    /**
+     * 出力する空間IDのズームレベル．
+     */
+    private final int zoomLevel;
+
+    /**
+     * 緩衝半径(m)．
+     */
+    private final double bufferRadius;
+
+    /**
+     * 一括処理に使用するプール．
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * 緩衝半径なしで生成する．
+     *
+     * @param zoomLevel 出力する空間IDのズームレベル
+     * @throws IllegalArgumentException ズームレベルが不正な場合
+     */
+    public SpatialIdLineVoxelizer(int zoomLevel) {
+
+        this(zoomLevel, 0);
+
+    }
+
+    /**
+     * 緩衝半径を指定し、共通プールを使用して生成する．
+     *
+     * @param zoomLevel 出力する空間IDのズームレベル
+     * @param bufferRadius 緩衝半径(m)
+     * @throws IllegalArgumentException ズームレベルまたは緩衝半径が不正な場合
+     */
+    public SpatialIdLineVoxelizer(int zoomLevel, double bufferRadius) {
+
+        this(zoomLevel, bufferRadius, ForkJoinPool.commonPool());
+
+    }
+
+    /**
+     * 緩衝半径と一括処理に使用するプールを指定して生成する．
+     *
+     * @param zoomLevel 出力する空間IDのズームレベル
+     * @param bufferRadius 緩衝半径(m)
+     * @param pool 一括処理に使用するプール
+     * @throws IllegalArgumentException ズームレベルまたは緩衝半径が不正な場合
+     */
+    public SpatialIdLineVoxelizer(int zoomLevel, double bufferRadius, ForkJoinPool pool) {
+
+        if (zoomLevel < 1 || PackedSpatialId.MAX_ZOOM_LEVEL < zoomLevel) {
+
+            throw new IllegalArgumentException("Invalid zoom level: " + zoomLevel);
+
+        }
+
+        if (!(0 <= bufferRadius) || Double.isInfinite(bufferRadius)) {
+
+            throw new IllegalArgumentException("Invalid buffer radius: " + bufferRadius);
+
+        }
+
+        this.zoomLevel = zoomLevel;
+
+        this.bufferRadius = bufferRadius;
+
+        this.pool = pool;
+
+    }
+
+    /**
+     * 折れ線が通過する空間IDを求める．
+     *
+     * @param polyline 座標の配列．[経度, 緯度, 高度]の繰り返し
+     * @return 昇順に整列した重複のない変換済みの空間IDの配列
+     * @throws IllegalArgumentException 座標が1つもない場合、または高度が表現範囲外の場合
+     */
+    public long[] voxelize(double[] polyline) {
+
+        final int points = polyline.length / SpatialIdGeometry.POINT_STRIDE;
+
+        if (points == 0) {
+
+            throw new IllegalArgumentException("Polyline requires at least 1 coordinate");
+
+        }
+
+        final LongSpatialIdSet result = new LongSpatialIdSet();
+
+        final double[] from = new double[3];
+
+        final double[] to = new double[3];
+
+        toVoxelSpace(polyline, 0, from);
+
+        if (points == 1) {
+
+            traverse(from, from, result);
+
+        }
+
+        for (int i = 1; i < points; i++) {
+
+            toVoxelSpace(polyline, i * SpatialIdGeometry.POINT_STRIDE, to);
+
+            unwrapLongitude(from, to);
+
+            traverse(from, to, result);
+
+            System.arraycopy(to, 0, from, 0, 3);
+
+        }
+
+        return result.toSortedArray();
+
+    }
+
+    /**
+     * 折れ線が通過する空間IDを求める．
+     * <p>
+     * 高度を持たない座標は高度0mとして扱う．
+     * </p>
+     *
+     * @param lineString 折れ線
+     * @return 昇順に整列した重複のない変換済みの空間IDの配列
+     * @throws IllegalArgumentException 座標が1つもない場合、または高度が表現範囲外の場合
+     */
+    public long[] voxelize(LineString lineString) {
+
+        return voxelize(toArray(lineString.getCoordinates()));
+
+    }
+
+    /**
+     * 折れ線が通過する空間IDを"z/f/x/y"形式のリストとして求める．
+     *
+     * @param polyline 座標の配列．[経度, 緯度, 高度]の繰り返し
+     * @return 昇順に整列した重複のない空間IDのリスト
+     * @throws IllegalArgumentException 座標が1つもない場合、または高度が表現範囲外の場合
+     */
+    public List<String> toSpatialIds(double[] polyline) {
+
+        final long[] packedIds = voxelize(polyline);
+
+        final PackedSpatialIdList list = new PackedSpatialIdList(packedIds.length);
+
+        for (long packed : packedIds) {
+
+            list.addPacked(packed);
+
+        }
+
+        return list;
+
+    }
+
+    /**
+     * 複数の折れ線が通過する空間IDを並列に求める．
+     *
+     * @param polylines 折れ線のリスト．各要素は[経度, 緯度, 高度]の繰り返し
+     * @return 折れ線ごとの、昇順に整列した重複のない変換済みの空間IDの配列．順序は引数と同一
+     * @throws IllegalArgumentException 変換できない折れ線が存在した場合
+     */
+    public List<long[]> voxelizeAll(List<double[]> polylines) {
+
+        final List<Callable<long[]>> tasks = new ArrayList<Callable<long[]>>(polylines.size());
+
+        for (double[] polyline : polylines) {
+
+            tasks.add(() -> voxelize(polyline));
+
+        }
+
+        final List<long[]> results = new ArrayList<long[]>(polylines.size());
+
+        try {
+
+            for (Future<long[]> future : pool.invokeAll(tasks)) {
+
+                results.add(future.get());
+
+            }
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException("Voxelization was interrupted", e);
+
+        } catch (ExecutionException e) {
+
+            if (e.getCause() instanceof RuntimeException cause) {
+
+                throw cause;
+
+            }
+
+            throw new IllegalStateException(e.getCause());
+
+        }
+
+        return results;
+
+    }
+
+    /**
+     * 線分が通過するボクセルを出力する．
+     *
+     * @param from 始点(ボクセル空間)
+     * @param to 終点(ボクセル空間)
+     * @param out 出力先
+     */
+    private void traverse(double[] from, double[] to, LongSpatialIdSet out) {
+
+        final long[] cell = new long[3];
+
+        final long[] last = new long[3];
+
+        final int[] step = new int[3];
+
+        final double[] tMax = new double[3];
+
+        final double[] tDelta = new double[3];
+
+        long remaining = 1;
+
+        for (int axis = 0; axis < 3; axis++) {
+
+            final double d = to[axis] - from[axis];
+
+            cell[axis] = (long) Math.floor(from[axis]);
+
+            last[axis] = (long) Math.floor(to[axis]);
+
+            remaining += Math.abs(last[axis] - cell[axis]);
+
+            if (0 < d) {
+
+                step[axis] = 1;
+
+                tMax[axis] = (cell[axis] + 1 - from[axis]) / d;
+
+                tDelta[axis] = 1 / d;
+
+            } else if (d < 0) {
+
+                step[axis] = -1;
+
+                tMax[axis] = (cell[axis] - from[axis]) / d;
+
+                tDelta[axis] = -1 / d;
+
+            } else {
+
+                tMax[axis] = Double.POSITIVE_INFINITY;
+
+                tDelta[axis] = Double.POSITIVE_INFINITY;
+
+            }
+
+        }
+
+        final Buffer buffer = (bufferRadius == 0) ? null : new Buffer(from, to);
+
+        if (buffer == null) {
+
+            emit(cell[0], cell[1], cell[2], out);
+
+        } else {
+
+            buffer.emitAround(cell, out);
+
+        }
+
+        // 通過するセル数は各軸の境界の通過回数の和となるため、それを上限として辿る
+        while (0 < --remaining) {
+
+            final int axis = (tMax[0] < tMax[1])
+                    ? ((tMax[0] < tMax[2]) ? 0 : 2)
+                    : ((tMax[1] < tMax[2]) ? 1 : 2);
+
+            cell[axis] += step[axis];
+
+            tMax[axis] += tDelta[axis];
+
+            if (buffer == null) {
+
+                emit(cell[0], cell[1], cell[2], out);
+
+            } else {
+
+                buffer.emitSlab(cell, axis, step[axis], out);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * ボクセルを空間IDとして出力する．
+     * <p>
+     * 緯度方向はメルカトルの範囲に丸め、経度方向は日付変更線で折り返す．
+     * </p>
+     *
+     * @param x 経度インデックス
+     * @param y 緯度インデックス
+     * @param f 標高インデックス
+     * @param out 出力先
+     * @throws IllegalArgumentException 高度が表現範囲外の場合
+     */
+    private void emit(long x, long y, long f, LongSpatialIdSet out) {
+
+        final long n = 1L << zoomLevel;
+
+        final long packed = PackedSpatialId.encode(zoomLevel, f, Math.floorMod(x, n), Math.min(Math.max(y, 0), n - 1));
+
+        if (packed == PackedSpatialId.INVALID) {
+
+            throw new IllegalArgumentException("Altitude is out of bounds at zoom level " + zoomLevel + ": f=" + f);
+
+        }
+
+        out.add(packed);
+
+    }
+
+    /**
+     * 座標をボクセル空間に換算する．
+     *
+     * @param polyline 座標の配列
+     * @param offset 座標の位置
+     * @param dest 出力先．[経度方向, 緯度方向, 高度方向]
+     */
+    private void toVoxelSpace(double[] polyline, int offset, double[] dest) {
+
+        final double n = 1L << zoomLevel;
+
+        final double latitude = Math.max(-SpatialIdGeometry.MAX_LATITUDE,
+                Math.min(SpatialIdGeometry.MAX_LATITUDE, polyline[offset + 1]));
+
+        dest[0] = (polyline[offset] + 180.0) / 360.0 * n;
+
+        dest[1] = SpatialIdGeometry.latitudeToMercator(latitude) * n;
+
+        dest[2] = polyline[offset + 2] / SpatialIdGeometry.ALTITUDE_EXTENT * n;
+
+    }
+
+    /**
+     * 終点の経度方向の座標を、始点との差が(-180, 180]度に相当する範囲となるように全周分ずらす．
+     * <p>
+     * ずらした座標は出力時に{@link #emit(long, long, long, LongSpatialIdSet)}で折り返す．
+     * 次の線分の始点にも引き継ぐため、折れ線全体が連続した座標となる．
+     * </p>
+     *
+     * @param from 始点(ボクセル空間)
+     * @param to 終点(ボクセル空間)．経度方向の座標を書き換える
+     */
+    private void unwrapLongitude(double[] from, double[] to) {
+
+        final double n = 1L << zoomLevel;
+
+        final double d = to[0] - from[0];
+
+        to[0] = from[0] + d - n * Math.ceil((d - n / 2) / n);
+
+    }
+
+    /**
+     * GeoJSONの座標リストを配列に変換する．
+     *
+     * @param coordinates 座標リスト
+     * @return 座標の配列．[経度, 緯度, 高度]の繰り返し
+     */
+    private static double[] toArray(List<LngLatAlt> coordinates) {
+
+        final double[] polyline = new double[coordinates.size() * SpatialIdGeometry.POINT_STRIDE];
+
+        for (int i = 0; i < coordinates.size(); i++) {
+
+            final LngLatAlt point = coordinates.get(i);
+
+            final int offset = i * SpatialIdGeometry.POINT_STRIDE;
+
+            polyline[offset] = point.getLongitude();
+
+            polyline[offset + 1] = point.getLatitude();
+
+            polyline[offset + 2] = Double.isNaN(point.getAltitude()) ? 0 : point.getAltitude();
+
+        }
+
+        return polyline;
+
+    }
+
+    /**
+     * 1つの線分に対する緩衝領域の判定を行うクラス．
+     * <p>
+     * 線分の中間緯度における縮尺で、ボクセル空間を長さ(m)に換算して判定する．
+     * </p>
+     */
+    private final class Buffer {
+
+        /**
+         * 各軸のボクセル1つあたりの長さ(m)．
+         */
+        private final double[] scale = new double[3];
+
+        /**
+         * 各軸の探索範囲(ボクセル数)．
+         */
+        private final long[] reach = new long[3];
+
+        private final double[] origin;
+
+        private final double[] direction = new double[3];
+
+        private final double lengthSquared;
+
+        /**
+         * 判定に用いる距離の閾値の2乗．
+         */
+        private final double thresholdSquared;
+
+        Buffer(double[] from, double[] to) {
+
+            final double n = 1L << zoomLevel;
+
+            final double latitude = Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1.0 - (from[1] + to[1]) / n))));
+
+            final double horizontal = EQUATORIAL_CIRCUMFERENCE * Math.cos(Math.toRadians(latitude)) / n;
+
+            scale[0] = horizontal;
+
+            scale[1] = horizontal;
+
+            scale[2] = SpatialIdGeometry.ALTITUDE_EXTENT / n;
+
+            origin = from;
+
+            double length = 0;
+
+            for (int axis = 0; axis < 3; axis++) {
+
+                direction[axis] = (to[axis] - from[axis]) * scale[axis];
+
+                length += direction[axis] * direction[axis];
+
+                reach[axis] = (long) Math.ceil(bufferRadius / scale[axis]);
+
+            }
+
+            lengthSquared = length;
+
+            final double halfDiagonal = Math.sqrt(scale[0] * scale[0] + scale[1] * scale[1] + scale[2] * scale[2]) / 2;
+
+            thresholdSquared = (bufferRadius + halfDiagonal) * (bufferRadius + halfDiagonal);
+
+        }
+
+        /**
+         * 通過するボクセルの周囲のうち、緩衝領域に掛かるボクセルを出力する．
+         *
+         * @param cell 通過するボクセル
+         * @param out 出力先
+         */
+        void emitAround(long[] cell, LongSpatialIdSet out) {
+
+            final long[] min = new long[3];
+
+            final long[] max = new long[3];
+
+            for (int axis = 0; axis < 3; axis++) {
+
+                min[axis] = cell[axis] - reach[axis];
+
+                max[axis] = cell[axis] + reach[axis];
+
+            }
+
+            emitBox(min, max, out);
+
+        }
+
+        /**
+         * 1軸方向に1つ進んだボクセルについて、探索範囲のうち直前のボクセルの探索範囲に含まれない面の部分だけを判定して出力する．
+         * <p>
+         * 判定は線分との距離のみに依存するため、既に判定した範囲を除いても結果は周囲全体を判定した場合と同一となる．
+         * </p>
+         *
+         * @param cell 進んだ後のボクセル
+         * @param axis 進んだ軸
+         * @param step 進んだ向き(1または-1)
+         * @param out 出力先
+         */
+        void emitSlab(long[] cell, int axis, int step, LongSpatialIdSet out) {
+
+            final long[] min = new long[3];
+
+            final long[] max = new long[3];
+
+            for (int i = 0; i < 3; i++) {
+
+                min[i] = cell[i] - reach[i];
+
+                max[i] = cell[i] + reach[i];
+
+            }
+
+            min[axis] = cell[axis] + step * reach[axis];
+
+            max[axis] = min[axis];
+
+            emitBox(min, max, out);
+
+        }
+
+        /**
+         * 直方体の範囲のボクセルのうち、緩衝領域に掛かるボクセルを出力する．
+         *
+         * @param min 各軸の下限(この値を含む)
+         * @param max 各軸の上限(この値を含む)
+         * @param out 出力先
+         */
+        private void emitBox(long[] min, long[] max, LongSpatialIdSet out) {
+
+            for (long x = min[0]; x <= max[0]; x++) {
+
+                for (long y = min[1]; y <= max[1]; y++) {
+
+                    for (long f = min[2]; f <= max[2]; f++) {
+
+                        if (distanceSquared(x, y, f) <= thresholdSquared) {
+
+                            emit(x, y, f, out);
+
+                        }
+
+                    }
+
+                }
+
+            }
+
+        }
+
+        /**
+         * ボクセルの中心と線分の距離の2乗(m^2)を求める．
+         *
+         * @param x 経度インデックス
+         * @param y 緯度インデックス
+         * @param f 標高インデックス
+         * @return 距離の2乗
+         */
+        private double distanceSquared(long x, long y, long f) {
+
+            final double px = (x + 0.5 - origin[0]) * scale[0];
+
+            final double py = (y + 0.5 - origin[1]) * scale[1];
+
+            final double pf = (f + 0.5 - origin[2]) * scale[2];
+
+            double t = 0;
+
+            if (0 < lengthSquared) {
+
+                t = (px * direction[0] + py * direction[1] + pf * direction[2]) / lengthSquared;
+
+                t = Math.max(0, Math.min(1, t));
+
+            }
+
+            final double ex = px - t * direction[0];
+
+            final double ey = py - t * direction[1];
+
+            final double ef = pf - t * direction[2];
+
+            return ex * ex + ey * ey + ef * ef;
+
+        }
+
+    }
+
+}
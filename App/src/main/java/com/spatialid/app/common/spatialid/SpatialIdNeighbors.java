@@ -0,0 +1,224 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+/**
+ * {@link PackedSpatialId}形式の空間IDに対して、近傍ボクセルの列挙と膨張処理を提供するユーティリティクラス．
+ * <p>
+ * 近傍は同一ズームレベルのボクセルとし、以下の規則に従う．<br>
+ * ・経度方向(x)：日付変更線で折り返す(0と2^z - 1が隣接する)<br>
+ * ・緯度方向(y)：0未満および2^z以上のボクセルは存在しないものとして除外する<br>
+ * ・標高方向(f)：{@link PackedSpatialId}で表現できないボクセルは除外する
+ * </p>
+ *
+ * @version 1.1 2026/10/17
+ */
+public final class SpatialIdNeighbors {
+
+    /**
+     * 近傍の連結性．
+     */
+    public enum Connectivity {
+
+        /**
+         * 面で接するボクセル(6近傍)．
+         */
+        FACE(1),
+
+        /**
+         * 面または辺で接するボクセル(18近傍)．
+         */
+        EDGE(2),
+
+        /**
+         * 面、辺または頂点で接するボクセル(26近傍)．
+         */
+        VERTEX(3);
+
+        /**
+         * 1ステップで変化できる軸の数．
+         */
+        private final int axes;
+
+        Connectivity(int axes) {
+
+            this.axes = axes;
+
+        }
+
+    }
+
+    /**
+     * 1つの空間IDに対して走査を許容する最大ボクセル数．{@link SpatialIdHierarchy#descendants}の上限に合わせる．
+     */
+    private static final long MAX_WITHIN_CELLS = 1L << 24;
+
+    /**
+     * プライベートコンストラクタ<br>
+     * ユーティリティクラスのため、インスタンス化を禁じる．
+     */
+    private SpatialIdNeighbors() {
+
+    }
+
+    /**
+     * 隣接するボクセルを列挙する．
+     *
+     * @param packed 変換済みの空間ID
+     * @param connectivity 連結性
+     * @return 隣接するボクセルの配列．境界で除外されたボクセルは含まない
+     */
+    public static long[] neighbors(long packed, Connectivity connectivity) {
+
+        final LongSpatialIdSet result = new LongSpatialIdSet(32);
+
+        addWithin(packed, 1, connectivity, result);
+
+        result.remove(packed);
+
+        return result.toSortedArray();
+
+    }
+
+    /**
+     * 指定したステップ数以内で到達できるボクセル(自身を含む)を出力先に追加する．
+     * <p>
+     * 26近傍ではチェビシェフ距離k以内の立方体、6近傍ではマンハッタン距離k以内の八面体となる．<br>
+     * 経度方向の折り返しによる重複は出力先の集合で除去される．
+     * </p>
+     *
+     * @param packed 変換済みの空間ID
+     * @param k ステップ数
+     * @param connectivity 連結性
+     * @param out 出力先
+     * @throws IllegalArgumentException 空間IDが{@link PackedSpatialId#INVALID}の場合、
+     *             またはステップ数が負もしくは走査範囲(2k+1)^3が2^24を超える場合
+     */
+    public static void addWithin(long packed, int k, Connectivity connectivity, LongSpatialIdSet out) {
+
+        if (packed == PackedSpatialId.INVALID) {
+
+            throw new IllegalArgumentException("Invalid packed spatial id");
+
+        }
+
+        final long side = 2L * k + 1;
+
+        // 除算で比較し、(2k+1)^3の桁あふれを避ける
+        if (k < 0 || MAX_WITHIN_CELLS / side / side < side) {
+
+            throw new IllegalArgumentException("k out of range: " + k);
+
+        }
+
+        final int z = PackedSpatialId.zoomLevel(packed);
+
+        final long f = PackedSpatialId.f(packed);
+
+        final long x = PackedSpatialId.x(packed);
+
+        final long y = PackedSpatialId.y(packed);
+
+        final long n = 1L << z;
+
+        // ステップごとに変化できる軸の数から、到達可能なマンハッタン距離の上限が決まる
+        final long manhattan = (long) k * connectivity.axes;
+
+        final long xReach = Math.min(k, n - 1);
+
+        for (long dy = -k; dy <= k; dy++) {
+
+            final long ny = y + dy;
+
+            if (ny < 0 || n <= ny) {
+
+                continue;
+
+            }
+
+            for (long dx = -xReach; dx <= xReach; dx++) {
+
+                final long nx = Math.floorMod(x + dx, n);
+
+                // 標高方向は、残りのマンハッタン距離の範囲のみを走査する
+                final long fReach = Math.min(k, manhattan - Math.abs(dx) - Math.abs(dy));
+
+                for (long df = -fReach; df <= fReach; df++) {
+
+                    final long neighbor = PackedSpatialId.encode(z, f + df, nx, ny);
+
+                    if (neighbor != PackedSpatialId.INVALID) {
+
+                        out.add(neighbor);
+
+                    }
+
+                }
+
+            }
+
+        }
+
+    }
+
+    /**
+     * 指定したステップ数以内で到達できるボクセル(自身を含む)を列挙する．
+     *
+     * @param packed 変換済みの空間ID
+     * @param k ステップ数
+     * @param connectivity 連結性
+     * @return 昇順に整列したボクセルの配列
+     * @throws IllegalArgumentException 空間IDまたはステップ数が不正な場合(詳細は{@link #addWithin}を参照)
+     */
+    public static long[] kRing(long packed, int k, Connectivity connectivity) {
+
+        final LongSpatialIdSet result = new LongSpatialIdSet();
+
+        addWithin(packed, k, connectivity, result);
+
+        return result.toSortedArray();
+
+    }
+
+    /**
+     * 空間IDの集合を指定したステップ数だけ膨張させる．
+     * <p>
+     * 各空間IDは自身のズームレベルのボクセル単位で膨張させる．
+     * </p>
+     *
+     * @param packedIds 変換済みの空間IDの配列
+     * @param k ステップ数
+     * @param connectivity 連結性
+     * @return 膨張後の重複のない集合
+     * @throws IllegalArgumentException 空間IDまたはステップ数が不正な場合(詳細は{@link #addWithin}を参照)
+     */
+    public static LongSpatialIdSet dilate(long[] packedIds, int k, Connectivity connectivity) {
+
+        final LongSpatialIdSet result = new LongSpatialIdSet(packedIds.length);
+
+        for (long packed : packedIds) {
+
+            addWithin(packed, k, connectivity, result);
+
+        }
+
+        return result;
+
+    }
+
+    /**
+     * 空間IDの集合を指定したステップ数だけ膨張させ、圧縮した集合として返却する．
+     *
+     * @param packedIds 変換済みの空間IDの配列
+     * @param k ステップ数
+     * @param connectivity 連結性
+     * @return 膨張後の集合
+     * @throws IllegalArgumentException 空間IDまたはステップ数が不正な場合(詳細は{@link #addWithin}を参照)
+     */
+    public static SpatialIdRangeSet dilateToRangeSet(long[] packedIds, int k, Connectivity connectivity) {
+
+        return new SpatialIdRangeSet(dilate(packedIds, k, connectivity).toArray());
+
+    }
+
+}
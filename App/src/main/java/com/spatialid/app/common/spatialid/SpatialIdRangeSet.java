@@ -0,0 +1,1257 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 異なるズームレベルの空間IDが混在する領域を、Z-order曲線上のキー区間の列として圧縮して保持する集合クラス．
+ * <p>
+ * 基準ズームレベル以下の空間IDは配下のボクセルが連続したキー区間に対応するため、
+ * 領域を互いに素で隣接しない区間の昇順配列として保持する．<br>
+ * 和・積・差の各演算は区間配列の併合で行うため、計算量は区間数に比例し、空間IDの件数やズームレベルの差に依存しない．
+ * </p>
+ * <p>
+ * 基準ズームレベルは含まれる空間IDの最大ズームレベルとし、{@link SpatialKeyEncoder#MAX_KEY_ZOOM_LEVEL}を上限とする．<br>
+ * 基準ズームレベルの異なる集合同士の演算では、細かい方に揃えて計算する．
+ * </p>
+ * <p>
+ * {@link SpatialKeyEncoder#MAX_KEY_ZOOM_LEVEL}より細かい空間IDは、キー区間とは別に詳細要素として保持する．<br>
+ * 詳細要素は基準ズームレベルの祖先ボクセルのキーの昇順に整列し、キー区間に包含される要素、他の詳細要素に包含される要素は除去する．
+ * また、8個の子ボクセルが揃った詳細要素は親ボクセルに置き換え、基準ズームレベルに達した場合はキー区間に移す．
+ * これにより、包含・交差の判定は詳細要素を含めて厳密となる．<br>
+ * 詳細要素を持つ集合の基準ズームレベルは、常に{@link SpatialKeyEncoder#MAX_KEY_ZOOM_LEVEL}となる．
+ * </p>
+ * <p>
+ * インスタンスは不変であり、スレッドセーフである．
+ * </p>
+ *
+ * @version 1.1 2026/10/17
+ */
+public final class SpatialIdRangeSet {
+
+    /**
+     * 要素を持たない配列．
+     */
+    private static final long[] NONE = new long[0];
+
+    /**
+     * 詳細要素を持つ集合の基準ズームレベル．
+     */
+    private static final int FINE_KEY_ZOOM = SpatialKeyEncoder.MAX_KEY_ZOOM_LEVEL;
+
+    /**
+     * 詳細要素のキーへの変換に用いるエンコーダ．
+     */
+    private static final SpatialKeyEncoder FINE_ENCODER = new SpatialKeyEncoder(SpatialKeyEncoder.Curve.MORTON, FINE_KEY_ZOOM);
+
+    /**
+     * 空の集合．
+     */
+    private static final SpatialIdRangeSet EMPTY = new SpatialIdRangeSet(1, NONE, NONE, NONE, NONE);
+
+    /**
+     * 基準ズームレベル．
+     */
+    private final int keyZoom;
+
+    /**
+     * 区間の下限(この値を含む)．
+     */
+    private final long[] los;
+
+    /**
+     * 区間の上限(この値を含む)．
+     */
+    private final long[] his;
+
+    /**
+     * 詳細要素の基準ズームレベルにおける祖先ボクセルのキー．昇順に整列する．
+     */
+    private final long[] fineKeys;
+
+    /**
+     * 詳細要素の変換済みの空間ID．{@link #fineKeys}と同じ順序で保持する．
+     */
+    private final long[] fine;
+
+    /**
+     * 基準ズームレベルのキーへの変換に用いるエンコーダ．
+     */
+    private final SpatialKeyEncoder encoder;
+
+    /**
+     * 空間IDのリストから生成する．
+     *
+     * @param list 空間IDのリスト
+     * @throws IllegalArgumentException 変換できない要素が存在した場合
+     */
+    public SpatialIdRangeSet(List<String> list) {
+
+        this(PackedSpatialId.parseAll(list));
+
+    }
+
+    /**
+     * 変換済みの空間IDの配列から生成する．
+     *
+     * @param packedIds 変換済みの空間IDの配列
+     * @throws IllegalArgumentException 標高が表現範囲外の要素が存在した場合
+     */
+    public SpatialIdRangeSet(long[] packedIds) {
+
+        int maxZoom = 1;
+
+        int fineCount = 0;
+
+        for (long packed : packedIds) {
+
+            final int z = PackedSpatialId.zoomLevel(packed);
+
+            maxZoom = Math.max(maxZoom, z);
+
+            if (FINE_KEY_ZOOM < z) {
+
+                fineCount++;
+
+            }
+
+        }
+
+        final long[] coarse = (fineCount == 0) ? packedIds : new long[packedIds.length - fineCount];
+
+        final long[] candidates = (fineCount == 0) ? NONE : new long[fineCount];
+
+        if (fineCount != 0) {
+
+            int c = 0;
+
+            int f = 0;
+
+            for (long packed : packedIds) {
+
+                if (FINE_KEY_ZOOM < PackedSpatialId.zoomLevel(packed)) {
+
+                    candidates[f++] = packed;
+
+                } else {
+
+                    coarse[c++] = packed;
+
+                }
+
+            }
+
+        }
+
+        final int zoom = Math.min(maxZoom, FINE_KEY_ZOOM);
+
+        final SpatialKeyEncoder coarseEncoder = new SpatialKeyEncoder(SpatialKeyEncoder.Curve.MORTON, zoom);
+
+        final List<SpatialKeyRange> ranges = coarseEncoder.coalesce(coarse);
+
+        final long[] rangeLos = new long[ranges.size()];
+
+        final long[] rangeHis = new long[ranges.size()];
+
+        for (int i = 0; i < ranges.size(); i++) {
+
+            rangeLos[i] = ranges.get(i).getLo();
+
+            rangeHis[i] = ranges.get(i).getHi();
+
+        }
+
+        final SpatialIdRangeSet normalized = (fineCount == 0) ? null : withFine(rangeLos, rangeHis, candidates);
+
+        this.keyZoom = (normalized == null) ? zoom : normalized.keyZoom;
+
+        this.los = (normalized == null) ? rangeLos : normalized.los;
+
+        this.his = (normalized == null) ? rangeHis : normalized.his;
+
+        this.fineKeys = (normalized == null) ? NONE : normalized.fineKeys;
+
+        this.fine = (normalized == null) ? NONE : normalized.fine;
+
+        this.encoder = (normalized == null) ? coarseEncoder : normalized.encoder;
+
+    }
+
+    private SpatialIdRangeSet(int keyZoom, long[] los, long[] his, long[] fineKeys, long[] fine) {
+
+        this.keyZoom = keyZoom;
+
+        this.los = los;
+
+        this.his = his;
+
+        this.fineKeys = fineKeys;
+
+        this.fine = fine;
+
+        this.encoder = (keyZoom == FINE_KEY_ZOOM) ? FINE_ENCODER : new SpatialKeyEncoder(SpatialKeyEncoder.Curve.MORTON, keyZoom);
+
+    }
+
+    /**
+     * 空の集合を返却する．
+     *
+     * @return 空の集合
+     */
+    public static SpatialIdRangeSet empty() {
+
+        return EMPTY;
+
+    }
+
+    /**
+     * 区間の配列から生成する．スナップショットからの復元に使用する．
+     *
+     * @param keyZoom 基準ズームレベル
+     * @param los 区間の下限．配列は生成した集合が保持する
+     * @param his 区間の上限．配列は生成した集合が保持する
+     * @return 集合
+     * @throws IllegalArgumentException 区間が昇順かつ互いに素で隣接しない列でない場合
+     */
+    static SpatialIdRangeSet ofRanges(int keyZoom, long[] los, long[] his) {
+
+        return ofRanges(keyZoom, los, his, NONE);
+
+    }
+
+    /**
+     * 区間の配列と詳細要素から生成する．スナップショットからの復元に使用する．
+     *
+     * @param keyZoom 基準ズームレベル
+     * @param los 区間の下限．配列は生成した集合が保持する
+     * @param his 区間の上限．配列は生成した集合が保持する
+     * @param fine 詳細要素の変換済みの空間ID
+     * @return 集合
+     * @throws IllegalArgumentException 区間が昇順かつ互いに素で隣接しない列でない場合、
+     *         または詳細要素が{@link SpatialKeyEncoder#MAX_KEY_ZOOM_LEVEL}以下のズームレベルを含む場合
+     */
+    static SpatialIdRangeSet ofRanges(int keyZoom, long[] los, long[] his, long[] fine) {
+
+        if (keyZoom < 1 || FINE_KEY_ZOOM < keyZoom || los.length != his.length
+                || (fine.length != 0 && keyZoom != FINE_KEY_ZOOM)) {
+
+            throw new IllegalArgumentException("Invalid ranges: keyZoom=" + keyZoom);
+
+        }
+
+        for (int i = 0; i < los.length; i++) {
+
+            if (his[i] < los[i] || (0 < i && los[i] <= his[i - 1] + 1)) {
+
+                throw new IllegalArgumentException("Ranges are not sorted or disjoint at index " + i);
+
+            }
+
+        }
+
+        if (fine.length != 0) {
+
+            for (long packed : fine) {
+
+                if (PackedSpatialId.zoomLevel(packed) <= FINE_KEY_ZOOM) {
+
+                    throw new IllegalArgumentException("Fine element must be finer than key zoom: " + PackedSpatialId.toString(packed));
+
+                }
+
+            }
+
+            return withFine(los, his, fine.clone());
+
+        }
+
+        return (los.length == 0) ? EMPTY : new SpatialIdRangeSet(keyZoom, los, his, NONE, NONE);
+
+    }
+
+    /**
+     * 区間の下限の配列を返却する．呼び出し側で変更してはならない．
+     *
+     * @return 区間の下限
+     */
+    long[] los() {
+
+        return los;
+
+    }
+
+    /**
+     * 区間の上限の配列を返却する．呼び出し側で変更してはならない．
+     *
+     * @return 区間の上限
+     */
+    long[] his() {
+
+        return his;
+
+    }
+
+    /**
+     * 詳細要素の変換済みの空間IDの配列を返却する．呼び出し側で変更してはならない．
+     *
+     * @return 詳細要素
+     */
+    long[] fine() {
+
+        return fine;
+
+    }
+
+    /**
+     * 和集合を求める．
+     *
+     * @param other 対象の集合
+     * @return 和集合
+     */
+    public SpatialIdRangeSet union(SpatialIdRangeSet other) {
+
+        final int zoom = Math.max(keyZoom, other.keyZoom);
+
+        final Builder builder = union(rebase(los, keyZoom, zoom, false), rebase(his, keyZoom, zoom, true),
+                rebase(other.los, other.keyZoom, zoom, false), rebase(other.his, other.keyZoom, zoom, true));
+
+        if (fine.length == 0 && other.fine.length == 0) {
+
+            return builder.build(zoom);
+
+        }
+
+        final long[] candidates = Arrays.copyOf(fine, fine.length + other.fine.length);
+
+        System.arraycopy(other.fine, 0, candidates, fine.length, other.fine.length);
+
+        return withFine(builder.los(), builder.his(), candidates);
+
+    }
+
+    /**
+     * 積集合を求める．
+     *
+     * @param other 対象の集合
+     * @return 積集合
+     */
+    public SpatialIdRangeSet intersect(SpatialIdRangeSet other) {
+
+        final int zoom = Math.max(keyZoom, other.keyZoom);
+
+        final Builder builder = intersect(rebase(los, keyZoom, zoom, false), rebase(his, keyZoom, zoom, true),
+                rebase(other.los, other.keyZoom, zoom, false), rebase(other.his, other.keyZoom, zoom, true));
+
+        if (fine.length == 0 && other.fine.length == 0) {
+
+            return builder.build(zoom);
+
+        }
+
+        // ボクセル同士は包含関係にあるか互いに素であるため、相手に包含される詳細要素のみで共通部分を表せる
+        final LongSpatialIdSet candidates = new LongSpatialIdSet(fine.length + other.fine.length);
+
+        for (long packed : fine) {
+
+            if (other.contains(packed)) {
+
+                candidates.add(packed);
+
+            }
+
+        }
+
+        for (long packed : other.fine) {
+
+            if (contains(packed)) {
+
+                candidates.add(packed);
+
+            }
+
+        }
+
+        return withFine(builder.los(), builder.his(), candidates.toArray());
+
+    }
+
+    /**
+     * 差集合を求める．
+     *
+     * @param other 取り除く集合
+     * @return 差集合
+     */
+    public SpatialIdRangeSet difference(SpatialIdRangeSet other) {
+
+        final int zoom = Math.max(keyZoom, other.keyZoom);
+
+        final Builder builder = difference(rebase(los, keyZoom, zoom, false), rebase(his, keyZoom, zoom, true),
+                rebase(other.los, other.keyZoom, zoom, false), rebase(other.his, other.keyZoom, zoom, true));
+
+        if (fine.length == 0 && other.fine.length == 0) {
+
+            return builder.build(zoom);
+
+        }
+
+        long[] rangeLos = builder.los();
+
+        long[] rangeHis = builder.his();
+
+        final LongSpatialIdSet candidates = new LongSpatialIdSet(fine.length);
+
+        for (long packed : fine) {
+
+            if (!other.contains(packed)) {
+
+                subtract(packed, other, candidates);
+
+            }
+
+        }
+
+        // 取り除く側の詳細要素と重なる基準ズームレベルのボクセルは、区間から外して細分化する
+        final long[] carved = new long[other.fineKeys.length];
+
+        int carvedCount = 0;
+
+        for (int i = 0; i < other.fineKeys.length; i++) {
+
+            final long key = other.fineKeys[i];
+
+            if ((i == 0 || other.fineKeys[i - 1] != key) && covers(rangeLos, rangeHis, key)) {
+
+                carved[carvedCount++] = key;
+
+                subtract(toPacked(key, FINE_KEY_ZOOM), other, candidates);
+
+            }
+
+        }
+
+        if (carvedCount != 0) {
+
+            final long[] keys = Arrays.copyOf(carved, carvedCount);
+
+            final Builder carvedBuilder = difference(rangeLos, rangeHis, keys, keys);
+
+            rangeLos = carvedBuilder.los();
+
+            rangeHis = carvedBuilder.his();
+
+        }
+
+        return withFine(rangeLos, rangeHis, candidates.toArray());
+
+    }
+
+    /**
+     * 空間IDが集合に完全に含まれるかを判定する．
+     * <p>
+     * 基準ズームレベルより細かい空間IDは、基準ズームレベルの祖先ボクセルと詳細要素で判定する．
+     * 集合は基準ズームレベルのボクセルと詳細要素で構成されるため、判定結果は厳密である．
+     * </p>
+     *
+     * @param packed 変換済みの空間ID
+     * @return 含まれる場合はtrue
+     */
+    public boolean contains(long packed) {
+
+        final long[] range = toRange(packed);
+
+        if (range == null) {
+
+            return false;
+
+        }
+
+        final int index = floorIndex(los, range[0]);
+
+        if (0 <= index && range[1] <= his[index]) {
+
+            return true;
+
+        }
+
+        return keyZoom < PackedSpatialId.zoomLevel(packed) && matchesFine(range[0], packed, false);
+
+    }
+
+    /**
+     * 空間ID文字列が集合に完全に含まれるかを判定する．
+     *
+     * @param value 空間ID文字列
+     * @return 含まれる場合はtrue．変換できない場合はfalse
+     */
+    public boolean contains(CharSequence value) {
+
+        final long packed = PackedSpatialId.parse(value);
+
+        return packed != PackedSpatialId.INVALID && contains(packed);
+
+    }
+
+    /**
+     * 空間IDが集合と共通部分を持つかを判定する．
+     *
+     * @param packed 変換済みの空間ID
+     * @return 共通部分を持つ場合はtrue
+     */
+    public boolean intersects(long packed) {
+
+        final long[] range = toRange(packed);
+
+        if (range == null) {
+
+            return false;
+
+        }
+
+        final int index = floorIndex(los, range[1]);
+
+        if (0 <= index && range[0] <= his[index]) {
+
+            return true;
+
+        }
+
+        if (fine.length == 0) {
+
+            return false;
+
+        }
+
+        if (PackedSpatialId.zoomLevel(packed) <= keyZoom) {
+
+            // 配下に詳細要素を持つかを判定する
+            final int first = lowerBound(fineKeys, range[0]);
+
+            return first < fineKeys.length && fineKeys[first] <= range[1];
+
+        }
+
+        return matchesFine(range[0], packed, true);
+
+    }
+
+    /**
+     * 集合の全体が対象の集合に含まれるかを判定する．
+     *
+     * @param other 対象の集合
+     * @return 含まれる場合はtrue
+     */
+    public boolean isSubsetOf(SpatialIdRangeSet other) {
+
+        return difference(other).isEmpty();
+
+    }
+
+    /**
+     * 集合に含まれる基準ズームレベルのボクセル数を返却する．
+     * <p>
+     * 基準ズームレベルのボクセルを部分的に占める詳細要素は数えない．
+     * </p>
+     *
+     * @return ボクセル数．long値の範囲を超える場合は{@link Long#MAX_VALUE}
+     */
+    public long cardinality() {
+
+        long total = 0;
+
+        for (int i = 0; i < los.length; i++) {
+
+            total += his[i] - los[i] + 1;
+
+            if (total < 0) {
+
+                return Long.MAX_VALUE;
+
+            }
+
+        }
+
+        return total;
+
+    }
+
+    /**
+     * 集合が空であるかを判定する．
+     *
+     * @return 空の場合はtrue
+     */
+    public boolean isEmpty() {
+
+        return los.length == 0 && fine.length == 0;
+
+    }
+
+    /**
+     * 内部で保持している区間数を返却する．
+     *
+     * @return 区間数
+     */
+    public int rangeCount() {
+
+        return los.length;
+
+    }
+
+    /**
+     * 内部で保持している詳細要素の数を返却する．
+     *
+     * @return 詳細要素の数
+     */
+    public int fineCount() {
+
+        return fine.length;
+
+    }
+
+    /**
+     * 基準ズームレベルを返却する．
+     *
+     * @return 基準ズームレベル
+     */
+    public int getKeyZoom() {
+
+        return keyZoom;
+
+    }
+
+    /**
+     * 集合を、可能な限り粗いズームレベルの空間IDの組み合わせで表現する．
+     *
+     * @return 昇順に整列した変換済みの空間IDの配列
+     */
+    public long[] toPackedArray() {
+
+        final PackedSpatialIdList list = new PackedSpatialIdList(los.length + fine.length);
+
+        for (int i = 0; i < los.length; i++) {
+
+            long lo = los[i];
+
+            while (lo <= his[i]) {
+
+                // 下限が整列しており、区間に収まる最大のブロックを切り出す
+                int shift = 0;
+
+                while (shift + 1 < keyZoom
+                        && (lo & ((1L << (3 * (shift + 1))) - 1)) == 0
+                        && lo + (1L << (3 * (shift + 1))) - 1 <= his[i]) {
+
+                    shift++;
+
+                }
+
+                list.addPacked(toPacked(lo >>> (3 * shift), keyZoom - shift));
+
+                lo += 1L << (3 * shift);
+
+            }
+
+        }
+
+        for (long packed : fine) {
+
+            list.addPacked(packed);
+
+        }
+
+        final long[] result = list.toPackedArray();
+
+        Arrays.sort(result);
+
+        return result;
+
+    }
+
+    /**
+     * 集合を、可能な限り粗いズームレベルの空間IDの組み合わせで"z/f/x/y"形式のリストとして返却する．
+     *
+     * @return 空間IDのリスト
+     */
+    public List<String> toStringList() {
+
+        final long[] packedIds = toPackedArray();
+
+        final PackedSpatialIdList list = new PackedSpatialIdList(packedIds.length);
+
+        for (long packed : packedIds) {
+
+            list.addPacked(packed);
+
+        }
+
+        return list;
+
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+        if (this == obj) {
+
+            return true;
+
+        }
+
+        if (!(obj instanceof SpatialIdRangeSet other)) {
+
+            return false;
+
+        }
+
+        final int zoom = Math.max(keyZoom, other.keyZoom);
+
+        return Arrays.equals(rebase(los, keyZoom, zoom, false), rebase(other.los, other.keyZoom, zoom, false))
+                && Arrays.equals(rebase(his, keyZoom, zoom, true), rebase(other.his, other.keyZoom, zoom, true))
+                && Arrays.equals(fine, other.fine);
+
+    }
+
+    @Override
+    public int hashCode() {
+
+        // 基準ズームレベルによらず等価な集合が同じ値となるよう、上限のズームレベルに揃えて計算する
+        final int zoom = SpatialKeyEncoder.MAX_KEY_ZOOM_LEVEL;
+
+        return 31 * (31 * Arrays.hashCode(rebase(los, keyZoom, zoom, false)) + Arrays.hashCode(rebase(his, keyZoom, zoom, true)))
+                + Arrays.hashCode(fine);
+
+    }
+
+    @Override
+    public String toString() {
+
+        return "SpatialIdRangeSet(keyZoom=" + keyZoom + ", ranges=" + los.length + ", fine=" + fine.length
+                + ", cardinality=" + cardinality() + ")";
+
+    }
+
+    /**
+     * 空間IDの基準ズームレベルにおけるキー区間を求める．
+     *
+     * @param packed 変換済みの空間ID
+     * @return [下限, 上限]．標高が表現範囲外の場合はnull
+     */
+    private long[] toRange(long packed) {
+
+        final int z = PackedSpatialId.zoomLevel(packed);
+
+        final long f = PackedSpatialId.f(packed);
+
+        if (f < -(1L << z) || (1L << z) <= f) {
+
+            return null;
+
+        }
+
+        final long lo = encoder.encode(packed);
+
+        final long size = (z < keyZoom) ? 1L << (3 * (keyZoom - z)) : 1L;
+
+        return new long[] { lo, lo + size - 1 };
+
+    }
+
+    /**
+     * 基準ズームレベルより細かい空間IDを、同じ祖先ボクセルを持つ詳細要素と照合する．
+     *
+     * @param key 基準ズームレベルの祖先ボクセルのキー
+     * @param packed 変換済みの空間ID
+     * @param intersection 空間IDに包含される詳細要素も一致とみなす場合はtrue
+     * @return 一致する詳細要素が存在する場合はtrue
+     */
+    private boolean matchesFine(long key, long packed, boolean intersection) {
+
+        for (int i = lowerBound(fineKeys, key); i < fineKeys.length && fineKeys[i] == key; i++) {
+
+            if (SpatialIdHierarchy.contains(fine[i], packed) || (intersection && SpatialIdHierarchy.contains(packed, fine[i]))) {
+
+                return true;
+
+            }
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * ボクセルから集合と重なる部分を取り除いた残りを、子ボクセルへの細分化により求める．
+     * <p>
+     * 集合に包含される子ボクセルは除き、集合と交差しない子ボクセルはそのまま出力する．
+     * 交差のみする子ボクセルは再帰的に細分化する．集合の詳細要素は最大ズームレベル以下であるため、再帰は必ず停止する．
+     * </p>
+     *
+     * @param packed 対象のボクセル
+     * @param removed 取り除く集合
+     * @param out 出力先
+     */
+    private static void subtract(long packed, SpatialIdRangeSet removed, LongSpatialIdSet out) {
+
+        if (!removed.intersects(packed)) {
+
+            out.add(packed);
+
+            return;
+
+        }
+
+        if (removed.contains(packed)) {
+
+            return;
+
+        }
+
+        for (long child : SpatialIdHierarchy.children(packed)) {
+
+            subtract(child, removed, out);
+
+        }
+
+    }
+
+    /**
+     * 詳細要素の候補を正規化し、区間と合わせた集合を生成する．
+     * <p>
+     * 区間に包含される候補、他の候補に包含される候補を除去し、8個の子ボクセルが揃った候補を親ボクセルに置き換える．
+     * 基準ズームレベルまで置き換えられた候補は区間に移す．
+     * </p>
+     *
+     * @param los {@link #FINE_KEY_ZOOM}における区間の下限
+     * @param his {@link #FINE_KEY_ZOOM}における区間の上限
+     * @param candidates {@link #FINE_KEY_ZOOM}より細かい空間IDの候補．配列は書き換える
+     * @return 集合
+     * @throws IllegalArgumentException 標高が表現範囲外の候補が存在した場合
+     */
+    private static SpatialIdRangeSet withFine(long[] los, long[] his, long[] candidates) {
+
+        int remaining = 0;
+
+        for (long packed : candidates) {
+
+            if (!covers(los, his, FINE_ENCODER.encode(packed))) {
+
+                candidates[remaining++] = packed;
+
+            }
+
+        }
+
+        final long[] compacted = SpatialIdHierarchy.compact(Arrays.copyOf(candidates, remaining), FINE_KEY_ZOOM);
+
+        final long[] keys = new long[compacted.length];
+
+        int promoted = 0;
+
+        int fineCount = 0;
+
+        for (long packed : compacted) {
+
+            if (PackedSpatialId.zoomLevel(packed) <= FINE_KEY_ZOOM) {
+
+                keys[promoted++] = FINE_ENCODER.encode(packed);
+
+            }
+
+        }
+
+        final long[] fine = new long[compacted.length - promoted];
+
+        for (long packed : compacted) {
+
+            if (FINE_KEY_ZOOM < PackedSpatialId.zoomLevel(packed)) {
+
+                fine[fineCount++] = packed;
+
+            }
+
+        }
+
+        long[] rangeLos = los;
+
+        long[] rangeHis = his;
+
+        if (promoted != 0) {
+
+            final long[] promotedKeys = Arrays.copyOf(keys, promoted);
+
+            Arrays.sort(promotedKeys);
+
+            final Builder builder = union(rangeLos, rangeHis, promotedKeys, promotedKeys);
+
+            rangeLos = builder.los();
+
+            rangeHis = builder.his();
+
+        }
+
+        if (rangeLos.length == 0 && fine.length == 0) {
+
+            return EMPTY;
+
+        }
+
+        // 詳細要素を祖先ボクセルのキー、同一キー内は変換済みの値の昇順に整列する
+        final long[] fineKeys = new long[fine.length];
+
+        final Integer[] order = new Integer[fine.length];
+
+        for (int i = 0; i < fine.length; i++) {
+
+            fineKeys[i] = FINE_ENCODER.encode(fine[i]);
+
+            order[i] = i;
+
+        }
+
+        Arrays.sort(order, Comparator.<Integer>comparingLong(i -> fineKeys[i]).thenComparingLong(i -> fine[i]));
+
+        final long[] sortedKeys = new long[fine.length];
+
+        final long[] sortedFine = new long[fine.length];
+
+        for (int i = 0; i < fine.length; i++) {
+
+            sortedKeys[i] = fineKeys[order[i]];
+
+            sortedFine[i] = fine[order[i]];
+
+        }
+
+        return new SpatialIdRangeSet(FINE_KEY_ZOOM, rangeLos, rangeHis, sortedKeys, sortedFine);
+
+    }
+
+    /**
+     * キーが区間のいずれかに含まれるかを判定する．
+     *
+     * @param los 区間の下限
+     * @param his 区間の上限
+     * @param key キー
+     * @return 含まれる場合はtrue
+     */
+    private static boolean covers(long[] los, long[] his, long key) {
+
+        final int index = floorIndex(los, key);
+
+        return 0 <= index && key <= his[index];
+
+    }
+
+    /**
+     * 基準ズームレベルのキーから空間IDを復元する．
+     *
+     * @param key キー
+     * @param zoom キーのズームレベル
+     * @return 変換済みの空間ID
+     */
+    private static long toPacked(long key, int zoom) {
+
+        final long fBiased = SpatialKeyEncoder.compact(key >>> 2);
+
+        return PackedSpatialId.encode(zoom, fBiased - (1L << zoom), SpatialKeyEncoder.compact(key >>> 1), SpatialKeyEncoder.compact(key));
+
+    }
+
+    /**
+     * 区間の和を求める．
+     *
+     * @param aLo 一方の区間の下限
+     * @param aHi 一方の区間の上限
+     * @param bLo 他方の区間の下限
+     * @param bHi 他方の区間の上限
+     * @return 結果の区間を蓄積したBuilder
+     */
+    private static Builder union(long[] aLo, long[] aHi, long[] bLo, long[] bHi) {
+
+        final Builder builder = new Builder(aLo.length + bLo.length);
+
+        int i = 0;
+
+        int j = 0;
+
+        // 下限の昇順に取り出して追加する．重なりと隣接はBuilderで結合される
+        while (i < aLo.length || j < bLo.length) {
+
+            if (j == bLo.length || (i < aLo.length && aLo[i] <= bLo[j])) {
+
+                builder.add(aLo[i], aHi[i]);
+
+                i++;
+
+            } else {
+
+                builder.add(bLo[j], bHi[j]);
+
+                j++;
+
+            }
+
+        }
+
+        return builder;
+
+    }
+
+    /**
+     * 区間の積を求める．
+     *
+     * @param aLo 一方の区間の下限
+     * @param aHi 一方の区間の上限
+     * @param bLo 他方の区間の下限
+     * @param bHi 他方の区間の上限
+     * @return 結果の区間を蓄積したBuilder
+     */
+    private static Builder intersect(long[] aLo, long[] aHi, long[] bLo, long[] bHi) {
+
+        final Builder builder = new Builder(Math.min(aLo.length, bLo.length));
+
+        int i = 0;
+
+        int j = 0;
+
+        while (i < aLo.length && j < bLo.length) {
+
+            final long lo = Math.max(aLo[i], bLo[j]);
+
+            final long hi = Math.min(aHi[i], bHi[j]);
+
+            if (lo <= hi) {
+
+                builder.add(lo, hi);
+
+            }
+
+            // 上限が小さい方の区間は以降の区間と重ならないため、先に進める
+            if (aHi[i] < bHi[j]) {
+
+                i++;
+
+            } else {
+
+                j++;
+
+            }
+
+        }
+
+        return builder;
+
+    }
+
+    /**
+     * 区間の差を求める．
+     *
+     * @param aLo 残す側の区間の下限
+     * @param aHi 残す側の区間の上限
+     * @param bLo 取り除く区間の下限
+     * @param bHi 取り除く区間の上限
+     * @return 結果の区間を蓄積したBuilder
+     */
+    private static Builder difference(long[] aLo, long[] aHi, long[] bLo, long[] bHi) {
+
+        final Builder builder = new Builder(aLo.length + bLo.length);
+
+        int j = 0;
+
+        for (int i = 0; i < aLo.length; i++) {
+
+            long lo = aLo[i];
+
+            final long hi = aHi[i];
+
+            // 現在の区間より前で終わる区間は以降も重ならないため読み飛ばす
+            while (j < bLo.length && bHi[j] < lo) {
+
+                j++;
+
+            }
+
+            int k = j;
+
+            while (lo <= hi && k < bLo.length && bLo[k] <= hi) {
+
+                if (lo < bLo[k]) {
+
+                    builder.add(lo, bLo[k] - 1);
+
+                }
+
+                if (hi <= bHi[k]) {
+
+                    lo = hi + 1;
+
+                    break;
+
+                }
+
+                lo = Math.max(lo, bHi[k] + 1);
+
+                k++;
+
+            }
+
+            if (lo <= hi) {
+
+                builder.add(lo, hi);
+
+            }
+
+        }
+
+        return builder;
+
+    }
+
+    /**
+     * 下限が指定値以下となる最後の区間の位置を返却する．
+     *
+     * @param los 区間の下限
+     * @param key キー
+     * @return 区間の位置．存在しない場合は-1
+     */
+    private static int floorIndex(long[] los, long key) {
+
+        final int index = Arrays.binarySearch(los, key);
+
+        return (0 <= index) ? index : -index - 2;
+
+    }
+
+    /**
+     * 指定値以上となる最初の要素の位置を返却する．
+     *
+     * @param keys 昇順の配列．重複を含んでもよい
+     * @param key キー
+     * @return 要素の位置．存在しない場合は配列の長さ
+     */
+    private static int lowerBound(long[] keys, long key) {
+
+        int low = 0;
+
+        int high = keys.length;
+
+        while (low < high) {
+
+            final int mid = (low + high) >>> 1;
+
+            if (keys[mid] < key) {
+
+                low = mid + 1;
+
+            } else {
+
+                high = mid;
+
+            }
+
+        }
+
+        return low;
+
+    }
+
+    /**
+     * キーを細かい基準ズームレベルに換算する．
+     *
+     * @param keys キーの配列
+     * @param from 換算元の基準ズームレベル
+     * @param to 換算先の基準ズームレベル
+     * @param upper 区間の上限として換算する場合はtrue
+     * @return 換算後のキーの配列．基準ズームレベルが同じ場合は引数そのもの
+     */
+    private static long[] rebase(long[] keys, int from, int to, boolean upper) {
+
+        if (from == to) {
+
+            return keys;
+
+        }
+
+        final int shift = 3 * (to - from);
+
+        final long[] result = new long[keys.length];
+
+        for (int i = 0; i < keys.length; i++) {
+
+            result[i] = upper ? ((keys[i] + 1) << shift) - 1 : keys[i] << shift;
+
+        }
+
+        return result;
+
+    }
+
+    /**
+     * 下限の昇順に追加された区間を、重なりと隣接を結合しながら蓄積するクラス．
+     */
+    private static final class Builder {
+
+        private long[] los;
+
+        private long[] his;
+
+        private int size;
+
+        Builder(int initialCapacity) {
+
+            los = new long[Math.max(initialCapacity, 1)];
+
+            his = new long[Math.max(initialCapacity, 1)];
+
+        }
+
+        void add(long lo, long hi) {
+
+            if (0 < size && lo <= his[size - 1] + 1) {
+
+                his[size - 1] = Math.max(his[size - 1], hi);
+
+                return;
+
+            }
+
+            if (size == los.length) {
+
+                los = Arrays.copyOf(los, size * 2);
+
+                his = Arrays.copyOf(his, size * 2);
+
+            }
+
+            los[size] = lo;
+
+            his[size] = hi;
+
+            size++;
+
+        }
+
+        long[] los() {
+
+            return Arrays.copyOf(los, size);
+
+        }
+
+        long[] his() {
+
+            return Arrays.copyOf(his, size);
+
+        }
+
+        SpatialIdRangeSet build(int keyZoom) {
+
+            return (size == 0) ? EMPTY : new SpatialIdRangeSet(keyZoom, los(), his(), NONE, NONE);
+
+        }
+
+    }
+
+}
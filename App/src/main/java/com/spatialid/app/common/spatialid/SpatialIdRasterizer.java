@@ -0,0 +1,747 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.geojson.LngLatAlt;
+import org.geojson.MultiPolygon;
+import org.geojson.Polygon;
+
+/**
+ * ポリゴンと高度範囲を覆う空間IDの集合を求めるクラス．
+ * <p>
+ * ズームレベル0のタイルから再帰的に分割し、ポリゴンの辺と交差するタイルのみを細分化する．<br>
+ * ポリゴン内部に完全に含まれる領域は粗いズームレベルの空間IDとして出力されるため、
+ * 出力件数は指定ズームレベルのボクセル数ではなく、概ねポリゴンの周長に比例する．
+ * </p>
+ * <p>
+ * ポリゴンの辺は経度・緯度平面上の線分として扱う．辺が通過するタイルは全て含めるため、結果はポリゴンを過不足なく覆う最小集合より僅かに大きくなり得る．<br>
+ * 辺の数が多いタイルは{@link ForkJoinPool}で並列に処理する．
+ * </p>
+ * <p>
+ * インスタンスは不変であり、スレッドセーフである．
+ * </p>
+ *
+ * @version 1.1 2026/10/17
+ */
+public class SpatialIdRasterizer {
+
+    /**
+     * 並列処理に分割する辺の数の閾値．
+     */
+    private static final int FORK_THRESHOLD = 64;
+
+    /**
+     * 出力する空間IDのズームレベル．
+     */
+    private final int zoomLevel;
+
+    /**
+     * 高度範囲を分割した、整列済みの標高ブロックのズームレベル．
+     */
+    private final int[] fBlockLevels;
+
+    /**
+     * 標高ブロックの、ブロックのズームレベルにおける標高インデックス．
+     */
+    private final long[] fBlockIndexes;
+
+    /**
+     * 並列処理に使用するプール．
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * 共通プールを使用して生成する．
+     *
+     * @param zoomLevel 出力する空間IDのズームレベル
+     * @param minAltitude 高度範囲の下限(m)
+     * @param maxAltitude 高度範囲の上限(m)
+     * @throws IllegalArgumentException ズームレベルまたは高度範囲が不正な場合
+     */
+    public SpatialIdRasterizer(int zoomLevel, double minAltitude, double maxAltitude) {
+
+        this(zoomLevel, minAltitude, maxAltitude, ForkJoinPool.commonPool());
+
+    }
+
+    /**
+     * 並列処理に使用するプールを指定して生成する．
+     *
+     * @param zoomLevel 出力する空間IDのズームレベル
+     * @param minAltitude 高度範囲の下限(m)
+     * @param maxAltitude 高度範囲の上限(m)
+     * @param pool 並列処理に使用するプール
+     * @throws IllegalArgumentException ズームレベルまたは高度範囲が不正な場合
+     */
+    public SpatialIdRasterizer(int zoomLevel, double minAltitude, double maxAltitude, ForkJoinPool pool) {
+
+        if (zoomLevel < 1 || PackedSpatialId.MAX_ZOOM_LEVEL < zoomLevel) {
+
+            throw new IllegalArgumentException("Invalid zoom level: " + zoomLevel);
+
+        }
+
+        if (!(minAltitude <= maxAltitude)) {
+
+            throw new IllegalArgumentException("Invalid altitude range: " + minAltitude + " - " + maxAltitude);
+
+        }
+
+        final long fLow = SpatialIdGeometry.altitudeToF(minAltitude, zoomLevel);
+
+        long fHigh = SpatialIdGeometry.altitudeToF(maxAltitude, zoomLevel);
+
+        // 上限がボクセルの境界に一致する場合、その上のボクセルは含めない
+        if (fLow < fHigh && maxAltitude == fHigh * (SpatialIdGeometry.ALTITUDE_EXTENT / (1L << zoomLevel))) {
+
+            fHigh--;
+
+        }
+
+        if (fLow < -PackedSpatialId.fLimit(zoomLevel) || PackedSpatialId.fLimit(zoomLevel) <= fHigh) {
+
+            throw new IllegalArgumentException("Altitude range is out of bounds: " + minAltitude + " - " + maxAltitude);
+
+        }
+
+        final List<long[]> blocks = splitAligned(fLow, fHigh, zoomLevel);
+
+        this.zoomLevel = zoomLevel;
+
+        this.fBlockLevels = new int[blocks.size()];
+
+        this.fBlockIndexes = new long[blocks.size()];
+
+        for (int i = 0; i < blocks.size(); i++) {
+
+            fBlockLevels[i] = (int) blocks.get(i)[0];
+
+            fBlockIndexes[i] = blocks.get(i)[1];
+
+        }
+
+        this.pool = pool;
+
+    }
+
+    /**
+     * ポリゴンを覆う空間IDを求める．
+     *
+     * @param polygon ポリゴン．内側のリングは穴として扱う
+     * @return 昇順に整列した変換済みの空間IDの配列
+     */
+    public long[] rasterize(Polygon polygon) {
+
+        return rasterize(Edges.of(polygon.getCoordinates()));
+
+    }
+
+    /**
+     * マルチポリゴンを覆う空間IDを求める．
+     *
+     * @param multiPolygon マルチポリゴン．各ポリゴンは互いに重ならないこと
+     * @return 昇順に整列した変換済みの空間IDの配列
+     */
+    public long[] rasterize(MultiPolygon multiPolygon) {
+
+        final List<List<LngLatAlt>> rings = new ArrayList<List<LngLatAlt>>();
+
+        for (List<List<LngLatAlt>> polygon : multiPolygon.getCoordinates()) {
+
+            rings.addAll(polygon);
+
+        }
+
+        return rasterize(Edges.of(rings));
+
+    }
+
+    /**
+     * 取得対象領域の座標リストで表されるポリゴンを覆う空間IDを求める．
+     *
+     * @param searchArea 経度、緯度の順に交互に格納した座標リスト．始点と終点は一致していなくてもよい
+     * @return 昇順に整列した変換済みの空間IDの配列
+     * @throws NumberFormatException 数値に変換できない要素が存在した場合
+     * @throws IllegalArgumentException 座標数が3未満の場合
+     */
+    public long[] rasterize(List<String> searchArea) {
+
+        if (searchArea.size() < 6 || searchArea.size() % 2 != 0) {
+
+            throw new IllegalArgumentException("Search area requires at least 3 coordinates");
+
+        }
+
+        final double[] ring = new double[searchArea.size()];
+
+        for (int i = 0; i < ring.length; i++) {
+
+            ring[i] = Double.parseDouble(searchArea.get(i));
+
+        }
+
+        return rasterize(Edges.ofArrays(List.of(ring)));
+
+    }
+
+    /**
+     * 辺の集合を覆う空間IDを求める．
+     *
+     * @param edges 辺の集合
+     * @return 昇順に整列した変換済みの空間IDの配列
+     */
+    private long[] rasterize(Edges edges) {
+
+        final int[] all = new int[edges.count];
+
+        for (int i = 0; i < all.length; i++) {
+
+            all[i] = i;
+
+        }
+
+        final long[] result = pool.invoke(new RasterizeTask(edges, 0, 0, 0, all)).toPackedArray();
+
+        Arrays.sort(result);
+
+        return result;
+
+    }
+
+    /**
+     * タイルを再帰的に分割し、覆う空間IDを出力する．
+     *
+     * @param edges 辺の集合
+     * @param z タイルのズームレベル
+     * @param x タイルの経度インデックス
+     * @param y タイルの緯度インデックス
+     * @param candidates タイルと交差し得る辺のインデックス
+     * @param out 出力先
+     */
+    private void rasterize(Edges edges, int z, long x, long y, int[] candidates, PackedSpatialIdList out) {
+
+        final int[] crossing = edges.filter(candidates, z, x, y);
+
+        if (crossing.length == 0) {
+
+            if (edges.contains(z, x, y)) {
+
+                emit(z, x, y, out);
+
+            }
+
+            return;
+
+        }
+
+        if (z == zoomLevel) {
+
+            emit(z, x, y, out);
+
+            return;
+
+        }
+
+        for (int i = 0; i < 4; i++) {
+
+            rasterize(edges, z + 1, (x << 1) | (i & 1), (y << 1) | (i >> 1), crossing, out);
+
+        }
+
+    }
+
+    /**
+     * タイルと高度範囲の積となるボクセルを出力する．
+     * <p>
+     * 標高ブロックとタイルのうち細かい方のズームレベルに揃えて出力する．
+     * </p>
+     *
+     * @param z タイルのズームレベル
+     * @param x タイルの経度インデックス
+     * @param y タイルの緯度インデックス
+     * @param out 出力先
+     */
+    private void emit(int z, long x, long y, PackedSpatialIdList out) {
+
+        for (int i = 0; i < fBlockLevels.length; i++) {
+
+            final int level = Math.max(Math.max(z, fBlockLevels[i]), 1);
+
+            final int tileShift = level - z;
+
+            final int fShift = level - fBlockLevels[i];
+
+            final long tiles = 1L << tileShift;
+
+            final long fFirst = fBlockIndexes[i] << fShift;
+
+            final long fLast = fFirst + (1L << fShift);
+
+            for (long f = fFirst; f < fLast; f++) {
+
+                for (long dx = 0; dx < tiles; dx++) {
+
+                    for (long dy = 0; dy < tiles; dy++) {
+
+                        out.addPacked(PackedSpatialId.encode(level, f, (x << tileShift) + dx, (y << tileShift) + dy));
+
+                    }
+
+                }
+
+            }
+
+        }
+
+    }
+
+    /**
+     * 標高インデックスの範囲を、整列済みの最大ブロックに分割する．
+     *
+     * @param low 範囲の下限(この値を含む)
+     * @param high 範囲の上限(この値を含む)
+     * @param zoomLevel 標高インデックスのズームレベル
+     * @return ブロックのリスト．要素は[ブロックのズームレベル, ブロックのズームレベルにおける標高インデックス]
+     */
+    private static List<long[]> splitAligned(long low, long high, int zoomLevel) {
+
+        final List<long[]> blocks = new ArrayList<long[]>();
+
+        long current = low;
+
+        while (current <= high) {
+
+            int shift = 0;
+
+            while (shift < zoomLevel
+                    && (current & ((1L << (shift + 1)) - 1)) == 0
+                    && current + (1L << (shift + 1)) - 1 <= high) {
+
+                shift++;
+
+            }
+
+            blocks.add(new long[] { zoomLevel - shift, current >> shift });
+
+            current += 1L << shift;
+
+        }
+
+        return blocks;
+
+    }
+
+    /**
+     * タイルの分割を並列に行うタスク．
+     */
+    private final class RasterizeTask extends RecursiveTask<PackedSpatialIdList> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Edges edges;
+
+        private final int z;
+
+        private final long x;
+
+        private final long y;
+
+        private final int[] candidates;
+
+        RasterizeTask(Edges edges, int z, long x, long y, int[] candidates) {
+
+            this.edges = edges;
+
+            this.z = z;
+
+            this.x = x;
+
+            this.y = y;
+
+            this.candidates = candidates;
+
+        }
+
+        @Override
+        protected PackedSpatialIdList compute() {
+
+            final PackedSpatialIdList out = new PackedSpatialIdList();
+
+            if (candidates.length < FORK_THRESHOLD || z == zoomLevel) {
+
+                rasterize(edges, z, x, y, candidates, out);
+
+                return out;
+
+            }
+
+            final int[] crossing = edges.filter(candidates, z, x, y);
+
+            if (crossing.length == 0) {
+
+                if (edges.contains(z, x, y)) {
+
+                    emit(z, x, y, out);
+
+                }
+
+                return out;
+
+            }
+
+            final List<RasterizeTask> children = new ArrayList<RasterizeTask>(4);
+
+            for (int i = 0; i < 4; i++) {
+
+                children.add(new RasterizeTask(edges, z + 1, (x << 1) | (i & 1), (y << 1) | (i >> 1), crossing));
+
+            }
+
+            for (RasterizeTask child : invokeAll(children)) {
+
+                out.addAllPacked(child.join());
+
+            }
+
+            return out;
+
+        }
+
+    }
+
+    /**
+     * ポリゴンの辺の集合．
+     * <p>
+     * 内外判定の走査対象を絞り込むため、辺を緯度方向の区間ごとに索引付けして保持する．
+     * </p>
+     */
+    private static final class Edges {
+
+        /**
+         * 索引の最大区間数．
+         */
+        private static final int MAX_BUCKETS = 4096;
+
+        private final int count;
+
+        private final double[] x1;
+
+        private final double[] y1;
+
+        private final double[] x2;
+
+        private final double[] y2;
+
+        private final double minLatitude;
+
+        private final double bucketHeight;
+
+        private final int[] bucketStarts;
+
+        private final int[] bucketEdges;
+
+        /**
+         * GeoJSONのリングのリストから生成する．
+         *
+         * @param rings リングのリスト
+         * @return 辺の集合
+         */
+        static Edges of(List<List<LngLatAlt>> rings) {
+
+            final List<double[]> coordinates = new ArrayList<double[]>(rings.size());
+
+            for (List<LngLatAlt> ring : rings) {
+
+                final double[] points = new double[ring.size() * 2];
+
+                for (int i = 0; i < ring.size(); i++) {
+
+                    points[i * 2] = ring.get(i).getLongitude();
+
+                    points[i * 2 + 1] = ring.get(i).getLatitude();
+
+                }
+
+                coordinates.add(points);
+
+            }
+
+            return new Edges(coordinates);
+
+        }
+
+        /**
+         * 経度、緯度を交互に格納した配列のリストから生成する．
+         *
+         * @param rings リングのリスト
+         * @return 辺の集合
+         */
+        static Edges ofArrays(Iterable<double[]> rings) {
+
+            return new Edges(rings);
+
+        }
+
+        private Edges(Iterable<double[]> rings) {
+
+            int total = 0;
+
+            for (double[] ring : rings) {
+
+                total += ring.length / 2;
+
+            }
+
+            x1 = new double[total];
+
+            y1 = new double[total];
+
+            x2 = new double[total];
+
+            y2 = new double[total];
+
+            int n = 0;
+
+            double minY = Double.POSITIVE_INFINITY;
+
+            double maxY = Double.NEGATIVE_INFINITY;
+
+            for (double[] ring : rings) {
+
+                final int points = ring.length / 2;
+
+                for (int i = 0; i < points; i++) {
+
+                    final int next = (i + 1) % points;
+
+                    // 始点と終点が一致する閉じたリングでは長さ0の辺となるため除外する
+                    if (ring[i * 2] == ring[next * 2] && ring[i * 2 + 1] == ring[next * 2 + 1]) {
+
+                        continue;
+
+                    }
+
+                    x1[n] = ring[i * 2];
+
+                    y1[n] = ring[i * 2 + 1];
+
+                    x2[n] = ring[next * 2];
+
+                    y2[n] = ring[next * 2 + 1];
+
+                    minY = Math.min(minY, Math.min(y1[n], y2[n]));
+
+                    maxY = Math.max(maxY, Math.max(y1[n], y2[n]));
+
+                    n++;
+
+                }
+
+            }
+
+            count = n;
+
+            final int buckets = Math.max(1, Math.min(n, MAX_BUCKETS));
+
+            minLatitude = (n == 0) ? 0 : minY;
+
+            bucketHeight = (n == 0 || maxY == minY) ? 1 : (maxY - minY) / buckets;
+
+            // 区間ごとの辺の数を数えてから、区間の先頭位置を確定する
+            final int[] counts = new int[buckets + 1];
+
+            for (int i = 0; i < n; i++) {
+
+                for (int b = bucket(Math.min(y1[i], y2[i]), buckets); b <= bucket(Math.max(y1[i], y2[i]), buckets); b++) {
+
+                    counts[b + 1]++;
+
+                }
+
+            }
+
+            for (int b = 0; b < buckets; b++) {
+
+                counts[b + 1] += counts[b];
+
+            }
+
+            bucketStarts = Arrays.copyOf(counts, buckets + 1);
+
+            bucketEdges = new int[counts[buckets]];
+
+            for (int i = 0; i < n; i++) {
+
+                for (int b = bucket(Math.min(y1[i], y2[i]), buckets); b <= bucket(Math.max(y1[i], y2[i]), buckets); b++) {
+
+                    bucketEdges[counts[b]++] = i;
+
+                }
+
+            }
+
+        }
+
+        /**
+         * タイルと交差する辺を絞り込む．
+         *
+         * @param candidates 絞り込み対象の辺のインデックス
+         * @param z タイルのズームレベル
+         * @param x タイルの経度インデックス
+         * @param y タイルの緯度インデックス
+         * @return タイルと交差する辺のインデックス
+         */
+        int[] filter(int[] candidates, int z, long x, long y) {
+
+            final double width = 360.0 / (1L << z);
+
+            final double west = x * width - 180.0;
+
+            final double east = west + width;
+
+            final double north = SpatialIdGeometry.latitudeEdge(z, y);
+
+            final double south = SpatialIdGeometry.latitudeEdge(z, y + 1);
+
+            final int[] result = new int[candidates.length];
+
+            int n = 0;
+
+            for (int i : candidates) {
+
+                if (intersects(i, west, south, east, north)) {
+
+                    result[n++] = i;
+
+                }
+
+            }
+
+            return (n == result.length) ? result : Arrays.copyOf(result, n);
+
+        }
+
+        /**
+         * 辺と交差しないタイルがポリゴンの内部にあるかを判定する．
+         *
+         * @param z タイルのズームレベル
+         * @param x タイルの経度インデックス
+         * @param y タイルの緯度インデックス
+         * @return 内部にある場合はtrue
+         */
+        boolean contains(int z, long x, long y) {
+
+            final double px = (x + 0.5) * (360.0 / (1L << z)) - 180.0;
+
+            final double py = (SpatialIdGeometry.latitudeEdge(z, y) + SpatialIdGeometry.latitudeEdge(z, y + 1)) / 2;
+
+            final int buckets = bucketStarts.length - 1;
+
+            if (count == 0 || py < minLatitude || minLatitude + bucketHeight * buckets < py) {
+
+                return false;
+
+            }
+
+            final int b = bucket(py, buckets);
+
+            boolean inside = false;
+
+            // 点から東向きの半直線と交差する辺の数の偶奇で判定する
+            for (int k = bucketStarts[b]; k < bucketStarts[b + 1]; k++) {
+
+                final int i = bucketEdges[k];
+
+                if ((y1[i] > py) != (y2[i] > py)
+                        && px < x1[i] + (py - y1[i]) * (x2[i] - x1[i]) / (y2[i] - y1[i])) {
+
+                    inside = !inside;
+
+                }
+
+            }
+
+            return inside;
+
+        }
+
+        /**
+         * 辺が矩形(境界を含む)と交差するかを判定する．
+         *
+         * @param i 辺のインデックス
+         * @param west 西端
+         * @param south 南端
+         * @param east 東端
+         * @param north 北端
+         * @return 交差する場合はtrue
+         */
+        private boolean intersects(int i, double west, double south, double east, double north) {
+
+            final double dx = x2[i] - x1[i];
+
+            final double dy = y2[i] - y1[i];
+
+            final double[] range = { 0, 1 };
+
+            // Liang-Barskyのクリッピングで、矩形内に残る区間の有無を判定する
+            return clip(-dx, x1[i] - west, range)
+                    && clip(dx, east - x1[i], range)
+                    && clip(-dy, y1[i] - south, range)
+                    && clip(dy, north - y1[i], range);
+
+        }
+
+        /**
+         * 矩形の1辺で線分の媒介変数の区間を絞り込む．
+         *
+         * @param p 境界方向の変化量
+         * @param q 始点から境界までの距離
+         * @param range 媒介変数の区間[開始, 終了]
+         * @return 区間が残る場合はtrue
+         */
+        private static boolean clip(double p, double q, double[] range) {
+
+            if (p == 0) {
+
+                return 0 <= q;
+
+            }
+
+            final double t = q / p;
+
+            if (p < 0) {
+
+                range[0] = Math.max(range[0], t);
+
+            } else {
+
+                range[1] = Math.min(range[1], t);
+
+            }
+
+            return range[0] <= range[1];
+
+        }
+
+        /**
+         * 緯度が属する索引の区間を返却する．
+         *
+         * @param latitude 緯度
+         * @param buckets 区間数
+         * @return 区間のインデックス
+         */
+        private int bucket(double latitude, int buckets) {
+
+            return Math.min(Math.max((int) ((latitude - minLatitude) / bucketHeight), 0), buckets - 1);
+
+        }
+
+    }
+
+}
@@ -0,0 +1,435 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * 空間IDの集合をバイナリ形式のスナップショットファイルとして保存・読み込みするユーティリティクラス．
+ * <p>
+ * 起動時にDBから索引を構築する代わりにスナップショットを読み込み、索引の再構築は後から行う用途を想定する．<br>
+ * ファイルは{@link FileChannel#map}でメモリにマップして読み込むため、ヒープへの読み込みを待たずに参照を開始できる．
+ * </p>
+ * <p>
+ * ファイル形式は以下の通り(ビッグエンディアン)．<br>
+ * ・ヘッダ(32byte)：マジックナンバー(4byte)、版数(2byte)、種別(1byte)、基準ズームレベル(1byte)、
+ * データ部のlong値の個数(8byte)、データ部のCRC32C(8byte)、作成日時のエポックミリ秒(8byte)<br>
+ * ・データ部：昇順に整列したlong値の列．空間IDの集合では変換済みの空間ID、
+ * {@link SpatialIdRangeSet}ではキー区間の下限と上限を交互に格納する．
+ * {@link SpatialIdRangeSet}の詳細要素は区間の後に変換済みの空間IDとして続けて格納する．
+ * 詳細要素はズームレベルが16以上で負の値となり、非負のキーと区別できる
+ * </p>
+ * <p>
+ * 書き込みは同一ディレクトリの一時ファイルに行ってから置き換えるため、読み込み側が書き込み途中のファイルを参照することはない．
+ * </p>
+ * <p>
+ * チェックサムの検査はデータ部全体を読み込むため、マップによる遅延読み込みの利点が失われる．<br>
+ * 起動時間を優先する場合は、以下のように検査を省略してマップし、検査はバックグラウンドで行う．
+ * </p>
+ * <pre>
+ * final MappedSpatialIdSet idSet = SpatialIdSnapshot.mapIdSet(path, false);
+ *
+ * CompletableFuture.runAsync(() -&gt; {
+ *     try {
+ *         SpatialIdSnapshot.verify(path);
+ *     } catch (IOException e) {
+ *         // 索引をDBから再構築する
+ *     }
+ * });
+ * </pre>
+ *
+ * @version 1.1 2026/10/17
+ */
+public final class SpatialIdSnapshot {
+
+    /**
+     * マジックナンバー("SIDX")．
+     */
+    private static final int MAGIC = 0x53494458;
+
+    /**
+     * ファイル形式の版数．
+     */
+    private static final short VERSION = 1;
+
+    /**
+     * 種別：変換済みの空間IDの集合．
+     */
+    private static final byte TYPE_ID_SET = 1;
+
+    /**
+     * 種別：キー区間の集合．
+     */
+    private static final byte TYPE_RANGE_SET = 2;
+
+    /**
+     * 種別：検査時に種別を問わないことを表す．
+     */
+    private static final byte TYPE_ANY = 0;
+
+    /**
+     * ヘッダのバイト数．
+     */
+    private static final int HEADER_SIZE = 32;
+
+    /**
+     * 書き込み時のバッファのバイト数．
+     */
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * プライベートコンストラクタ<br>
+     * ユーティリティクラスのため、インスタンス化を禁じる．
+     */
+    private SpatialIdSnapshot() {
+
+    }
+
+    /**
+     * 変換済みの空間IDの集合を保存する．
+     *
+     * @param path 保存先
+     * @param packedIds 変換済みの空間IDの配列．整列と重複の除去は保存時に行う
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public static void write(Path path, long[] packedIds) throws IOException {
+
+        final long[] sorted = packedIds.clone();
+
+        Arrays.sort(sorted);
+
+        int n = 0;
+
+        for (int i = 0; i < sorted.length; i++) {
+
+            if (n == 0 || sorted[n - 1] != sorted[i]) {
+
+                sorted[n++] = sorted[i];
+
+            }
+
+        }
+
+        write(path, TYPE_ID_SET, 0, sorted, null, n, new long[0]);
+
+    }
+
+    /**
+     * キー区間の集合を保存する．
+     *
+     * @param path 保存先
+     * @param rangeSet キー区間の集合
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public static void write(Path path, SpatialIdRangeSet rangeSet) throws IOException {
+
+        write(path, TYPE_RANGE_SET, rangeSet.getKeyZoom(), rangeSet.los(), rangeSet.his(), rangeSet.rangeCount(), rangeSet.fine());
+
+    }
+
+    /**
+     * 変換済みの空間IDの集合をメモリにマップして読み込む．
+     * <p>
+     * 返却する集合はファイルの内容を直接参照するため、ヒープへの複製を行わない．<br>
+     * チェックサムを検査するため、データ部全体の読み込みを待ってから返却する．
+     * </p>
+     *
+     * @param path 読み込み元
+     * @return 空間IDの集合
+     * @throws IOException 読み込みに失敗した場合、またはファイルの内容が不正な場合
+     */
+    public static MappedSpatialIdSet mapIdSet(Path path) throws IOException {
+
+        return mapIdSet(path, true);
+
+    }
+
+    /**
+     * 変換済みの空間IDの集合をメモリにマップして読み込む．
+     * <p>
+     * チェックサムの検査を省略した場合はヘッダのみを検査し、データ部は参照時にページ単位で読み込まれる．<br>
+     * 省略した場合は{@link #verify(Path)}で別途検査すること．
+     * </p>
+     *
+     * @param path 読み込み元
+     * @param verify チェックサムを検査する場合はtrue
+     * @return 空間IDの集合
+     * @throws IOException 読み込みに失敗した場合、またはファイルの内容が不正な場合
+     */
+    public static MappedSpatialIdSet mapIdSet(Path path, boolean verify) throws IOException {
+
+        final Mapped mapped = map(path, TYPE_ID_SET, verify);
+
+        return new MappedSpatialIdSet(mapped.payload);
+
+    }
+
+    /**
+     * スナップショットのヘッダとチェックサムを検査する．
+     * <p>
+     * 検査を省略してマップしたスナップショットを、バックグラウンドで検査する用途を想定する．
+     * </p>
+     *
+     * @param path 検査対象
+     * @throws IOException 読み込みに失敗した場合、またはファイルの内容が不正な場合
+     */
+    public static void verify(Path path) throws IOException {
+
+        map(path, TYPE_ANY, true);
+
+    }
+
+    /**
+     * キー区間の集合をメモリにマップして読み込み、{@link SpatialIdRangeSet}に復元する．
+     *
+     * @param path 読み込み元
+     * @return キー区間の集合
+     * @throws IOException 読み込みに失敗した場合、またはファイルの内容が不正な場合
+     */
+    public static SpatialIdRangeSet readRangeSet(Path path) throws IOException {
+
+        // ヒープに復元する際にデータ部全体を読み込むため、チェックサムも同時に検査する
+        final Mapped mapped = map(path, TYPE_RANGE_SET, true);
+
+        final int total = mapped.payload.remaining();
+
+        int count = 0;
+
+        // 区間の下限は非負、詳細要素は負の値となるため、最初の負の値までを区間とする
+        while (count * 2 + 1 < total && 0 <= mapped.payload.get(count * 2)) {
+
+            count++;
+
+        }
+
+        final long[] los = new long[count];
+
+        final long[] his = new long[count];
+
+        for (int i = 0; i < count; i++) {
+
+            los[i] = mapped.payload.get(i * 2);
+
+            his[i] = mapped.payload.get(i * 2 + 1);
+
+        }
+
+        final long[] fine = new long[total - count * 2];
+
+        for (int i = 0; i < fine.length; i++) {
+
+            fine[i] = mapped.payload.get(count * 2 + i);
+
+        }
+
+        try {
+
+            return SpatialIdRangeSet.ofRanges(mapped.keyZoom, los, his, fine);
+
+        } catch (IllegalArgumentException e) {
+
+            throw new IOException("Invalid snapshot " + path + ": " + e.getMessage(), e);
+
+        }
+
+    }
+
+    /**
+     * スナップショットを書き込む．
+     *
+     * @param path 保存先
+     * @param type 種別
+     * @param keyZoom 基準ズームレベル
+     * @param first 1つ目の列
+     * @param second 2つ目の列．指定した場合は1つ目の列と交互に格納する
+     * @param count 各列の要素数
+     * @param tail 列の後に続けて格納する値
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private static void write(Path path, byte type, int keyZoom, long[] first, long[] second, int count, long[] tail)
+            throws IOException {
+
+        final Path absolute = path.toAbsolutePath();
+
+        final Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+
+        try {
+
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+                final CRC32C crc = new CRC32C();
+
+                final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+
+                channel.position(HEADER_SIZE);
+
+                for (int i = 0; i < count; i++) {
+
+                    if (buffer.remaining() < Long.BYTES * 2) {
+
+                        flush(channel, buffer, crc);
+
+                    }
+
+                    buffer.putLong(first[i]);
+
+                    if (second != null) {
+
+                        buffer.putLong(second[i]);
+
+                    }
+
+                }
+
+                for (long value : tail) {
+
+                    if (buffer.remaining() < Long.BYTES) {
+
+                        flush(channel, buffer, crc);
+
+                    }
+
+                    buffer.putLong(value);
+
+                }
+
+                flush(channel, buffer, crc);
+
+                final long longs = ((second == null) ? count : count * 2L) + tail.length;
+
+                buffer.putInt(MAGIC).putShort(VERSION).put(type).put((byte) keyZoom)
+                        .putLong(longs).putLong(crc.getValue()).putLong(System.currentTimeMillis()).flip();
+
+                channel.write(buffer, 0);
+
+                channel.force(true);
+
+            }
+
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } finally {
+
+            Files.deleteIfExists(temp);
+
+        }
+
+    }
+
+    /**
+     * バッファの内容をチェックサムに加算してから書き出す．
+     *
+     * @param channel 書き込み先
+     * @param buffer バッファ
+     * @param crc チェックサム
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer, CRC32C crc) throws IOException {
+
+        buffer.flip();
+
+        crc.update(buffer.duplicate());
+
+        while (buffer.hasRemaining()) {
+
+            channel.write(buffer);
+
+        }
+
+        buffer.clear();
+
+    }
+
+    /**
+     * スナップショットをメモリにマップし、ヘッダとチェックサムを検査する．
+     *
+     * @param path 読み込み元
+     * @param expectedType 想定する種別．{@link #TYPE_ANY}の場合は種別を検査しない
+     * @param verify チェックサムを検査する場合はtrue
+     * @return マップしたデータ部
+     * @throws IOException 読み込みに失敗した場合、またはファイルの内容が不正な場合
+     */
+    private static Mapped map(Path path, byte expectedType, boolean verify) throws IOException {
+
+        final MappedByteBuffer buffer;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+            final long size = channel.size();
+
+            if (size < HEADER_SIZE || Integer.MAX_VALUE < size) {
+
+                throw new IOException("Invalid snapshot size " + path + ": " + size);
+
+            }
+
+            // マップした領域はチャネルを閉じた後も有効である
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+        }
+
+        final int magic = buffer.getInt(0);
+
+        final short version = buffer.getShort(4);
+
+        final byte type = buffer.get(6);
+
+        final int keyZoom = buffer.get(7);
+
+        final long longs = buffer.getLong(8);
+
+        final long checksum = buffer.getLong(16);
+
+        if (magic != MAGIC || version != VERSION || (expectedType != TYPE_ANY && type != expectedType)) {
+
+            throw new IOException("Unsupported snapshot " + path + ": magic=" + Integer.toHexString(magic) + ", version=" + version + ", type=" + type);
+
+        }
+
+        if (longs < 0 || buffer.capacity() != HEADER_SIZE + longs * Long.BYTES) {
+
+            throw new IOException("Truncated snapshot " + path);
+
+        }
+
+        final ByteBuffer payload = buffer.slice(HEADER_SIZE, buffer.capacity() - HEADER_SIZE);
+
+        if (verify) {
+
+            final CRC32C crc = new CRC32C();
+
+            crc.update(payload.duplicate());
+
+            if (crc.getValue() != checksum) {
+
+                throw new IOException("Checksum mismatch " + path);
+
+            }
+
+        }
+
+        return new Mapped(keyZoom, payload.asLongBuffer());
+
+    }
+
+    /**
+     * マップしたスナップショットのデータ部．
+     *
+     * @param keyZoom 基準ズームレベル
+     * @param payload データ部
+     */
+    private record Mapped(int keyZoom, LongBuffer payload) {
+
+    }
+
+}
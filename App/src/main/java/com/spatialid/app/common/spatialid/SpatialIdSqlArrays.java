@@ -0,0 +1,128 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.List;
+
+/**
+ * バリデーション済みの空間IDのリストを、SQLの配列型パラメータとして設定できる形式に変換するユーティリティクラス．
+ * <p>
+ * 変換結果は{@link com.spatialid.app.common.convert.LongArrayTypeHandler}、
+ * {@link com.spatialid.app.common.convert.IntArrayTypeHandler}で1つのパラメータとして設定する．
+ * "z/f/x/y"形式の文字列のまま扱う場合は、リストを{@link com.spatialid.app.common.convert.StringListArrayTypeHandler}で設定する．
+ * いずれも要素数によらずSQL文が同一となる．
+ * </p>
+ * <pre>
+ * &lt;!-- 文字列のまま検索する --&gt;
+ * WHERE sid = ANY(#{sids, typeHandler=com.spatialid.app.common.convert.StringListArrayTypeHandler})
+ *
+ * &lt;!-- 変換済みの空間IDで検索する --&gt;
+ * WHERE packed_sid = ANY(#{packedIds, typeHandler=com.spatialid.app.common.convert.LongArrayTypeHandler})
+ *
+ * &lt;!-- 要素ごとのカラムで結合する --&gt;
+ * JOIN unnest(#{columns.z, typeHandler=com.spatialid.app.common.convert.IntArrayTypeHandler},
+ *             #{columns.f, typeHandler=com.spatialid.app.common.convert.LongArrayTypeHandler},
+ *             #{columns.x, typeHandler=com.spatialid.app.common.convert.LongArrayTypeHandler},
+ *             #{columns.y, typeHandler=com.spatialid.app.common.convert.LongArrayTypeHandler}) AS s(z, f, x, y)
+ *   ON t.z = s.z AND t.f = s.f AND t.x = s.x AND t.y = s.y
+ * </pre>
+ *
+ * @version 1.1 2026/10/18
+ */
+public final class SpatialIdSqlArrays {
+
+    /**
+     * プライベートコンストラクタ<br>
+     * ユーティリティクラスのため、インスタンス化を禁じる．
+     */
+    private SpatialIdSqlArrays() {
+
+    }
+
+    /**
+     * 空間IDのリストを{@link PackedSpatialId}形式の配列に変換する．
+     * <p>
+     * {@link PackedSpatialIdList}の場合は文字列を解析せずに複製する．<br>
+     * {@link PackedSpatialId}形式はズームレベルが{@link PackedSpatialId#MAX_ZOOM_LEVEL}以下、
+     * 標高インデックスが{@link PackedSpatialId#fLimit(int)}の範囲内の空間IDのみ表現できる．
+     * 書式として正しくても範囲外の要素は変換できないため、範囲外の空間IDを含みうるリストには{@link #toColumns(List)}を使用する．
+     * </p>
+     *
+     * @param sids 空間IDのリスト
+     * @return 変換済みの空間IDの配列．要素の順序はリストと同一
+     * @throws IllegalArgumentException 書式不正の要素、または{@link PackedSpatialId}形式で表現できない要素が存在した場合
+     */
+    public static long[] toPackedArray(List<String> sids) {
+
+        if (sids instanceof PackedSpatialIdList packedList && packedList.isFullyPacked()) {
+
+            return packedList.toPackedArray();
+
+        }
+
+        final long[] packed = new long[sids.size()];
+
+        final long[] elements = new long[4];
+
+        int i = 0;
+
+        for (String sid : sids) {
+
+            packed[i] = PackedSpatialId.parse(sid, elements);
+
+            if (packed[i] == PackedSpatialId.INVALID) {
+
+                if (SpatialId.scan(sid, elements) == SpatialId.VALID) {
+
+                    throw new IllegalArgumentException("Spatial id out of packable range (use toColumns): " + sid);
+
+                }
+
+                throw new IllegalArgumentException("Invalid spatial id: " + sid);
+
+            }
+
+            i++;
+
+        }
+
+        return packed;
+
+    }
+
+    /**
+     * 空間IDのリストを要素ごとの配列に変換する．
+     *
+     * @param sids 空間IDのリスト
+     * @return 要素ごとの配列．要素の順序はリストと同一
+     * @throws IllegalArgumentException 書式不正の要素が存在した場合
+     */
+    public static SpatialIdColumns toColumns(List<String> sids) {
+
+        if (sids instanceof PackedSpatialIdList packedList && packedList.isFullyPacked()) {
+
+            return SpatialIdColumns.of(packedList.toPackedArray());
+
+        }
+
+        final SpatialIdColumns columns = SpatialIdColumns.parse(sids);
+
+        final long[] malformed = columns.getMalformed();
+
+        for (int word = 0; word < malformed.length; word++) {
+
+            if (malformed[word] != 0) {
+
+                final int index = (word << 6) + Long.numberOfTrailingZeros(malformed[word]);
+
+                throw new IllegalArgumentException("Invalid spatial id: " + sids.get(index));
+
+            }
+
+        }
+
+        return columns;
+
+    }
+
+}
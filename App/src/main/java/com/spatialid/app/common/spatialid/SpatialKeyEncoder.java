@@ -0,0 +1,430 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 空間IDを3次元の空間充填曲線(Z-order/Hilbert)上のキーに変換するクラス．
+ * <p>
+ * キーは基準ズームレベル(keyZoom)のボクセルを単位とし、f、x、yの各軸をkeyZoom + 1bitで表現する．<br>
+ * 基準ズームレベル以下の空間IDは、配下のボクセルが連続した1つのキー区間[lo, hi]に対応するため、
+ * DB上でB-treeインデックスを用いた範囲検索に置き換えることができる．<br>
+ * 基準ズームレベルより細かい空間IDは、基準ズームレベルの祖先ボクセルのキーに丸められる．
+ * この場合、検索結果は元の空間IDより広い範囲を含むため、必要に応じて後段で絞り込みを行うこと．
+ * </p>
+ * <p>
+ * 標高(f)はズームレベルzにおいて[-2^z, 2^z)の範囲である必要がある．
+ * </p>
+ *
+ * @version 1.1 2026/10/17
+ */
+public class SpatialKeyEncoder {
+
+    /**
+     * 指定可能な基準ズームレベルの上限．<br>
+     * 3軸 × 21bit = 63bitとなり、キーが正のlong値に収まる．
+     */
+    public static final int MAX_KEY_ZOOM_LEVEL = 20;
+
+    /**
+     * 空間充填曲線の種類．
+     */
+    public enum Curve {
+
+        /**
+         * Z-order(Morton順序)．
+         */
+        MORTON,
+
+        /**
+         * Hilbert曲線．
+         */
+        HILBERT
+
+    }
+
+    /**
+     * 使用する空間充填曲線．
+     */
+    private final Curve curve;
+
+    /**
+     * 基準ズームレベル．
+     */
+    private final int keyZoom;
+
+    /**
+     * 空間充填曲線と基準ズームレベルを指定して生成する．
+     *
+     * @param curve 空間充填曲線
+     * @param keyZoom 基準ズームレベル(0以上{@link #MAX_KEY_ZOOM_LEVEL}以下)
+     */
+    public SpatialKeyEncoder(Curve curve, int keyZoom) {
+
+        if (curve == null || keyZoom < 0 || MAX_KEY_ZOOM_LEVEL < keyZoom) {
+
+            throw new IllegalArgumentException("Invalid curve or key zoom level: " + curve + ", " + keyZoom);
+
+        }
+
+        this.curve = curve;
+
+        this.keyZoom = keyZoom;
+
+    }
+
+    /**
+     * 空間IDを空間充填曲線上のキーに変換する．
+     * <p>
+     * 基準ズームレベルより粗い空間IDの場合、配下のボクセルのうち最小のキーを返却する．
+     * </p>
+     *
+     * @param packed 変換済みの空間ID
+     * @return キー
+     * @throws IllegalArgumentException 標高が表現範囲外の場合
+     */
+    public long encode(long packed) {
+
+        return lowerKey(packed);
+
+    }
+
+    /**
+     * 空間IDが占めるキー区間を返却する．
+     *
+     * @param packed 変換済みの空間ID
+     * @return キー区間
+     * @throws IllegalArgumentException 標高が表現範囲外の場合
+     */
+    public SpatialKeyRange toRange(long packed) {
+
+        final long lo = lowerKey(packed);
+
+        return new SpatialKeyRange(lo, lo + blockSize(packed) - 1);
+
+    }
+
+    /**
+     * 空間IDの集合を、和集合が等しくなる最小個数のキー区間に集約する．
+     * <p>
+     * ズームレベルの混在・重複・包含関係は考慮され、隣接する区間は結合される．<br>
+     * 返却値は下限の昇順に整列される．
+     * </p>
+     *
+     * @param packedIds 変換済みの空間IDの配列
+     * @return キー区間のリスト
+     * @throws IllegalArgumentException 標高が表現範囲外の要素が存在した場合
+     */
+    public List<SpatialKeyRange> coalesce(long[] packedIds) {
+
+        final int n = packedIds.length;
+
+        final long[] los = new long[n];
+
+        final long[] his = new long[n];
+
+        for (int i = 0; i < n; i++) {
+
+            los[i] = lowerKey(packedIds[i]);
+
+            his[i] = los[i] + blockSize(packedIds[i]) - 1;
+
+        }
+
+        // 下限と上限を独立に整列し、区間の開始・終了を走査して和集合を求める
+        Arrays.sort(los);
+
+        Arrays.sort(his);
+
+        final List<SpatialKeyRange> ranges = new ArrayList<SpatialKeyRange>();
+
+        long start = 0;
+
+        long lastLo = 0;
+
+        long lastHi = -2;
+
+        int open = 0;
+
+        int i = 0;
+
+        int j = 0;
+
+        while (j < n) {
+
+            if (i < n && los[i] <= his[j]) {
+
+                if (open++ == 0) {
+
+                    start = los[i];
+
+                }
+
+                i++;
+
+            } else {
+
+                if (--open == 0) {
+
+                    if (lastHi + 1 == start) {
+
+                        // 直前の区間と隣接する場合は結合する
+                        ranges.set(ranges.size() - 1, new SpatialKeyRange(lastLo, his[j]));
+
+                    } else {
+
+                        ranges.add(new SpatialKeyRange(start, his[j]));
+
+                        lastLo = start;
+
+                    }
+
+                    lastHi = his[j];
+
+                }
+
+                j++;
+
+            }
+
+        }
+
+        return ranges;
+
+    }
+
+    /**
+     * 空間IDのリストを、和集合が等しくなる最小個数のキー区間に集約する．
+     *
+     * @param list 空間IDのリスト
+     * @return キー区間のリスト
+     * @throws IllegalArgumentException 変換できない要素、または標高が表現範囲外の要素が存在した場合
+     */
+    public List<SpatialKeyRange> coalesce(List<String> list) {
+
+        return coalesce(PackedSpatialId.parseAll(list));
+
+    }
+
+    /**
+     * 基準ズームレベルの座標からキーを求める．
+     *
+     * @param f バイアス済みの標高インデックス
+     * @param x 経度インデックス
+     * @param y 緯度インデックス
+     * @return キー
+     */
+    public long encodeCell(long f, long x, long y) {
+
+        if (curve == Curve.MORTON) {
+
+            return interleave(f, x, y);
+
+        }
+
+        // Skilling(2004)の手法により、座標を転置形式のHilbertインデックスに変換する
+        long x0 = f;
+
+        long x1 = x;
+
+        long x2 = y;
+
+        for (long q = 1L << keyZoom; 1 < q; q >>>= 1) {
+
+            final long p = q - 1;
+
+            if ((x0 & q) != 0) {
+
+                x0 ^= p;
+
+            }
+
+            if ((x1 & q) != 0) {
+
+                x0 ^= p;
+
+            } else {
+
+                final long t = (x0 ^ x1) & p;
+
+                x0 ^= t;
+
+                x1 ^= t;
+
+            }
+
+            if ((x2 & q) != 0) {
+
+                x0 ^= p;
+
+            } else {
+
+                final long t = (x0 ^ x2) & p;
+
+                x0 ^= t;
+
+                x2 ^= t;
+
+            }
+
+        }
+
+        x1 ^= x0;
+
+        x2 ^= x1;
+
+        long t = 0;
+
+        for (long q = 1L << keyZoom; 1 < q; q >>>= 1) {
+
+            if ((x2 & q) != 0) {
+
+                t ^= q - 1;
+
+            }
+
+        }
+
+        return interleave(x0 ^ t, x1 ^ t, x2 ^ t);
+
+    }
+
+    /**
+     * 使用する空間充填曲線を返却する．
+     *
+     * @return 空間充填曲線
+     */
+    public Curve getCurve() {
+
+        return curve;
+
+    }
+
+    /**
+     * 基準ズームレベルを返却する．
+     *
+     * @return 基準ズームレベル
+     */
+    public int getKeyZoom() {
+
+        return keyZoom;
+
+    }
+
+    /**
+     * 空間IDが占めるキー区間の下限を求める．
+     *
+     * @param packed 変換済みの空間ID
+     * @return キー区間の下限
+     */
+    private long lowerKey(long packed) {
+
+        final int z = PackedSpatialId.zoomLevel(packed);
+
+        final long f = PackedSpatialId.f(packed) + (1L << z);
+
+        if (f < 0 || (2L << z) <= f) {
+
+            throw new IllegalArgumentException("Altitude index out of range: " + PackedSpatialId.toString(packed));
+
+        }
+
+        final long x = PackedSpatialId.x(packed);
+
+        final long y = PackedSpatialId.y(packed);
+
+        if (keyZoom < z) {
+
+            final int shift = z - keyZoom;
+
+            return encodeCell(f >> shift, x >> shift, y >> shift);
+
+        }
+
+        final int shift = keyZoom - z;
+
+        // Hilbert曲線では配下ボクセルの角が区間の下限とは限らないため、下位ビットを切り捨てる
+        return (encodeCell(f << shift, x << shift, y << shift) >>> (3 * shift)) << (3 * shift);
+
+    }
+
+    /**
+     * 空間IDが占めるキー区間の大きさを求める．
+     *
+     * @param packed 変換済みの空間ID
+     * @return キー区間の大きさ
+     */
+    private long blockSize(long packed) {
+
+        final int shift = keyZoom - PackedSpatialId.zoomLevel(packed);
+
+        return (shift <= 0) ? 1L : 1L << (3 * shift);
+
+    }
+
+    /**
+     * 3軸の座標のビットを交互に並べる．
+     *
+     * @param f 上位に配置する座標
+     * @param x 中位に配置する座標
+     * @param y 下位に配置する座標
+     * @return ビットを交互に並べた値
+     */
+    private static long interleave(long f, long x, long y) {
+
+        return (spread(f) << 2) | (spread(x) << 1) | spread(y);
+
+    }
+
+    /**
+     * 21bitの値の各ビットを3bit間隔に配置する．
+     *
+     * @param value 値
+     * @return 3bit間隔に配置した値
+     */
+    private static long spread(long value) {
+
+        long v = value & 0x1FFFFFL;
+
+        v = (v | (v << 32)) & 0x1F00000000FFFFL;
+
+        v = (v | (v << 16)) & 0x1F0000FF0000FFL;
+
+        v = (v | (v << 8)) & 0x100F00F00F00F00FL;
+
+        v = (v | (v << 4)) & 0x10C30C30C30C30C3L;
+
+        v = (v | (v << 2)) & 0x1249249249249249L;
+
+        return v;
+
+    }
+
+    /**
+     * 3bit間隔に配置されたビットを詰めて、21bitの値に戻す．{@link #spread(long)}の逆変換．
+     *
+     * @param value 3bit間隔に配置した値．最下位ビットから読み取る
+     * @return 値
+     */
+    static long compact(long value) {
+
+        long v = value & 0x1249249249249249L;
+
+        v = (v | (v >>> 2)) & 0x10C30C30C30C30C3L;
+
+        v = (v | (v >>> 4)) & 0x100F00F00F00F00FL;
+
+        v = (v | (v >>> 8)) & 0x1F0000FF0000FFL;
+
+        v = (v | (v >>> 16)) & 0x1F00000000FFFFL;
+
+        v = (v | (v >>> 32)) & 0x1FFFFFL;
+
+        return v;
+
+    }
+
+}
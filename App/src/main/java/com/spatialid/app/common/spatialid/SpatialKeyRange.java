@@ -0,0 +1,49 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 空間充填曲線キーの閉区間[lo, hi]を表すクラス．<br>
+ * MyBatisのパラメータとして、以下のように範囲検索条件を組み立てる想定．
+ * <pre>
+ * &lt;foreach collection="ranges" item="range" open="(" separator=" OR " close=")"&gt;
+ *     sid_key BETWEEN #{range.lo} AND #{range.hi}
+ * &lt;/foreach&gt;
+ * </pre>
+ *
+ * @version 1.1 2026/10/17
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class SpatialKeyRange {
+
+    /**
+     * 区間の下限(この値を含む)．
+     */
+    private final long lo;
+
+    /**
+     * 区間の上限(この値を含む)．
+     */
+    private final long hi;
+
+    public SpatialKeyRange(long lo, long hi) {
+
+        if (hi < lo) {
+
+            throw new IllegalArgumentException("lo must not be greater than hi: [" + lo + ", " + hi + "]");
+
+        }
+
+        this.lo = lo;
+
+        this.hi = hi;
+
+    }
+
+}
@@ -3,9 +3,10 @@
 package com.spatialid.app.common.util;
 
 import java.lang.reflect.Array;
-import java.time.DateTimeException;
 import java.time.format.DateTimeFormatter;
 import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
@@ -17,6 +18,12 @@ import org.springframework.util.CollectionUtils;
  */
 public class CommonUtils {
 
+    /** コンパイル済みの正規表現をキャッシュする上限数 */
+    private static final int PATTERN_CACHE_LIMIT = 256;
+
+    /** コンパイル済みの正規表現のキャッシュ */
+    private static final Map<String, Pattern> PATTERN_CACHE = new ConcurrentHashMap<String, Pattern>();
+
     /**
      * 引数文字列の有効性を判定する.<br>
      *
@@ -49,7 +56,8 @@ public class CommonUtils {
      */
     public static boolean checkRegex(String inStr) {
 
-        return checkPattern(inStr, "^[0-9]+$|-[0-9]+$");
+        // "^[0-9]+$|-[0-9]+$"と同等の判定を正規表現を使わずに行う
+        return NumericStrings.isInteger(inStr);
     }
 
     /**
@@ -60,7 +68,8 @@ public class CommonUtils {
      */
     public static boolean checkPositiveNumber(String inStr) {
 
-        return checkPattern(inStr, "^[0-9]+$");
+        // "^[0-9]+$"と同等の判定を正規表現を使わずに行う
+        return NumericStrings.isUnsignedInteger(inStr);
     }
 
     /**
@@ -73,10 +82,29 @@ public class CommonUtils {
     public static boolean checkPattern(String inStr, String pattern) {
 
         // 正規表現チェック
-        Pattern ptn = Pattern.compile(pattern);
+        Pattern ptn = compiledPattern(pattern);
         return ptn.matcher(inStr).matches();
     }
 
+    /**
+     * コンパイル済みの正規表現を取得する.<br>
+     * キャッシュの上限を超えた場合は、キャッシュせずにコンパイルする.
+     *
+     * @param pattern 正規表現パターン
+     * @return コンパイル済みの正規表現
+     */
+    private static Pattern compiledPattern(String pattern) {
+
+        Pattern ptn = PATTERN_CACHE.get(pattern);
+        if (ptn == null) {
+            ptn = Pattern.compile(pattern);
+            if (PATTERN_CACHE.size() < PATTERN_CACHE_LIMIT) {
+                PATTERN_CACHE.putIfAbsent(pattern, ptn);
+            }
+        }
+        return ptn;
+    }
+
     /**
      * 引数文字列が1以上の正の整数か判定する.<br>
      *
@@ -85,7 +113,8 @@ public class CommonUtils {
      */
     public static boolean checkWholeNumber(String inStr) {
 
-        return checkPattern(inStr, "^[1-9]\\d*$");
+        // "^[1-9]\d*$"と同等の判定を正規表現を使わずに行う
+        return NumericStrings.isWholeNumber(inStr);
 
     }
 
@@ -97,13 +126,8 @@ public class CommonUtils {
      */
     public static boolean checkTimestamp(String inStr) {
 
-        try {
-            DateTimeFormatter formatter = DateTimeFormatter.ISO_ZONED_DATE_TIME;
-            formatter.parse(inStr);
-            return true;
-        } catch (DateTimeException e) {
-            return false;
-        }
+        // 書式不正の場合は例外を生成せずに判定する
+        return DateTimeFormats.isParsable(inStr, DateTimeFormatter.ISO_ZONED_DATE_TIME);
     }
 
     /**
@@ -115,10 +139,8 @@ public class CommonUtils {
      */
     public static boolean checkNumber(String inStr) {
 
-        if (!(checkPattern(inStr, "^[+,-]?([1-9]\\d*|0)(\\.\\d+)?$"))) {
-            return false;
-        }
-        return true;
+        // "^[+,-]?([1-9]\d*|0)(\.\d+)?$"と同等の判定を正規表現を使わずに行う
+        return NumericStrings.isDecimal(inStr);
     }
 
     /**
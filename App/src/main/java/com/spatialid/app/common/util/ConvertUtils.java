@@ -5,6 +5,8 @@ package com.spatialid.app.common.util;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.spatialid.app.common.spatialid.SpatialId;
+
 public class ConvertUtils {
     
     /**
@@ -62,5 +64,63 @@ public class ConvertUtils {
                 
         return convertedList;
     }
+    
+    /**
+     * 空間IDのリストに対して、{@link SpatialId}への変換を行う．
+     * <p>
+     * 分割後の文字列配列を経由せず、各要素を1回の走査で解析する．
+     * </p>
+     * 
+     * @param list 空間IDのリスト
+     * @return {@link SpatialId}のリスト
+     * @throws IllegalArgumentException 空間IDの書式に合致しない要素が存在した場合
+     */
+    public static List<SpatialId> convertListToSpatialId(List<String> list) {
+        
+        final List<SpatialId> convertedList = new ArrayList<SpatialId>(list.size());
+        
+        for (String element : list) {
+            
+            convertedList.add(SpatialId.parse(element));
+            
+        }
+        
+        return convertedList;
+    }
+    
+    /**
+     * 空間IDのリストに対して、ズームレベル・標高・経度・緯度の順に格納したint型配列への変換を行う．
+     * <p>
+     * splitStrInList(list, "/")とconvertListToInt()を組み合わせた結果と同一の値を、
+     * 中間の文字列配列を生成せずに返却する．
+     * </p>
+     * 
+     * @param list 空間IDのリスト
+     * @return int型に変換された配列を持つリスト
+     * @throws NumberFormatException 空間IDの書式に合致しない要素、またはint型で表現できない要素が存在した場合
+     */
+    public static List<int[]> convertSidListToInt(List<String> list) {
+        
+        final List<int[]> convertedList = new ArrayList<int[]>(list.size());
+        
+        for (String element : list) {
+            
+            final SpatialId spatialId = SpatialId.parseOrNull(element);
+            
+            if (spatialId == null
+                    || spatialId.f() != (int) spatialId.f()
+                    || spatialId.x() != (int) spatialId.x()
+                    || spatialId.y() != (int) spatialId.y()) {
+                
+                throw new NumberFormatException("Invalid spatial id: " + element);
+                
+            }
+            
+            convertedList.add(new int[] { spatialId.z(), (int) spatialId.f(), (int) spatialId.x(), (int) spatialId.y() });
+            
+        }
+        
+        return convertedList;
+    }
 
 }
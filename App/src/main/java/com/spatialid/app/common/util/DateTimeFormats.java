@@ -0,0 +1,448 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.util;
+
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+import java.time.temporal.TemporalQuery;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.spatialid.app.common.constant.RestApiConstants;
+
+/**
+ * 日時フォーマットの共有と、例外を送出しない日時の解析を提供するユーティリティクラス．
+ * <p>
+ * {@link DateTimeFormatter}はパターンとリゾルバスタイルごとに1度だけ生成して共有する．<br>
+ * パターンはアノテーション等で固定された有限個である想定のため、キャッシュの上限は設けない．
+ * </p>
+ * <p>
+ * {@link RestApiConstants#DATE_FORMAT}、{@link RestApiConstants#STRICT_DATE_FORMAT}、
+ * {@link RestApiConstants#HIGH_ACCURACY_DATE_FORMAT}の固定長の入力は、{@link DateTimeFormatter}を介さずに解析する．
+ * 解析結果は{@link DateTimeFormatter}と同じリゾルバスタイルの規則に従う．<br>
+ * それ以外の入力は{@link DateTimeFormatter#parseUnresolved}で書式を検査し、書式不正の場合は例外を生成せずに失敗とする．
+ * </p>
+ *
+ * @version 1.1 2026/10/18
+ */
+public final class DateTimeFormats {
+
+    /**
+     * 年月日時分秒部の長さ．
+     */
+    private static final int DATE_TIME_LENGTH = 19;
+
+    /**
+     * {@link RestApiConstants#HIGH_ACCURACY_DATE_FORMAT}の秒の小数部の桁数．
+     */
+    private static final int FRACTION_DIGITS = 6;
+
+    /**
+     * リゾルバスタイルごとのフォーマッタ．
+     */
+    private static final Map<ResolverStyle, Map<String, DateTimeFormatter>> FORMATTERS = new EnumMap<ResolverStyle, Map<String, DateTimeFormatter>>(ResolverStyle.class);
+
+    static {
+
+        for (ResolverStyle resolverStyle : ResolverStyle.values()) {
+
+            FORMATTERS.put(resolverStyle, new ConcurrentHashMap<String, DateTimeFormatter>());
+
+        }
+
+    }
+
+    /**
+     * プライベートコンストラクタ<br>
+     * ユーティリティクラスのため、インスタンス化を禁じる．
+     */
+    private DateTimeFormats() {
+
+    }
+
+    /**
+     * {@link DateTimeFormatter#ofPattern(String)}と同じ設定のフォーマッタを取得する．
+     *
+     * @param pattern パターン
+     * @return フォーマッタ
+     * @throws IllegalArgumentException パターンが不正な場合
+     */
+    public static DateTimeFormatter formatter(String pattern) {
+
+        return formatter(pattern, ResolverStyle.SMART);
+
+    }
+
+    /**
+     * パターンとリゾルバスタイルに対応するフォーマッタを取得する．
+     *
+     * @param pattern パターン
+     * @param resolverStyle リゾルバスタイル
+     * @return フォーマッタ
+     * @throws IllegalArgumentException パターンが不正な場合
+     */
+    public static DateTimeFormatter formatter(String pattern, ResolverStyle resolverStyle) {
+
+        return FORMATTERS.get(resolverStyle).computeIfAbsent(pattern,
+                key -> DateTimeFormatter.ofPattern(key).withResolverStyle(resolverStyle));
+
+    }
+
+    /**
+     * 文字列を日時として解析する．
+     *
+     * @param text 文字列
+     * @param pattern パターン
+     * @param resolverStyle リゾルバスタイル
+     * @return 日時．解析できない場合はnull
+     * @throws IllegalArgumentException パターンが不正な場合
+     */
+    public static LocalDateTime parseLocalDateTime(CharSequence text, String pattern, ResolverStyle resolverStyle) {
+
+        final int fractionDigits = fixedFractionDigits(pattern, resolverStyle);
+
+        if (0 <= fractionDigits && text.length() == DATE_TIME_LENGTH + (fractionDigits == 0 ? 0 : fractionDigits + 1)) {
+
+            return parseFixed(text, RestApiConstants.DATE_FORMAT.equals(pattern), fractionDigits, resolverStyle);
+
+        }
+
+        return parse(text, formatter(pattern, resolverStyle), LocalDateTime::from);
+
+    }
+
+    /**
+     * 文字列を日時として解析する．リゾルバスタイルは{@link ResolverStyle#SMART}とする．
+     *
+     * @param text 文字列
+     * @param pattern パターン
+     * @return 日時．解析できない場合はnull
+     * @throws IllegalArgumentException パターンが不正な場合
+     */
+    public static LocalDateTime parseLocalDateTime(CharSequence text, String pattern) {
+
+        return parseLocalDateTime(text, pattern, ResolverStyle.SMART);
+
+    }
+
+    /**
+     * 文字列を日付として解析する．パターンに時刻が含まれる場合、時刻も検査する．
+     *
+     * @param text 文字列
+     * @param pattern パターン
+     * @param resolverStyle リゾルバスタイル
+     * @return 日付．解析できない場合はnull
+     * @throws IllegalArgumentException パターンが不正な場合
+     */
+    public static LocalDate parseLocalDate(CharSequence text, String pattern, ResolverStyle resolverStyle) {
+
+        if (0 <= fixedFractionDigits(pattern, resolverStyle)) {
+
+            final LocalDateTime localDateTime = parseLocalDateTime(text, pattern, resolverStyle);
+
+            return (localDateTime == null) ? null : localDateTime.toLocalDate();
+
+        }
+
+        return parse(text, formatter(pattern, resolverStyle), LocalDate::from);
+
+    }
+
+    /**
+     * 文字列がフォーマッタで解析できるかを判定する．
+     *
+     * @param text 文字列
+     * @param formatter フォーマッタ
+     * @return 解析できる場合はtrue
+     */
+    public static boolean isParsable(CharSequence text, DateTimeFormatter formatter) {
+
+        return parse(text, formatter, temporal -> temporal) != null;
+
+    }
+
+    /**
+     * 日時を文字列に変換する．
+     *
+     * @param localDateTime 日時
+     * @param pattern パターン
+     * @return 文字列
+     * @throws IllegalArgumentException パターンが不正な場合
+     */
+    public static String format(LocalDateTime localDateTime, String pattern) {
+
+        return formatTo(new StringBuilder(DATE_TIME_LENGTH + FRACTION_DIGITS + 1), localDateTime, pattern).toString();
+
+    }
+
+    /**
+     * 日時を文字列に変換して追記する．
+     * <p>
+     * 固定長のパターンは中間の文字列を生成せずに追記するため、大量の行を出力する際に出力先を使い回すことができる．
+     * </p>
+     *
+     * @param out 追記先
+     * @param localDateTime 日時
+     * @param pattern パターン
+     * @return 追記先
+     * @throws IllegalArgumentException パターンが不正な場合
+     */
+    public static StringBuilder formatTo(StringBuilder out, LocalDateTime localDateTime, String pattern) {
+
+        final int fractionDigits = fixedFractionDigits(pattern, ResolverStyle.SMART);
+
+        final int year = localDateTime.getYear();
+
+        // 4桁に収まらない年は符号や紀元の扱いが異なるため、フォーマッタで変換する
+        if (fractionDigits < 0 || year < 1 || 9999 < year) {
+
+            formatter(pattern).formatTo(localDateTime, out);
+
+            return out;
+
+        }
+
+        appendDigits(out, 4, year).append('/');
+
+        appendDigits(out, 2, localDateTime.getMonthValue()).append('/');
+
+        appendDigits(out, 2, localDateTime.getDayOfMonth()).append(' ');
+
+        appendDigits(out, 2, localDateTime.getHour()).append(':');
+
+        appendDigits(out, 2, localDateTime.getMinute()).append(':');
+
+        appendDigits(out, 2, localDateTime.getSecond());
+
+        if (fractionDigits != 0) {
+
+            appendDigits(out.append('.'), fractionDigits, localDateTime.getNano() / 1000);
+
+        }
+
+        return out;
+
+    }
+
+    /**
+     * 固定長で解析できるパターンの秒の小数部の桁数を返却する．
+     *
+     * @param pattern パターン
+     * @param resolverStyle リゾルバスタイル
+     * @return 小数部の桁数．固定長で解析できない場合は-1
+     */
+    private static int fixedFractionDigits(String pattern, ResolverStyle resolverStyle) {
+
+        if (resolverStyle == ResolverStyle.LENIENT) {
+
+            return -1;
+
+        }
+
+        if (RestApiConstants.DATE_FORMAT.equals(pattern) || RestApiConstants.STRICT_DATE_FORMAT.equals(pattern)) {
+
+            return 0;
+
+        }
+
+        return RestApiConstants.HIGH_ACCURACY_DATE_FORMAT.equals(pattern) ? FRACTION_DIGITS : -1;
+
+    }
+
+    /**
+     * "年/MM/dd HH:mm:ss[.小数部]"形式の固定長の文字列を解析する．
+     * <p>
+     * パターンの年は4桁以上を受け付けるため、固定長と一致する入力の年は必ず符号のない4桁となる．<br>
+     * 解決の規則は{@link java.time.chrono.IsoChronology}に従う．<br>
+     * ・年(yyyy)：0年は不正．{@link ResolverStyle#STRICT}では紀元が無いため、常に解決できない<br>
+     * ・日：{@link ResolverStyle#SMART}では月の日数を超える場合、月末日に丸める<br>
+     * ・時：{@link ResolverStyle#SMART}では"24:00:00"を翌日の0時とする
+     * </p>
+     *
+     * @param text 文字列
+     * @param yearOfEra 年が紀元年("yyyy")の場合はtrue
+     * @param fractionDigits 小数部の桁数
+     * @param resolverStyle リゾルバスタイル
+     * @return 日時．解析できない場合はnull
+     */
+    private static LocalDateTime parseFixed(CharSequence text, boolean yearOfEra, int fractionDigits, ResolverStyle resolverStyle) {
+
+        if (text.charAt(4) != '/' || text.charAt(7) != '/' || text.charAt(10) != ' ' || text.charAt(13) != ':' || text.charAt(16) != ':'
+                || (fractionDigits != 0 && text.charAt(DATE_TIME_LENGTH) != '.')) {
+
+            return null;
+
+        }
+
+        final int year = readDigits(text, 0, 4);
+
+        final int month = readDigits(text, 5, 2);
+
+        int day = readDigits(text, 8, 2);
+
+        final int hour = readDigits(text, 11, 2);
+
+        final int minute = readDigits(text, 14, 2);
+
+        final int second = readDigits(text, 17, 2);
+
+        final int fraction = (fractionDigits == 0) ? 0 : readDigits(text, DATE_TIME_LENGTH + 1, fractionDigits);
+
+        if ((year | month | day | hour | minute | second | fraction) < 0) {
+
+            return null;
+
+        }
+
+        if (yearOfEra && (resolverStyle == ResolverStyle.STRICT || year == 0)) {
+
+            return null;
+
+        }
+
+        if (month < 1 || 12 < month || day < 1 || 31 < day || 59 < minute || 59 < second) {
+
+            return null;
+
+        }
+
+        final int monthLength = Month.of(month).length(Year.isLeap(year));
+
+        if (monthLength < day) {
+
+            if (resolverStyle == ResolverStyle.STRICT) {
+
+                return null;
+
+            }
+
+            day = monthLength;
+
+        }
+
+        final int nano = fraction * 1000;
+
+        if (hour == 24 && resolverStyle == ResolverStyle.SMART && minute == 0 && second == 0 && nano == 0) {
+
+            return LocalDateTime.of(year, month, day, 0, 0).plusDays(1);
+
+        }
+
+        if (23 < hour) {
+
+            return null;
+
+        }
+
+        return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+
+    }
+
+    /**
+     * フォーマッタで文字列を解析する．書式不正の場合は例外を生成せずにnullを返却する．
+     *
+     * @param <T> 解析結果の型
+     * @param text 文字列
+     * @param formatter フォーマッタ
+     * @param query 解析結果の取得方法
+     * @return 解析結果．解析できない場合はnull
+     */
+    private static <T> T parse(CharSequence text, DateTimeFormatter formatter, TemporalQuery<T> query) {
+
+        final ParsePosition position = new ParsePosition(0);
+
+        if (formatter.parseUnresolved(text, position) == null || 0 <= position.getErrorIndex() || position.getIndex() < text.length()) {
+
+            return null;
+
+        }
+
+        // 書式が正しく、値の範囲のみが不正な場合に限り例外が発生する
+        try {
+
+            return formatter.parse(text, query);
+
+        } catch (DateTimeException e) {
+
+            return null;
+
+        }
+
+    }
+
+    /**
+     * 10進数の数字列を読み取る．
+     *
+     * @param text 文字列
+     * @param from 開始位置
+     * @param count 桁数
+     * @return 値．数字以外の文字を含む場合は負数
+     */
+    private static int readDigits(CharSequence text, int from, int count) {
+
+        int value = 0;
+
+        int invalid = 0;
+
+        for (int i = from; i < from + count; i++) {
+
+            final int digit = text.charAt(i) - '0';
+
+            invalid |= digit | (9 - digit);
+
+            value = value * 10 + digit;
+
+        }
+
+        return (invalid < 0) ? -1 : value;
+
+    }
+
+    /**
+     * 0埋めした10進数の数字列を追記する．
+     *
+     * @param out 追記先
+     * @param count 桁数
+     * @param value 値
+     * @return 追記先
+     */
+    private static StringBuilder appendDigits(StringBuilder out, int count, int value) {
+
+        for (int divisor = pow10(count - 1); 0 < divisor; divisor /= 10) {
+
+            out.append((char) ('0' + value / divisor % 10));
+
+        }
+
+        return out;
+
+    }
+
+    /**
+     * 10のべき乗を返却する．
+     *
+     * @param exponent 指数
+     * @return 10のexponent乗
+     */
+    private static int pow10(int exponent) {
+
+        int result = 1;
+
+        for (int i = 0; i < exponent; i++) {
+
+            result *= 10;
+
+        }
+
+        return result;
+
+    }
+
+}
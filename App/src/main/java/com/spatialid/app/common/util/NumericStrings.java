@@ -0,0 +1,178 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.util;
+
+/**
+ * 文字列が数値の書式に合致するかを、正規表現を使わずに1文字ずつ走査して判定するユーティリティクラス．
+ * <p>
+ * 各メソッドは{@link CommonUtils}の数値チェックで使用していた正規表現と同じ結果を返却する．数字はASCIIの0～9のみとする．
+ * </p>
+ *
+ * @version 1.1 2026/10/18
+ */
+public final class NumericStrings {
+
+    /**
+     * プライベートコンストラクタ<br>
+     * ユーティリティクラスのため、インスタンス化を禁じる．
+     */
+    private NumericStrings() {
+
+    }
+
+    /**
+     * 整数か判定する．正規表現"^[0-9]+$|-[0-9]+$"と同等．
+     *
+     * @param text 検査文字列
+     * @return 1桁以上の数字、または"-"に続く1桁以上の数字の場合はtrue
+     */
+    public static boolean isInteger(CharSequence text) {
+
+        final int start = (0 < text.length() && text.charAt(0) == '-') ? 1 : 0;
+
+        return isDigits(text, start, text.length());
+
+    }
+
+    /**
+     * 符号なしの整数か判定する．正規表現"^[0-9]+$"と同等．
+     *
+     * @param text 検査文字列
+     * @return 1桁以上の数字のみで構成される場合はtrue
+     */
+    public static boolean isUnsignedInteger(CharSequence text) {
+
+        return isDigits(text, 0, text.length());
+
+    }
+
+    /**
+     * 1以上の整数か判定する．正規表現"^[1-9]\d*$"と同等．
+     *
+     * @param text 検査文字列
+     * @return 先頭が1～9で、以降が数字のみで構成される場合はtrue
+     */
+    public static boolean isWholeNumber(CharSequence text) {
+
+        if (text.length() == 0) {
+
+            return false;
+
+        }
+
+        final char first = text.charAt(0);
+
+        return '1' <= first && first <= '9' && (text.length() == 1 || isDigits(text, 1, text.length()));
+
+    }
+
+    /**
+     * 10進数の数値か判定する．正規表現"^[+,-]?([1-9]\d*|0)(\.\d+)?$"と同等．
+     * <p>
+     * 正規表現の文字クラスに合わせ、先頭の","も符号として受け付ける．
+     * </p>
+     *
+     * @param text 検査文字列
+     * @return 数値の場合はtrue
+     */
+    public static boolean isDecimal(CharSequence text) {
+
+        final int length = text.length();
+
+        int position = 0;
+
+        if (position < length && isSign(text.charAt(position))) {
+
+            position++;
+
+        }
+
+        if (length <= position) {
+
+            return false;
+
+        }
+
+        final char first = text.charAt(position++);
+
+        if (first != '0') {
+
+            if (first < '1' || '9' < first) {
+
+                return false;
+
+            }
+
+            while (position < length && isDigit(text.charAt(position))) {
+
+                position++;
+
+            }
+
+        }
+
+        if (position == length) {
+
+            return true;
+
+        }
+
+        return text.charAt(position) == '.' && isDigits(text, position + 1, length);
+
+    }
+
+    /**
+     * 指定範囲が1文字以上の数字のみで構成されるか判定する．
+     *
+     * @param text 検査文字列
+     * @param from 開始位置
+     * @param to 終了位置(この位置を含まない)
+     * @return 数字のみで構成される場合はtrue
+     */
+    private static boolean isDigits(CharSequence text, int from, int to) {
+
+        if (to <= from) {
+
+            return false;
+
+        }
+
+        for (int i = from; i < to; i++) {
+
+            if (!isDigit(text.charAt(i))) {
+
+                return false;
+
+            }
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * 数字か判定する．
+     *
+     * @param c 文字
+     * @return ASCIIの0～9の場合はtrue
+     */
+    private static boolean isDigit(char c) {
+
+        return '0' <= c && c <= '9';
+
+    }
+
+    /**
+     * 符号として受け付ける文字か判定する．
+     *
+     * @param c 文字
+     * @return "+"、","、"-"の場合はtrue
+     */
+    private static boolean isSign(char c) {
+
+        return c == '+' || c == ',' || c == '-';
+
+    }
+
+}
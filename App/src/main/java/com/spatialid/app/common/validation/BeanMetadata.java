@@ -0,0 +1,407 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.validation;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+
+/**
+ * バリデーション対象クラスのプロパティおよびフィールドの読み取り手段を、クラスごとに1度だけ解決して保持するクラス．
+ * <p>
+ * getterは初回参照時に{@link LambdaMetafactory}で生成した関数として保持し、以降はリフレクションを介さずに呼び出す．<br>
+ * 関数を生成できない場合は{@link MethodHandle}経由で呼び出す．<br>
+ * 宣言フィールドは初回参照時に{@link MethodHandle}として解決する．<br>
+ * {@link com.spatialid.app.common.validation.processor.ConstraintAccessorProcessor}が生成した
+ * {@link GeneratedConstraintAccessor}が存在する場合は、バリデータはそちらを優先して使用する．
+ * </p>
+ * <p>
+ * クラスごとの情報は{@link ClassValue}で保持する．スレッドセーフである．<br>
+ * 保持する情報は対象クラス、生成した関数および{@link MethodHandle}を強参照するため、
+ * 対象クラスのアンロードを妨げないことは保証しない．
+ * </p>
+ *
+ * @version 1.1 2026/10/17
+ */
+public final class BeanMetadata {
+
+    /**
+     * クラスごとの情報．
+     */
+    private static final ClassValue<BeanMetadata> CACHE = new ClassValue<BeanMetadata>() {
+
+        @Override
+        protected BeanMetadata computeValue(Class<?> type) {
+
+            return new BeanMetadata(type);
+
+        }
+
+    };
+
+    /**
+     * 生成するgetterの型．
+     */
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * 対象クラス．
+     */
+    private final Class<?> type;
+
+    /**
+     * "class"を除く読み取り可能なプロパティのgetter．プロパティ記述子の順に保持する．
+     */
+    private final Map<String, Function<Object, Object>> getters;
+
+    /**
+     * "class"を除く読み取り可能なプロパティ名．プロパティ記述子の順に保持する．
+     */
+    private final String[] readablePropertyNames;
+
+    /**
+     * "class"を除くプロパティ数．書き込み専用のプロパティを含む．
+     */
+    private final int propertyCount;
+
+    /**
+     * コンパイル時に生成された読み取りクラス．存在しない場合はnull．
+     */
+    private final GeneratedConstraintAccessor generated;
+
+    /**
+     * 生成された読み取りクラスのプロパティ一覧が、プロパティ記述子と一致するか．
+     */
+    private final boolean generatedPropertiesMatch;
+
+    /**
+     * 宣言フィールドの読み取り手段．存在しない、または読み取れないフィールドは空とする．
+     */
+    private final Map<String, Optional<MethodHandle>> fields = new ConcurrentHashMap<String, Optional<MethodHandle>>();
+
+    private BeanMetadata(Class<?> type) {
+
+        this.type = type;
+
+        final PropertyDescriptor[] propertyDescriptors = BeanUtils.getPropertyDescriptors(type);
+
+        final Map<String, Function<Object, Object>> readable = new LinkedHashMap<String, Function<Object, Object>>();
+
+        int count = 0;
+
+        for (PropertyDescriptor propertyDescriptor : propertyDescriptors) {
+
+            final String propertyName = propertyDescriptor.getName();
+
+            if ("class".equals(propertyName)) {
+
+                continue;
+
+            }
+
+            count++;
+
+            if (propertyDescriptor.getReadMethod() != null) {
+
+                readable.put(propertyName, resolveGetter(propertyName, propertyDescriptor.getReadMethod()));
+
+            }
+
+        }
+
+        this.getters = Collections.unmodifiableMap(readable);
+
+        this.readablePropertyNames = readable.keySet().toArray(new String[0]);
+
+        this.propertyCount = count;
+
+        this.generated = loadGenerated(type);
+
+        // 生成時のプロパティの解釈がSpringと異なる場合は、生成クラスのプロパティ一覧を使用しない
+        this.generatedPropertiesMatch = generated != null
+                && Arrays.equals(generated.readablePropertyNames(), readablePropertyNames)
+                && generated.propertyCount() == propertyCount;
+
+    }
+
+    /**
+     * クラスの情報を取得する．
+     *
+     * @param type 対象クラス
+     * @return クラスの情報
+     */
+    public static BeanMetadata of(Class<?> type) {
+
+        return CACHE.get(type);
+
+    }
+
+    /**
+     * プロパティの値を取得する．
+     * <p>
+     * ネストしたプロパティ("a.b")や存在しないプロパティは{@link BeanWrapperImpl}で解決するため、
+     * 従来と同じ値または例外となる．
+     * </p>
+     *
+     * @param bean 対象オブジェクト
+     * @param propertyName プロパティ名
+     * @return プロパティの値
+     */
+    public Object getPropertyValue(Object bean, String propertyName) {
+
+        final Function<Object, Object> getter = getters.get(propertyName);
+
+        if (getter == null) {
+
+            return new BeanWrapperImpl(bean).getPropertyValue(propertyName);
+
+        }
+
+        return getter.apply(bean);
+
+    }
+
+    /**
+     * 宣言フィールドの値を取得する．継承したフィールドは対象外とする．
+     *
+     * @param bean 対象オブジェクト
+     * @param fieldName フィールド名
+     * @return フィールドの値
+     * @throws NoSuchFieldException フィールドが存在しない、または読み取れない場合
+     */
+    public Object getFieldValue(Object bean, String fieldName) throws NoSuchFieldException {
+
+        final Optional<MethodHandle> handle = fields.computeIfAbsent(fieldName, this::resolveField);
+
+        if (handle.isEmpty()) {
+
+            throw new NoSuchFieldException(fieldName);
+
+        }
+
+        return invoke(handle.get(), bean);
+
+    }
+
+    /**
+     * 生成された読み取りクラスで{@link CheckCrossFieldConditions}の検査対象の値を読み取る．
+     *
+     * @param bean 対象オブジェクト
+     * @return 値の配列．並びは{@link GeneratedConstraintAccessor#crossFieldValues(Object)}を参照．生成されていない場合はnull
+     */
+    public Object[] getGeneratedCrossFieldValues(Object bean) {
+
+        return generated == null ? null : generated.crossFieldValues(bean);
+
+    }
+
+    /**
+     * 生成された読み取りクラスで{@link CheckFieldExist}の検査対象のフィールドの値を読み取る．
+     *
+     * @param bean 対象オブジェクト
+     * @return {@link CheckFieldExist#fields()}の順の値の配列．生成されていない場合はnull
+     */
+    public Object[] getGeneratedFieldExistValues(Object bean) {
+
+        return generated == null ? null : generated.fieldExistValues(bean);
+
+    }
+
+    /**
+     * 生成された読み取りクラスで"class"を除く読み取り可能なプロパティの値を読み取る．
+     *
+     * @param bean 対象オブジェクト
+     * @return {@link #getReadablePropertyNames()}の順の値の配列．生成されていない、またはプロパティ一覧が一致しない場合はnull
+     */
+    public Object[] getGeneratedReadablePropertyValues(Object bean) {
+
+        return generatedPropertiesMatch ? generated.readablePropertyValues(bean) : null;
+
+    }
+
+    /**
+     * "class"を除く読み取り可能なプロパティ名を返却する．
+     *
+     * @return プロパティ名の配列．プロパティ記述子の順に並ぶ
+     */
+    public String[] getReadablePropertyNames() {
+
+        return readablePropertyNames.clone();
+
+    }
+
+    /**
+     * "class"を除く読み取り可能なプロパティのgetterを返却する．
+     *
+     * @return プロパティ名とgetterのマップ．プロパティ記述子の順に列挙される
+     */
+    public Map<String, Function<Object, Object>> getReadableProperties() {
+
+        return getters;
+
+    }
+
+    /**
+     * "class"を除くプロパティ数を返却する．
+     *
+     * @return プロパティ数．書き込み専用のプロパティを含む
+     */
+    public int getPropertyCount() {
+
+        return propertyCount;
+
+    }
+
+    /**
+     * getterを関数に変換する．
+     *
+     * @param propertyName プロパティ名
+     * @param readMethod getter
+     * @return 関数
+     */
+    private Function<Object, Object> resolveGetter(String propertyName, Method readMethod) {
+
+        final MethodHandles.Lookup lookup;
+
+        final MethodHandle handle;
+
+        try {
+
+            lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+
+            handle = lookup.unreflect(readMethod);
+
+        } catch (IllegalAccessException | RuntimeException e) {
+
+            // 解決できないgetterは従来通りBeanWrapperで読み取る
+            return bean -> new BeanWrapperImpl(bean).getPropertyValue(propertyName);
+
+        }
+
+        try {
+
+            final MethodType instantiatedType = MethodType.methodType(
+                    MethodType.methodType(handle.type().returnType()).wrap().returnType(), handle.type().parameterType(0));
+
+            final CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+                    GETTER_TYPE, handle, instantiatedType);
+
+            @SuppressWarnings("unchecked")
+            final Function<Object, Object> getter = (Function<Object, Object>) callSite.getTarget().invoke();
+
+            return getter;
+
+        } catch (Throwable e) {
+
+            final MethodHandle generic = handle.asType(GETTER_TYPE);
+
+            return bean -> invoke(generic, bean);
+
+        }
+
+    }
+
+    /**
+     * コンパイル時に生成された読み取りクラスを読み込む．
+     *
+     * @param type 対象クラス
+     * @return 読み取りクラス．存在しない場合はnull
+     */
+    private static GeneratedConstraintAccessor loadGenerated(Class<?> type) {
+
+        try {
+
+            final Class<?> accessorClass = Class.forName(
+                    GeneratedConstraintAccessor.accessorClassName(type.getName()), true, type.getClassLoader());
+
+            if (!GeneratedConstraintAccessor.class.isAssignableFrom(accessorClass)) {
+
+                return null;
+
+            }
+
+            return (GeneratedConstraintAccessor) accessorClass.getDeclaredConstructor().newInstance();
+
+        } catch (ReflectiveOperationException | LinkageError e) {
+
+            return null;
+
+        }
+
+    }
+
+    /**
+     * 宣言フィールドの読み取り手段を解決する．
+     *
+     * @param fieldName フィールド名
+     * @return 読み取り手段．存在しない、または読み取れない場合は空
+     */
+    private Optional<MethodHandle> resolveField(String fieldName) {
+
+        try {
+
+            final Field field = type.getDeclaredField(fieldName);
+
+            field.setAccessible(true);
+
+            MethodHandle handle = MethodHandles.lookup().unreflectGetter(field);
+
+            if (Modifier.isStatic(field.getModifiers())) {
+
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+
+            }
+
+            return Optional.of(handle.asType(GETTER_TYPE));
+
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+
+            return Optional.empty();
+
+        }
+
+    }
+
+    /**
+     * {@link #GETTER_TYPE}型のハンドルを呼び出す．
+     *
+     * @param handle ハンドル
+     * @param bean 対象オブジェクト
+     * @return 呼び出し結果
+     */
+    private static Object invoke(MethodHandle handle, Object bean) {
+
+        try {
+
+            return handle.invokeExact(bean);
+
+        } catch (RuntimeException | Error e) {
+
+            throw e;
+
+        } catch (Throwable e) {
+
+            throw new UndeclaredThrowableException(e);
+
+        }
+
+    }
+
+}
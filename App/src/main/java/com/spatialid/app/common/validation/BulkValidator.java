@@ -0,0 +1,305 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.validation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.spatialid.app.common.exception.subexception.ParamErrorException;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * 一括登録等で受け取る大量の要素を、分割して並列にバリデーションするクラス．
+ * <p>
+ * 要素は一定数ごとのチャンクに分割して{@link ForkJoinPool}で検査し、違反が上限件数に達した時点で以降の検査を打ち切る．<br>
+ * 違反は要素の位置順、要素内はプロパティパス順に並べ、先頭から上限件数までを返却する．
+ * チャンクの打ち切りは上限件数に達したチャンクより後方のみで行うため、結果は並列度や実行順によらず一定となる．
+ * </p>
+ * <p>
+ * 各要素の検査は{@link Validator}にグループを渡して行うため、既定の{@link Sequence}を指定した場合は要素ごとに
+ * {@link Groups}の順で検査され、違反したグループ以降は検査されない．
+ * </p>
+ * <p>
+ * 違反のキーはSpringの{@link org.springframework.validation.FieldError}と同じ"プロパティ名[位置].プロパティパス"形式とする．
+ * </p>
+ *
+ * @version 1.1 2026/10/18
+ */
+public class BulkValidator {
+
+    /**
+     * 既定の違反の上限件数．
+     */
+    public static final int DEFAULT_MAX_ERRORS = 20;
+
+    /**
+     * 既定のチャンクの要素数．
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    /**
+     * 違反をプロパティパス、メッセージの順に並べる比較器．
+     */
+    private static final Comparator<ConstraintViolation<?>> VIOLATION_ORDER = Comparator
+            .comparing((ConstraintViolation<?> violation) -> String.valueOf(violation.getPropertyPath()))
+            .thenComparing(violation -> String.valueOf(violation.getMessage()));
+
+    private final Validator validator;
+
+    private final int maxErrors;
+
+    private final int chunkSize;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * 既定の上限件数、チャンクの要素数で、共通プールを使用して生成する．
+     *
+     * @param validator バリデータ
+     */
+    public BulkValidator(Validator validator) {
+
+        this(validator, DEFAULT_MAX_ERRORS);
+
+    }
+
+    /**
+     * 既定のチャンクの要素数で、共通プールを使用して生成する．
+     *
+     * @param validator バリデータ
+     * @param maxErrors 違反の上限件数
+     */
+    public BulkValidator(Validator validator, int maxErrors) {
+
+        this(validator, maxErrors, DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+
+    }
+
+    /**
+     * 生成する．
+     *
+     * @param validator バリデータ
+     * @param maxErrors 違反の上限件数
+     * @param chunkSize チャンクの要素数
+     * @param pool 検査に使用するプール
+     * @throws IllegalArgumentException 上限件数またはチャンクの要素数が1未満の場合
+     */
+    public BulkValidator(Validator validator, int maxErrors, int chunkSize, ForkJoinPool pool) {
+
+        if (maxErrors < 1 || chunkSize < 1) {
+
+            throw new IllegalArgumentException("maxErrors and chunkSize must be positive");
+
+        }
+
+        this.validator = validator;
+
+        this.maxErrors = maxErrors;
+
+        this.chunkSize = chunkSize;
+
+        this.pool = pool;
+
+    }
+
+    /**
+     * 要素を{@link Sequence}の順に検査し、違反が存在した場合は例外を送出する．
+     *
+     * @param <T> 要素の型
+     * @param propertyName 要素のリストのプロパティ名
+     * @param elements 要素のリスト
+     * @throws ParamErrorException 違反が存在した場合．上限件数までの違反を保持する
+     */
+    public <T> void validate(String propertyName, List<T> elements) {
+
+        validate(propertyName, elements, Sequence.class);
+
+    }
+
+    /**
+     * 要素を指定したグループで検査し、違反が存在した場合は例外を送出する．
+     *
+     * @param <T> 要素の型
+     * @param propertyName 要素のリストのプロパティ名
+     * @param elements 要素のリスト
+     * @param groups グループ
+     * @throws ParamErrorException 違反が存在した場合．上限件数までの違反を保持する
+     */
+    public <T> void validate(String propertyName, List<T> elements, Class<?>... groups) {
+
+        final Map<String, String> errors = collectErrors(propertyName, elements, groups);
+
+        if (!errors.isEmpty()) {
+
+            throw new ParamErrorException(errors);
+
+        }
+
+    }
+
+    /**
+     * 要素を指定したグループで検査し、違反を収集する．
+     *
+     * @param <T> 要素の型
+     * @param propertyName 要素のリストのプロパティ名
+     * @param elements 要素のリスト
+     * @param groups グループ
+     * @return 違反のキーと不正な値のマップ．要素の位置順に上限件数まで格納する．違反が無い場合は空
+     */
+    public <T> Map<String, String> collectErrors(String propertyName, List<T> elements, Class<?>... groups) {
+
+        // 位置による参照を繰り返すため、ランダムアクセスできないリストは複製する
+        final List<T> list = (elements instanceof RandomAccess) ? elements : new ArrayList<T>(elements);
+
+        final int chunkCount = (list.size() + chunkSize - 1) / chunkSize;
+
+        final List<Map<String, String>> chunkErrors = new ArrayList<Map<String, String>>(chunkCount);
+
+        for (int i = 0; i < chunkCount; i++) {
+
+            chunkErrors.add(new LinkedHashMap<String, String>());
+
+        }
+
+        final AtomicInteger saturatedChunk = new AtomicInteger(Integer.MAX_VALUE);
+
+        if (chunkCount <= 1) {
+
+            // 分割の必要が無い場合は呼び出し元のスレッドで検査する
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+
+                validateChunk(propertyName, list, groups, chunk, chunkErrors.get(chunk), saturatedChunk);
+
+            }
+
+        } else {
+
+            pool.invoke(new RecursiveAction() {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected void compute() {
+
+                    final List<RecursiveAction> tasks = new ArrayList<RecursiveAction>(chunkCount);
+
+                    for (int chunk = 0; chunk < chunkCount; chunk++) {
+
+                        final int index = chunk;
+
+                        tasks.add(new RecursiveAction() {
+
+                            private static final long serialVersionUID = 1L;
+
+                            @Override
+                            protected void compute() {
+
+                                validateChunk(propertyName, list, groups, index, chunkErrors.get(index), saturatedChunk);
+
+                            }
+
+                        });
+
+                    }
+
+                    invokeAll(tasks);
+
+                }
+
+            });
+
+        }
+
+        final Map<String, String> errors = new LinkedHashMap<String, String>();
+
+        // キーは要素の位置を含むため、チャンク間で重複しない
+        for (Map<String, String> chunk : chunkErrors) {
+
+            for (Map.Entry<String, String> error : chunk.entrySet()) {
+
+                if (maxErrors <= errors.size()) {
+
+                    return errors;
+
+                }
+
+                errors.put(error.getKey(), error.getValue());
+
+            }
+
+        }
+
+        return errors;
+
+    }
+
+    /**
+     * チャンク内の要素を検査する．
+     * <p>
+     * 自身より前方のチャンクが上限件数に達している場合、自身の違反は結果に含まれないため検査を打ち切る．
+     * </p>
+     *
+     * @param <T> 要素の型
+     * @param propertyName 要素のリストのプロパティ名
+     * @param elements 要素のリスト
+     * @param groups グループ
+     * @param chunk チャンクの位置
+     * @param errors 違反の出力先．同じキーの違反は先頭のみを格納する
+     * @param saturatedChunk 上限件数に達したチャンクの最小の位置
+     */
+    private <T> void validateChunk(String propertyName, List<T> elements, Class<?>[] groups, int chunk, Map<String, String> errors,
+            AtomicInteger saturatedChunk) {
+
+        final int end = Math.min(elements.size(), (chunk + 1) * chunkSize);
+
+        for (int i = chunk * chunkSize; i < end; i++) {
+
+            if (saturatedChunk.get() < chunk) {
+
+                return;
+
+            }
+
+            // nullの要素は@Validによるカスケード検査と同様に検査対象外とする
+            if (elements.get(i) == null) {
+
+                continue;
+
+            }
+
+            final List<ConstraintViolation<T>> violations = new ArrayList<ConstraintViolation<T>>(validator.validate(elements.get(i), groups));
+
+            violations.sort(VIOLATION_ORDER);
+
+            for (ConstraintViolation<T> violation : violations) {
+
+                final String path = String.valueOf(violation.getPropertyPath());
+
+                final String key = propertyName + "[" + i + "]" + (path.isEmpty() ? "" : "." + path);
+
+                errors.putIfAbsent(key, String.valueOf(violation.getInvalidValue()));
+
+            }
+
+            if (maxErrors <= errors.size()) {
+
+                saturatedChunk.accumulateAndGet(chunk, Math::min);
+
+                return;
+
+            }
+
+        }
+
+    }
+
+}
@@ -2,13 +2,10 @@
 
 package com.spatialid.app.common.validation;
 
-import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
+import java.util.Map;
+import java.util.function.Function;
 
 import com.spatialid.app.common.util.CommonUtils;
 
@@ -33,38 +30,30 @@ public class CheckAtLeastOneFieldValidator implements ConstraintValidator<CheckA
     @Override
     public boolean isValid(Object annotatedClass, ConstraintValidatorContext context) {
         
-        final BeanWrapper beanWrapper = new BeanWrapperImpl(annotatedClass);
+        // 各プロパティの読み取り手段を取得(クラスごとに初回のみ解決される)
+        final BeanMetadata metadata = BeanMetadata.of(annotatedClass.getClass());
         
-        // 各プロパティの情報を取得
-        final PropertyDescriptor[] propertyDescriptors = beanWrapper.getPropertyDescriptors();
+        // 無効な値を持つフィールドの名前をリスト形式で取得する
+        final List<String> emptyFieldsList = new ArrayList<String>();
         
-        // 無効な値を持つフィールドの名前と値をマップ形式で取得する
-        final List<String> emptyFieldsList = Stream.of(propertyDescriptors)
-                .filter(propertyDescriptor -> !("class".equals(propertyDescriptor.getName())))
-                .map(propertyDescriptor -> {
-                    
-                    // プロパティ名を取得
-                    final String propertyName = propertyDescriptor.getName();
-                    
-                    // 対象プロパティにGetterが存在することを確認
-                    if (beanWrapper.isReadableProperty(propertyName)) {
-                        
-                        final Object propertyValue = beanWrapper.getPropertyValue(propertyName);
-                        
-                        if (CommonUtils.isEmpty(propertyValue)) {
-                            
-                            // プロパティ名を返却
-                            return propertyName;
-                            
-                        }
-                                                
-                    }
-                    
-                    return null;
-
-                })
-                .filter(fieldName -> fieldName != null)
-                .collect(Collectors.toList());
+        // コンパイル時に読み取りクラスが生成されている場合は、プロパティ記述子の順に値をまとめて読み取る
+        final Object[] generatedValues = metadata.getGeneratedReadablePropertyValues(annotatedClass);
+        
+        int index = 0;
+        
+        for (Map.Entry<String, Function<Object, Object>> property : metadata.getReadableProperties().entrySet()) {
+            
+            final Object propertyValue = (generatedValues != null) ? generatedValues[index] : property.getValue().apply(annotatedClass);
+            
+            if (CommonUtils.isEmpty(propertyValue)) {
+                
+                emptyFieldsList.add(property.getKey());
+                
+            }
+            
+            index++;
+            
+        }
         
         context.disableDefaultConstraintViolation();
         
@@ -76,7 +65,7 @@ public class CheckAtLeastOneFieldValidator implements ConstraintValidator<CheckA
             .forEach(e -> {});
         
         // 無効な値を持つフィールド <= 総フィールド数[総プロパティ数 - クラス情報]がtrue = 少なくとも1つのフィールドは設定されている 
-        return (emptyFieldsList.size() < (propertyDescriptors.length - 1));
+        return (emptyFieldsList.size() < metadata.getPropertyCount());
         
     }
         
@@ -4,9 +4,9 @@ package com.spatialid.app.common.validation;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-import org.springframework.beans.BeanWrapperImpl;
 import com.spatialid.app.common.util.CommonUtils;
 
 import jakarta.validation.ConstraintValidator;
@@ -46,11 +46,17 @@ public class CheckCrossFieldConditionsValidator implements ConstraintValidator<C
         
         final List<Boolean> validationResults = new ArrayList<Boolean>();
         
+        // プロパティの読み取り手段はクラスごとに初回のみ解決される
+        final BeanMetadata metadata = BeanMetadata.of(annotatedClass.getClass());
+        
+        // コンパイル時に読み取りクラスが生成されている場合は、検査対象の値をまとめて読み取る
+        final Object[] generatedValues = metadata.getGeneratedCrossFieldValues(annotatedClass);
+        
         context.disableDefaultConstraintViolation();
         
-        validationResults.add(checkXorFields(annotatedClass, context));
+        validationResults.add(checkXorFields(annotatedClass, metadata, generatedValues, context));
         
-        validationResults.add(checkConditionalMandatory(annotatedClass, context));
+        validationResults.add(checkConditionalMandatory(annotatedClass, metadata, generatedValues, context));
                 
         return validationResults.stream()
                 .allMatch(Boolean::booleanValue);
@@ -68,17 +74,26 @@ public class CheckCrossFieldConditionsValidator implements ConstraintValidator<C
      * </p>
      * 
      * @param annotatedClass コンテナアノテーションが付与されているクラス．
+     * @param metadata コンテナアノテーションが付与されているクラスの情報
+     * @param generatedValues 生成された読み取りクラスで読み取った値．生成されていない場合はnull
      * @param context {@link ConstraintValidatorContext}
      * @return バリデーション違反となったアノテーションクラス
      */
-    private boolean checkConditionalMandatory(Object annotatedClass, ConstraintValidatorContext context) {
+    private boolean checkConditionalMandatory(Object annotatedClass, BeanMetadata metadata, Object[] generatedValues,
+            ConstraintValidatorContext context) {
         
         try {
             
-            final ConditionalMandatory[] violatedAnnotations = Stream.of(conditionalMandatories)
-                    .filter(conditionalMandatory -> {
+            // 生成された読み取りクラスの値は、XorFieldsの値に続いて並ぶ
+            final int offset = xorFields.length * 2;
+            
+            final ConditionalMandatory[] violatedAnnotations = IntStream.range(0, conditionalMandatories.length)
+                    .filter(index -> {
                         
-                        Object conditionalField = new BeanWrapperImpl(annotatedClass).getPropertyValue(conditionalMandatory.conditionalField());
+                        final ConditionalMandatory conditionalMandatory = conditionalMandatories[index];
+                        
+                        Object conditionalField = readProperty(annotatedClass, metadata, generatedValues,
+                                offset + index * 2, conditionalMandatory.conditionalField());
                                                 
                         if (CommonUtils.isEmpty(conditionalField)) {
                             
@@ -86,11 +101,13 @@ public class CheckCrossFieldConditionsValidator implements ConstraintValidator<C
                             
                         }
                         
-                        Object mandatoryField = new BeanWrapperImpl(annotatedClass).getPropertyValue(conditionalMandatory.mandatoryField());
+                        Object mandatoryField = readProperty(annotatedClass, metadata, generatedValues,
+                                offset + index * 2 + 1, conditionalMandatory.mandatoryField());
                         
                         return CommonUtils.isEmpty(mandatoryField);
                         
                     })
+                    .mapToObj(index -> conditionalMandatories[index])
                     .peek(violatedAnnotation -> setContext(context,
                             new String[] { violatedAnnotation.conditionalField(), violatedAnnotation.mandatoryField() }))
                     .toArray(ConditionalMandatory[]::new);
@@ -116,23 +133,31 @@ public class CheckCrossFieldConditionsValidator implements ConstraintValidator<C
      * </p>
      * 
      * @param annotatedClass コンテナアノテーションが付与されているクラス．
+     * @param metadata コンテナアノテーションが付与されているクラスの情報
+     * @param generatedValues 生成された読み取りクラスで読み取った値．生成されていない場合はnull
      * @param context {@link ConstraintValidatorContext}
      * @return バリデーション違反となったアノテーションクラス
      */
-    private boolean checkXorFields(Object annotatedClass, ConstraintValidatorContext context) {
+    private boolean checkXorFields(Object annotatedClass, BeanMetadata metadata, Object[] generatedValues,
+            ConstraintValidatorContext context) {
         
         try {
             
-            final XorFields[] violatedAnnotations = Stream.of(xorFields)
-                    .filter(xorField -> {
+            final XorFields[] violatedAnnotations = IntStream.range(0, xorFields.length)
+                    .filter(index -> {
+                        
+                        final XorFields xorField = xorFields[index];
                         
-                        Object firstField = new BeanWrapperImpl(annotatedClass).getPropertyValue(xorField.firstFieldName());
+                        Object firstField = readProperty(annotatedClass, metadata, generatedValues,
+                                index * 2, xorField.firstFieldName());
                         
-                        Object secondField = new BeanWrapperImpl(annotatedClass).getPropertyValue(xorField.secondFieldName());
+                        Object secondField = readProperty(annotatedClass, metadata, generatedValues,
+                                index * 2 + 1, xorField.secondFieldName());
                         
                         return (CommonUtils.isEmpty(firstField)) == (CommonUtils.isEmpty(secondField));
                         
                     })
+                    .mapToObj(index -> xorFields[index])
                     .peek(violatedAnnotation -> setContext(context,
                             new String[] { violatedAnnotation.firstFieldName(), violatedAnnotation.secondFieldName() }))
                     .toArray(XorFields[]::new);
@@ -147,6 +172,28 @@ public class CheckCrossFieldConditionsValidator implements ConstraintValidator<C
 
     }
     
+    /**
+     * プロパティの値を読み取る．生成された読み取りクラスの値が存在する場合はそれを使用する．
+     * 
+     * @param annotatedClass コンテナアノテーションが付与されているクラス．
+     * @param metadata コンテナアノテーションが付与されているクラスの情報
+     * @param generatedValues 生成された読み取りクラスで読み取った値．生成されていない場合はnull
+     * @param index 生成された読み取りクラスの値の位置
+     * @param propertyName プロパティ名
+     * @return プロパティの値
+     */
+    private Object readProperty(Object annotatedClass, BeanMetadata metadata, Object[] generatedValues, int index, String propertyName) {
+        
+        if (generatedValues != null) {
+            
+            return generatedValues[index];
+            
+        }
+        
+        return metadata.getPropertyValue(annotatedClass, propertyName);
+        
+    }
+    
     /**
      * {@link BindingResult}などで参照可能なバリデーション違反となったフィールドを設定する．
      * 
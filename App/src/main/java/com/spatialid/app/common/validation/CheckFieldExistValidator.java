@@ -2,8 +2,6 @@
 
 package com.spatialid.app.common.validation;
 
-import java.lang.reflect.Field;
-
 import org.apache.commons.lang3.StringUtils;
 
 import com.fasterxml.jackson.databind.node.NullNode;
@@ -52,11 +50,16 @@ public class CheckFieldExistValidator implements ConstraintValidator<CheckFieldE
             return false;
         }
 
+        // フィールドの読み取り手段はクラスごとに初回のみ解決される
+        BeanMetadata metadata = BeanMetadata.of(obj.getClass());
+
+        // コンパイル時に読み取りクラスが生成されている場合は、フィールドの値をまとめて読み取る
+        Object[] generatedValues = metadata.getGeneratedFieldExistValues(obj);
+
         try {
-            for (String fieldName : fields) {
-                Field field = obj.getClass().getDeclaredField(fieldName);
-                field.setAccessible(true);
-                Object value = field.get(obj);
+            for (int i = 0; i < fields.length; i++) {
+                String fieldName = fields[i];
+                Object value = (generatedValues != null) ? generatedValues[i] : metadata.getFieldValue(obj, fieldName);
 
                 // JsonがTextNode("")の場合、Stringに変換
                 if (value instanceof TextNode) {
@@ -80,7 +83,7 @@ public class CheckFieldExistValidator implements ConstraintValidator<CheckFieldE
                 }
             }
 
-        } catch (NoSuchFieldException | IllegalAccessException e) {
+        } catch (NoSuchFieldException e) {
 
             return false;
         }
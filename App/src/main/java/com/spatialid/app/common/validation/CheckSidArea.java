@@ -39,4 +39,10 @@ public @interface CheckSidArea {
     
     int upperLimit();
     
+    /**
+     * 重複・包含関係にある空間IDを除外して面積を算出するかを指定する．<br>
+     * trueの場合、標高を除いた水平方向の重なりを除去するため、実際に覆われる面積で判定される．
+     */
+    boolean excludeOverlap() default false;
+    
 }
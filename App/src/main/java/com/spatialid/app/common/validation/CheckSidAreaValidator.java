@@ -2,11 +2,17 @@
 
 package com.spatialid.app.common.validation;
 
-import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.List;
 
 import org.springframework.util.CollectionUtils;
 
+import com.spatialid.app.common.spatialid.PackedSpatialId;
+import com.spatialid.app.common.spatialid.PackedSpatialIdList;
+import com.spatialid.app.common.spatialid.SpatialId;
+import com.spatialid.app.common.spatialid.SpatialIdAreaCounter;
+import com.spatialid.app.common.spatialid.SpatialIdHierarchy;
+
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import lombok.NoArgsConstructor;
@@ -31,16 +37,25 @@ public class CheckSidAreaValidator implements ConstraintValidator<CheckSidArea,
      */
     private int upperLimit;
     
+    /**
+     * 重複・包含関係にある空間IDを除外するか．
+     */
+    private boolean excludeOverlap;
+    
     @Override
     public void initialize(CheckSidArea annotation) {
         
         this.lowerLimit = annotation.lowerLimit();
         this.upperLimit = annotation.upperLimit();
+        this.excludeOverlap = annotation.excludeOverlap();
         
     }
 
     /**
      * 空間ID面積チェックを行うメソッド
+     * <p>
+     * ズームレベルzの空間IDを4^(upperLimit - z)として合計し、4^(upperLimit - lowerLimit)を超えた時点でエラーとする．
+     * </p>
      * 
      * @param value   空間ID
      * @param context コンテキストデータ
@@ -55,29 +70,107 @@ public class CheckSidAreaValidator implements ConstraintValidator<CheckSidArea,
             
         }
 
-        // 空間ID合計面積 xSum
-        int xSum = 0;
+        // 空間ID合計面積
+        final SpatialIdAreaCounter counter = new SpatialIdAreaCounter(lowerLimit, upperLimit);
+        
+        if (excludeOverlap) {
+            
+            return isValidExcludingOverlap(value, counter);
+            
+        }
 
-        for (String element : value) {
-            String[] elementSid = element.split("/");
+        if (value instanceof PackedSpatialIdList packedList && packedList.isFullyPacked()) {
+            
+            // 変換済みの空間IDはズームレベルを直接参照する
+            for (int i = 0; i < packedList.size(); i++) {
+                if (!counter.add(PackedSpatialId.zoomLevel(packedList.getPacked(i)))) {
+                    return false;
+                }
+            }
+            
+            return true;
+            
+        }
 
+        for (String element : value) {
+            
             // ズームレベル値のチェック
-            int zoomLevel = Integer.parseInt(elementSid[0]);
+            int zoomLevel = SpatialId.parseZoomLevel(element);
+            if (zoomLevel < 0) {
+                return false;
+            }
 
             // 空間ID面積チェック
-            // xSumを計算
-            BigInteger x = new BigInteger("4");
-            xSum += x.pow(upperLimit - zoomLevel).intValue();
+            // 許容面積を超えた時点でエラー
+            if (!counter.add(zoomLevel)) {
+                return false;
+            }
         }
 
-        // yを計算
-        BigInteger y = new BigInteger("4");
-
-        // xSum > yの場合、エラー
-        if (y.pow(upperLimit - lowerLimit).intValue() < xSum) {
-            return false;
+        return true;
+    }
+    
+    /**
+     * 重複・包含関係にある空間IDを除外して、空間ID面積チェックを行う．
+     * <p>
+     * 面積は水平方向で判定するため、標高を0に揃えた上で重なりを除去する．<br>
+     * 経度・緯度がズームレベルの範囲外である等、重なりを判定できない空間IDは除外せずにズームレベルのみで積算する．
+     * </p>
+     * 
+     * @param value   空間ID
+     * @param counter 面積の積算を行うオブジェクト
+     * @return 許容面積以内の場合、true
+     */
+    private boolean isValidExcludingOverlap(List<String> value, SpatialIdAreaCounter counter) {
+        
+        final long[] footprints = new long[value.size()];
+        
+        int count = 0;
+        
+        if (value instanceof PackedSpatialIdList packedList && packedList.isFullyPacked()) {
+            
+            for (int i = 0; i < packedList.size(); i++) {
+                
+                final long packed = packedList.getPacked(i);
+                
+                footprints[count++] = PackedSpatialId.encode(PackedSpatialId.zoomLevel(packed), 0,
+                        PackedSpatialId.x(packed), PackedSpatialId.y(packed));
+                
+            }
+            
+        } else {
+            
+            final long[] elements = new long[4];
+            
+            for (String element : value) {
+                
+                final long footprint = PackedSpatialId.parseFootprint(element, elements);
+                
+                if (footprint != PackedSpatialId.INVALID) {
+                    
+                    footprints[count++] = footprint;
+                    continue;
+                    
+                }
+                
+                // 重なりを判定できない空間IDはズームレベルのみで積算する
+                int zoomLevel = SpatialId.parseZoomLevel(element);
+                if (zoomLevel < 0 || !counter.add(zoomLevel)) {
+                    return false;
+                }
+                
+            }
+            
         }
-
+        
+        for (long footprint : SpatialIdHierarchy.removeCovered(Arrays.copyOf(footprints, count))) {
+            
+            if (!counter.add(PackedSpatialId.zoomLevel(footprint))) {
+                return false;
+            }
+            
+        }
+        
         return true;
     }
-}
\ No newline at end of file
+}
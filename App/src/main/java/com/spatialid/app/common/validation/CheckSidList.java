@@ -0,0 +1,49 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.validation;
+
+import static java.lang.annotation.ElementType.ANNOTATION_TYPE;
+import static java.lang.annotation.ElementType.CONSTRUCTOR;
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+/**
+ * 空間IDのリストを一括で検査するカスタムバリデータインターフェース．
+ * <p>
+ * 要素ごとの{@link CheckSid}および{@link CheckSidZoomLevel}に代えてリストに付与し、
+ * 書式、ズームレベルの範囲、経度・緯度インデックスの範囲(0以上2^z未満)をまとめて検査する．<br>
+ * リスト自体がnullの場合、およびnullの要素は{@link CheckSid}と同様に許容する．
+ * </p>
+ *
+ * @version 1.1 2026/10/17
+ */
+@Target({ METHOD, FIELD, ANNOTATION_TYPE, CONSTRUCTOR, PARAMETER })
+@Retention(RUNTIME)
+@Constraint(validatedBy = { CheckSidListValidator.class })
+public @interface CheckSidList {
+
+    String message() default "Invalid sid list";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    /**
+     * ズームレベルの下限．
+     */
+    int lowerLimit() default 1;
+
+    /**
+     * ズームレベルの上限．
+     */
+    int upperLimit() default 26;
+
+}
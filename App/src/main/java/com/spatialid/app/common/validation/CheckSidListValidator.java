@@ -0,0 +1,95 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.validation;
+
+import java.util.List;
+
+import com.spatialid.app.common.spatialid.PackedSpatialId;
+import com.spatialid.app.common.spatialid.PackedSpatialIdList;
+import com.spatialid.app.common.spatialid.SpatialIdBatchValidator;
+import com.spatialid.app.common.spatialid.SpatialIdColumns;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * 空間IDのリストを{@link SpatialIdBatchValidator}で一括検査するバリデーションクラス．
+ *
+ * @version 1.1 2026/10/17
+ */
+public class CheckSidListValidator implements ConstraintValidator<CheckSidList, List<String>> {
+
+    /**
+     * ズームレベルの下限．
+     */
+    private int lowerLimit;
+
+    /**
+     * ズームレベルの上限．
+     */
+    private int upperLimit;
+
+    @Override
+    public void initialize(CheckSidList annotation) {
+
+        this.lowerLimit = annotation.lowerLimit();
+
+        this.upperLimit = annotation.upperLimit();
+
+    }
+
+    /**
+     * 空間IDのリストに不正な要素が含まれないかを検査する．
+     * <p>
+     * {@link PackedSpatialIdList}の場合は書式と経度・緯度インデックスの範囲が保証されているため、ズームレベルのみを検査する．<br>
+     * nullの要素は{@link CheckSid}と同様に許容する．
+     * </p>
+     *
+     * @param value 空間IDのリスト
+     * @param context {@link ConstraintValidatorContext}
+     * @return バリデーション結果
+     */
+    @Override
+    public boolean isValid(List<String> value, ConstraintValidatorContext context) {
+
+        if (value == null) {
+
+            return true;
+
+        }
+
+        if (value instanceof PackedSpatialIdList packedList && packedList.isFullyPacked()) {
+
+            for (int i = 0; i < packedList.size(); i++) {
+
+                final int z = PackedSpatialId.zoomLevel(packedList.getPacked(i));
+
+                if (z < lowerLimit || upperLimit < z) {
+
+                    return false;
+
+                }
+
+            }
+
+            return true;
+
+        }
+
+        final SpatialIdColumns columns = SpatialIdColumns.parse(value);
+
+        final long[] invalid = SpatialIdBatchValidator.validate(columns, lowerLimit, upperLimit);
+
+        final long[] nulls = columns.getNulls();
+
+        for (int w = 0; w < invalid.length; w++) {
+
+            invalid[w] &= ~nulls[w];
+
+        }
+
+        return !SpatialIdBatchValidator.hasInvalid(invalid);
+
+    }
+
+}
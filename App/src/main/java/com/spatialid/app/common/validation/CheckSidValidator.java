@@ -4,11 +4,24 @@ package com.spatialid.app.common.validation;
 
 
 
-import com.spatialid.app.common.util.CommonUtils;
+import com.spatialid.app.common.spatialid.SpatialId;
 
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
+/**
+ * 空間IDの書式チェックを行うカスタムバリデータクラス．
+ * <p>
+ * {@link SpatialId#check(CharSequence)}で判定する．正規表現で判定していた従来の実装から、以下の値の扱いが変わっている．
+ * </p>
+ * <ul>
+ * <li>ズームレベルがintの範囲({@link Integer#MAX_VALUE})を超える場合、違反とする．</li>
+ * <li>標高・経度・緯度がlongの範囲({@link Long#MAX_VALUE})を超える場合、違反とする．</li>
+ * <li>"1/0/0/0/"のように末尾に区切り文字が続く場合、違反とする(従来は{@link String#split}が末尾の空要素を除くため許容していた)．</li>
+ * </ul>
+ *
+ * @version 1.1 2026/10/18
+ */
 public class CheckSidValidator implements ConstraintValidator<CheckSid, String> {
         
 	@Override
@@ -20,44 +33,8 @@ public class CheckSidValidator implements ConstraintValidator<CheckSid, String>
 	        
 	    }
 	    
-        String[] element_sid = value.split("/");
-        if (!(element_sid.length == 4)) {
-            return false;
-        }
-
-        // ズームレベル
-        String stringz = element_sid[0];
-
-        // 標高（鉛直方向）
-        String stringf = element_sid[1];
-
-        // 経度（東西方向）
-        String stringx = element_sid[2];
-
-        // 緯度（南北方向）
-        String stringy = element_sid[3];
-
-        // 標高（鉛直方向）の整数チェック
-        if (CommonUtils.checkRegex(stringf) == false) {
-            return false;
-        }
-
-        // ズームレベルの1以上の正の整数チェック
-        if (CommonUtils.checkWholeNumber(stringz) == false) {
-            return false;
-        }
-
-        // 経度（東西方向）の0以上の正の整数チェック
-        if (CommonUtils.checkPositiveNumber(stringx) == false) {
-            return false;
-        }
-
-        // 緯度（南北方向）の0以上の正の整数チェック
-        if (CommonUtils.checkPositiveNumber(stringy) == false) {
-            return false;
-        }
-	    
-		return true;
+        // 空間IDの書式チェック(ズームレベル・標高・経度・緯度の整数チェック)
+        return SpatialId.check(value) == SpatialId.VALID;
 		
 	}
 	
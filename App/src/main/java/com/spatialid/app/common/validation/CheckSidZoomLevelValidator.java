@@ -2,12 +2,22 @@
 
 package com.spatialid.app.common.validation;
 
+import com.spatialid.app.common.spatialid.SpatialId;
+
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import lombok.NoArgsConstructor;
 
 /**
  * 空間IDの許容ズームレベルチェックを行うカスタムバリデータクラス.
+ * <p>
+ * ズームレベルは{@link SpatialId#parseZoomLevel(CharSequence)}で読み取り、{@link CheckSid}と同じく先頭が0でない数字列のみを許容する．<br>
+ * {@link Integer#parseInt(String)}で読み取っていた従来の実装から、以下の値の扱いが変わっている．
+ * </p>
+ * <ul>
+ * <li>"05"のような先頭の0や、"+5"のような符号付きのズームレベルは違反とする(従来は5として許容していた)．</li>
+ * <li>数値として読み取れないズームレベルは違反とする(従来は{@link NumberFormatException}が送出されていた)．</li>
+ * </ul>
  * 
  * @auther ukai jun
  * @version 1.1 2024.09.24
@@ -49,10 +59,14 @@ public class CheckSidZoomLevelValidator implements ConstraintValidator<CheckSidZ
             
         }
         
-        String[] elementSid = value.split("/");
-
         // ズームレベル値のチェック
-        int zoomLevel = Integer.parseInt(elementSid[0]);
+        int zoomLevel = SpatialId.parseZoomLevel(value);
+        if (zoomLevel < 0) {
+
+            // ズームレベルが正の整数として読み取れない場合、エラー
+            return false;
+
+        }
         if (zoomLevel < lowerLimit || upperLimit < zoomLevel) {
 
             // 空間IDのズームレベルが許容ズームレベル以上26以下ではない場合、エラー
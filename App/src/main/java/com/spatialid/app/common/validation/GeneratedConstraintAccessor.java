@@ -0,0 +1,97 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.validation;
+
+/**
+ * {@link com.spatialid.app.common.validation.processor.ConstraintAccessorProcessor}がコンパイル時に生成する、
+ * 相関バリデーションの検査対象の値を読み取るクラスのインターフェース．
+ * <p>
+ * 生成クラスは検査対象クラスと同じパッケージに"{検査対象クラスのバイナリ名の'$'を'_'に置換した名前}{@value #CLASS_NAME_SUFFIX}"の名前で生成され、
+ * getterを直接呼び出して値を読み取る．<br>
+ * 各バリデータは{@link BeanMetadata}を通して生成クラスを参照し、存在しない場合はリフレクションで読み取る．<br>
+ * 生成されなかった検査の読み取りメソッドはnullを返却する．
+ * </p>
+ *
+ * @version 1.1 2026/10/18
+ */
+public interface GeneratedConstraintAccessor {
+
+    /**
+     * 生成クラス名の接尾辞．
+     */
+    String CLASS_NAME_SUFFIX = "_ConstraintAccessor";
+
+    /**
+     * {@link CheckCrossFieldConditions}の検査対象の値を読み取る．
+     *
+     * @param bean 検査対象オブジェクト
+     * @return {@link CheckCrossFieldConditions#xorFields()}、{@link CheckCrossFieldConditions#conditionalMandatories()}の順に、
+     *         各アノテーションの2つのプロパティの値を並べた配列．生成されていない場合はnull
+     */
+    default Object[] crossFieldValues(Object bean) {
+
+        return null;
+
+    }
+
+    /**
+     * {@link CheckFieldExist}の検査対象のフィールドの値を読み取る．
+     *
+     * @param bean 検査対象オブジェクト
+     * @return {@link CheckFieldExist#fields()}の順にフィールドの値を並べた配列．生成されていない場合はnull
+     */
+    default Object[] fieldExistValues(Object bean) {
+
+        return null;
+
+    }
+
+    /**
+     * {@link CheckAtLeastOneField}の検査対象として、"class"を除く読み取り可能なプロパティの値を読み取る．
+     *
+     * @param bean 検査対象オブジェクト
+     * @return {@link #readablePropertyNames()}の順にプロパティの値を並べた配列．生成されていない場合はnull
+     */
+    default Object[] readablePropertyValues(Object bean) {
+
+        return null;
+
+    }
+
+    /**
+     * "class"を除く読み取り可能なプロパティ名を返却する．
+     *
+     * @return プロパティ名の配列．生成されていない場合はnull
+     */
+    default String[] readablePropertyNames() {
+
+        return null;
+
+    }
+
+    /**
+     * "class"を除くプロパティ数を返却する．
+     *
+     * @return 書き込み専用のプロパティを含むプロパティ数．生成されていない場合は-1
+     */
+    default int propertyCount() {
+
+        return -1;
+
+    }
+
+    /**
+     * 検査対象クラスに対応する生成クラスの名前を返却する．
+     *
+     * @param binaryName 検査対象クラスのバイナリ名
+     * @return 生成クラスの完全修飾名
+     */
+    static String accessorClassName(String binaryName) {
+
+        final int packageEnd = binaryName.lastIndexOf('.') + 1;
+
+        return binaryName.substring(0, packageEnd) + binaryName.substring(packageEnd).replace('$', '_') + CLASS_NAME_SUFFIX;
+
+    }
+
+}
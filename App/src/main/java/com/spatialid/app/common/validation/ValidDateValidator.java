@@ -2,13 +2,12 @@
 
 package com.spatialid.app.common.validation;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.time.format.ResolverStyle;
 
 import org.apache.commons.lang3.StringUtils;
 
+import com.spatialid.app.common.util.DateTimeFormats;
+
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
@@ -65,14 +64,7 @@ public class ValidDateValidator implements ConstraintValidator<ValidDate, String
             
         }
 
-        try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(format) 
-                    .withResolverStyle(ResolverStyle.STRICT)
-                    ;
-            LocalDate.parse(value, formatter);
-            return true;
-        } catch (DateTimeParseException e) {
-            return false;
-        }
+        // フォーマッタは共有され、解析失敗時も例外は生成されない
+        return DateTimeFormats.parseLocalDate(value, format, ResolverStyle.STRICT) != null;
     }
 }
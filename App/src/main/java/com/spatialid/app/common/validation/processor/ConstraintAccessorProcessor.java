@@ -0,0 +1,913 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.validation.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+import com.spatialid.app.common.validation.CheckAtLeastOneField;
+import com.spatialid.app.common.validation.CheckCrossFieldConditions;
+import com.spatialid.app.common.validation.CheckFieldExist;
+import com.spatialid.app.common.validation.ConditionalMandatory;
+import com.spatialid.app.common.validation.GeneratedConstraintAccessor;
+import com.spatialid.app.common.validation.XorFields;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.SourcePositions;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.Trees;
+
+/**
+ * {@link CheckCrossFieldConditions}、{@link CheckAtLeastOneField}、{@link CheckFieldExist}が付与されたクラスに対して、
+ * 検査対象の値をgetterの直接呼び出しで読み取る{@link GeneratedConstraintAccessor}の実装クラスを生成するアノテーションプロセッサ．
+ * <p>
+ * 本プロセッサはサービスとして登録していないため、利用側で明示的に有効化した場合のみ動作する．<br>
+ * 生成クラスが存在しない場合、各バリデータは従来通りリフレクションで値を読み取る．
+ * </p>
+ * <pre>
+ * &lt;plugin&gt;
+ *     &lt;groupId&gt;org.apache.maven.plugins&lt;/groupId&gt;
+ *     &lt;artifactId&gt;maven-compiler-plugin&lt;/artifactId&gt;
+ *     &lt;configuration&gt;
+ *         &lt;annotationProcessorPaths&gt;
+ *             &lt;path&gt;lombok&lt;/path&gt;
+ *             &lt;path&gt;infra_api_basic&lt;/path&gt;
+ *         &lt;/annotationProcessorPaths&gt;
+ *         &lt;annotationProcessors&gt;
+ *             &lt;annotationProcessor&gt;lombok.launch.AnnotationProcessorHider$AnnotationProcessor&lt;/annotationProcessor&gt;
+ *             &lt;annotationProcessor&gt;com.spatialid.app.common.validation.processor.ConstraintAccessorProcessor&lt;/annotationProcessor&gt;
+ *         &lt;/annotationProcessors&gt;
+ *     &lt;/configuration&gt;
+ * &lt;/plugin&gt;
+ * </pre>
+ * <p>
+ * 以下の場合は該当する検査の読み取りを生成せず、実行時はリフレクションで読み取る．<br>
+ * ・検査対象クラスの親クラスまたはインターフェースにも同じアノテーションが付与されている<br>
+ * ・ネストしたプロパティなど、publicなgetter(Lombokが生成するものを含む)で読み取れないプロパティが指定されている<br>
+ * ・{@link CheckFieldExist}の対象フィールドが宣言されていない、または独自に実装したgetterを持つprivateフィールドである<br>
+ * Lombokが先に実行された場合、Lombokが生成したgetterも構文木に含まれるため、{@code @lombok.Generated}の有無と
+ * ソース上の位置(生成元のフィールドまたはアノテーションの位置が設定される)により独自に実装したgetterと区別する．<br>
+ * {@link CheckAtLeastOneField}のプロパティ一覧は実行時にSpringのプロパティ記述子と照合し、一致しない場合はリフレクションで読み取る．
+ * </p>
+ *
+ * @version 1.1 2026/10/18
+ */
+@SupportedAnnotationTypes({
+        "com.spatialid.app.common.validation.CheckCrossFieldConditions",
+        "com.spatialid.app.common.validation.CheckAtLeastOneField",
+        "com.spatialid.app.common.validation.CheckFieldExist" })
+public class ConstraintAccessorProcessor extends AbstractProcessor {
+
+    private static final String LOMBOK_GETTER = "lombok.Getter";
+
+    private static final String LOMBOK_SETTER = "lombok.Setter";
+
+    private static final String LOMBOK_DATA = "lombok.Data";
+
+    private static final String LOMBOK_VALUE = "lombok.Value";
+
+    private static final String LOMBOK_GENERATED = "lombok.Generated";
+
+    private static final String LOMBOK_PACKAGE = "lombok.";
+
+    private static final String PUBLIC_ACCESS = "PUBLIC";
+
+    private static final String NO_ACCESS = "NONE";
+
+    private static final String PRIVATE_ACCESS = "PRIVATE";
+
+    /**
+     * 構文木の参照．javac以外の環境で取得できない場合はnull．
+     */
+    private Trees trees;
+
+    /**
+     * 構文木の参照を取得する．javac以外の環境では取得できないため、Lombokが生成したgetterの判定は注釈のみで行う．
+     *
+     * @param processingEnv 処理環境
+     */
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+
+        super.init(processingEnv);
+
+        try {
+
+            trees = Trees.instance(processingEnv);
+
+        } catch (IllegalArgumentException e) {
+
+            trees = null;
+
+        }
+
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+
+        return SourceVersion.latestSupported();
+
+    }
+
+    /**
+     * アノテーションが付与されたクラスごとに生成クラスを出力する．他のプロセッサのため、アノテーションは要求しない．
+     *
+     * @param annotations 処理対象のアノテーション
+     * @param roundEnv ラウンドの情報
+     * @return 常にfalse
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        final Set<TypeElement> targets = new LinkedHashSet<TypeElement>();
+
+        for (TypeElement annotation : annotations) {
+
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+
+                if (element.getKind() == ElementKind.CLASS) {
+
+                    targets.add((TypeElement) element);
+
+                }
+
+            }
+
+        }
+
+        for (TypeElement target : targets) {
+
+            generate(target);
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * 検査対象クラスの生成クラスを出力する．
+     *
+     * @param target 検査対象クラス
+     */
+    private void generate(TypeElement target) {
+
+        if (!isReachable(target)) {
+
+            note(target, "skipped: class is not accessible from its package");
+
+            return;
+
+        }
+
+        final Map<String, String> readable = new TreeMap<String, String>();
+
+        final int propertyCount = collectProperties(target, readable);
+
+        final String typeReference = typeReference(target);
+
+        final StringBuilder body = new StringBuilder();
+
+        final CheckCrossFieldConditions crossField = target.getAnnotation(CheckCrossFieldConditions.class);
+
+        if (crossField != null && !declaredInSupertype(target, CheckCrossFieldConditions.class)) {
+
+            final List<String> expressions = new ArrayList<String>();
+
+            for (XorFields xorField : crossField.xorFields()) {
+
+                expressions.add(readable.get(xorField.firstFieldName()));
+
+                expressions.add(readable.get(xorField.secondFieldName()));
+
+            }
+
+            for (ConditionalMandatory conditionalMandatory : crossField.conditionalMandatories()) {
+
+                expressions.add(readable.get(conditionalMandatory.conditionalField()));
+
+                expressions.add(readable.get(conditionalMandatory.mandatoryField()));
+
+            }
+
+            if (expressions.contains(null)) {
+
+                note(target, "@CheckCrossFieldConditions refers to a property without a public getter; falling back to reflection");
+
+            } else {
+
+                appendValuesMethod(body, "crossFieldValues", typeReference, expressions);
+
+            }
+
+        }
+
+        final CheckFieldExist fieldExist = target.getAnnotation(CheckFieldExist.class);
+
+        if (fieldExist != null && !declaredInSupertype(target, CheckFieldExist.class)) {
+
+            final List<String> expressions = new ArrayList<String>();
+
+            for (String fieldName : fieldExist.fields()) {
+
+                expressions.add(fieldExpression(target, typeReference, fieldName));
+
+            }
+
+            if (expressions.contains(null)) {
+
+                note(target, "@CheckFieldExist: some fields cannot be read directly; falling back to reflection");
+
+            } else {
+
+                appendValuesMethod(body, "fieldExistValues", typeReference, expressions);
+
+            }
+
+        }
+
+        if (target.getAnnotation(CheckAtLeastOneField.class) != null && !declaredInSupertype(target, CheckAtLeastOneField.class)) {
+
+            appendValuesMethod(body, "readablePropertyValues", typeReference, new ArrayList<String>(readable.values()));
+
+            body.append("    @Override\n")
+                    .append("    public String[] readablePropertyNames() {\n\n")
+                    .append("        return new String[] {");
+
+            String separator = " ";
+
+            for (String propertyName : readable.keySet()) {
+
+                body.append(separator).append('"').append(propertyName).append('"');
+
+                separator = ", ";
+
+            }
+
+            body.append(" };\n\n")
+                    .append("    }\n\n")
+                    .append("    @Override\n")
+                    .append("    public int propertyCount() {\n\n")
+                    .append("        return ").append(propertyCount).append(";\n\n")
+                    .append("    }\n\n");
+
+        }
+
+        if (body.length() == 0) {
+
+            return;
+
+        }
+
+        write(target, body);
+
+    }
+
+    /**
+     * 生成クラスのソースファイルを出力する．
+     *
+     * @param target 検査対象クラス
+     * @param body クラス本体
+     */
+    private void write(TypeElement target, StringBuilder body) {
+
+        final String qualifiedName = GeneratedConstraintAccessor.accessorClassName(
+                processingEnv.getElementUtils().getBinaryName(target).toString());
+
+        final int packageEnd = qualifiedName.lastIndexOf('.');
+
+        final StringBuilder source = new StringBuilder();
+
+        if (0 < packageEnd) {
+
+            source.append("package ").append(qualifiedName, 0, packageEnd).append(";\n\n");
+
+        }
+
+        source.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("public final class ").append(qualifiedName.substring(packageEnd + 1))
+                .append(" implements ").append(GeneratedConstraintAccessor.class.getName()).append(" {\n\n")
+                .append(body)
+                .append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, target).openWriter()) {
+
+            writer.write(source.toString());
+
+        } catch (IOException e) {
+
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "failed to write " + qualifiedName + ": " + e.getMessage(), target);
+
+        }
+
+    }
+
+    /**
+     * 値を配列で返却するメソッドを出力する．
+     *
+     * @param body 出力先
+     * @param methodName メソッド名
+     * @param typeReference 検査対象クラスの型
+     * @param expressions 値の式
+     */
+    private static void appendValuesMethod(StringBuilder body, String methodName, String typeReference, List<String> expressions) {
+
+        body.append("    @Override\n")
+                .append("    public Object[] ").append(methodName).append("(Object bean) {\n\n")
+                .append("        final ").append(typeReference).append(" b = (").append(typeReference).append(") bean;\n\n")
+                .append("        return new Object[] {");
+
+        String separator = " ";
+
+        for (String expression : expressions) {
+
+            body.append(separator).append(expression);
+
+            separator = ", ";
+
+        }
+
+        body.append(" };\n\n")
+                .append("    }\n\n");
+
+    }
+
+    /**
+     * {@link java.beans.Introspector}と同じ規則でプロパティを収集する．Lombokが生成するアクセサを含む．
+     *
+     * @param target 検査対象クラス
+     * @param readable 読み取り可能なプロパティ名とgetter呼び出し式の出力先
+     * @return 書き込み専用のプロパティを含むプロパティ数
+     */
+    private int collectProperties(TypeElement target, Map<String, String> readable) {
+
+        final Set<String> properties = new TreeSet<String>();
+
+        for (TypeElement type : hierarchy(target)) {
+
+            for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+
+                final Set<Modifier> modifiers = method.getModifiers();
+
+                if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)) {
+
+                    continue;
+
+                }
+
+                final String name = method.getSimpleName().toString();
+
+                final int parameterCount = method.getParameters().size();
+
+                final TypeKind returnKind = method.getReturnType().getKind();
+
+                if (parameterCount == 0 && name.length() > 3 && name.startsWith("get") && returnKind != TypeKind.VOID) {
+
+                    addReadable(properties, readable, decapitalize(name.substring(3)), name);
+
+                } else if (parameterCount == 0 && name.length() > 2 && name.startsWith("is") && returnKind == TypeKind.BOOLEAN) {
+
+                    addReadable(properties, readable, decapitalize(name.substring(2)), name);
+
+                } else if (parameterCount == 1 && name.length() > 3 && name.startsWith("set")) {
+
+                    properties.add(decapitalize(name.substring(3)));
+
+                }
+
+            }
+
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+
+                if (field.getModifiers().contains(Modifier.STATIC) || field.getSimpleName().toString().startsWith("$")) {
+
+                    continue;
+
+                }
+
+                if (PUBLIC_ACCESS.equals(lombokAccess(field, LOMBOK_GETTER))) {
+
+                    final String getterName = lombokGetterName(field);
+
+                    addReadable(properties, readable, decapitalize(getterName.substring(getterName.startsWith("is") ? 2 : 3)), getterName);
+
+                }
+
+                if (PUBLIC_ACCESS.equals(lombokAccess(field, LOMBOK_SETTER)) && !field.getModifiers().contains(Modifier.FINAL)) {
+
+                    properties.add(decapitalize(lombokSetterName(field).substring(3)));
+
+                }
+
+            }
+
+        }
+
+        return properties.size();
+
+    }
+
+    /**
+     * 読み取り可能なプロパティを追加する．子クラスで定義されたgetterを優先する．
+     *
+     * @param properties プロパティ名の出力先
+     * @param readable 読み取り可能なプロパティの出力先
+     * @param propertyName プロパティ名
+     * @param getterName getter名
+     */
+    private static void addReadable(Set<String> properties, Map<String, String> readable, String propertyName, String getterName) {
+
+        if ("class".equals(propertyName)) {
+
+            return;
+
+        }
+
+        properties.add(propertyName);
+
+        readable.putIfAbsent(propertyName, "b." + getterName + "()");
+
+    }
+
+    /**
+     * {@link CheckFieldExist}の対象となる宣言フィールドの読み取り式を返却する．
+     *
+     * @param target 検査対象クラス
+     * @param typeReference 検査対象クラスの型
+     * @param fieldName フィールド名
+     * @return 読み取り式．直接読み取れない場合はnull
+     */
+    private String fieldExpression(TypeElement target, String typeReference, String fieldName) {
+
+        for (VariableElement field : ElementFilter.fieldsIn(target.getEnclosedElements())) {
+
+            if (!field.getSimpleName().contentEquals(fieldName)) {
+
+                continue;
+
+            }
+
+            final Set<Modifier> modifiers = field.getModifiers();
+
+            if (!modifiers.contains(Modifier.PRIVATE)) {
+
+                return (modifiers.contains(Modifier.STATIC) ? typeReference : "b") + "." + fieldName;
+
+            }
+
+            final String access = lombokAccess(field, LOMBOK_GETTER);
+
+            if (modifiers.contains(Modifier.STATIC) || access == null || NO_ACCESS.equals(access) || PRIVATE_ACCESS.equals(access)) {
+
+                return null;
+
+            }
+
+            // 独自に実装したgetterは値を加工している可能性があるため使用しない
+            final String getterName = lombokGetterName(field);
+
+            for (ExecutableElement method : ElementFilter.methodsIn(target.getEnclosedElements())) {
+
+                if (method.getSimpleName().contentEquals(getterName) && method.getParameters().isEmpty()
+                        && isHandWritten(method, field)) {
+
+                    return null;
+
+                }
+
+            }
+
+            return "b." + getterName + "()";
+
+        }
+
+        return null;
+
+    }
+
+    /**
+     * メソッドがソース上に記述されたものかを判定する．
+     * <p>
+     * Lombokが生成したメソッドは{@code @lombok.Generated}が付与されるか、生成元のフィールドまたはLombokのアノテーションの位置が設定される．<br>
+     * 構文木を参照できない環境で{@code @lombok.Generated}が付与されていない場合は、安全側に倒してソース上に記述されたものとみなす．
+     * </p>
+     *
+     * @param method メソッド
+     * @param field getterの対象フィールド
+     * @return ソース上に記述されたメソッドの場合はtrue
+     */
+    private boolean isHandWritten(ExecutableElement method, VariableElement field) {
+
+        if (findAnnotation(method, LOMBOK_GENERATED) != null) {
+
+            return false;
+
+        }
+
+        if (trees == null) {
+
+            return true;
+
+        }
+
+        final TreePath path = trees.getPath(method);
+
+        if (path == null) {
+
+            return false;
+
+        }
+
+        final CompilationUnitTree unit = path.getCompilationUnit();
+
+        final SourcePositions positions = trees.getSourcePositions();
+
+        final long start = positions.getStartPosition(unit, path.getLeaf());
+
+        if (start == Diagnostic.NOPOS || encloses(unit, trees.getTree(field), start)) {
+
+            return false;
+
+        }
+
+        final Element owner = field.getEnclosingElement();
+
+        for (AnnotationMirror annotation : owner.getAnnotationMirrors()) {
+
+            final String annotationName = ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+
+            if (annotationName.startsWith(LOMBOK_PACKAGE) && encloses(unit, trees.getTree(owner, annotation), start)) {
+
+                return false;
+
+            }
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * 構文木の要素がソース上の位置を含むかを判定する．
+     *
+     * @param unit コンパイル単位
+     * @param tree 構文木の要素
+     * @param position ソース上の位置
+     * @return 含む場合はtrue
+     */
+    private boolean encloses(CompilationUnitTree unit, Tree tree, long position) {
+
+        if (tree == null) {
+
+            return false;
+
+        }
+
+        final SourcePositions positions = trees.getSourcePositions();
+
+        final long start = positions.getStartPosition(unit, tree);
+
+        final long end = positions.getEndPosition(unit, tree);
+
+        if (start == Diagnostic.NOPOS) {
+
+            return false;
+
+        }
+
+        return end == Diagnostic.NOPOS ? start == position : start <= position && position < end;
+
+    }
+
+    /**
+     * フィールドに対してLombokが生成するアクセサのアクセスレベルを返却する．
+     *
+     * @param field フィールド
+     * @param accessorAnnotation {@link #LOMBOK_GETTER}または{@link #LOMBOK_SETTER}
+     * @return アクセスレベル．生成されない場合はnull
+     */
+    private static String lombokAccess(VariableElement field, String accessorAnnotation) {
+
+        final String fieldLevel = accessLevel(field, accessorAnnotation);
+
+        if (fieldLevel != null) {
+
+            return fieldLevel;
+
+        }
+
+        final Element owner = field.getEnclosingElement();
+
+        final String typeLevel = accessLevel(owner, accessorAnnotation);
+
+        if (typeLevel != null) {
+
+            return typeLevel;
+
+        }
+
+        if (findAnnotation(owner, LOMBOK_DATA) != null
+                || (LOMBOK_GETTER.equals(accessorAnnotation) && findAnnotation(owner, LOMBOK_VALUE) != null)) {
+
+            return PUBLIC_ACCESS;
+
+        }
+
+        return null;
+
+    }
+
+    /**
+     * Lombokのアクセサ用アノテーションに指定されたアクセスレベルを返却する．
+     *
+     * @param element 要素
+     * @param accessorAnnotation アノテーション名
+     * @return アクセスレベル．アノテーションが付与されていない場合はnull
+     */
+    private static String accessLevel(Element element, String accessorAnnotation) {
+
+        final AnnotationMirror mirror = findAnnotation(element, accessorAnnotation);
+
+        if (mirror == null) {
+
+            return null;
+
+        }
+
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+
+            if (entry.getKey().getSimpleName().contentEquals("value")) {
+
+                final String value = entry.getValue().getValue().toString();
+
+                return value.substring(value.lastIndexOf('.') + 1);
+
+            }
+
+        }
+
+        return PUBLIC_ACCESS;
+
+    }
+
+    /**
+     * Lombokが生成するgetterの名前を返却する．
+     *
+     * @param field フィールド
+     * @return getter名
+     */
+    private static String lombokGetterName(VariableElement field) {
+
+        final String name = field.getSimpleName().toString();
+
+        if (field.asType().getKind() != TypeKind.BOOLEAN) {
+
+            return "get" + capitalize(name);
+
+        }
+
+        return isPrefixed(name) ? name : "is" + capitalize(name);
+
+    }
+
+    /**
+     * Lombokが生成するsetterの名前を返却する．
+     *
+     * @param field フィールド
+     * @return setter名
+     */
+    private static String lombokSetterName(VariableElement field) {
+
+        final String name = field.getSimpleName().toString();
+
+        if (field.asType().getKind() == TypeKind.BOOLEAN && isPrefixed(name)) {
+
+            return "set" + name.substring(2);
+
+        }
+
+        return "set" + capitalize(name);
+
+    }
+
+    /**
+     * "is"で始まる真偽値フィールド名かを判定する．
+     *
+     * @param name フィールド名
+     * @return "is"の直後が大文字の場合はtrue
+     */
+    private static boolean isPrefixed(String name) {
+
+        return name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2));
+
+    }
+
+    /**
+     * 親クラスまたはインターフェースに同じアノテーションが付与されているかを判定する．
+     * <p>
+     * 付与されている場合、検査対象クラスのインスタンスに対して親クラス側の定義による検査も実行されるため、
+     * 生成クラスの値の並びと一致しない．
+     * </p>
+     *
+     * @param target 検査対象クラス
+     * @param annotationType アノテーション
+     * @return 付与されている場合はtrue
+     */
+    private boolean declaredInSupertype(TypeElement target, Class<?> annotationType) {
+
+        final List<TypeMirror> pending = new ArrayList<TypeMirror>(processingEnv.getTypeUtils().directSupertypes(target.asType()));
+
+        while (!pending.isEmpty()) {
+
+            final TypeMirror supertype = pending.remove(pending.size() - 1);
+
+            if (supertype.getKind() != TypeKind.DECLARED) {
+
+                continue;
+
+            }
+
+            if (findAnnotation(((DeclaredType) supertype).asElement(), annotationType.getName()) != null) {
+
+                return true;
+
+            }
+
+            pending.addAll(processingEnv.getTypeUtils().directSupertypes(supertype));
+
+        }
+
+        return false;
+
+    }
+
+    /**
+     * 検査対象クラスから{@link Object}の手前までの親クラスを、子クラスから順に返却する．
+     *
+     * @param target 検査対象クラス
+     * @return クラスのリスト
+     */
+    private static List<TypeElement> hierarchy(TypeElement target) {
+
+        final List<TypeElement> result = new ArrayList<TypeElement>();
+
+        TypeElement current = target;
+
+        while (current != null && !current.getQualifiedName().contentEquals(Object.class.getName())) {
+
+            result.add(current);
+
+            final TypeMirror superclass = current.getSuperclass();
+
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+
+        }
+
+        return result;
+
+    }
+
+    /**
+     * 生成クラスから参照できるクラスかを判定する．
+     *
+     * @param target 検査対象クラス
+     * @return 参照できる場合はtrue
+     */
+    private static boolean isReachable(TypeElement target) {
+
+        if (target.getNestingKind() == NestingKind.LOCAL || target.getNestingKind() == NestingKind.ANONYMOUS) {
+
+            return false;
+
+        }
+
+        for (Element element = target; element instanceof TypeElement; element = element.getEnclosingElement()) {
+
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+
+                return false;
+
+            }
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * 生成コードで使用する検査対象クラスの型を返却する．型パラメータは非境界ワイルドカードとする．
+     *
+     * @param target 検査対象クラス
+     * @return 型
+     */
+    private static String typeReference(TypeElement target) {
+
+        final int typeParameterCount = target.getTypeParameters().size();
+
+        if (typeParameterCount == 0) {
+
+            return target.getQualifiedName().toString();
+
+        }
+
+        return target.getQualifiedName() + "<" + String.join(", ", Collections.nCopies(typeParameterCount, "?")) + ">";
+
+    }
+
+    /**
+     * 要素に付与されたアノテーションを名前で検索する．
+     *
+     * @param element 要素
+     * @param annotationName アノテーションの完全修飾名
+     * @return アノテーション．付与されていない場合はnull
+     */
+    private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) {
+
+                return mirror;
+
+            }
+
+        }
+
+        return null;
+
+    }
+
+    /**
+     * {@link java.beans.Introspector#decapitalize(String)}と同じ規則で先頭を小文字にする．
+     *
+     * @param name 名前
+     * @return 変換後の名前
+     */
+    private static String decapitalize(String name) {
+
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(0)) && Character.isUpperCase(name.charAt(1))) {
+
+            return name;
+
+        }
+
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+
+    }
+
+    /**
+     * 先頭を大文字にする．
+     *
+     * @param name 名前
+     * @return 変換後の名前
+     */
+    private static String capitalize(String name) {
+
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+
+    }
+
+    /**
+     * 生成を省略した理由を出力する．
+     *
+     * @param target 検査対象クラス
+     * @param message メッセージ
+     */
+    private void note(TypeElement target, String message) {
+
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, message, target);
+
+    }
+
+}
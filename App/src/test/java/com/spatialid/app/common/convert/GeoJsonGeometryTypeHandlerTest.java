@@ -0,0 +1,117 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.geojson.Point;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link GeoJsonGeometryTypeHandler}の空間参照系IDの扱いを検証する．
+ *
+ * @version 1.1 2026/10/18
+ */
+class GeoJsonGeometryTypeHandlerTest {
+
+    /**
+     * 日本測地系2011(JGD2011)の空間参照系ID．
+     */
+    private static final int JGD2011 = 6668;
+
+    /**
+     * 書き込み時に、タイプハンドラーの空間参照系IDを付与することを検証する．
+     */
+    @Test
+    void writesConfiguredSrid() throws SQLException {
+
+        final Point point = new Point(139.7, 35.6);
+
+        assertArrayEquals(WkbGeometryCodec.encode(point, WkbGeometryCodec.DEFAULT_SRID), written(new GeoJsonGeometryTypeHandler(), point));
+
+        assertArrayEquals(WkbGeometryCodec.encode(point, JGD2011), written(new GeoJsonGeometryTypeHandler(JGD2011), point));
+
+    }
+
+    /**
+     * 読み取り時に、空間参照系IDが異なるジオメトリを拒否することを検証する．
+     */
+    @Test
+    void rejectsMismatchedSrid() throws SQLException {
+
+        final Point point = new Point(139.7, 35.6);
+
+        final ResultSet jgd2011 = resultSet(WkbGeometryCodec.encode(point, JGD2011));
+
+        assertThrows(SQLException.class, () -> new GeoJsonGeometryTypeHandler().getNullableResult(jgd2011, 1));
+
+        assertInstanceOf(Point.class, new GeoJsonGeometryTypeHandler(JGD2011).getNullableResult(jgd2011, 1));
+
+        assertInstanceOf(Point.class, new GeoJsonGeometryTypeHandler().getNullableResult(resultSet(WkbGeometryCodec.encode(point, 0)), 1));
+
+    }
+
+    /**
+     * タイプハンドラーが設定したバイト列を取得する．
+     *
+     * @param handler タイプハンドラー
+     * @param point 設定するジオメトリ
+     * @return 設定されたバイト列
+     * @throws SQLException 設定に失敗した場合
+     */
+    private static byte[] written(GeoJsonGeometryTypeHandler handler, Point point) throws SQLException {
+
+        final byte[][] written = new byte[1][];
+
+        final PreparedStatement ps = (PreparedStatement) Proxy.newProxyInstance(GeoJsonGeometryTypeHandlerTest.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+
+                    if (!method.getName().equals("setBytes")) {
+
+                        throw new SQLException("unexpected call: " + method.getName());
+
+                    }
+
+                    written[0] = (byte[]) args[1];
+
+                    return null;
+
+                });
+
+        handler.setNonNullParameter(ps, 1, point, null);
+
+        return written[0];
+
+    }
+
+    /**
+     * バイト列を返却する1カラムのResultSetを生成する．
+     *
+     * @param bytes カラムの値
+     * @return ResultSet
+     */
+    private static ResultSet resultSet(byte[] bytes) {
+
+        return (ResultSet) Proxy.newProxyInstance(GeoJsonGeometryTypeHandlerTest.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+
+                    if (!method.getName().equals("getBytes")) {
+
+                        throw new SQLException("unexpected call: " + method.getName());
+
+                    }
+
+                    return bytes.clone();
+
+                });
+
+    }
+
+}
@@ -0,0 +1,190 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * jsonbの読み書きについて、文字列を経由する従来の処理と{@link JsonbSupport}による処理を比較するベンチマーク．
+ * <p>
+ * DBとの通信を除いた変換処理のみを測定するため、メモリ上の値を返却するResultSetと、値を破棄するPreparedStatementを使用する．
+ * 以下のように実行する．
+ * </p>
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test.classpath
+ * java -cp target/test-classes:target/classes:$(cat target/test.classpath) org.openjdk.jmh.Main JsonbSupportBenchmark
+ * </pre>
+ *
+ * @version 1.1 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JsonbSupportBenchmark {
+
+    /**
+     * JSONテキストのおおよそのバイト数．
+     */
+    @Param({ "1024", "65536", "1048576" })
+    private int size;
+
+    /**
+     * 書き込む値．
+     */
+    private JsonNode node;
+
+    /**
+     * 読み取り元．
+     */
+    private ResultSet resultSet;
+
+    /**
+     * 書き込み先．
+     */
+    private PreparedStatement statement;
+
+    /**
+     * jsonbの型ハンドラー．
+     */
+    private final JsonNodeTypeHandler handler = new JsonNodeTypeHandler();
+
+    @Setup
+    public void setUp() {
+
+        final ObjectNode root = JsonNodeFactory.instance.objectNode();
+
+        final ArrayNode features = root.putArray("features");
+
+        int i = 0;
+
+        while (root.toString().length() < size) {
+
+            features.addObject()
+                    .put("id", "26/" + i + "/" + (i * 7) + "/" + (i * 13))
+                    .put("name", "地物" + i)
+                    .put("height", i * 0.5);
+
+            i++;
+
+        }
+
+        node = root;
+
+        final byte[] bytes = root.toString().getBytes(StandardCharsets.UTF_8);
+
+        final String text = root.toString();
+
+        final ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { ResultSetMetaData.class }, (proxy, method, args) -> Types.OTHER);
+
+        resultSet = (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+
+                    switch (method.getName()) {
+
+                    case "getMetaData":
+
+                        return metaData;
+
+                    case "getBinaryStream":
+
+                        return new ByteArrayInputStream(bytes);
+
+                    case "getString":
+
+                        return text;
+
+                    default:
+
+                        throw new SQLException("unexpected call: " + method.getName());
+
+                    }
+
+                });
+
+        statement = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> null);
+
+    }
+
+    /**
+     * 文字列として取得してからパースする．置き換え前の{@link JsonNodeTypeHandler}と同じ処理．
+     *
+     * @return 読み取り結果
+     * @throws SQLException 読み取りに失敗した場合
+     * @throws IOException パースに失敗した場合
+     */
+    @Benchmark
+    public JsonNode readViaString() throws SQLException, IOException {
+
+        return JsonbSupport.NODE_READER.readTree(resultSet.getString(1));
+
+    }
+
+    /**
+     * バイトストリームから直接パースする．
+     *
+     * @return 読み取り結果
+     * @throws SQLException 読み取りに失敗した場合
+     */
+    @Benchmark
+    public JsonNode readStreaming() throws SQLException {
+
+        return handler.getNullableResult(resultSet, 1);
+
+    }
+
+    /**
+     * 文字列に変換して設定する．置き換え前の{@link JsonNodeTypeHandler}と同じ処理．
+     *
+     * @throws SQLException 設定に失敗した場合
+     */
+    @Benchmark
+    public void writeViaString() throws SQLException {
+
+        statement.setString(1, node.toString());
+
+    }
+
+    /**
+     * 再利用するバッファへシリアライズして設定する．
+     *
+     * @throws SQLException 設定に失敗した場合
+     */
+    @Benchmark
+    public void writeBuffered() throws SQLException {
+
+        handler.setNonNullParameter(statement, 1, node, null);
+
+    }
+
+}
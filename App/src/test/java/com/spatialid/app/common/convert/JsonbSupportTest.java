@@ -0,0 +1,204 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Types;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+/**
+ * {@link JsonbSupport}によるjsonbの読み取りを、カラムの型とドライバの対応状況ごとに検証する．
+ *
+ * @version 1.1 2026/10/18
+ */
+class JsonbSupportTest {
+
+    /**
+     * 読み取り対象のJSON．
+     */
+    private static final String JSON = "{\"name\":\"空間ID\",\"zoom\":26}";
+
+    /**
+     * jsonb型のカラムをバイトストリームで読み取り、バイナリ形式のバージョン番号を読み飛ばすことを検証する．
+     */
+    @Test
+    void readsBinaryColumnFromBinaryStream() throws Exception {
+
+        final byte[] text = JSON.getBytes(StandardCharsets.UTF_8);
+
+        final byte[] binary = new byte[text.length + 1];
+
+        binary[0] = 1;
+
+        System.arraycopy(text, 0, binary, 1, text.length);
+
+        for (byte[] value : new byte[][] { text, binary }) {
+
+            final JsonNode node = new JsonNodeTypeHandler().getNullableResult(resultSet(Types.OTHER, null, value, true), 1);
+
+            assertEquals("空間ID", node.get("name").asText());
+
+            assertArrayEquals(text, JsonbSupport.readBytes(resultSet(Types.OTHER, null, value, true), 1));
+
+        }
+
+    }
+
+    /**
+     * 文字列型のカラムは、バイトストリームに対応したドライバでも文字ストリームで読み取ることを検証する．<br>
+     * バイトストリームはUTF-8として解釈できない値を返却するため、誤って使用した場合はパースに失敗する．
+     */
+    @Test
+    void readsTextColumnFromCharacterStream() throws Exception {
+
+        final byte[] utf16 = JSON.getBytes(StandardCharsets.UTF_16);
+
+        for (int columnType : new int[] { Types.VARCHAR, Types.LONGVARCHAR, Types.CLOB }) {
+
+            final ResultSet rs = resultSet(columnType, JSON, utf16, true);
+
+            assertEquals(26, new JsonNodeTypeHandler().getNullableResult(rs, 1).get("zoom").asInt());
+
+            assertArrayEquals(JSON.getBytes(StandardCharsets.UTF_8), JsonbSupport.readBytes(rs, 1));
+
+        }
+
+    }
+
+    /**
+     * バイトストリームに対応していないドライバでは、文字ストリームで読み取ることを検証する．
+     */
+    @Test
+    void fallsBackToCharacterStreamWhenBinaryStreamIsUnsupported() throws Exception {
+
+        final ResultSet rs = resultSet(Types.OTHER, JSON, null, false);
+
+        final Map<String, String> map = new MapToJsonbTypeHandler().getNullableResult(rs, 1);
+
+        assertEquals("空間ID", map.get("name"));
+
+    }
+
+    /**
+     * 内容が空の場合、JsonNodeはMissingNode、Mapはnullとなることを検証する．
+     */
+    @Test
+    void emptyContentKeepsHandlerSpecificResult() throws Exception {
+
+        for (String empty : new String[] { "", "  \n" }) {
+
+            final byte[] bytes = empty.getBytes(StandardCharsets.UTF_8);
+
+            assertSame(MissingNode.getInstance(), new JsonNodeTypeHandler().getNullableResult(resultSet(Types.VARCHAR, empty, null, false), 1));
+
+            assertSame(MissingNode.getInstance(), new JsonNodeTypeHandler().getNullableResult(resultSet(Types.OTHER, null, bytes, true), 1));
+
+            assertNull(new MapToJsonbTypeHandler().getNullableResult(resultSet(Types.VARCHAR, empty, null, false), 1));
+
+            assertNull(new MapToJsonbTypeHandler().getNullableResult(resultSet(Types.OTHER, null, bytes, true), 1));
+
+        }
+
+    }
+
+    /**
+     * 値がnullの場合はnullとなり、MissingNodeと区別されることを検証する．
+     */
+    @Test
+    void nullValueIsNull() throws Exception {
+
+        assertNull(new JsonNodeTypeHandler().getNullableResult(resultSet(Types.VARCHAR, null, null, false), 1));
+
+        assertNull(new JsonNodeTypeHandler().getNullableResult(resultSet(Types.OTHER, null, null, true), 1));
+
+    }
+
+    /**
+     * 1カラムのResultSetを生成する．
+     *
+     * @param columnType カラムの型
+     * @param text 文字列、文字ストリームで返却する値
+     * @param bytes バイト列、バイトストリームで返却する値
+     * @param binarySupported バイト列、バイトストリームでの取得に対応する場合はtrue
+     * @return ResultSet
+     */
+    private static ResultSet resultSet(int columnType, String text, byte[] bytes, boolean binarySupported) {
+
+        final ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(JsonbSupportTest.class.getClassLoader(),
+                new Class<?>[] { ResultSetMetaData.class }, (proxy, method, args) -> {
+
+                    if (method.getName().equals("getColumnType")) {
+
+                        return columnType;
+
+                    }
+
+                    throw new UnsupportedOperationException(method.getName());
+
+                });
+
+        return (ResultSet) Proxy.newProxyInstance(JsonbSupportTest.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+
+                    switch (method.getName()) {
+
+                    case "getMetaData":
+
+                        return metaData;
+
+                    case "getBytes":
+
+                        if (!binarySupported) {
+
+                            throw new SQLFeatureNotSupportedException(method.getName());
+
+                        }
+
+                        return bytes == null ? null : bytes.clone();
+
+                    case "getBinaryStream":
+
+                        if (!binarySupported) {
+
+                            throw new SQLFeatureNotSupportedException(method.getName());
+
+                        }
+
+                        return bytes == null ? null : new ByteArrayInputStream(bytes);
+
+                    case "getCharacterStream":
+
+                        return text == null ? null : new StringReader(text);
+
+                    case "getString":
+
+                        return text;
+
+                    default:
+
+                        throw new SQLException("unexpected call: " + method.getName());
+
+                    }
+
+                });
+
+    }
+
+}
@@ -0,0 +1,125 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.spatialid.app.common.validation.CheckSidArea;
+import com.spatialid.app.common.validation.CheckSidAreaValidator;
+
+/**
+ * {@link SpatialIdListDeserializer}の読み込み時の検査と、返却するリストの振る舞いを検証する．
+ *
+ * @version 1.1 2026/10/18
+ */
+class SpatialIdListDeserializerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * 重なりを含めた面積で検査する．
+     */
+    static class GrossArea {
+
+        @JsonDeserialize(using = SpatialIdListDeserializer.class)
+        @CheckSidArea(lowerLimit = 10, upperLimit = 10)
+        public List<String> sids;
+
+    }
+
+    /**
+     * 重なりを除外した面積で検査する．
+     */
+    static class ExcludeOverlap {
+
+        @JsonDeserialize(using = SpatialIdListDeserializer.class)
+        @CheckSidArea(lowerLimit = 10, upperLimit = 10, excludeOverlap = true)
+        public List<String> sids;
+
+    }
+
+    /**
+     * 重なりを除外する場合は読み込み時に面積を検査せず、バリデータの判定に委ねることを検証する．
+     */
+    @Test
+    void excludeOverlapIsLeftToValidator() throws Exception {
+
+        final String json = "{\"sids\":[\"10/0/1/1\",\"10/5/1/1\"]}";
+
+        assertThrows(JsonMappingException.class, () -> MAPPER.readValue(json, GrossArea.class));
+
+        final ExcludeOverlap dto = MAPPER.readValue(json, ExcludeOverlap.class);
+
+        final CheckSidAreaValidator validator = new CheckSidAreaValidator();
+
+        validator.initialize(ExcludeOverlap.class.getField("sids").getAnnotation(CheckSidArea.class));
+
+        assertTrue(validator.isValid(dto.sids, null));
+
+    }
+
+    /**
+     * 送信された文字列のまま取得でき、変更可能なリストを返却することを検証する．
+     */
+    @Test
+    void returnsMutableListWithOriginalText() throws Exception {
+
+        final List<String> sent = Arrays.asList("10/007/1/1", null, "26/64/0/0", "10/-0/1/1", "10/0/1/1");
+
+        final ExcludeOverlap dto = MAPPER.readValue("{\"sids\":" + MAPPER.writeValueAsString(sent) + "}", ExcludeOverlap.class);
+
+        assertEquals(sent, dto.sids);
+
+        dto.sids.set(0, "10/0/2/2");
+
+        dto.sids.removeIf(v -> v == null);
+
+        dto.sids.add(null);
+
+        assertEquals(Arrays.asList("10/0/2/2", "26/64/0/0", "10/-0/1/1", "10/0/1/1", null), dto.sids);
+
+    }
+
+    /**
+     * 不正な圧縮形式の違反値に、入力全体ではなく文字数を設定することを検証する．
+     */
+    @Test
+    void malformedCompactValueIsNotEchoed() {
+
+        final String body = "A".repeat(100000);
+
+        final JsonMappingException e = assertThrows(JsonMappingException.class,
+                () -> MAPPER.readValue("{\"sids\":\"" + body + "\"}", ExcludeOverlap.class));
+
+        final SpatialIdViolationException violation = (SpatialIdViolationException) e;
+
+        assertEquals("compact value of 100000 characters", violation.getRejectedValue());
+
+    }
+
+    /**
+     * 長い違反値を切り詰めることを検証する．
+     */
+    @Test
+    void longRejectedValueIsTruncated() {
+
+        final String sid = "1".repeat(1000);
+
+        final SpatialIdViolationException e = assertThrows(SpatialIdViolationException.class,
+                () -> MAPPER.readValue("{\"sids\":[\"" + sid + "\"]}", ExcludeOverlap.class));
+
+        assertEquals(sid.substring(0, 64) + "...(1000 characters)", e.getRejectedValue());
+
+    }
+
+}
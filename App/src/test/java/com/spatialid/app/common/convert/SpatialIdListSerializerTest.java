@@ -0,0 +1,103 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * {@link SpatialIdListSerializer}の出力形式を検証する．
+ *
+ * @version 1.1 2026/10/18
+ */
+class SpatialIdListSerializerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final ObjectWriter COMPACT_WRITER = MAPPER.writer().withAttribute(SpatialIdListSerializer.COMPACT_ATTRIBUTE, Boolean.TRUE);
+
+    /**
+     * 空間IDリストを持つDTO．
+     */
+    static class Response {
+
+        @JsonSerialize(using = SpatialIdListSerializer.class)
+        @JsonDeserialize(using = SpatialIdListDeserializer.class)
+        public List<String> sids;
+
+        Response() {
+
+        }
+
+        Response(List<String> sids) {
+
+            this.sids = sids;
+
+        }
+
+    }
+
+    /**
+     * 圧縮形式で出力した値を読み込めることを検証する．
+     */
+    @Test
+    void compactRoundTrip() throws Exception {
+
+        final List<String> sids = Arrays.asList("26/-5/67108863/0", "10/0/1/1", "1/0/0/0", "20/-3/4/5");
+
+        final String json = COMPACT_WRITER.writeValueAsString(new Response(sids));
+
+        assertTrue(!json.contains("["), json);
+
+        final Response read = MAPPER.readValue(json, Response.class);
+
+        assertEquals(sids.stream().sorted().toList(), read.sids.stream().sorted().toList());
+
+    }
+
+    /**
+     * 圧縮形式で表現できない要素を含む場合は文字列配列を出力することを検証する．
+     */
+    @Test
+    void fallsBackToStringArray() throws Exception {
+
+        final List<List<String>> lists = List.of(
+                Arrays.asList("10/0/1/1", null),
+                Arrays.asList("10/0/1/1", "26/64/0/0"),
+                Arrays.asList("10/0/1/1", "a/b/c/d"));
+
+        for (List<String> sids : lists) {
+
+            final String json = COMPACT_WRITER.writeValueAsString(new Response(sids));
+
+            assertEquals(MAPPER.writeValueAsString(new Response(sids)), json);
+
+            assertEquals(MAPPER.writeValueAsString(sids), MAPPER.readTree(json).get("sids").toString());
+
+        }
+
+    }
+
+    /**
+     * 読み込み済みの、表現できない要素を含むリストも文字列配列として出力することを検証する．
+     */
+    @Test
+    void fallsBackForUnpackedList() throws Exception {
+
+        final Response read = MAPPER.readValue("{\"sids\":[\"10/007/1/1\",\"26/64/0/0\"]}", Response.class);
+
+        assertEquals("{\"sids\":[\"10/007/1/1\",\"26/64/0/0\"]}", COMPACT_WRITER.writeValueAsString(read));
+
+    }
+
+}
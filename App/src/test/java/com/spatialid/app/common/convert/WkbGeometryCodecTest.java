@@ -0,0 +1,347 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.convert;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.geojson.GeoJsonObject;
+import org.geojson.GeometryCollection;
+import org.geojson.LineString;
+import org.geojson.LngLatAlt;
+import org.geojson.MultiLineString;
+import org.geojson.MultiPoint;
+import org.geojson.MultiPolygon;
+import org.geojson.Point;
+import org.geojson.Polygon;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link WkbGeometryCodec}の変換結果と、不正な形式の検出を検証する．
+ *
+ * @version 1.1 2026/10/18
+ */
+class WkbGeometryCodecTest {
+
+    /**
+     * 比較のためにGeoJSONへ変換するオブジェクトマッパー．
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * ジオメトリコレクションの型番号．
+     */
+    private static final int GEOMETRY_COLLECTION = 7;
+
+    /**
+     * 各種類のジオメトリについて、変換して戻した結果が元のジオメトリと一致することを検証する．
+     */
+    @Test
+    void decodeRestoresEncodedGeometry() throws Exception {
+
+        for (GeoJsonObject geometry : samples()) {
+
+            final byte[] ewkb = WkbGeometryCodec.encode(geometry, WkbGeometryCodec.DEFAULT_SRID);
+
+            final GeoJsonObject decoded = WkbGeometryCodec.decode(ewkb);
+
+            assertEquals(json(geometry), json(decoded));
+
+            assertArrayEquals(ewkb, WkbGeometryCodec.encode(decoded, WkbGeometryCodec.DEFAULT_SRID));
+
+            final byte[] hex = HexFormat.of().withUpperCase().formatHex(ewkb).getBytes(StandardCharsets.US_ASCII);
+
+            assertEquals(json(geometry), json(WkbGeometryCodec.decode(hex)));
+
+        }
+
+    }
+
+    /**
+     * ジオメトリコレクション以外について、{@link FlatGeometry}を経由して変換した結果が一致することを検証する．
+     */
+    @Test
+    void decodeFlatRestoresEncodedGeometry() {
+
+        for (GeoJsonObject geometry : samples()) {
+
+            if (geometry instanceof GeometryCollection) {
+
+                continue;
+
+            }
+
+            final byte[] ewkb = WkbGeometryCodec.encode(geometry, WkbGeometryCodec.DEFAULT_SRID);
+
+            final FlatGeometry flat = WkbGeometryCodec.decodeFlat(ewkb);
+
+            assertEquals(WkbGeometryCodec.DEFAULT_SRID, flat.srid());
+
+            assertArrayEquals(ewkb, WkbGeometryCodec.encode(flat));
+
+        }
+
+    }
+
+    /**
+     * 途中で途切れたWKBを、形式の不正として検出することを検証する．
+     */
+    @Test
+    void truncatedInputIsRejected() {
+
+        for (GeoJsonObject geometry : samples()) {
+
+            final byte[] ewkb = WkbGeometryCodec.encode(geometry, WkbGeometryCodec.DEFAULT_SRID);
+
+            for (int length = 0; length < ewkb.length; length++) {
+
+                final byte[] truncated = Arrays.copyOf(ewkb, length);
+
+                assertThrows(IllegalArgumentException.class, () -> WkbGeometryCodec.decode(truncated), () -> json(geometry) + " / " + truncated.length);
+
+                assertThrows(IllegalArgumentException.class, () -> WkbGeometryCodec.decodeFlat(truncated), () -> json(geometry) + " / " + truncated.length);
+
+            }
+
+            final byte[] trailing = Arrays.copyOf(ewkb, ewkb.length + 1);
+
+            assertThrows(IllegalArgumentException.class, () -> WkbGeometryCodec.decode(trailing));
+
+        }
+
+    }
+
+    /**
+     * マルチジオメトリの要素の型を、要素の本体を読み取る前に検査することを検証する．<br>
+     * 末尾が点となるジオメトリコレクションを要素とするマルチポイントも、型の不正として検出する．
+     */
+    @Test
+    void memberTypeIsCheckedBeforeReadingMember() {
+
+        final byte[] collectionInMultiPoint = wkb(buffer -> {
+
+            header(buffer, FlatGeometry.MULTI_POINT).putInt(1);
+
+            header(buffer, GEOMETRY_COLLECTION).putInt(1);
+
+            header(buffer, FlatGeometry.POINT).putDouble(139.7).putDouble(35.6);
+
+        });
+
+        final byte[] pointInMultiLineString = wkb(buffer -> {
+
+            header(buffer, FlatGeometry.MULTI_LINE_STRING).putInt(1);
+
+            header(buffer, FlatGeometry.POINT).putDouble(139.7).putDouble(35.6);
+
+        });
+
+        final byte[] lineStringInMultiPoint = wkb(buffer -> {
+
+            header(buffer, FlatGeometry.MULTI_POINT).putInt(1);
+
+            header(buffer, FlatGeometry.LINE_STRING).putInt(0);
+
+        });
+
+        for (byte[] wkb : List.of(collectionInMultiPoint, pointInMultiLineString, lineStringInMultiPoint)) {
+
+            assertThrows(IllegalArgumentException.class, () -> WkbGeometryCodec.decode(wkb));
+
+            assertThrows(IllegalArgumentException.class, () -> WkbGeometryCodec.decodeFlat(wkb));
+
+        }
+
+    }
+
+    /**
+     * ジオメトリコレクションの入れ子の深さを制限し、深い入れ子をスタックの枯渇前に拒否することを検証する．
+     */
+    @Test
+    void nestedCollectionDepthIsLimited() {
+
+        final GeometryCollection decoded = (GeometryCollection) WkbGeometryCodec.decode(nestedCollections(WkbGeometryCodec.MAX_COLLECTION_DEPTH));
+
+        assertEquals(1, decoded.getGeometries().size());
+
+        assertThrows(IllegalArgumentException.class, () -> WkbGeometryCodec.decode(nestedCollections(WkbGeometryCodec.MAX_COLLECTION_DEPTH + 1)));
+
+        assertThrows(IllegalArgumentException.class, () -> WkbGeometryCodec.decode(nestedCollections(1_000_000)));
+
+    }
+
+    /**
+     * 空間参照系IDが異なるEWKBを拒否し、空間参照系IDを持たないWKBは受け付けることを検証する．
+     */
+    @Test
+    void decodeChecksSrid() {
+
+        final Point point = new Point(139.7, 35.6);
+
+        final byte[] wgs84 = WkbGeometryCodec.encode(point, WkbGeometryCodec.DEFAULT_SRID);
+
+        final byte[] withoutSrid = WkbGeometryCodec.encode(point, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> WkbGeometryCodec.decode(wgs84, 6668));
+
+        WkbGeometryCodec.decode(wgs84, WkbGeometryCodec.DEFAULT_SRID);
+
+        WkbGeometryCodec.decode(wgs84, 0);
+
+        WkbGeometryCodec.decode(withoutSrid, 6668);
+
+    }
+
+    /**
+     * 検証に使用するジオメトリを生成する．
+     *
+     * @return 各種類のジオメトリ．高さを持つものと持たないものを含む
+     */
+    private static List<GeoJsonObject> samples() {
+
+        final Polygon polygon = new Polygon(ring(139.0, 35.0, 140.0, 35.0, 140.0, 36.0, 139.0, 35.0));
+
+        polygon.addInteriorRing(ring(139.2, 35.1, 139.5, 35.1, 139.5, 35.4, 139.2, 35.1));
+
+        final Polygon polygonZ = new Polygon(new LngLatAlt(139.0, 35.0, 10.0), new LngLatAlt(140.0, 35.0, 20.0),
+                new LngLatAlt(140.0, 36.0, 30.0), new LngLatAlt(139.0, 35.0, 10.0));
+
+        final MultiLineString multiLineString = new MultiLineString(ring(139.0, 35.0, 139.5, 35.5));
+
+        multiLineString.add(ring(140.0, 36.0, 140.5, 36.5, 141.0, 37.0));
+
+        final MultiPolygon multiPolygon = new MultiPolygon(polygon);
+
+        multiPolygon.add(new Polygon(ring(141.0, 37.0, 142.0, 37.0, 142.0, 38.0, 141.0, 37.0)));
+
+        final GeometryCollection nested = new GeometryCollection();
+
+        nested.add(new Point(139.7, 35.6));
+
+        final GeometryCollection collection = new GeometryCollection();
+
+        collection.add(new Point(139.7, 35.6, 40.0));
+
+        collection.add(new LineString(new LngLatAlt(139.0, 35.0), new LngLatAlt(139.5, 35.5)));
+
+        collection.add(nested);
+
+        return List.of(
+                new Point(139.7, 35.6),
+                new Point(139.7, 35.6, 40.0),
+                new Point(),
+                new LineString(new LngLatAlt(139.0, 35.0), new LngLatAlt(139.5, 35.5)),
+                new LineString(new LngLatAlt(139.0, 35.0, 1.0), new LngLatAlt(139.5, 35.5, 2.0)),
+                polygon,
+                polygonZ,
+                new MultiPoint(new LngLatAlt(139.0, 35.0), new LngLatAlt(139.5, 35.5)),
+                new MultiPoint(),
+                multiLineString,
+                multiPolygon,
+                collection,
+                new GeometryCollection());
+
+    }
+
+    /**
+     * 経度、緯度の組から座標の列を生成する．
+     *
+     * @param lngLats 経度、緯度を交互に並べた配列
+     * @return 座標の列
+     */
+    private static List<LngLatAlt> ring(double... lngLats) {
+
+        final LngLatAlt[] points = new LngLatAlt[lngLats.length / 2];
+
+        for (int i = 0; i < points.length; i++) {
+
+            points[i] = new LngLatAlt(lngLats[2 * i], lngLats[2 * i + 1]);
+
+        }
+
+        return Arrays.asList(points);
+
+    }
+
+    /**
+     * リトルエンディアンのWKBを生成する．
+     *
+     * @param content 内容を書き込む処理
+     * @return WKB
+     */
+    private static byte[] wkb(Consumer<ByteBuffer> content) {
+
+        final ByteBuffer buffer = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+
+        content.accept(buffer);
+
+        return Arrays.copyOf(buffer.array(), buffer.position());
+
+    }
+
+    /**
+     * ジオメトリコレクションを入れ子にしたWKBを生成する．最も内側は空のジオメトリコレクションとする．
+     *
+     * @param depth ジオメトリコレクションの数
+     * @return WKB
+     */
+    private static byte[] nestedCollections(int depth) {
+
+        final ByteBuffer buffer = ByteBuffer.allocate((1 + Integer.BYTES + Integer.BYTES) * depth).order(ByteOrder.LITTLE_ENDIAN);
+
+        for (int i = 0; i < depth; i++) {
+
+            header(buffer, GEOMETRY_COLLECTION).putInt(i + 1 < depth ? 1 : 0);
+
+        }
+
+        return buffer.array();
+
+    }
+
+    /**
+     * ジオメトリのヘッダを書き込む．
+     *
+     * @param buffer 書き込み先
+     * @param type 型番号
+     * @return 書き込み先
+     */
+    private static ByteBuffer header(ByteBuffer buffer, int type) {
+
+        return buffer.put((byte) 1).putInt(type);
+
+    }
+
+    /**
+     * 比較のためにGeoJSONの文字列に変換する．
+     *
+     * @param geometry ジオメトリ
+     * @return GeoJSONの文字列
+     */
+    private static String json(GeoJsonObject geometry) {
+
+        try {
+
+            return MAPPER.writeValueAsString(geometry);
+
+        } catch (JsonProcessingException e) {
+
+            throw new IllegalStateException(e);
+
+        }
+
+    }
+
+}
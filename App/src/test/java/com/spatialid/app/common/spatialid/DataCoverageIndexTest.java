@@ -0,0 +1,72 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.spatialid.app.common.exception.subexception.DataRangeException;
+import com.spatialid.app.common.spatialid.DataCoverageIndex.Coverage;
+
+/**
+ * {@link DataCoverageIndex}の判定を検証する．
+ *
+ * @version 1.1 2026/10/18
+ */
+class DataCoverageIndexTest {
+
+    private final DataCoverageIndex index = new DataCoverageIndex(List.of("20/1/5/5", "20/-2/5/5"));
+
+    /**
+     * ズームレベル26を超える空間IDを祖先ボクセルで判定することを検証する．
+     */
+    @Test
+    void deepZoomLevel() {
+
+        assertEquals(Coverage.FULL, index.coverageOf(List.of("27/130/640/700", "40/1048576/5242880/6291455")));
+
+        assertEquals(Coverage.NONE, index.coverageOf(List.of("27/0/640/640")));
+
+        assertEquals(Coverage.NONE, index.coverageOf(List.of("40/1048576/6291456/5242880")));
+
+        assertEquals(Coverage.PARTIAL, index.coverageOf(List.of("27/130/640/700", "27/0/640/640")));
+
+    }
+
+    /**
+     * 標高が大きく表現できない空間IDを祖先ボクセルで判定することを検証する．
+     */
+    @Test
+    void largeAltitude() {
+
+        assertEquals(PackedSpatialId.INVALID, PackedSpatialId.parse("26/100/320/320"));
+
+        assertEquals(Coverage.FULL, index.coverageOf(List.of("26/100/320/320", "26/-100/383/383")));
+
+        assertEquals(Coverage.NONE, index.coverageOf(List.of("26/200/320/320")));
+
+        index.requireCovered(List.of("26/127/320/320"));
+
+        assertThrows(DataRangeException.class, () -> index.requireCovered(List.of("26/128/320/320")));
+
+        index.requireAnyCovered(List.of("26/128/320/320", "26/-65/320/320"));
+
+    }
+
+    /**
+     * 書式不正の空間IDを整備範囲と重ならないものとして扱うことを検証する．
+     */
+    @Test
+    void malformed() {
+
+        assertEquals(Coverage.NONE, index.coverageOf(List.of("26/abc/0/0")));
+
+        assertEquals(Coverage.PARTIAL, index.coverageOf(List.of("20/1/5/5", "27/0/-1/0")));
+
+    }
+
+}
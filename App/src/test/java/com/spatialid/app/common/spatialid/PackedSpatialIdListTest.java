@@ -0,0 +1,180 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link PackedSpatialIdList}が{@link ArrayList}と同じく変更可能なリストとして振る舞うことを検証する．
+ *
+ * @version 1.1 2026/10/18
+ */
+class PackedSpatialIdListTest {
+
+    /**
+     * 正規形、正規形でない文字列、表現できない空間ID、書式不正、nullを含む要素．
+     */
+    private static final List<String> VALUES = Arrays.asList(
+            "10/0/1/1", "26/-5/67108863/0", "10/007/1/1", "10/-0/1/1", "26/64/0/0", "a/b/c/d", null, "1/0/0/0");
+
+    /**
+     * 追加した文字列をそのまま返却することを検証する．
+     */
+    @Test
+    void keepsOriginalText() {
+
+        final PackedSpatialIdList list = new PackedSpatialIdList(2);
+
+        list.addAll(VALUES);
+
+        assertEquals(VALUES, list);
+
+        assertEquals(new ArrayList<>(VALUES).hashCode(), list.hashCode());
+
+        assertFalse(list.isFullyPacked());
+
+        assertEquals(PackedSpatialId.parse("10/7/1/1"), list.getPacked(2));
+
+        assertEquals(PackedSpatialId.INVALID, list.getPacked(4));
+
+    }
+
+    /**
+     * 無作為な追加・挿入・置換・削除の結果が{@link ArrayList}と一致することを検証する．
+     */
+    @Test
+    void matchesArrayListUnderRandomMutation() {
+
+        final Random random = new Random(20261018L);
+
+        final PackedSpatialIdList list = new PackedSpatialIdList(1);
+
+        final List<String> oracle = new ArrayList<>();
+
+        for (int step = 0; step < 20000; step++) {
+
+            final String value = VALUES.get(random.nextInt(VALUES.size()));
+
+            final int operation = random.nextInt(5);
+
+            if (operation == 0 || oracle.isEmpty()) {
+
+                assertEquals(oracle.add(value), list.add(value));
+
+            } else if (operation == 1) {
+
+                final int index = random.nextInt(oracle.size() + 1);
+
+                oracle.add(index, value);
+
+                list.add(index, value);
+
+            } else if (operation == 2) {
+
+                final int index = random.nextInt(oracle.size());
+
+                assertEquals(oracle.set(index, value), list.set(index, value));
+
+            } else if (operation == 3) {
+
+                final int index = random.nextInt(oracle.size());
+
+                assertEquals(oracle.remove(index), list.remove(index));
+
+            } else if (random.nextInt(50) == 0) {
+
+                final int from = random.nextInt(oracle.size());
+
+                final int to = from + random.nextInt(oracle.size() - from + 1);
+
+                oracle.subList(from, to).clear();
+
+                list.subList(from, to).clear();
+
+            }
+
+            assertEquals(oracle, list);
+
+            assertEquals(oracle.stream().allMatch(v -> PackedSpatialId.parse(v) != PackedSpatialId.INVALID), list.isFullyPacked());
+
+        }
+
+    }
+
+    /**
+     * 一括操作が{@link ArrayList}と同じ結果となることを検証する．
+     */
+    @Test
+    void supportsBulkOperations() {
+
+        final PackedSpatialIdList list = new PackedSpatialIdList();
+
+        list.addAll(VALUES);
+
+        final List<String> oracle = new ArrayList<>(VALUES);
+
+        list.removeIf(v -> v == null || v.startsWith("a"));
+
+        oracle.removeIf(v -> v == null || v.startsWith("a"));
+
+        assertEquals(oracle, list);
+
+        list.sort(Comparator.naturalOrder());
+
+        oracle.sort(Comparator.naturalOrder());
+
+        assertEquals(oracle, list);
+
+        list.replaceAll(v -> v.replace("/1/1", "/2/2"));
+
+        oracle.replaceAll(v -> v.replace("/1/1", "/2/2"));
+
+        assertEquals(oracle, list);
+
+        assertFalse(list.isFullyPacked());
+
+        list.remove("26/64/0/0");
+
+        assertTrue(list.isFullyPacked());
+
+        list.clear();
+
+        assertTrue(list.isEmpty());
+
+        assertTrue(list.isFullyPacked());
+
+    }
+
+    /**
+     * 表現できない要素を含む場合、変換済みの配列を返却しないことを検証する．
+     */
+    @Test
+    void toPackedArrayRequiresPackableElements() {
+
+        final PackedSpatialIdList list = new PackedSpatialIdList();
+
+        list.add("10/0/1/1");
+
+        list.add("10/007/1/1");
+
+        assertArrayEquals(new long[] { PackedSpatialId.parse("10/0/1/1"), PackedSpatialId.parse("10/7/1/1") }, list.toPackedArray());
+
+        list.add(null);
+
+        assertThrows(IllegalStateException.class, list::toPackedArray);
+
+    }
+
+}
@@ -0,0 +1,129 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 空間IDのリストの検査について、要素ごとの判定と{@link SpatialIdBatchValidator}による一括判定を比較するベンチマーク．
+ * <p>
+ * 以下のように実行する．
+ * </p>
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test.classpath
+ * java -cp target/test-classes:target/classes:$(cat target/test.classpath) org.openjdk.jmh.Main SpatialIdBatchValidatorBenchmark
+ * </pre>
+ *
+ * @version 1.1 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SpatialIdBatchValidatorBenchmark {
+
+    /**
+     * 空間IDの件数．
+     */
+    @Param({ "100", "10000" })
+    private int size;
+
+    /**
+     * 検査対象の空間IDのリスト．
+     */
+    private List<String> values;
+
+    /**
+     * 解析済みの空間ID．
+     */
+    private SpatialIdColumns columns;
+
+    @Setup
+    public void setUp() {
+
+        final Random random = new Random(20261018L);
+
+        values = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+
+            final int z = 16 + random.nextInt(11);
+
+            values.add(z + "/" + random.nextInt(100) + "/" + random.nextInt(1 << z) + "/" + random.nextInt(1 << z));
+
+        }
+
+        columns = SpatialIdColumns.parse(values);
+
+    }
+
+    /**
+     * 要素ごとに{@link SpatialId}で解析し、範囲を判定する．
+     *
+     * @return 不正な要素の数
+     */
+    @Benchmark
+    public int scalar() {
+
+        int invalid = 0;
+
+        for (String value : values) {
+
+            final SpatialId spatialId = SpatialId.parseOrNull(value);
+
+            if (spatialId == null || spatialId.z() < 1 || 26 < spatialId.z()
+                    || spatialId.x() < 0 || (1L << spatialId.z()) <= spatialId.x()
+                    || spatialId.y() < 0 || (1L << spatialId.z()) <= spatialId.y()) {
+
+                invalid++;
+
+            }
+
+        }
+
+        return invalid;
+
+    }
+
+    /**
+     * 要素ごとの配列に解析し、一括で判定する．
+     *
+     * @return 不正な要素のビットマップ
+     */
+    @Benchmark
+    public long[] parseAndValidate() {
+
+        return SpatialIdBatchValidator.validate(SpatialIdColumns.parse(values), 1, 26);
+
+    }
+
+    /**
+     * 解析済みの配列を一括で判定する．判定処理のみの所要時間を測定する．
+     *
+     * @return 不正な要素のビットマップ
+     */
+    @Benchmark
+    public long[] validateOnly() {
+
+        return SpatialIdBatchValidator.validate(columns, 1, 26);
+
+    }
+
+}
@@ -0,0 +1,174 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link SpatialIdBatchValidator}のビットマップ判定が、{@link SpatialId#check(CharSequence)}による要素ごとの判定と一致することを検証する．
+ *
+ * @version 1.1 2026/10/18
+ */
+class SpatialIdBatchValidatorTest {
+
+    /**
+     * ズームレベルの下限．
+     */
+    private static final int LOWER_LIMIT = 1;
+
+    /**
+     * ズームレベルの上限．
+     */
+    private static final int UPPER_LIMIT = 26;
+
+    /**
+     * 境界値となる空間ID．
+     */
+    private static final List<String> EDGE_CASES = Arrays.asList(
+            "1/0/0/0", "1/0/1/1", "1/0/2/0", "1/0/0/2", "26/0/67108863/67108863", "26/0/67108864/0",
+            "26/-100/0/0", "27/0/0/0", "0/0/0/0", "01/0/0/0", "1/-0/0/0", "1/0/-1/0", "1/0/0/-1",
+            "", "1/0/0", "1/0/0/0/0", "1//0/0", "a/0/0/0", "1/0/0/0 ", "99999999999/0/0/0",
+            "1/9223372036854775807/0/0", "1/9223372036854775808/0/0", "62/0/0/0", "63/0/0/0", null);
+
+    /**
+     * 境界値の各要素を、ビットマップ上の位置によらず要素ごとの判定と同じ結果となることを検証する．
+     */
+    @Test
+    void validateMatchesScalarCheckForEdgeCases() {
+
+        for (int offset : new int[] { 0, 1, 63, 64, 65 }) {
+
+            final List<String> values = new ArrayList<>();
+
+            for (int i = 0; i < offset; i++) {
+
+                values.add("1/0/0/0");
+
+            }
+
+            values.addAll(EDGE_CASES);
+
+            assertMatchesScalarCheck(values);
+
+        }
+
+    }
+
+    /**
+     * 無作為に生成した空間IDについて、要素ごとの判定と同じ結果となることを検証する．
+     */
+    @Test
+    void validateMatchesScalarCheckForRandomValues() {
+
+        final Random random = new Random(20261018L);
+
+        for (int size : new int[] { 1, 63, 64, 65, 1000 }) {
+
+            final List<String> values = new ArrayList<>(size);
+
+            for (int i = 0; i < size; i++) {
+
+                final int z = random.nextInt(30);
+
+                final long limit = 1L << Math.min(z, 62);
+
+                // 範囲の前後にはみ出す値も生成する
+                final long x = random.nextInt(4) == 0 ? limit : Math.floorMod(random.nextLong(), limit);
+
+                final long y = random.nextInt(4) == 0 ? -1 : Math.floorMod(random.nextLong(), limit);
+
+                values.add(z + "/" + (random.nextInt(201) - 100) + "/" + x + "/" + y);
+
+            }
+
+            assertMatchesScalarCheck(values);
+
+        }
+
+    }
+
+    /**
+     * 全ての要素が正常な場合に、不正な要素が検出されないことを検証する．
+     */
+    @Test
+    void hasInvalidIsFalseWhenAllValid() {
+
+        final long[] invalid = SpatialIdBatchValidator.validate(SpatialIdColumns.parse(List.of("20/0/1/1", "26/5/67108863/0")),
+                LOWER_LIMIT, UPPER_LIMIT);
+
+        assertFalse(SpatialIdBatchValidator.hasInvalid(invalid));
+
+        assertEquals(-1, SpatialIdBatchValidator.firstInvalid(invalid));
+
+    }
+
+    /**
+     * 要素ごとの判定と結果が一致することを検査する．
+     *
+     * @param values 空間IDのリスト
+     */
+    private static void assertMatchesScalarCheck(List<String> values) {
+
+        final long[] invalid = SpatialIdBatchValidator.validate(SpatialIdColumns.parse(values), LOWER_LIMIT, UPPER_LIMIT);
+
+        int expectedFirst = -1;
+
+        for (int i = 0; i < values.size(); i++) {
+
+            final boolean expected = isValidScalar(values.get(i));
+
+            final boolean actual = (invalid[i >>> 6] & (1L << i)) == 0;
+
+            assertEquals(expected, actual, "index " + i + ": " + values.get(i));
+
+            if (!expected && expectedFirst < 0) {
+
+                expectedFirst = i;
+
+            }
+
+        }
+
+        assertEquals(expectedFirst, SpatialIdBatchValidator.firstInvalid(invalid));
+
+        assertEquals(0 <= expectedFirst, SpatialIdBatchValidator.hasInvalid(invalid));
+
+    }
+
+    /**
+     * 要素ごとの判定を行う．
+     *
+     * @param value 空間ID文字列
+     * @return 書式が正しく、ズームレベルおよび経度・緯度インデックスが範囲内の場合はtrue
+     */
+    private static boolean isValidScalar(String value) {
+
+        if (SpatialId.check(value) != SpatialId.VALID) {
+
+            return false;
+
+        }
+
+        final SpatialId spatialId = SpatialId.parse(value);
+
+        if (spatialId.z() < LOWER_LIMIT || UPPER_LIMIT < spatialId.z()) {
+
+            return false;
+
+        }
+
+        final long limit = 1L << spatialId.z();
+
+        return 0 <= spatialId.x() && spatialId.x() < limit && 0 <= spatialId.y() && spatialId.y() < limit;
+
+    }
+
+}
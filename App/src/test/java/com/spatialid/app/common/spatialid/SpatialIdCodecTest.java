@@ -0,0 +1,155 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link SpatialIdCodec}の変換して戻した結果が元の空間IDと一致することと、不正な形式の検出を検証する．
+ *
+ * @version 1.1 2026/10/18
+ */
+class SpatialIdCodecTest {
+
+    /**
+     * 負の標高やズームレベル16以上(long値が負となる)を含む無作為な空間IDが、重複を含めて復元されることを検証する．
+     */
+    @Test
+    void decodeRestoresEncodedIds() {
+
+        final Random random = new Random(19);
+
+        for (int i = 0; i < 200; i++) {
+
+            final long[] packedIds = new long[random.nextInt(300)];
+
+            for (int j = 0; j < packedIds.length; j++) {
+
+                packedIds[j] = (0 < j && random.nextInt(10) == 0) ? packedIds[random.nextInt(j)] : randomId(random);
+
+            }
+
+            assertArrayEquals(zoomOrder(packedIds), SpatialIdCodec.decode(SpatialIdCodec.encode(packedIds)));
+
+        }
+
+    }
+
+    /**
+     * 各ズームレベルの表現範囲の端の値が復元されることを検証する．
+     */
+    @Test
+    void decodeRestoresBoundaryValues() {
+
+        final long[] packedIds = new long[PackedSpatialId.MAX_ZOOM_LEVEL * 2];
+
+        for (int z = 1; z <= PackedSpatialId.MAX_ZOOM_LEVEL; z++) {
+
+            final long limit = PackedSpatialId.fLimit(z);
+
+            packedIds[2 * (z - 1)] = PackedSpatialId.encode(z, -limit, 0, 0);
+
+            packedIds[2 * (z - 1) + 1] = PackedSpatialId.encode(z, limit - 1, (1L << z) - 1, (1L << z) - 1);
+
+        }
+
+        assertArrayEquals(zoomOrder(packedIds), SpatialIdCodec.decode(SpatialIdCodec.encode(packedIds)));
+
+    }
+
+    /**
+     * 空間ID文字列のリストが、ズームレベル順・昇順に並べ替えた同じ要素のリストとして復元されることを検証する．
+     */
+    @Test
+    void decodeToListRestoresStrings() {
+
+        final List<String> list = List.of("20/-5/1000/2000", "16/-1/65535/0", "3/-8/7/7", "26/31/67108863/0", "3/-8/7/7", "1/0/0/0");
+
+        final PackedSpatialIdList decoded = SpatialIdCodec.decodeToList(SpatialIdCodec.encode(list));
+
+        assertEquals(List.of("1/0/0/0", "3/-8/7/7", "3/-8/7/7", "16/-1/65535/0", "20/-5/1000/2000", "26/31/67108863/0"), decoded);
+
+        assertArrayEquals(new byte[] { SpatialIdCodec.VERSION }, SpatialIdCodec.encode(new long[0]));
+
+        assertEquals(0, SpatialIdCodec.decodeToList(new byte[] { SpatialIdCodec.VERSION }).size());
+
+    }
+
+    /**
+     * 途中で途切れた形式や版数の異なる形式を拒否することを検証する．
+     */
+    @Test
+    void malformedInputIsRejected() {
+
+        final byte[] data = SpatialIdCodec.encode(new long[] {
+                PackedSpatialId.encode(18, -70000, 200000, 100000),
+                PackedSpatialId.encode(18, 70000, 200001, 100000) });
+
+        // 版数のみの1byteは空のリストとして正しい
+        for (int length = 0; length < data.length; length++) {
+
+            if (length == 1) {
+
+                continue;
+
+            }
+
+            final byte[] truncated = Arrays.copyOf(data, length);
+
+            assertThrows(IllegalArgumentException.class, () -> SpatialIdCodec.decode(truncated), () -> "length " + truncated.length);
+
+        }
+
+        final byte[] version = data.clone();
+
+        version[0] = SpatialIdCodec.VERSION + 1;
+
+        assertThrows(IllegalArgumentException.class, () -> SpatialIdCodec.decode(version));
+
+        assertThrows(IllegalArgumentException.class, () -> SpatialIdCodec.decode(new byte[] { SpatialIdCodec.VERSION, 27, 1, 0 }));
+
+        assertThrows(IllegalArgumentException.class, () -> SpatialIdCodec.decode(new byte[] { SpatialIdCodec.VERSION, 1, 100, 0 }));
+
+    }
+
+    /**
+     * 表現可能な範囲から無作為に空間IDを生成する．
+     *
+     * @param random 乱数
+     * @return 変換済みの空間ID
+     */
+    private static long randomId(Random random) {
+
+        final int z = 1 + random.nextInt(PackedSpatialId.MAX_ZOOM_LEVEL);
+
+        final long limit = PackedSpatialId.fLimit(z);
+
+        return PackedSpatialId.encode(z, random.nextLong(-limit, limit), random.nextLong(1L << z), random.nextLong(1L << z));
+
+    }
+
+    /**
+     * 復元結果の順序であるズームレベル順・昇順に並べ替える．
+     *
+     * @param packedIds 変換済みの空間IDの配列
+     * @return 並べ替えた配列
+     */
+    private static long[] zoomOrder(long[] packedIds) {
+
+        return Arrays.stream(packedIds)
+                .map(packed -> packed ^ Long.MIN_VALUE)
+                .sorted()
+                .map(packed -> packed ^ Long.MIN_VALUE)
+                .toArray();
+
+    }
+
+}
@@ -0,0 +1,156 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.spatialid.app.common.spatialid.SpatialIdNeighbors.Connectivity;
+
+/**
+ * {@link SpatialIdNeighbors}の近傍列挙を検証する．
+ *
+ * @version 1.1 2026/10/18
+ */
+class SpatialIdNeighborsTest {
+
+    /**
+     * 境界から離れたボクセルの隣接数が連結性に応じた数となることを検証する．
+     */
+    @Test
+    void neighborCounts() {
+
+        final long packed = PackedSpatialId.encode(10, 5, 100, 100);
+
+        assertEquals(6, SpatialIdNeighbors.neighbors(packed, Connectivity.FACE).length);
+
+        assertEquals(18, SpatialIdNeighbors.neighbors(packed, Connectivity.EDGE).length);
+
+        assertEquals(26, SpatialIdNeighbors.neighbors(packed, Connectivity.VERTEX).length);
+
+    }
+
+    /**
+     * 18近傍のk回到達範囲が、チェビシェフ距離k以内かつマンハッタン距離2k以内のボクセルと一致することを検証する．
+     */
+    @Test
+    void edgeConnectivityManhattanBound() {
+
+        final long packed = PackedSpatialId.encode(10, 5, 100, 100);
+
+        for (int k = 0; k <= 4; k++) {
+
+            final LongSpatialIdSet expected = new LongSpatialIdSet();
+
+            for (int df = -k; df <= k; df++) {
+
+                for (int dx = -k; dx <= k; dx++) {
+
+                    for (int dy = -k; dy <= k; dy++) {
+
+                        if (Math.abs(df) + Math.abs(dx) + Math.abs(dy) <= 2 * k) {
+
+                            expected.add(PackedSpatialId.encode(10, 5 + df, 100 + dx, 100 + dy));
+
+                        }
+
+                    }
+
+                }
+
+            }
+
+            assertArrayEquals(expected.toSortedArray(), SpatialIdNeighbors.kRing(packed, k, Connectivity.EDGE));
+
+        }
+
+    }
+
+    /**
+     * 6近傍のk回到達範囲がマンハッタン距離k以内の八面体となることを検証する．
+     */
+    @Test
+    void faceConnectivityOctahedron() {
+
+        final long packed = PackedSpatialId.encode(10, 5, 100, 100);
+
+        // 八面体の要素数は(2k+1)(2k^2+2k+3)/3
+        for (int k = 0; k <= 5; k++) {
+
+            assertEquals((2 * k + 1) * (2 * k * k + 2 * k + 3) / 3, SpatialIdNeighbors.kRing(packed, k, Connectivity.FACE).length);
+
+        }
+
+    }
+
+    /**
+     * 小さいズームレベルで経度方向が折り返し、重複なく列挙されることを検証する．
+     */
+    @Test
+    void wrapsLongitudeAtSmallZoomLevel() {
+
+        final long origin = PackedSpatialId.encode(2, 0, 0, 1);
+
+        final long[] neighbors = SpatialIdNeighbors.neighbors(origin, Connectivity.FACE);
+
+        assertTrue(contains(neighbors, PackedSpatialId.encode(2, 0, 3, 1)));
+
+        assertTrue(contains(neighbors, PackedSpatialId.encode(2, 0, 1, 1)));
+
+        assertEquals(6, neighbors.length);
+
+        // z=1では経度方向の2ボクセルが左右両方で隣接するため、重複を除いて数える
+        final long[] ring = SpatialIdNeighbors.kRing(PackedSpatialId.encode(1, 0, 0, 0), 1, Connectivity.VERTEX);
+
+        assertEquals(2 * 2 * 3, ring.length);
+
+        // 経度方向の到達範囲が一周を超えても、全ての経度を1回ずつ含む
+        assertEquals(4 * 4 * 7, SpatialIdNeighbors.kRing(PackedSpatialId.encode(2, 0, 0, 1), 3, Connectivity.VERTEX).length);
+
+    }
+
+    /**
+     * 不正な空間IDと、上限を超えるステップ数を拒否することを検証する．
+     */
+    @Test
+    void rejectsInvalidInput() {
+
+        final long packed = PackedSpatialId.encode(10, 5, 100, 100);
+
+        final LongSpatialIdSet out = new LongSpatialIdSet();
+
+        assertThrows(IllegalArgumentException.class, () -> SpatialIdNeighbors.addWithin(PackedSpatialId.INVALID, 1, Connectivity.FACE, out));
+
+        assertThrows(IllegalArgumentException.class, () -> SpatialIdNeighbors.addWithin(packed, -1, Connectivity.FACE, out));
+
+        assertThrows(IllegalArgumentException.class, () -> SpatialIdNeighbors.addWithin(packed, 128, Connectivity.FACE, out));
+
+        assertThrows(IllegalArgumentException.class, () -> SpatialIdNeighbors.addWithin(packed, Integer.MAX_VALUE, Connectivity.FACE, out));
+
+        SpatialIdNeighbors.addWithin(packed, 127, Connectivity.FACE, out);
+
+        assertTrue(out.contains(packed));
+
+    }
+
+    private static boolean contains(long[] array, long value) {
+
+        for (long element : array) {
+
+            if (element == value) {
+
+                return true;
+
+            }
+
+        }
+
+        return false;
+
+    }
+
+}
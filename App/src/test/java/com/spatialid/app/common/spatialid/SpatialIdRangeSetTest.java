@@ -0,0 +1,257 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link SpatialIdRangeSet}の和・積・差を、最も細かいズームレベルのボクセルに展開した{@link LongSpatialIdSet}と比較して検証する．
+ *
+ * @version 1.1 2026/10/18
+ */
+class SpatialIdRangeSetTest {
+
+    /**
+     * ズームレベル1～4が混在する集合同士の演算結果が、ズームレベル4のボクセルの集合演算と一致することを検証する．
+     */
+    @Test
+    void coarseSetAlgebraMatchesVoxelSets() {
+
+        final Random random = new Random(11);
+
+        for (int i = 0; i < 300; i++) {
+
+            final long[] a = randomIds(random, 1, 4, 0, 0, 0, 0);
+
+            final long[] b = randomIds(random, 1, 4, 0, 0, 0, 0);
+
+            assertAlgebra(a, b, 4, 0, 0, 0, 0);
+
+        }
+
+    }
+
+    /**
+     * ズームレベル19～22が混在し、詳細要素を持つ集合同士の演算結果が、ズームレベル22のボクセルの集合演算と一致することを検証する．
+     */
+    @Test
+    void fineSetAlgebraMatchesVoxelSets() {
+
+        final Random random = new Random(13);
+
+        for (int i = 0; i < 300; i++) {
+
+            final long[] a = randomIds(random, 19, 22, 19, -3, 5, 7);
+
+            final long[] b = randomIds(random, 19, 22, 19, -3, 5, 7);
+
+            assertAlgebra(a, b, 22, 19, -3, 5, 7);
+
+        }
+
+    }
+
+    /**
+     * 基準ズームレベルの異なる集合同士の演算結果が、ボクセルの集合演算と一致することを検証する．
+     */
+    @Test
+    void mixedKeyZoomAlgebraMatchesVoxelSets() {
+
+        final Random random = new Random(17);
+
+        for (int i = 0; i < 300; i++) {
+
+            final long[] a = randomIds(random, 19, 19, 19, -3, 5, 7);
+
+            final long[] b = randomIds(random, 20, 22, 19, -3, 5, 7);
+
+            assertAlgebra(a, b, 22, 19, -3, 5, 7);
+
+            assertAlgebra(b, a, 22, 19, -3, 5, 7);
+
+        }
+
+    }
+
+    /**
+     * 2つの集合の和・積・差と包含判定が、ボクセルに展開した集合の演算と一致することを検証する．
+     *
+     * @param a 一方の集合の要素
+     * @param b 他方の集合の要素
+     * @param zoom 展開するズームレベル
+     * @param rootZoom 全要素を含む祖先ボクセルのズームレベル．0の場合は全空間とする
+     * @param rootF 祖先ボクセルの標高インデックス
+     * @param rootX 祖先ボクセルの経度インデックス
+     * @param rootY 祖先ボクセルの緯度インデックス
+     */
+    private static void assertAlgebra(long[] a, long[] b, int zoom, int rootZoom, long rootF, long rootX, long rootY) {
+
+        final SpatialIdRangeSet setA = new SpatialIdRangeSet(a);
+
+        final SpatialIdRangeSet setB = new SpatialIdRangeSet(b);
+
+        final LongSpatialIdSet voxelsA = expand(a, zoom);
+
+        final LongSpatialIdSet voxelsB = expand(b, zoom);
+
+        final LongSpatialIdSet union = new LongSpatialIdSet();
+
+        final LongSpatialIdSet intersection = new LongSpatialIdSet();
+
+        final LongSpatialIdSet difference = new LongSpatialIdSet();
+
+        voxelsA.forEachLong(packed -> {
+
+            union.add(packed);
+
+            (voxelsB.contains(packed) ? intersection : difference).add(packed);
+
+        });
+
+        voxelsB.forEachLong(union::add);
+
+        assertSameVoxels(union, setA.union(setB), zoom);
+
+        assertSameVoxels(intersection, setA.intersect(setB), zoom);
+
+        assertSameVoxels(difference, setA.difference(setB), zoom);
+
+        assertEquals(difference.isEmpty(), setA.isSubsetOf(setB));
+
+        // 祖先ボクセル配下の全ボクセルについて、包含判定を展開した集合と比較する
+        for (long voxel : expand(roots(rootZoom, rootF, rootX, rootY), zoom).toArray()) {
+
+            assertEquals(voxelsA.contains(voxel), setA.contains(voxel), () -> PackedSpatialId.toString(voxel));
+
+        }
+
+    }
+
+    /**
+     * 集合演算の結果をボクセルに展開し、期待するボクセルの集合と一致することを検証する．
+     *
+     * @param expected 期待するボクセルの集合
+     * @param actual 集合演算の結果
+     * @param zoom 展開するズームレベル
+     */
+    private static void assertSameVoxels(LongSpatialIdSet expected, SpatialIdRangeSet actual, int zoom) {
+
+        assertArrayEquals(expected.toSortedArray(), expand(actual.toPackedArray(), zoom).toSortedArray());
+
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+
+    }
+
+    /**
+     * 祖先ボクセル配下の空間IDを無作為に生成する．
+     *
+     * @param random 乱数
+     * @param minZoom 最小のズームレベル
+     * @param maxZoom 最大のズームレベル
+     * @param rootZoom 祖先ボクセルのズームレベル．0の場合は全空間とする
+     * @param rootF 祖先ボクセルの標高インデックス
+     * @param rootX 祖先ボクセルの経度インデックス
+     * @param rootY 祖先ボクセルの緯度インデックス
+     * @return 変換済みの空間IDの配列．重複や包含関係を含む
+     */
+    private static long[] randomIds(Random random, int minZoom, int maxZoom, int rootZoom, long rootF, long rootX, long rootY) {
+
+        final long[] packedIds = new long[random.nextInt(8)];
+
+        for (int i = 0; i < packedIds.length; i++) {
+
+            final int z = minZoom + random.nextInt(maxZoom - minZoom + 1);
+
+            final int shift = z - rootZoom;
+
+            // 全空間の場合、標高は[-2^z, 2^z)の範囲とする
+            final long f = (rootZoom == 0) ? random.nextInt(2 << z) - (1L << z) : (rootF << shift) + random.nextInt(1 << shift);
+
+            final long x = (rootX << shift) + random.nextInt(1 << shift);
+
+            final long y = (rootY << shift) + random.nextInt(1 << shift);
+
+            packedIds[i] = PackedSpatialId.encode(z, f, x, y);
+
+        }
+
+        return packedIds;
+
+    }
+
+    /**
+     * 生成する空間IDを全て含むボクセルを返却する．
+     *
+     * @param rootZoom 祖先ボクセルのズームレベル．0の場合は全空間とする
+     * @param rootF 祖先ボクセルの標高インデックス
+     * @param rootX 祖先ボクセルの経度インデックス
+     * @param rootY 祖先ボクセルの緯度インデックス
+     * @return 変換済みの空間IDの配列．全空間の場合はズームレベル1の全ボクセル
+     */
+    private static long[] roots(int rootZoom, long rootF, long rootX, long rootY) {
+
+        if (rootZoom != 0) {
+
+            return new long[] { PackedSpatialId.encode(rootZoom, rootF, rootX, rootY) };
+
+        }
+
+        final long[] roots = new long[16];
+
+        for (int i = 0; i < roots.length; i++) {
+
+            roots[i] = PackedSpatialId.encode(1, (i >> 2) - 2, (i >> 1) & 1, i & 1);
+
+        }
+
+        return roots;
+
+    }
+
+    /**
+     * 空間IDを指定したズームレベルの配下のボクセルに展開する．
+     *
+     * @param packedIds 変換済みの空間IDの配列
+     * @param zoom 展開するズームレベル．全要素のズームレベル以上とする
+     * @return ボクセルの集合
+     */
+    private static LongSpatialIdSet expand(long[] packedIds, int zoom) {
+
+        final LongSpatialIdSet voxels = new LongSpatialIdSet();
+
+        for (long packed : packedIds) {
+
+            final int shift = zoom - PackedSpatialId.zoomLevel(packed);
+
+            final long f = PackedSpatialId.f(packed) << shift;
+
+            final long x = PackedSpatialId.x(packed) << shift;
+
+            final long y = PackedSpatialId.y(packed) << shift;
+
+            for (long df = 0; df < 1L << shift; df++) {
+
+                for (long dx = 0; dx < 1L << shift; dx++) {
+
+                    for (long dy = 0; dy < 1L << shift; dy++) {
+
+                        voxels.add(PackedSpatialId.encode(zoom, f + df, x + dx, y + dy));
+
+                    }
+
+                }
+
+            }
+
+        }
+
+        return voxels;
+
+    }
+
+}
@@ -0,0 +1,103 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link SpatialIdSnapshot}の保存・読み込みとチェックサムの検査を検証する．
+ *
+ * @version 1.1 2026/10/18
+ */
+class SpatialIdSnapshotTest {
+
+    /**
+     * 保存した集合を検査の有無によらず読み込めることを検証する．
+     */
+    @Test
+    void roundTrip() throws IOException {
+
+        final Path path = Files.createTempFile("snapshot", ".sidx");
+
+        try {
+
+            final long[] packedIds = { PackedSpatialId.parse("10/0/1/1"), PackedSpatialId.parse("26/-5/3/4"), PackedSpatialId.parse("10/0/1/1") };
+
+            SpatialIdSnapshot.write(path, packedIds);
+
+            final long[] expected = { packedIds[0], packedIds[1] };
+
+            Arrays.sort(expected);
+
+            assertArrayEquals(expected, SpatialIdSnapshot.mapIdSet(path).toSortedArray());
+
+            assertArrayEquals(expected, SpatialIdSnapshot.mapIdSet(path, false).toSortedArray());
+
+            SpatialIdSnapshot.verify(path);
+
+            final SpatialIdRangeSet rangeSet = new SpatialIdRangeSet(List.of("10/0/1/1", "20/3/5/5"));
+
+            SpatialIdSnapshot.write(path, rangeSet);
+
+            assertEquals(rangeSet, SpatialIdSnapshot.readRangeSet(path));
+
+            SpatialIdSnapshot.verify(path);
+
+        } finally {
+
+            Files.deleteIfExists(path);
+
+        }
+
+    }
+
+    /**
+     * 検査を省略した場合はデータ部の破損を読み込み時に検出せず、{@link SpatialIdSnapshot#verify(Path)}で検出することを検証する．
+     */
+    @Test
+    void deferredVerification() throws IOException {
+
+        final Path path = Files.createTempFile("snapshot", ".sidx");
+
+        try {
+
+            SpatialIdSnapshot.write(path, new long[] { PackedSpatialId.parse("10/0/1/1"), PackedSpatialId.parse("10/0/1/2") });
+
+            try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+
+                file.seek(file.length() - 1);
+
+                final int last = file.read();
+
+                file.seek(file.length() - 1);
+
+                file.write(last ^ 1);
+
+            }
+
+            assertThrows(IOException.class, () -> SpatialIdSnapshot.mapIdSet(path));
+
+            assertEquals(2, SpatialIdSnapshot.mapIdSet(path, false).size());
+
+            assertThrows(IOException.class, () -> SpatialIdSnapshot.verify(path));
+
+        } finally {
+
+            Files.deleteIfExists(path);
+
+        }
+
+    }
+
+}
@@ -0,0 +1,84 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link SpatialIdSqlArrays}の変換と、{@link PackedSpatialId}形式で表現できない空間IDの扱いを検証する．
+ *
+ * @version 1.1 2026/10/18
+ */
+class SpatialIdSqlArraysTest {
+
+    /**
+     * 表現できる範囲の空間IDが、{@link PackedSpatialId}形式の配列と要素ごとの配列の双方に変換できることを検証する．
+     */
+    @Test
+    void convertsPackableIds() {
+
+        final long limit = PackedSpatialId.fLimit(26);
+
+        final List<String> sids = Arrays.asList("1/0/0/0", "26/" + (limit - 1) + "/67108863/0", "26/" + (-limit) + "/0/67108863");
+
+        final long[] packed = SpatialIdSqlArrays.toPackedArray(sids);
+
+        for (int i = 0; i < sids.size(); i++) {
+
+            assertEquals(sids.get(i), PackedSpatialId.toString(packed[i]));
+
+        }
+
+        assertArrayEquals(new long[] { 0, limit - 1, -limit }, SpatialIdSqlArrays.toColumns(sids).getF());
+
+    }
+
+    /**
+     * 書式として正しいが表現できない空間IDは、{@link SpatialIdSqlArrays#toColumns(List)}でのみ変換できることを検証する．
+     */
+    @Test
+    void unpackableIdsRequireColumns() {
+
+        final long limit = PackedSpatialId.fLimit(26);
+
+        for (String sid : new String[] { "26/" + limit + "/0/0", "26/" + (-limit - 1) + "/0/0", "27/0/0/0" }) {
+
+            final IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> SpatialIdSqlArrays.toPackedArray(List.of("1/0/0/0", sid)));
+
+            assertTrue(e.getMessage().contains("toColumns"), e.getMessage());
+
+            assertEquals(2, SpatialIdSqlArrays.toColumns(List.of("1/0/0/0", sid)).size());
+
+        }
+
+    }
+
+    /**
+     * 書式不正の空間IDは、いずれの変換でも拒否することを検証する．
+     */
+    @Test
+    void malformedIdsAreRejected() {
+
+        for (String sid : Arrays.asList("1/0/0", "a/0/0/0", "", null)) {
+
+            final IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> SpatialIdSqlArrays.toPackedArray(Arrays.asList("1/0/0/0", sid)));
+
+            assertTrue(e.getMessage().startsWith("Invalid spatial id"), e.getMessage());
+
+            assertThrows(IllegalArgumentException.class, () -> SpatialIdSqlArrays.toColumns(Arrays.asList("1/0/0/0", sid)));
+
+        }
+
+    }
+
+}
@@ -0,0 +1,244 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.spatialid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.spatialid.app.common.spatialid.SpatialKeyEncoder.Curve;
+
+/**
+ * {@link SpatialKeyEncoder}のキー変換と逆変換、キー区間の対応を検証する．
+ *
+ * @version 1.1 2026/10/18
+ */
+class SpatialKeyEncoderTest {
+
+    /**
+     * 各軸keyZoom + 1bitの全座標が、重複なく[0, 8^(keyZoom + 1))の全キーに対応することを検証する．
+     */
+    @Test
+    void encodeCellIsBijective() {
+
+        for (Curve curve : Curve.values()) {
+
+            for (int keyZoom = 0; keyZoom <= 3; keyZoom++) {
+
+                final long[][] cells = decodeTable(new SpatialKeyEncoder(curve, keyZoom));
+
+                assertEquals(0, Arrays.stream(cells).filter(cell -> cell == null).count(), curve + " " + keyZoom);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Z-order曲線のキーから、ビットを詰め直すことで元の座標に戻せることを検証する．
+     */
+    @Test
+    void mortonKeyDecodesToCell() {
+
+        final SpatialKeyEncoder encoder = new SpatialKeyEncoder(Curve.MORTON, SpatialKeyEncoder.MAX_KEY_ZOOM_LEVEL);
+
+        final Random random = new Random(3);
+
+        for (int i = 0; i < 10000; i++) {
+
+            final long f = random.nextInt(1 << 21);
+
+            final long x = random.nextInt(1 << 20);
+
+            final long y = random.nextInt(1 << 20);
+
+            final long key = encoder.encodeCell(f, x, y);
+
+            assertTrue(0 <= key);
+
+            assertEquals(f, SpatialKeyEncoder.compact(key >>> 2));
+
+            assertEquals(x, SpatialKeyEncoder.compact(key >>> 1));
+
+            assertEquals(y, SpatialKeyEncoder.compact(key));
+
+        }
+
+    }
+
+    /**
+     * Hilbert曲線で連続するキーに対応するボクセルが、常に面で隣接することを検証する．
+     */
+    @Test
+    void hilbertKeysAreFaceAdjacent() {
+
+        for (int keyZoom = 1; keyZoom <= 3; keyZoom++) {
+
+            final long[][] cells = decodeTable(new SpatialKeyEncoder(Curve.HILBERT, keyZoom));
+
+            for (int key = 1; key < cells.length; key++) {
+
+                long distance = 0;
+
+                for (int axis = 0; axis < 3; axis++) {
+
+                    distance += Math.abs(cells[key][axis] - cells[key - 1][axis]);
+
+                }
+
+                assertEquals(1, distance, "key " + key);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * 基準ズームレベル以下の空間IDのキー区間が、配下の基準ズームレベルのボクセルのキーの集合と一致することを検証する．
+     */
+    @Test
+    void rangeMatchesDescendantKeys() {
+
+        final int keyZoom = 4;
+
+        final Random random = new Random(5);
+
+        for (Curve curve : Curve.values()) {
+
+            final SpatialKeyEncoder encoder = new SpatialKeyEncoder(curve, keyZoom);
+
+            for (int i = 0; i < 200; i++) {
+
+                final int z = 1 + random.nextInt(keyZoom);
+
+                final long f = random.nextInt(2 << z) - (1L << z);
+
+                final long x = random.nextInt(1 << z);
+
+                final long y = random.nextInt(1 << z);
+
+                final int shift = keyZoom - z;
+
+                final long[] keys = new long[1 << (3 * shift)];
+
+                int count = 0;
+
+                for (long cf = f << shift; cf < (f + 1) << shift; cf++) {
+
+                    for (long cx = x << shift; cx < (x + 1) << shift; cx++) {
+
+                        for (long cy = y << shift; cy < (y + 1) << shift; cy++) {
+
+                            keys[count++] = encoder.encode(PackedSpatialId.encode(keyZoom, cf, cx, cy));
+
+                        }
+
+                    }
+
+                }
+
+                Arrays.sort(keys);
+
+                final SpatialKeyRange range = encoder.toRange(PackedSpatialId.encode(z, f, x, y));
+
+                assertEquals(keys[0], range.getLo());
+
+                assertEquals(keys[keys.length - 1], range.getHi());
+
+                assertEquals(keys.length - 1L, range.getHi() - range.getLo(), () -> curve + " " + z + "/" + f + "/" + x + "/" + y);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * 基準ズームレベルより細かい空間IDのキーが、祖先ボクセルのキー区間に含まれることを検証する．
+     */
+    @Test
+    void finerIdsFallInAncestorRange() {
+
+        final Random random = new Random(7);
+
+        for (Curve curve : Curve.values()) {
+
+            final SpatialKeyEncoder encoder = new SpatialKeyEncoder(curve, SpatialKeyEncoder.MAX_KEY_ZOOM_LEVEL);
+
+            for (int i = 0; i < 10000; i++) {
+
+                final int z = 16 + random.nextInt(PackedSpatialId.MAX_ZOOM_LEVEL - 15);
+
+                final long f = random.nextLong(2L << z) - (1L << z);
+
+                final long x = random.nextLong(1L << z);
+
+                final long y = random.nextLong(1L << z);
+
+                final long packed = PackedSpatialId.encode(z, f, x, y);
+
+                if (packed == PackedSpatialId.INVALID) {
+
+                    continue;
+
+                }
+
+                final long key = encoder.encode(packed);
+
+                final int ancestorZoom = 1 + random.nextInt(Math.min(z, SpatialKeyEncoder.MAX_KEY_ZOOM_LEVEL));
+
+                final int shift = z - ancestorZoom;
+
+                final SpatialKeyRange range = encoder.toRange(PackedSpatialId.encode(ancestorZoom, f >> shift, x >> shift, y >> shift));
+
+                assertTrue(range.getLo() <= key && key <= range.getHi(), () -> curve + " " + PackedSpatialId.toString(packed));
+
+            }
+
+        }
+
+    }
+
+    /**
+     * 全キーについて、対応する座標の表を作成する．
+     *
+     * @param encoder エンコーダ
+     * @return キーを添字とする[f, x, y]の表．2つの座標が同じキーに対応した場合は失敗とする
+     */
+    private static long[][] decodeTable(SpatialKeyEncoder encoder) {
+
+        final long side = 2L << encoder.getKeyZoom();
+
+        final long[][] cells = new long[(int) (side * side * side)][];
+
+        for (long f = 0; f < side; f++) {
+
+            for (long x = 0; x < side; x++) {
+
+                for (long y = 0; y < side; y++) {
+
+                    final long key = encoder.encodeCell(f, x, y);
+
+                    assertTrue(0 <= key && key < cells.length, () -> "key " + key);
+
+                    assertTrue(cells[(int) key] == null, () -> "duplicate key " + key);
+
+                    cells[(int) key] = new long[] { f, x, y };
+
+                }
+
+            }
+
+        }
+
+        return cells;
+
+    }
+
+}
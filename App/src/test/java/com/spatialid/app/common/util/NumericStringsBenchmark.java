@@ -0,0 +1,151 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.util;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 10進数の数値チェックについて、呼び出しごとにコンパイルする正規表現、コンパイル済みの正規表現、{@link NumericStrings}を比較するベンチマーク．
+ * <p>
+ * 以下のように実行する．
+ * </p>
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test.classpath
+ * java -cp target/test-classes:target/classes:$(cat target/test.classpath) org.openjdk.jmh.Main NumericStringsBenchmark
+ * </pre>
+ *
+ * @version 1.1 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class NumericStringsBenchmark {
+
+    /**
+     * {@link CommonUtils#checkNumber(String)}で使用していた正規表現．
+     */
+    private static final String DECIMAL_REGEX = "^[+,-]?([1-9]\\d*|0)(\\.\\d+)?$";
+
+    /**
+     * コンパイル済みの正規表現．
+     */
+    private static final Pattern DECIMAL = Pattern.compile(DECIMAL_REGEX);
+
+    /**
+     * 検査文字列の件数．
+     */
+    private static final int SIZE = 1024;
+
+    /**
+     * 検査文字列．数値と数値でない文字列を含む．
+     */
+    private String[] values;
+
+    @Setup
+    public void setUp() {
+
+        final Random random = new Random(20261018L);
+
+        final String[] invalid = { "", "-", "1.", ".5", "007", "1,000", "１２", "abc" };
+
+        values = new String[SIZE];
+
+        for (int i = 0; i < SIZE; i++) {
+
+            values[i] = random.nextInt(4) == 0
+                    ? invalid[random.nextInt(invalid.length)]
+                    : (random.nextBoolean() ? "-" : "") + (1 + random.nextInt(1000000)) + (random.nextBoolean() ? "." + random.nextInt(1000) : "");
+
+        }
+
+    }
+
+    /**
+     * 呼び出しごとに正規表現をコンパイルして判定する．置き換え前の{@link CommonUtils#checkNumber(String)}と同じ処理．
+     *
+     * @return 数値と判定した件数
+     */
+    @Benchmark
+    public int compilePerCall() {
+
+        int count = 0;
+
+        for (String value : values) {
+
+            if (Pattern.compile(DECIMAL_REGEX).matcher(value).matches()) {
+
+                count++;
+
+            }
+
+        }
+
+        return count;
+
+    }
+
+    /**
+     * コンパイル済みの正規表現で判定する．
+     *
+     * @return 数値と判定した件数
+     */
+    @Benchmark
+    public int cachedPattern() {
+
+        int count = 0;
+
+        for (String value : values) {
+
+            if (DECIMAL.matcher(value).matches()) {
+
+                count++;
+
+            }
+
+        }
+
+        return count;
+
+    }
+
+    /**
+     * {@link NumericStrings#isDecimal(CharSequence)}で判定する．
+     *
+     * @return 数値と判定した件数
+     */
+    @Benchmark
+    public int numericStrings() {
+
+        int count = 0;
+
+        for (String value : values) {
+
+            if (NumericStrings.isDecimal(value)) {
+
+                count++;
+
+            }
+
+        }
+
+        return count;
+
+    }
+
+}
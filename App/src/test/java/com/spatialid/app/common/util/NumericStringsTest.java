@@ -0,0 +1,198 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link CommonUtils}の数値チェックが、{@link NumericStrings}へ置き換える前の正規表現と同じ結果を返却することを検証する．
+ *
+ * @version 1.1 2026/10/18
+ */
+class NumericStringsTest {
+
+    /**
+     * {@link CommonUtils#checkRegex(String)}で使用していた正規表現．
+     */
+    private static final Pattern INTEGER = Pattern.compile("^[0-9]+$|-[0-9]+$");
+
+    /**
+     * {@link CommonUtils#checkPositiveNumber(String)}で使用していた正規表現．
+     */
+    private static final Pattern UNSIGNED_INTEGER = Pattern.compile("^[0-9]+$");
+
+    /**
+     * {@link CommonUtils#checkWholeNumber(String)}で使用していた正規表現．
+     */
+    private static final Pattern WHOLE_NUMBER = Pattern.compile("^[1-9]\\d*$");
+
+    /**
+     * {@link CommonUtils#checkNumber(String)}で使用していた正規表現．
+     */
+    private static final Pattern DECIMAL = Pattern.compile("^[+,-]?([1-9]\\d*|0)(\\.\\d+)?$");
+
+    /**
+     * 符号、空文字、先頭の0、ASCII以外の数字などの境界値．
+     */
+    private static final List<String> EDGE_CASES = Arrays.asList(
+            "", "0", "00", "007", "1", "9", "10", "-", "-0", "-00", "-007", "-1", "--1", "-1-", "1-",
+            "+", "+0", "+1", "+01", ",", ",0", ",1", ",01", ",1.5", "1,000", "+,1", ",-1",
+            ".", "1.", ".1", "-.1", "0.0", "00.1", "0.00", "1.0.0", "+0.5", "-0.5", ",0.5", "1e3",
+            " 1", "1 ", "1\n", "\u00001", "１", "１２", "-１", "1０", "٣", "1٣",
+            "०", "⁰", "¹", "99999999999999999999999999999999");
+
+    /**
+     * 網羅的に組み合わせる文字．
+     */
+    private static final char[] ALPHABET = { '0', '1', '9', '-', '+', ',', '.', 'a', '１' };
+
+    /**
+     * 境界値について、置き換え前の正規表現と同じ結果となることを検証する．
+     */
+    @Test
+    void matchesRegexForEdgeCases() {
+
+        for (String value : EDGE_CASES) {
+
+            assertMatchesRegex(value);
+
+        }
+
+    }
+
+    /**
+     * 数字、符号、区切り文字などの組み合わせを4文字まで網羅し、置き換え前の正規表現と同じ結果となることを検証する．
+     */
+    @Test
+    void matchesRegexForAllShortStrings() {
+
+        final List<String> values = new ArrayList<>();
+
+        values.add("");
+
+        for (int length = 1; length <= 4; length++) {
+
+            final int[] digits = new int[length];
+
+            while (true) {
+
+                final char[] chars = new char[length];
+
+                for (int i = 0; i < length; i++) {
+
+                    chars[i] = ALPHABET[digits[i]];
+
+                }
+
+                values.add(new String(chars));
+
+                int position = length - 1;
+
+                while (0 <= position && ++digits[position] == ALPHABET.length) {
+
+                    digits[position--] = 0;
+
+                }
+
+                if (position < 0) {
+
+                    break;
+
+                }
+
+            }
+
+        }
+
+        for (String value : values) {
+
+            assertMatchesRegex(value);
+
+        }
+
+    }
+
+    /**
+     * 無作為に生成した文字列について、置き換え前の正規表現と同じ結果となることを検証する．
+     */
+    @Test
+    void matchesRegexForRandomStrings() {
+
+        final Random random = new Random(20261018L);
+
+        for (int n = 0; n < 100000; n++) {
+
+            final char[] chars = new char[1 + random.nextInt(12)];
+
+            for (int i = 0; i < chars.length; i++) {
+
+                chars[i] = random.nextInt(8) == 0 ? ALPHABET[random.nextInt(ALPHABET.length)] : (char) ('0' + random.nextInt(10));
+
+            }
+
+            assertMatchesRegex(new String(chars));
+
+        }
+
+    }
+
+    /**
+     * 先頭の","を符号として受け付けることを検証する．
+     */
+    @Test
+    void decimalAcceptsCommaSign() {
+
+        assertTrue(CommonUtils.checkNumber(",1.5"));
+
+        assertFalse(CommonUtils.checkNumber("1,000"));
+
+    }
+
+    /**
+     * ASCII以外の数字を受け付けないことを検証する．
+     */
+    @Test
+    void rejectsNonAsciiDigits() {
+
+        for (String value : Arrays.asList("１", "٣", "०")) {
+
+            assertFalse(CommonUtils.checkRegex(value));
+
+            assertFalse(CommonUtils.checkPositiveNumber(value));
+
+            assertFalse(CommonUtils.checkWholeNumber(value));
+
+            assertFalse(CommonUtils.checkNumber(value));
+
+        }
+
+    }
+
+    /**
+     * 各チェックの結果が置き換え前の正規表現と一致することを検証する．
+     *
+     * @param value 検査文字列
+     */
+    private static void assertMatchesRegex(String value) {
+
+        assertEquals(INTEGER.matcher(value).matches(), CommonUtils.checkRegex(value), () -> "checkRegex: " + value);
+
+        assertEquals(UNSIGNED_INTEGER.matcher(value).matches(), CommonUtils.checkPositiveNumber(value), () -> "checkPositiveNumber: " + value);
+
+        assertEquals(WHOLE_NUMBER.matcher(value).matches(), CommonUtils.checkWholeNumber(value), () -> "checkWholeNumber: " + value);
+
+        assertEquals(DECIMAL.matcher(value).matches(), CommonUtils.checkNumber(value), () -> "checkNumber: " + value);
+
+    }
+
+}
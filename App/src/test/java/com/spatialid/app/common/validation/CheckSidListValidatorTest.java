@@ -0,0 +1,97 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.validation;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.spatialid.app.common.spatialid.PackedSpatialIdList;
+
+/**
+ * {@link CheckSidListValidator}の判定が、要素ごとの{@link CheckSid}、{@link CheckSidZoomLevel}と一致することを検証する．
+ *
+ * @version 1.1 2026/10/18
+ */
+class CheckSidListValidatorTest {
+
+    /**
+     * アノテーションの取得元．
+     */
+    @CheckSidList(lowerLimit = 10, upperLimit = 26)
+    private List<String> sids;
+
+    /**
+     * nullのリスト、およびnullの要素を許容することを検証する．
+     */
+    @Test
+    void nullElementsAreValid() {
+
+        final CheckSidListValidator validator = createValidator();
+
+        assertTrue(validator.isValid(null, null));
+
+        assertTrue(validator.isValid(Arrays.asList("10/0/0/0", null, "26/0/1/1"), null));
+
+        assertTrue(validator.isValid(Arrays.asList((String) null), null));
+
+    }
+
+    /**
+     * nullの要素を許容しても、他の不正な要素は検出されることを検証する．
+     */
+    @Test
+    void invalidElementsAreDetectedAlongsideNulls() {
+
+        final CheckSidListValidator validator = createValidator();
+
+        assertFalse(validator.isValid(Arrays.asList(null, "10/0/0/x"), null));
+
+        assertFalse(validator.isValid(Arrays.asList(null, "9/0/0/0"), null));
+
+        assertFalse(validator.isValid(Arrays.asList(null, "10/0/1024/0"), null));
+
+    }
+
+    /**
+     * 変換済みの空間IDのリストでは、ズームレベルのみを検査することを検証する．
+     */
+    @Test
+    void packedListIsCheckedByZoomLevel() {
+
+        final CheckSidListValidator validator = createValidator();
+
+        assertTrue(validator.isValid(PackedSpatialIdList.of(List.of("10/0/0/0", "26/0/0/0")), null));
+
+        assertFalse(validator.isValid(PackedSpatialIdList.of(List.of("9/0/0/0")), null));
+
+    }
+
+    /**
+     * フィールドのアノテーションで初期化したバリデータを生成する．
+     *
+     * @return バリデータ
+     */
+    private static CheckSidListValidator createValidator() {
+
+        final CheckSidListValidator validator = new CheckSidListValidator();
+
+        try {
+
+            validator.initialize(CheckSidListValidatorTest.class.getDeclaredField("sids").getAnnotation(CheckSidList.class));
+
+        } catch (NoSuchFieldException e) {
+
+            throw new IllegalStateException(e);
+
+        }
+
+        return validator;
+
+    }
+
+}
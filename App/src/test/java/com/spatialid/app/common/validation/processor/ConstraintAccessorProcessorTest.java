@@ -0,0 +1,518 @@
+// © 2025 NTT DATA Japan Co., Ltd. & NTT InfraNet All Rights Reserved.
+
+package com.spatialid.app.common.validation.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+
+import com.spatialid.app.common.validation.BeanMetadata;
+import com.spatialid.app.common.validation.CheckAtLeastOneField;
+import com.spatialid.app.common.validation.CheckAtLeastOneFieldValidator;
+import com.spatialid.app.common.validation.CheckCrossFieldConditions;
+import com.spatialid.app.common.validation.CheckCrossFieldConditionsValidator;
+import com.spatialid.app.common.validation.CheckFieldExist;
+import com.spatialid.app.common.validation.CheckFieldExistValidator;
+import com.spatialid.app.common.validation.GeneratedConstraintAccessor;
+
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * {@link ConstraintAccessorProcessor}でコンパイルした検査対象クラスについて、
+ * 生成クラスによる読み取りとリフレクションによる読み取りの判定結果が一致することを検証する．
+ * <p>
+ * 同じソースをプロセッサありとなしでそれぞれコンパイルし、別のクラスローダで読み込んで比較する．
+ * </p>
+ *
+ * @version 1.1 2026/10/18
+ */
+class ConstraintAccessorProcessorTest {
+
+    private static final String LOMBOK_PROCESSOR = "lombok.launch.AnnotationProcessorHider$AnnotationProcessor";
+
+    private static final String ANNOTATIONS = """
+            @CheckCrossFieldConditions(
+                    xorFields = @XorFields(firstFieldName = "first", secondFieldName = "second"),
+                    conditionalMandatories = @ConditionalMandatory(conditionalField = "first", mandatoryField = "third"))
+            @CheckAtLeastOneField
+            @CheckFieldExist(fields = { "first", "third" })
+            """;
+
+    private static final String IMPORTS = """
+            package sample;
+
+            import java.util.List;
+
+            import com.spatialid.app.common.validation.*;
+
+            """;
+
+    /**
+     * 検査対象クラスのソース．キーはクラス名．
+     */
+    private static final Map<String, String> SOURCES = new TreeMap<String, String>();
+
+    static {
+
+        SOURCES.put("Plain", IMPORTS + ANNOTATIONS + """
+                public class Plain {
+                    private String first;
+                    private String second;
+                    private List<String> third;
+                    public String getFirst() { return first; }
+                    public String getSecond() { return second; }
+                    public List<String> getThird() { return third; }
+                }
+                """);
+
+        SOURCES.put("WithData", IMPORTS + ANNOTATIONS + """
+                @lombok.Data
+                public class WithData {
+                    private String first;
+                    private String second;
+                    private List<String> third;
+                }
+                """);
+
+        SOURCES.put("Parent", IMPORTS + """
+                public class Parent {
+                    private String first;
+                    public String getFirst() { return first; }
+                }
+                """);
+
+        SOURCES.put("Child", IMPORTS + ANNOTATIONS + """
+                public class Child extends Parent {
+                    private String second;
+                    private List<String> third;
+                    public String getSecond() { return second; }
+                    public List<String> getThird() { return third; }
+                }
+                """);
+
+        SOURCES.put("Base", IMPORTS + ANNOTATIONS + """
+                public class Base {
+                    private String first;
+                    private String second;
+                    private List<String> third;
+                    public String getFirst() { return first; }
+                    public String getSecond() { return second; }
+                    public List<String> getThird() { return third; }
+                }
+                """);
+
+        SOURCES.put("Sub", IMPORTS + ANNOTATIONS + """
+                public class Sub extends Base {
+                }
+                """);
+
+        SOURCES.put("Nested", IMPORTS + """
+                @CheckCrossFieldConditions(xorFields = @XorFields(firstFieldName = "inner.first", secondFieldName = "second"))
+                @CheckAtLeastOneField
+                public class Nested {
+                    private Inner inner = new Inner();
+                    private String second;
+                    private List<String> third;
+                    public Inner getInner() { return inner; }
+                    public String getSecond() { return second; }
+                    public List<String> getThird() { return third; }
+                    public static class Inner {
+                        private String first;
+                        public String getFirst() { return first; }
+                    }
+                }
+                """);
+
+    }
+
+    /**
+     * 各フィールドに設定する値の候補．
+     */
+    private static final List<List<Object>> CANDIDATES = List.of(
+            Arrays.asList(null, "", "a"),
+            Arrays.asList(null, "", "b"),
+            Arrays.asList(null, Collections.emptyList(), List.of("c")));
+
+    /**
+     * 生成クラスの有無によらず、全ての値の組み合わせで判定結果が一致することを検証する．
+     */
+    @Test
+    void generatedAndReflectivePathsAgree() throws Exception {
+
+        final Path root = Files.createTempDirectory("accessor");
+
+        try {
+
+            final Compilation generated = compile(root.resolve("generated"), true);
+
+            final Compilation reflective = compile(root.resolve("reflective"), false);
+
+            // 生成されるクラスと生成されないクラス
+            assertNotNull(generated.accessor("Plain"));
+
+            assertNotNull(generated.accessor("WithData"));
+
+            assertNotNull(generated.accessor("Child"));
+
+            assertNotNull(generated.accessor("Base"));
+
+            assertNull(generated.accessor("Sub"));
+
+            assertNull(reflective.accessor("Plain"));
+
+            final GeneratedConstraintAccessor nested = generated.accessor("Nested");
+
+            assertNotNull(nested);
+
+            assertNull(nested.crossFieldValues(generated.newInstance("Nested")));
+
+            final GeneratedConstraintAccessor child = generated.accessor("Child");
+
+            assertNull(child.fieldExistValues(generated.newInstance("Child")));
+
+            // スキップは全てNOTEとして報告し、WARNINGは出力しない
+            assertTrue(generated.notes.stream().anyMatch(note -> note.contains("Nested")), generated.notes::toString);
+
+            assertTrue(generated.notes.stream().anyMatch(note -> note.contains("Child")), generated.notes::toString);
+
+            assertFalse(generated.warnings, "processor must not emit warnings");
+
+            for (String className : SOURCES.keySet()) {
+
+                assertSameVerdicts(className, generated, reflective);
+
+            }
+
+        } finally {
+
+            try (var paths = Files.walk(root)) {
+
+                paths.sorted(Collections.reverseOrder()).map(Path::toFile).forEach(File::delete);
+
+            }
+
+        }
+
+    }
+
+    /**
+     * 全ての値の組み合わせについて、生成クラスありとなしの判定結果を比較する．
+     *
+     * @param className 検査対象クラス名
+     * @param generated プロセッサありのコンパイル結果
+     * @param reflective プロセッサなしのコンパイル結果
+     */
+    private static void assertSameVerdicts(String className, Compilation generated, Compilation reflective) throws Exception {
+
+        final List<Boolean> seen = new ArrayList<Boolean>();
+
+        for (Object first : CANDIDATES.get(0)) {
+
+            for (Object second : CANDIDATES.get(1)) {
+
+                for (Object third : CANDIDATES.get(2)) {
+
+                    final List<Boolean> expected = verdicts(reflective.newInstance(className, first, second, third));
+
+                    final List<Boolean> actual = verdicts(generated.newInstance(className, first, second, third));
+
+                    assertEquals(expected, actual, () -> className + " " + first + "/" + second + "/" + third);
+
+                    seen.addAll(actual);
+
+                }
+
+            }
+
+        }
+
+        if (!"Parent".equals(className)) {
+
+            assertTrue(seen.contains(Boolean.TRUE) && seen.contains(Boolean.FALSE), className + " verdicts are constant");
+
+        }
+
+    }
+
+    /**
+     * 付与されたアノテーションごとに検査する．
+     *
+     * @param bean 検査対象オブジェクト
+     * @return アノテーションごとの判定結果．付与されていないアノテーションはnull
+     */
+    private static List<Boolean> verdicts(Object bean) {
+
+        final Class<?> type = bean.getClass();
+
+        final ConstraintValidatorContext context = context();
+
+        final List<Boolean> verdicts = new ArrayList<Boolean>();
+
+        final CheckCrossFieldConditions crossField = annotation(type, CheckCrossFieldConditions.class);
+
+        if (crossField != null) {
+
+            final CheckCrossFieldConditionsValidator validator = new CheckCrossFieldConditionsValidator();
+
+            validator.initialize(crossField);
+
+            verdicts.add(validator.isValid(bean, context));
+
+        }
+
+        final CheckFieldExist fieldExist = annotation(type, CheckFieldExist.class);
+
+        if (fieldExist != null) {
+
+            final CheckFieldExistValidator validator = new CheckFieldExistValidator();
+
+            validator.initialize(fieldExist);
+
+            verdicts.add(validator.isValid(bean, context));
+
+        }
+
+        if (annotation(type, CheckAtLeastOneField.class) != null) {
+
+            verdicts.add(new CheckAtLeastOneFieldValidator().isValid(bean, context));
+
+        }
+
+        return verdicts;
+
+    }
+
+    private static <A extends Annotation> A annotation(Class<?> type, Class<A> annotationType) {
+
+        return type.getAnnotation(annotationType);
+
+    }
+
+    /**
+     * 違反情報の登録を読み捨てるコンテキストを生成する．
+     *
+     * @return コンテキスト
+     */
+    private static ConstraintValidatorContext context() {
+
+        return (ConstraintValidatorContext) proxy(ConstraintValidatorContext.class);
+
+    }
+
+    private static Object proxy(Class<?> type) {
+
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+
+            final Class<?> returnType = method.getReturnType();
+
+            if (returnType == boolean.class) {
+
+                return false;
+
+            }
+
+            return returnType.isInterface() ? proxy(returnType) : null;
+
+        });
+
+    }
+
+    /**
+     * 検査対象クラスのソースをコンパイルする．
+     *
+     * @param output 出力先
+     * @param withProcessor {@link ConstraintAccessorProcessor}を有効にする場合はtrue
+     * @return コンパイル結果
+     */
+    private static Compilation compile(Path output, boolean withProcessor) throws IOException {
+
+        final Path sourceDirectory = output.resolve("src").resolve("sample");
+
+        final Path classDirectory = output.resolve("classes");
+
+        Files.createDirectories(sourceDirectory);
+
+        Files.createDirectories(classDirectory);
+
+        final List<File> files = new ArrayList<File>();
+
+        for (Map.Entry<String, String> source : SOURCES.entrySet()) {
+
+            final Path file = sourceDirectory.resolve(source.getKey() + ".java");
+
+            Files.writeString(file, source.getValue());
+
+            files.add(file.toFile());
+
+        }
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+
+        final String processors = withProcessor ? LOMBOK_PROCESSOR + "," + ConstraintAccessorProcessor.class.getName() : LOMBOK_PROCESSOR;
+
+        final List<String> options = List.of(
+                "-classpath", System.getProperty("java.class.path"),
+                "-processorpath", System.getProperty("java.class.path"),
+                "-processor", processors,
+                "-d", classDirectory.toString(),
+                "-s", classDirectory.toString());
+
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+
+            final boolean success = compiler.getTask(null, fileManager, diagnostics, options, null,
+                    fileManager.getJavaFileObjectsFromFiles(files)).call();
+
+            assertTrue(success, diagnostics.getDiagnostics()::toString);
+
+        }
+
+        final Compilation compilation = new Compilation(
+                new URLClassLoader(new URL[] { classDirectory.toUri().toURL() }, ConstraintAccessorProcessorTest.class.getClassLoader()));
+
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+
+            if (diagnostic.getKind() == Diagnostic.Kind.NOTE) {
+
+                compilation.notes.add(diagnostic.getMessage(null) + " " + diagnostic.getSource());
+
+            } else if (diagnostic.getKind() == Diagnostic.Kind.WARNING || diagnostic.getKind() == Diagnostic.Kind.MANDATORY_WARNING) {
+
+                compilation.warnings = true;
+
+            }
+
+        }
+
+        return compilation;
+
+    }
+
+    /**
+     * コンパイル結果．
+     */
+    private static final class Compilation {
+
+        private final ClassLoader classLoader;
+
+        private final List<String> notes = new ArrayList<String>();
+
+        private boolean warnings;
+
+        Compilation(ClassLoader classLoader) {
+
+            this.classLoader = classLoader;
+
+        }
+
+        /**
+         * 生成クラスを読み込む．
+         *
+         * @param className 検査対象クラス名
+         * @return 生成クラス．存在しない場合はnull
+         */
+        GeneratedConstraintAccessor accessor(String className) throws ReflectiveOperationException {
+
+            try {
+
+                return (GeneratedConstraintAccessor) classLoader
+                        .loadClass(GeneratedConstraintAccessor.accessorClassName("sample." + className))
+                        .getDeclaredConstructor().newInstance();
+
+            } catch (ClassNotFoundException e) {
+
+                return null;
+
+            }
+
+        }
+
+        /**
+         * 検査対象オブジェクトを生成し、クラス階層のフィールドに値を設定する．
+         *
+         * @param className 検査対象クラス名
+         * @param values "first"、"second"、"third"の順の値
+         * @return 検査対象オブジェクト
+         */
+        Object newInstance(String className, Object... values) throws ReflectiveOperationException {
+
+            final Class<?> type = classLoader.loadClass("sample." + className);
+
+            final Object bean = type.getDeclaredConstructor().newInstance();
+
+            final String[] names = { "first", "second", "third" };
+
+            for (int i = 0; i < values.length; i++) {
+
+                if (!set(bean, type, names[i], values[i]) && "first".equals(names[i])) {
+
+                    // ネストしたプロパティの場合は内側のオブジェクトに設定する
+                    final Object inner = BeanMetadata.of(type).getPropertyValue(bean, "inner");
+
+                    set(inner, inner.getClass(), names[i], values[i]);
+
+                }
+
+            }
+
+            return bean;
+
+        }
+
+        private static boolean set(Object bean, Class<?> type, String name, Object value) throws IllegalAccessException {
+
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+
+                try {
+
+                    final Field field = current.getDeclaredField(name);
+
+                    field.setAccessible(true);
+
+                    field.set(bean, value);
+
+                    return true;
+
+                } catch (NoSuchFieldException e) {
+
+                    continue;
+
+                }
+
+            }
+
+            return false;
+
+        }
+
+    }
+
+}